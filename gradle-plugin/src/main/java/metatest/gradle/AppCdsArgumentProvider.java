@@ -0,0 +1,110 @@
+package metatest.gradle;
+
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.testing.Test;
+import org.gradle.process.CommandLineArgumentProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Supplies AppCDS (class-data sharing) JVM arguments for a Metatest test task.
+ *
+ * The archive is keyed on a hash of the test runtime classpath. When no archive exists for
+ * the current classpath, the run acts as a training run and dumps one on exit
+ * (-XX:ArchiveClassesAtExit). Later runs with the same classpath map it (-XX:SharedArchiveFile).
+ *
+ * Arguments are resolved when the task executes, so the hash reflects the resolved classpath.
+ * A missing or mismatched archive never fails the build: the JVM falls back to regular class loading.
+ */
+public class AppCdsArgumentProvider implements CommandLineArgumentProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppCdsArgumentProvider.class);
+
+    private final Test test;
+    private final File archiveDir;
+
+    public AppCdsArgumentProvider(Test test, File archiveDir) {
+        this.test = test;
+        this.archiveDir = archiveDir;
+    }
+
+    @Classpath
+    public FileCollection getClasspath() {
+        return test.getClasspath();
+    }
+
+    @Internal
+    public File getArchiveDir() {
+        return archiveDir;
+    }
+
+    @Override
+    public Iterable<String> asArguments() {
+        File archive = new File(archiveDir, "metatest-" + classpathHash() + ".jsa");
+
+        if (archive.isFile()) {
+            logger.info("[Metatest] Using AppCDS archive: {}", archive.getAbsolutePath());
+            return List.of("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        }
+
+        // Parallel forks would all dump to the same file on exit; only train from a single fork
+        if (test.getMaxParallelForks() > 1) {
+            logger.info("[Metatest] Skipping AppCDS training run (maxParallelForks > 1). " +
+                       "Run once with a single fork to create the archive.");
+            return Collections.emptyList();
+        }
+
+        if (!archiveDir.isDirectory() && !archiveDir.mkdirs()) {
+            logger.warn("[Metatest] Could not create AppCDS archive directory: {}", archiveDir.getAbsolutePath());
+            return Collections.emptyList();
+        }
+
+        logger.info("[Metatest] No AppCDS archive for current classpath, training run will create: {}",
+                   archive.getAbsolutePath());
+        return List.of("-XX:ArchiveClassesAtExit=" + archive.getAbsolutePath());
+    }
+
+    /**
+     * Hashes the classpath entries by path, size and modification time.
+     * Jar contents are not read, so hashing stays cheap on large classpaths.
+     */
+    private String classpathHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (File entry : getClasspath().getFiles()) {
+                digest.update(entry.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+                if (entry.isFile()) {
+                    digest.update(Long.toString(entry.length()).getBytes(StandardCharsets.UTF_8));
+                    digest.update(Long.toString(entry.lastModified()).getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            // Archives are JVM-specific, a different runtime needs its own archive
+            File javaExecutable = javaExecutable();
+            if (javaExecutable != null) {
+                digest.update(javaExecutable.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+                digest.update(Long.toString(javaExecutable.lastModified()).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private File javaExecutable() {
+        if (test.getJavaLauncher().isPresent()) {
+            return test.getJavaLauncher().get().getExecutablePath().getAsFile();
+        }
+        return test.getExecutable() != null ? new File(test.getExecutable()) : null;
+    }
+}
@@ -0,0 +1,36 @@
+package metatest.gradle;
+
+import org.gradle.api.Action;
+import org.gradle.api.Task;
+import org.gradle.api.tasks.testing.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+
+/**
+ * Deletes the per-JVM result journals (fault_simulation_journal-<pid>.jsonl) in the test working directory
+ * before a run that is not resumed. Test JVMs forked by a long-lived Gradle daemon cannot tell an earlier
+ * build's journals from those of their own build's earlier forks, so the build clears them instead.
+ */
+public class ClearJournalsAction implements Action<Task> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClearJournalsAction.class);
+
+    private static final String JOURNAL_PREFIX = "fault_simulation_journal-";
+    private static final String JOURNAL_EXTENSION = ".jsonl";
+
+    @Override
+    public void execute(Task task) {
+        File[] journals = ((Test) task).getWorkingDir().listFiles(file -> file.isFile()
+                && file.getName().startsWith(JOURNAL_PREFIX) && file.getName().endsWith(JOURNAL_EXTENSION));
+        if (journals == null) {
+            return;
+        }
+        for (File journal : journals) {
+            if (!journal.delete()) {
+                logger.warn("[Metatest] Could not delete result journal {}", journal.getAbsolutePath());
+            }
+        }
+    }
+}
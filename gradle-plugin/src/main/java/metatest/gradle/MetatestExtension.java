@@ -11,6 +11,20 @@ import lombok.Data;
  *     apiKey = "mt_proj_your_api_key_here"  // Optional: for API mode
  *     projectId = "your-project-uuid-here"  // Optional: for API mode
  *     apiUrl = "http://localhost:8080"  // Optional: defaults to http://localhost:8080
+ *     appCds = true  // Optional: reuse an AppCDS archive across runs, defaults to false
+ *     configFile = "config.yml"  // Optional: load config.yml from this file instead of the classpath
+ *     agentless = true  // Optional: intercept RestAssured without AspectJ weaving, defaults to false
+ *     planOnly = true  // Optional: write simulation_plan.json instead of running mutants, defaults to false
+ *     resume = true  // Optional: continue an interrupted run from its result journal, defaults to false
+ *     shardedReport = true  // Optional: write the HTML report as an index page plus per-endpoint data files, defaults to false
+ *     binaryReport = true  // Optional: also write indexed binary (Smile) copies of the JSON reports, defaults to false
+ *     historyDir = "metatest-history"  // Optional: record each run in this directory and show score trends in the HTML report
+ *     coverageQueuePolicy = "block"  // Optional: caller_runs, block or drop when the coverage queue is full, defaults to caller_runs
+ *     logLevel = "debug"  // Optional: info (per-test summaries), debug (every fault) or trace (with bodies), defaults to info
+ *     streamResults = true  // Optional: send results to the API in compressed batches while tests run, defaults to false
+ *     flightRecording = true  // Optional: record a JFR file with Metatest lifecycle events, defaults to false
+ *     metricsTextfile = "/var/lib/node_exporter/metatest.prom"  // Optional: Prometheus throughput file per test JVM (fork slot added to the name), defaults to build/metatest/metatest_metrics.prom
+ *     simpleLogging = true  // Optional: add slf4j-simple to testRuntimeOnly for Metatest's console output, defaults to false
  * }
  */
 
@@ -35,4 +49,95 @@ public class MetatestExtension {
      * API URL for Metatest API integration (optional, defaults to http://localhost:8080)
      */
     private String apiUrl = "http://localhost:8080";
-}
\ No newline at end of file
+
+    /**
+     * Enable AppCDS class-data sharing for the test JVM (optional, defaults to false).
+     * The first run for a given runtime classpath dumps the archive, later runs reuse it.
+     */
+    private Boolean appCds = false;
+
+    /**
+     * Directory for AppCDS archives (optional, defaults to build/metatest/cds)
+     */
+    private String appCdsDir;
+
+    /**
+     * Path to config.yml (optional). Loaded instead of the classpath resource and tracked as a
+     * test task input, so continuous builds re-run simulation when invariants are edited.
+     */
+    private String configFile;
+
+    /**
+     * Agentless mode (optional, defaults to false). Skips the AspectJ javaagent and intercepts
+     * RestAssured calls through a JUnit Jupiter extension and RestAssured filter instead.
+     */
+    private Boolean agentless = false;
+
+    /**
+     * Plan-only mode (optional, defaults to false). Runs each test's baseline, then writes
+     * simulation_plan.json with the mutants a full run would execute and its estimated duration.
+     */
+    private Boolean planOnly = false;
+
+    /**
+     * Resume mode (optional, defaults to false). Reloads the result journal of an interrupted run
+     * and skips the mutants it already completed.
+     */
+    private Boolean resume = false;
+
+    /**
+     * Sharded HTML report (optional, defaults to false). Writes metatest_report.html as a small index page
+     * and each endpoint's results to a compressed file in metatest_report_data, loaded when its card is expanded.
+     */
+    private Boolean shardedReport = false;
+
+    /**
+     * Binary reports (optional, defaults to false). Also writes each JSON report as an indexed Smile file
+     * (e.g. fault_simulation_report.smile), so readers can decode one endpoint without parsing the whole report.
+     */
+    private Boolean binaryReport = false;
+
+    /**
+     * Run history directory (optional). Each run's scores and per-mutant verdicts are appended there,
+     * and the HTML report shows the score trend and the mutants that escaped since the previous run.
+     */
+    private String historyDir;
+
+    /**
+     * What to do when the background coverage queue is full (optional): "caller_runs" records the call
+     * on the test thread (default), "block" waits for room, "drop" leaves the call out of the coverage report.
+     */
+    private String coverageQueuePolicy;
+
+    /**
+     * Level of Metatest's console output (optional): "info" prints one summary per test (default),
+     * "debug" adds every simulated fault and its verdict, "trace" adds the request and response bodies.
+     */
+    private String logLevel;
+
+    /**
+     * Stream results to the Metatest API (optional, defaults to false). Results are sent in gzip-compressed
+     * batches while the tests run instead of in one request at the end. Requires the API to be configured.
+     */
+    private Boolean streamResults = false;
+
+    /**
+     * Record the test JVM with Java Flight Recorder (optional, defaults to false). The recording is written to
+     * build/metatest/jfr, one file per test JVM named after its pid, and includes Metatest's lifecycle events alongside
+     * GC, allocation and I/O.
+     */
+    private Boolean flightRecording = false;
+
+    /**
+     * Where to write the Prometheus throughput file (optional), e.g. a node-exporter textfile collector
+     * directory. Defaults to build/metatest/metatest_metrics.prom. Each test JVM inserts its fork slot before the
+     * extension (metatest_metrics-0.prom), so forks write separate files. The file is refreshed while the tests run.
+     */
+    private String metricsTextfile;
+
+    /**
+     * Add the slf4j-simple binding to testRuntimeOnly (optional, defaults to false). Metatest only depends on the
+     * SLF4J API; enable this when the project has no binding of its own, so Metatest's output reaches the console.
+     */
+    private Boolean simpleLogging = false;
+}
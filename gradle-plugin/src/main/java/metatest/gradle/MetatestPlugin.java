@@ -3,6 +3,7 @@ package metatest.gradle;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.testing.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,12 +26,28 @@ import java.util.List;
  *     apiKey = "your_api_key"  // optional
  *     projectId = "your_project_id"  // optional
  *     apiUrl = "http://localhost:8080"  // optional
+ *     appCds = true  // optional
+ *     configFile = "config.yml"  // optional
+ *     agentless = true  // optional: RestAssured suites without AspectJ weaving
+ *     planOnly = true  // optional: estimate simulation cost without running mutants
+ *     resume = true  // optional: continue an interrupted simulation run
+ *     shardedReport = true  // optional: lazily loaded HTML report for very large suites
+ *     binaryReport = true  // optional: indexed binary copies of the JSON reports
+ *     historyDir = "metatest-history"  // optional: local run history with score trends
+ *     coverageQueuePolicy = "block"  // optional: caller_runs, block or drop
+ *     logLevel = "debug"  // optional: info, debug or trace
+ *     streamResults = true  // optional: batched result upload to the API
+ *     flightRecording = true  // optional: JFR recording per test JVM in build/metatest/jfr
+ *     metricsTextfile = "/var/lib/node_exporter/metatest.prom"  // optional: Prometheus throughput file, one per test JVM
+ *     simpleLogging = true  // optional: add slf4j-simple for Metatest's console output
  * }
  */
 public class MetatestPlugin implements Plugin<Project> {
 
     private static final Logger logger = LoggerFactory.getLogger(MetatestPlugin.class);
 
+    private static final String SLF4J_SIMPLE = "org.slf4j:slf4j-simple:2.0.9";
+
     @Override
     public void apply(Project project) {
         // Create the extension
@@ -38,10 +55,27 @@ public class MetatestPlugin implements Plugin<Project> {
 
         // Configure test tasks after project evaluation
         project.afterEvaluate(p -> {
+            configureLogging(p, extension);
             configureTestTasks(p, extension);
         });
     }
 
+    /**
+     * Metatest logs through the SLF4J API only. Projects without a binding of their own can ask for slf4j-simple,
+     * which is then added to the test runtime classpath of runs with Metatest enabled.
+     */
+    private void configureLogging(Project project, MetatestExtension extension) {
+        if (!Boolean.TRUE.equals(extension.getSimpleLogging()) || !shouldEnableMetatest(extension)) {
+            return;
+        }
+        if (project.getConfigurations().findByName("testRuntimeOnly") == null) {
+            logger.warn("[Metatest] simpleLogging needs the java plugin's testRuntimeOnly configuration");
+            return;
+        }
+        project.getDependencies().add("testRuntimeOnly", SLF4J_SIMPLE);
+        logger.info("[Metatest] Added {} to testRuntimeOnly", SLF4J_SIMPLE);
+    }
+
     private void configureTestTasks(Project project, MetatestExtension extension) {
         project.getTasks().withType(Test.class).configureEach(test -> {
             // Check if metatest should be enabled
@@ -52,17 +86,23 @@ public class MetatestPlugin implements Plugin<Project> {
                 return;
             }
 
-            // Find the aspectjweaver jar
-            File aspectjAgent = findAspectjWeaver(project);
+            boolean agentless = Boolean.TRUE.equals(extension.getAgentless());
+
+            // Find the aspectjweaver jar (not needed in agentless mode)
+            File aspectjAgent = agentless ? null : findAspectjWeaver(project);
 
-            if (aspectjAgent == null) {
+            if (!agentless && aspectjAgent == null) {
                 logger.warn("[Metatest] Could not find aspectjweaver in classpath. " +
                            "Make sure 'io.metatest:metatest' is in your dependencies.");
                 return;
             }
 
-            logger.info("[Metatest] Configuring test task: {} with AspectJ weaver: {}",
-                       test.getName(), aspectjAgent.getAbsolutePath());
+            if (agentless) {
+                logger.info("[Metatest] Configuring test task: {} in agentless mode", test.getName());
+            } else {
+                logger.info("[Metatest] Configuring test task: {} with AspectJ weaver: {}",
+                           test.getName(), aspectjAgent.getAbsolutePath());
+            }
 
             // Configure JVM arguments
             List<String> jvmArgs = new ArrayList<>(test.getJvmArgs());
@@ -75,8 +115,12 @@ public class MetatestPlugin implements Plugin<Project> {
                 jvmArgs.add("-Xms512m");
             }
 
-            // Add AspectJ javaagent
-            jvmArgs.add("-javaagent:" + aspectjAgent.getAbsolutePath());
+            // Add AspectJ javaagent, or switch to JUnit extension + RestAssured filter interception
+            if (agentless) {
+                jvmArgs.add("-Dmetatest.interception=agentless");
+            } else {
+                jvmArgs.add("-javaagent:" + aspectjAgent.getAbsolutePath());
+            }
 
             // Add metatest system property
             jvmArgs.add("-DrunWithMetatest=true");
@@ -91,9 +135,75 @@ public class MetatestPlugin implements Plugin<Project> {
             if (extension.getApiUrl() != null && !extension.getApiUrl().isEmpty()) {
                 jvmArgs.add("-Dmetatest.api.url=" + extension.getApiUrl());
             }
+            if (extension.getConfigFile() != null && !extension.getConfigFile().isEmpty()) {
+                File configFile = project.file(extension.getConfigFile());
+                jvmArgs.add("-Dmetatest.config.path=" + configFile.getAbsolutePath());
+                test.getInputs().file(configFile)
+                        .withPropertyName("metatestConfigFile")
+                        .withPathSensitivity(PathSensitivity.NONE);
+            }
+            if (Boolean.TRUE.equals(extension.getPlanOnly())) {
+                jvmArgs.add("-Dmetatest.plan.only=true");
+            }
+            if (Boolean.TRUE.equals(extension.getResume())) {
+                jvmArgs.add("-Dmetatest.resume=true");
+            } else {
+                test.doFirst(new ClearJournalsAction());
+            }
+            if (Boolean.TRUE.equals(extension.getShardedReport())) {
+                jvmArgs.add("-Dmetatest.report.sharded=true");
+            }
+            if (Boolean.TRUE.equals(extension.getBinaryReport())) {
+                jvmArgs.add("-Dmetatest.report.binary=true");
+            }
+            if (extension.getHistoryDir() != null && !extension.getHistoryDir().isEmpty()) {
+                jvmArgs.add("-Dmetatest.history.dir=" + project.file(extension.getHistoryDir()).getAbsolutePath());
+            }
+            // The history may also be enabled through METATEST_HISTORY_DIR, so every execution gets a run id
+            test.doFirst(new RunIdAction());
+            if (extension.getCoverageQueuePolicy() != null && !extension.getCoverageQueuePolicy().isEmpty()) {
+                jvmArgs.add("-Dmetatest.coverage.queue.policy=" + extension.getCoverageQueuePolicy());
+            }
+
+            if (extension.getLogLevel() != null && !extension.getLogLevel().isEmpty()) {
+                jvmArgs.add("-Dmetatest.log.level=" + extension.getLogLevel());
+            }
+            if (Boolean.TRUE.equals(extension.getSimpleLogging())) {
+                // Plain messages on stdout, unless the build already formats slf4j-simple output itself
+                if (jvmArgs.stream().noneMatch(arg -> arg.startsWith("-Dorg.slf4j.simpleLogger."))) {
+                    jvmArgs.add("-Dorg.slf4j.simpleLogger.logFile=System.out");
+                    jvmArgs.add("-Dorg.slf4j.simpleLogger.showThreadName=false");
+                    jvmArgs.add("-Dorg.slf4j.simpleLogger.showLogName=false");
+                    jvmArgs.add("-Dorg.slf4j.simpleLogger.levelInBrackets=true");
+                }
+            }
+            if (Boolean.TRUE.equals(extension.getStreamResults())) {
+                jvmArgs.add("-Dmetatest.api.stream=true");
+            }
+            File metricsTextfile = extension.getMetricsTextfile() != null && !extension.getMetricsTextfile().isEmpty()
+                    ? project.file(extension.getMetricsTextfile())
+                    : project.getLayout().getBuildDirectory().file("metatest/metatest_metrics.prom").get().getAsFile();
+            jvmArgs.add("-Dmetatest.metrics.textfile=" + metricsTextfile.getAbsolutePath());
+            if (Boolean.TRUE.equals(extension.getFlightRecording())
+                    && jvmArgs.stream().noneMatch(arg -> arg.startsWith("-XX:StartFlightRecording"))) {
+                // A directory destination makes each JVM name its file after its pid, so forks do not overwrite
+                // each other (%p in the filename is only expanded from JDK 22)
+                File recording = project.getLayout().getBuildDirectory().dir("metatest/jfr").get().getAsFile();
+                recording.mkdirs();
+                jvmArgs.add("-XX:StartFlightRecording=settings=profile,filename=" + recording.getAbsolutePath());
+                logger.info("[Metatest] Flight recording enabled: {}", recording.getAbsolutePath());
+            }
 
             test.setJvmArgs(jvmArgs);
 
+            if (Boolean.TRUE.equals(extension.getAppCds())) {
+                File archiveDir = extension.getAppCdsDir() != null
+                        ? project.file(extension.getAppCdsDir())
+                        : project.getLayout().getBuildDirectory().dir("metatest/cds").get().getAsFile();
+                test.getJvmArgumentProviders().add(new AppCdsArgumentProvider(test, archiveDir));
+                logger.info("[Metatest] AppCDS enabled, archive directory: {}", archiveDir.getAbsolutePath());
+            }
+
             logger.info("[Metatest] Test task configured successfully");
         });
     }
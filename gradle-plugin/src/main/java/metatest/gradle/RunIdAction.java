@@ -0,0 +1,20 @@
+package metatest.gradle;
+
+import org.gradle.api.Action;
+import org.gradle.api.Task;
+import org.gradle.api.tasks.testing.Test;
+
+import java.util.UUID;
+
+/**
+ * Passes a fresh run id (-Dmetatest.run.id) to the test JVMs of each test task execution. The forks of one
+ * execution share it, so the run history merges their partial results into a single run. Set when the task
+ * runs rather than when it is configured, so a reused configuration never repeats an id.
+ */
+public class RunIdAction implements Action<Task> {
+
+    @Override
+    public void execute(Task task) {
+        ((Test) task).systemProperty("metatest.run.id", UUID.randomUUID().toString());
+    }
+}
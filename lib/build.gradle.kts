@@ -38,7 +38,7 @@ dependencies {
     implementation("org.junit.platform:junit-platform-launcher:1.9.3")
     api("org.apache.commons:commons-math3:3.6.1")
     implementation("org.slf4j:slf4j-api:2.0.9")
-    implementation("org.slf4j:slf4j-simple:1.7.36")
+    testRuntimeOnly("org.slf4j:slf4j-simple:2.0.9")
     compileOnly("org.projectlombok:lombok:1.18.36")
     annotationProcessor("org.projectlombok:lombok:1.18.30")
     implementation("org.json:json:20250107")
@@ -47,6 +47,7 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-databind:2.18.2")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.18.2")
     implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml:2.18.2")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.18.2")
     implementation("io.swagger.parser.v3:swagger-parser:2.1.22")
     testImplementation("org.assertj:assertj-core:3.24.2")
 }
@@ -1,10 +1,15 @@
 package metatest.analytics;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import metatest.core.config.CoverageConfig;
+import metatest.core.log.Logs;
 import metatest.coverage.Collector;
 import metatest.coverage.CollectorData;
+import metatest.coverage.CoverageQueue;
 import metatest.coverage.EndpointMethodCoverage;
+import metatest.report.IndexedReportWriter;
+import org.slf4j.Logger;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -12,29 +17,32 @@ import java.util.*;
 
 public class GapAnalyzer {
 
+    private static final Logger LOG = Logs.get(GapAnalyzer.class);
+
     public static void generateGapReport() {
         CoverageConfig config = CoverageConfig.getInstance();
 
         // Check if gap analysis is enabled
         if (!config.isGapAnalysisEnabled()) {
-            System.out.println("[Gap Analysis] Gap analysis is disabled");
+            LOG.info("[Gap Analysis] Gap analysis is disabled");
             return;
         }
 
         String specPath = config.getGapAnalysisSpecPath();
         if (specPath == null || specPath.isEmpty()) {
-            System.err.println("[Gap Analysis] OpenAPI spec path not configured");
+            LOG.warn("[Gap Analysis] OpenAPI spec path not configured");
             return;
         }
 
         // Load endpoints from OpenAPI spec
         Set<OpenAPISpecLoader.EndpointInfo> specEndpoints = OpenAPISpecLoader.loadEndpoints(specPath);
         if (specEndpoints.isEmpty()) {
-            System.err.println("[Gap Analysis] No endpoints loaded from OpenAPI spec");
+            LOG.warn("[Gap Analysis] No endpoints loaded from OpenAPI spec");
             return;
         }
 
-        // Get coverage data
+        // Get coverage data, once every queued call is recorded
+        CoverageQueue.getInstance().flush();
         CollectorData coverageData = Collector.getData();
         Map<String, Map<String, EndpointMethodCoverage>> paths = coverageData.getPaths();
 
@@ -92,20 +100,20 @@ public class GapAnalyzer {
         saveReport(report, config.getGapAnalysisOutputFile());
 
         // Print summary
-        System.out.println("[Gap Analysis] ========================================");
-        System.out.println("[Gap Analysis] Gap Analysis Summary");
-        System.out.println("[Gap Analysis] ========================================");
-        System.out.println("[Gap Analysis] Total endpoints in spec: " + report.getSummary().getTotalEndpointsInSpec());
-        System.out.println("[Gap Analysis] Tested endpoints: " + report.getSummary().getTestedEndpoints());
-        System.out.println("[Gap Analysis] Untested endpoints: " + report.getSummary().getUntestedEndpoints());
-        System.out.println("[Gap Analysis] Coverage: " + report.getSummary().getCoveragePercentage() + "%");
-        System.out.println("[Gap Analysis] Report saved to: " + config.getGapAnalysisOutputFile());
-        System.out.println("[Gap Analysis] ========================================");
+        LOG.info("[Gap Analysis] ========================================");
+        LOG.info("[Gap Analysis] Gap Analysis Summary");
+        LOG.info("[Gap Analysis] ========================================");
+        LOG.info("[Gap Analysis] Total endpoints in spec: " + report.getSummary().getTotalEndpointsInSpec());
+        LOG.info("[Gap Analysis] Tested endpoints: " + report.getSummary().getTestedEndpoints());
+        LOG.info("[Gap Analysis] Untested endpoints: " + report.getSummary().getUntestedEndpoints());
+        LOG.info("[Gap Analysis] Coverage: " + report.getSummary().getCoveragePercentage() + "%");
+        LOG.info("[Gap Analysis] Report saved to: " + config.getGapAnalysisOutputFile());
+        LOG.info("[Gap Analysis] ========================================");
 
         if (!report.getUntestedEndpoints().isEmpty()) {
-            System.out.println("[Gap Analysis] Untested endpoints:");
+            LOG.info("[Gap Analysis] Untested endpoints:");
             for (GapReport.EndpointDetail endpoint : report.getUntestedEndpoints()) {
-                System.out.println("[Gap Analysis]   - " + endpoint.getMethod() + " " + endpoint.getPath());
+                LOG.info("[Gap Analysis]   - " + endpoint.getMethod() + " " + endpoint.getPath());
             }
         }
     }
@@ -114,10 +122,20 @@ public class GapAnalyzer {
         ObjectMapper objectMapper = new ObjectMapper();
         try (FileWriter writer = new FileWriter(outputFile)) {
             objectMapper.writerWithDefaultPrettyPrinter().writeValue(writer, report);
-            System.out.println("[Gap Analysis] Gap report saved to: " + outputFile);
+            LOG.info("[Gap Analysis] Gap report saved to: " + outputFile);
         } catch (IOException e) {
-            System.err.println("[Gap Analysis] Failed to save gap report: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("[Gap Analysis] Failed to save gap report: " + e.getMessage(), e);
+        }
+        if (IndexedReportWriter.isBinaryReportEnabled()) {
+            try (IndexedReportWriter writer = new IndexedReportWriter(IndexedReportWriter.binaryFileFor(outputFile))) {
+                Iterator<Map.Entry<String, JsonNode>> sections = objectMapper.valueToTree(report).fields();
+                while (sections.hasNext()) {
+                    Map.Entry<String, JsonNode> section = sections.next();
+                    writer.writeEntry(section.getKey(), section.getValue());
+                }
+            } catch (IOException e) {
+                LOG.error("[Gap Analysis] Failed to save binary gap report: " + e.getMessage());
+            }
         }
     }
 }
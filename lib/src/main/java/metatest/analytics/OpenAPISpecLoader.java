@@ -1,16 +1,19 @@
 package metatest.analytics;
 
-import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.PathItem;
-import io.swagger.v3.parser.OpenAPIV3Parser;
-import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import metatest.core.log.Logs;
+import metatest.core.spec.OpenApiSpecRegistry;
+import metatest.core.spec.SpecIndex;
+import org.slf4j.Logger;
 
 import java.io.File;
 import java.util.*;
 
 public class OpenAPISpecLoader {
 
+    private static final Logger LOG = Logs.get(OpenAPISpecLoader.class);
+
+    private static final Set<String> HTTP_METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS");
+
     public static class EndpointInfo {
         private String path;
         private String method;
@@ -49,68 +52,33 @@ public class OpenAPISpecLoader {
 
     public static Set<EndpointInfo> loadEndpoints(String specPath) {
         if (specPath == null || specPath.isEmpty()) {
-            System.out.println("[Gap Analysis] No OpenAPI spec path provided");
+            LOG.info("[Gap Analysis] No OpenAPI spec path provided");
             return Collections.emptySet();
         }
 
         File specFile = new File(specPath);
         if (!specFile.exists()) {
-            System.err.println("[Gap Analysis] OpenAPI spec file not found: " + specPath);
+            LOG.warn("[Gap Analysis] OpenAPI spec file not found: " + specPath);
             return Collections.emptySet();
         }
 
-        try {
-            OpenAPIV3Parser parser = new OpenAPIV3Parser();
-            SwaggerParseResult parseResult = parser.readLocation(specPath, null, null);
-
-            if (parseResult == null || parseResult.getOpenAPI() == null) {
-                System.err.println("[Gap Analysis] Failed to parse OpenAPI spec: " + specPath);
-                if (parseResult != null && parseResult.getMessages() != null && !parseResult.getMessages().isEmpty()) {
-                    System.err.println("[Gap Analysis] Parse errors: " + parseResult.getMessages());
-                }
-                return Collections.emptySet();
-            }
+        // Parsed at most once per run, and not at all when the cached index is current
+        SpecIndex spec = OpenApiSpecRegistry.getIndex(specPath);
+        if (spec == null) {
+            LOG.warn("[Gap Analysis] Failed to load OpenAPI spec: " + specPath);
+            return Collections.emptySet();
+        }
 
-            OpenAPI openAPI = parseResult.getOpenAPI();
-            Set<EndpointInfo> endpoints = new HashSet<>();
-
-            if (openAPI.getPaths() != null) {
-                for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
-                    String path = pathEntry.getKey();
-                    PathItem pathItem = pathEntry.getValue();
-
-                    // Extract all HTTP methods for this path
-                    if (pathItem.getGet() != null) {
-                        endpoints.add(new EndpointInfo(path, "GET"));
-                    }
-                    if (pathItem.getPost() != null) {
-                        endpoints.add(new EndpointInfo(path, "POST"));
-                    }
-                    if (pathItem.getPut() != null) {
-                        endpoints.add(new EndpointInfo(path, "PUT"));
-                    }
-                    if (pathItem.getPatch() != null) {
-                        endpoints.add(new EndpointInfo(path, "PATCH"));
-                    }
-                    if (pathItem.getDelete() != null) {
-                        endpoints.add(new EndpointInfo(path, "DELETE"));
-                    }
-                    if (pathItem.getHead() != null) {
-                        endpoints.add(new EndpointInfo(path, "HEAD"));
-                    }
-                    if (pathItem.getOptions() != null) {
-                        endpoints.add(new EndpointInfo(path, "OPTIONS"));
-                    }
+        Set<EndpointInfo> endpoints = new HashSet<>();
+        for (Map.Entry<String, List<String>> pathEntry : spec.getPaths().entrySet()) {
+            for (String method : pathEntry.getValue()) {
+                if (HTTP_METHODS.contains(method)) {
+                    endpoints.add(new EndpointInfo(pathEntry.getKey(), method));
                 }
             }
-
-            System.out.println("[Gap Analysis] Loaded " + endpoints.size() + " endpoints from OpenAPI spec");
-            return endpoints;
-
-        } catch (Exception e) {
-            System.err.println("[Gap Analysis] Error loading OpenAPI spec: " + e.getMessage());
-            e.printStackTrace();
-            return Collections.emptySet();
         }
+
+        LOG.info("[Gap Analysis] Loaded " + endpoints.size() + " endpoints from OpenAPI spec");
+        return endpoints;
     }
 }
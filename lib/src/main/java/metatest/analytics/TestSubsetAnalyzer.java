@@ -0,0 +1,174 @@
+package metatest.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import metatest.core.config.SimulatorConfig;
+import metatest.core.log.Logs;
+import metatest.simulation.FaultSimulationReport;
+import metatest.simulation.ResultStore;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Builds the test x mutant kill matrix of a simulation run and computes the smallest subset of
+ * tests that still kills every killed mutant (greedy set cover), plus the tests that are redundant.
+ *
+ * The analysis relies on every test running every mutant it reaches, so it is only exact with
+ * stop_on_first_catch disabled.
+ */
+public class TestSubsetAnalyzer {
+
+    private static final Logger LOG = Logs.get(TestSubsetAnalyzer.class);
+
+    private static final String KILL_MATRIX_PATH = "kill_matrix.json";
+    private static final String SUBSET_REPORT_PATH = "test_subset.json";
+
+    public static void generateSubsetReport() {
+        ResultStore store = FaultSimulationReport.getInstance().getStore();
+        if (store.size() == 0) {
+            LOG.info("[Test Subset] No mutant results recorded, skipping subset analysis");
+            return;
+        }
+
+        boolean stopOnFirstCatch = SimulatorConfig.isStopOnFirstCatchEnabled();
+        if (stopOnFirstCatch) {
+            LOG.warn("[Test Subset] stop_on_first_catch is enabled: the kill matrix is incomplete " +
+                    "and tests may be reported redundant only because their mutants were skipped");
+        }
+
+        BitSet[] kills = buildKillMatrix(store);
+        List<Integer> subset = greedyCover(kills);
+        TestSubsetReport report = buildReport(store, kills, subset, stopOnFirstCatch);
+
+        save(buildMatrixExport(store, kills), KILL_MATRIX_PATH);
+        save(report, SUBSET_REPORT_PATH);
+
+        TestSubsetReport.Summary summary = report.getSummary();
+        LOG.info("[Test Subset] ========================================");
+        LOG.info("[Test Subset] Killed mutants: " + summary.getKilledMutants() + " of " + summary.getTotalMutants());
+        LOG.info("[Test Subset] Minimal subset: " + summary.getMinimalSubsetSize() + " of " +
+                summary.getTotalTests() + " tests kill the same mutants");
+        LOG.info("[Test Subset] Redundant tests: " + summary.getRedundantTests());
+        LOG.info("[Test Subset] Report saved to: " + SUBSET_REPORT_PATH);
+        LOG.info("[Test Subset] ========================================");
+    }
+
+    /**
+     * Transposes the per-mutant caught sets of the store into one BitSet of killed mutant ids per test id.
+     */
+    public static BitSet[] buildKillMatrix(ResultStore store) {
+        BitSet[] kills = new BitSet[store.testCount()];
+        for (int test = 0; test < kills.length; test++) {
+            kills[test] = new BitSet(store.size());
+        }
+        for (int mutant = 0; mutant < store.size(); mutant++) {
+            BitSet caughtBy = store.caughtBySet(mutant);
+            for (int test = caughtBy.nextSetBit(0); test >= 0; test = caughtBy.nextSetBit(test + 1)) {
+                kills[test].set(mutant);
+            }
+        }
+        return kills;
+    }
+
+    /**
+     * Greedy set cover over the kill matrix: repeatedly picks the test that kills the most mutants
+     * not yet covered, until every killed mutant is covered. Uses lazy gain evaluation, since a
+     * test's gain can only shrink as coverage grows.
+     *
+     * @param kills Killed mutants per test id
+     * @return Selected test ids in selection order
+     */
+    public static List<Integer> greedyCover(BitSet[] kills) {
+        // Entries are {stale gain, test id}; highest gain first, lowest test id on ties
+        PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> a[0] != b[0] ? Integer.compare(b[0], a[0]) : Integer.compare(a[1], b[1]));
+        for (int test = 0; test < kills.length; test++) {
+            int gain = kills[test].cardinality();
+            if (gain > 0) {
+                queue.add(new int[]{gain, test});
+            }
+        }
+
+        BitSet covered = new BitSet();
+        List<Integer> selected = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            int[] top = queue.poll();
+            BitSet remaining = (BitSet) kills[top[1]].clone();
+            remaining.andNot(covered);
+            int gain = remaining.cardinality();
+            if (gain == 0) {
+                continue;
+            }
+            if (!queue.isEmpty() && gain < queue.peek()[0]) {
+                queue.add(new int[]{gain, top[1]});
+                continue;
+            }
+            selected.add(top[1]);
+            covered.or(remaining);
+        }
+        return selected;
+    }
+
+    private static TestSubsetReport buildReport(ResultStore store, BitSet[] kills, List<Integer> subset, boolean stopOnFirstCatch) {
+        TestSubsetReport report = new TestSubsetReport();
+
+        BitSet covered = new BitSet();
+        BitSet selected = new BitSet(kills.length);
+        for (int test : subset) {
+            BitSet newKills = (BitSet) kills[test].clone();
+            newKills.andNot(covered);
+            covered.or(kills[test]);
+            selected.set(test);
+            report.getMinimalSubset().add(new TestSubsetReport.TestKills(
+                    store.testName(test), kills[test].cardinality(), newKills.cardinality()));
+        }
+        for (int test = 0; test < kills.length; test++) {
+            if (!selected.get(test)) {
+                report.getRedundantTests().add(new TestSubsetReport.TestKills(
+                        store.testName(test), kills[test].cardinality(), null));
+            }
+        }
+
+        TestSubsetReport.Summary summary = report.getSummary();
+        summary.setTotalTests(kills.length);
+        summary.setTotalMutants(store.size());
+        summary.setKilledMutants(covered.cardinality());
+        summary.setMinimalSubsetSize(subset.size());
+        summary.setRedundantTests(report.getRedundantTests().size());
+        summary.setStopOnFirstCatch(stopOnFirstCatch);
+        return report;
+    }
+
+    private static TestSubsetReport.KillMatrix buildMatrixExport(ResultStore store, BitSet[] kills) {
+        TestSubsetReport.KillMatrix matrix = new TestSubsetReport.KillMatrix();
+        for (int mutant = 0; mutant < store.size(); mutant++) {
+            matrix.getMutants().add(new TestSubsetReport.Mutant(
+                    store.endpoint(mutant),
+                    store.isInvariant(mutant) ? "invariant" : "contract",
+                    store.fault(mutant),
+                    store.field(mutant)));
+        }
+        Base64.Encoder encoder = Base64.getEncoder();
+        for (int test = 0; test < kills.length; test++) {
+            matrix.getTests().add(store.testName(test));
+            matrix.getKills().add(encoder.encodeToString(kills[test].toByteArray()));
+        }
+        return matrix;
+    }
+
+    private static void save(Object report, String outputFile) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(outputFile), report);
+        } catch (IOException e) {
+            LOG.error("[Test Subset] Failed to save " + outputFile + ": " + e.getMessage());
+        }
+    }
+}
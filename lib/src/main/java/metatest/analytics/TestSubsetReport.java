@@ -0,0 +1,122 @@
+package metatest.analytics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal test subset computed from the kill matrix of a simulation run.
+ */
+@Data
+public class TestSubsetReport {
+
+    @JsonProperty("generated_at")
+    private String generatedAt = Instant.now().toString();
+
+    @JsonProperty("summary")
+    private Summary summary = new Summary();
+
+    /**
+     * Tests to keep, in greedy order: each adds the most kills not yet covered by earlier tests.
+     */
+    @JsonProperty("minimal_subset")
+    private List<TestKills> minimalSubset = new ArrayList<>();
+
+    /**
+     * Tests whose kills are all covered by the minimal subset (including tests that kill nothing).
+     */
+    @JsonProperty("redundant_tests")
+    private List<TestKills> redundantTests = new ArrayList<>();
+
+    @Data
+    public static class Summary {
+        @JsonProperty("total_tests")
+        private int totalTests;
+
+        @JsonProperty("total_mutants")
+        private int totalMutants;
+
+        @JsonProperty("killed_mutants")
+        private int killedMutants;
+
+        @JsonProperty("minimal_subset_size")
+        private int minimalSubsetSize;
+
+        @JsonProperty("redundant_tests")
+        private int redundantTests;
+
+        @JsonProperty("stop_on_first_catch")
+        private boolean stopOnFirstCatch;
+    }
+
+    @Data
+    public static class TestKills {
+        @JsonProperty("test")
+        private String test;
+
+        @JsonProperty("kills")
+        private int kills;
+
+        @JsonProperty("new_kills")
+        private Integer newKills;
+
+        public TestKills() {
+        }
+
+        public TestKills(String test, int kills, Integer newKills) {
+            this.test = test;
+            this.kills = kills;
+            this.newKills = newKills;
+        }
+    }
+
+    /**
+     * The test x mutant kill matrix. Row i of kills is the java.util.BitSet (toByteArray, base64)
+     * of the mutant indices killed by tests[i].
+     */
+    @Data
+    public static class KillMatrix {
+        @JsonProperty("generated_at")
+        private String generatedAt = Instant.now().toString();
+
+        @JsonProperty("encoding")
+        private String encoding = "base64(java.util.BitSet#toByteArray) over mutant index";
+
+        @JsonProperty("tests")
+        private List<String> tests = new ArrayList<>();
+
+        @JsonProperty("mutants")
+        private List<Mutant> mutants = new ArrayList<>();
+
+        @JsonProperty("kills")
+        private List<String> kills = new ArrayList<>();
+    }
+
+    @Data
+    public static class Mutant {
+        @JsonProperty("endpoint")
+        private String endpoint;
+
+        @JsonProperty("kind")
+        private String kind;
+
+        @JsonProperty("fault")
+        private String fault;
+
+        @JsonProperty("field")
+        private String field;
+
+        public Mutant() {
+        }
+
+        public Mutant(String endpoint, String kind, String fault, String field) {
+            this.endpoint = endpoint;
+            this.kind = kind;
+            this.fault = fault;
+            this.field = field;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import metatest.api.dto.ContractFaultStrategyListResponse;
 import metatest.api.dto.SubmitSimulationResultsRequest;
 import metatest.core.config.MetaTestConfig;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.net.URI;
@@ -14,21 +16,29 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 
 public class FaultStrategyApiClient {
-    
+
+    private static final Logger LOG = Logs.get(FaultStrategyApiClient.class);
+
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final MetaTestConfig config;
+    private final StrategyCache strategyCache;
 
 
     public FaultStrategyApiClient() {
+        this(StrategyCache.getInstance());
+    }
+
+    public FaultStrategyApiClient(StrategyCache strategyCache) {
         this.config = MetaTestConfig.getInstance();
+        this.strategyCache = strategyCache;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
         
-        System.out.println("Initialized Metatest API client with config: " + config);
+        LOG.info("Initialized Metatest API client with config: " + config);
     }
 
     private HttpRequest.Builder createAuthenticatedRequestBuilder() {
@@ -39,26 +49,38 @@ public class FaultStrategyApiClient {
                 .timeout(Duration.ofSeconds(30));
     }
     
+    /**
+     * Returns the project's fault strategies, served from {@link StrategyCache} when a cached copy is fresh.
+     */
     public ContractFaultStrategyListResponse getContractFaultStrategies() {
+        String url = config.getFaultStrategiesUrl();
         try {
-            HttpRequest request = createAuthenticatedRequestBuilder()
-                    .uri(URI.create(config.getFaultStrategiesUrl()))
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            System.out.println("Contract Fault Strategy Response: " + response.body());
-            
-            if (response.statusCode() != 200) {
-                throw new RuntimeException("Failed to fetch fault strategies. HTTP " + response.statusCode() + ": " + response.body());
-            }
-            
-            return objectMapper.readValue(response.body(), ContractFaultStrategyListResponse.class);
-            
+            String body = strategyCache.get(url, etag -> fetchContractFaultStrategies(url, etag));
+            return objectMapper.readValue(body, ContractFaultStrategyListResponse.class);
         } catch (IOException | InterruptedException e) {
             throw new RuntimeException("Error communicating with fault strategy API", e);
         }
     }
+
+    private StrategyCache.Fetched fetchContractFaultStrategies(String url, String etag) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = createAuthenticatedRequestBuilder()
+                .uri(URI.create(url))
+                .GET();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+
+        HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        LOG.debug("Contract Fault Strategy Response: HTTP {} {}", response.statusCode(), Logs.body(response.body()));
+
+        if (response.statusCode() == 304 && etag != null) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Failed to fetch fault strategies. HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return new StrategyCache.Fetched(response.body(), response.headers().firstValue("ETag").orElse(null));
+    }
     
     public void submitSimulationResults(SubmitSimulationResultsRequest request) {
         try {
@@ -70,13 +92,13 @@ public class FaultStrategyApiClient {
                     .build();
 
             HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            System.out.println("Simulation Results Response: " + response.body());
+            LOG.debug("Simulation Results Response: {}", Logs.body(response.body()));
             
             if (response.statusCode() != 201) {
                 throw new RuntimeException("Failed to submit simulation results. HTTP " + response.statusCode() + ": " + response.body());
             }
             
-            System.out.println("Successfully submitted simulation results to API using API key authentication");
+            LOG.info("Successfully submitted simulation results to API using API key authentication");
             
         } catch (IOException | InterruptedException e) {
             throw new RuntimeException("Error submitting simulation results to API", e);
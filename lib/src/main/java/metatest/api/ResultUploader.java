@@ -0,0 +1,299 @@
+package metatest.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import metatest.core.config.MetaTestConfig;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import metatest.metrics.SimulationMetrics;
+import metatest.simulation.ResultJournal;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sends mutant results to the Metatest API while the simulation is still running, instead of one large
+ * request at the end. Enabled with -Dmetatest.api.stream=true (or METATEST_API_STREAM) when the API is configured.
+ *
+ * Results are grouped into batches of -Dmetatest.api.stream.batch.size results (default 500) and POSTed to
+ * {simulation-results URL}/batches as gzip-compressed NDJSON, one result journal entry per line. Every request
+ * carries X-Metatest-Run-Id, X-Metatest-Batch-Sequence and an Idempotency-Key that stays the same across retries;
+ * the last batch also has X-Metatest-Batch-Final: true and X-Metatest-Result-Count.
+ *
+ * Batches are sent one at a time by a background thread over a single HttpClient, so the connection is reused.
+ * At most {@value #MAX_PENDING_BATCHES} batches wait to be sent; beyond that the test thread that filled a batch
+ * waits for room, outside the uploader's lock, so a slow API slows the tests down but never runs a request on them.
+ * Batches handed off by different test threads may arrive out of order; the final one is always last.
+ * Failed requests (I/O errors, 408, 429 and 5xx) are retried with exponential backoff.
+ */
+public class ResultUploader {
+
+    private static final Logger LOG = Logs.get(ResultUploader.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_MAX_ATTEMPTS = 4;
+    private static final long DEFAULT_BACKOFF_MILLIS = 500;
+    private static final int MAX_PENDING_BATCHES = 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String url;
+    private final String apiKey;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final String runId = UUID.randomUUID().toString();
+    private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(MAX_PENDING_BATCHES);
+    private final Thread sender;
+
+    private final AtomicInteger failedBatches = new AtomicInteger();
+    private List<ResultJournal.Entry> pending = new ArrayList<>();
+    private long nextSequence;
+    private long resultCount;
+    private int handOffs;
+    private boolean closed;
+
+    public ResultUploader(String url, String apiKey, int batchSize, int maxAttempts, long backoffMillis) {
+        this.url = url;
+        this.apiKey = apiKey;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.sender = new Thread(this::drain, "metatest-result-upload");
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /**
+     * Returns an uploader for the configured API, or null if streaming is off or the API is not configured.
+     */
+    public static ResultUploader fromConfig() {
+        if (!isEnabled()) {
+            return null;
+        }
+        MetaTestConfig config = MetaTestConfig.getInstance();
+        if (!config.isApiConfigured()) {
+            LOG.warn("[MetaTest] Result streaming is enabled but the Metatest API is not configured");
+            return null;
+        }
+        return new ResultUploader(config.getSimulationResultsUrl() + "/batches", config.getApiKey(),
+                SystemSettings.getInt("metatest.api.stream.batch.size", "METATEST_API_STREAM_BATCH_SIZE", DEFAULT_BATCH_SIZE),
+                DEFAULT_MAX_ATTEMPTS, DEFAULT_BACKOFF_MILLIS);
+    }
+
+    public static boolean isEnabled() {
+        return SystemSettings.getBoolean("metatest.api.stream", "METATEST_API_STREAM", false);
+    }
+
+    /**
+     * Queues a result. A full batch is swapped out under the lock and handed to the sender after releasing it.
+     */
+    public void add(ResultJournal.Entry entry) {
+        Batch batch;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            pending.add(entry);
+            resultCount++;
+            if (pending.size() < batchSize) {
+                return;
+            }
+            batch = new Batch(pending, nextSequence++, false, 0);
+            pending = new ArrayList<>();
+            handOffs++;
+        }
+        try {
+            handOff(batch);
+        } finally {
+            synchronized (this) {
+                handOffs--;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Queues the remaining results as the final batch once every full batch has been handed off,
+     * so the final batch is always the last one the server receives, then waits for the sender.
+     *
+     * @return true if every batch was accepted by the server
+     */
+    public boolean close() {
+        Batch batch;
+        synchronized (this) {
+            if (closed) {
+                return failedBatches.get() == 0;
+            }
+            closed = true;
+            try {
+                while (handOffs > 0) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            batch = new Batch(pending, nextSequence++, true, resultCount);
+            pending = new ArrayList<>();
+        }
+        handOff(batch);
+        try {
+            sender.join(TimeUnit.MINUTES.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (sender.isAlive()) {
+            LOG.warn("[MetaTest] Timed out waiting for result batches to be sent");
+            return false;
+        }
+        if (failedBatches.get() > 0) {
+            LOG.warn("[MetaTest] " + failedBatches.get() + " result batch(es) could not be sent to the API");
+            return false;
+        }
+        LOG.info("[MetaTest] Streamed " + batch.count + " result(s) to the API in " + (batch.sequence + 1) + " batch(es)");
+        return true;
+    }
+
+    public int getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * Puts a batch on the sender's queue, waiting for room when it is full.
+     */
+    private void handOff(Batch batch) {
+        long start = System.nanoTime();
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("[MetaTest] Interrupted while queueing result batch " + batch.sequence);
+            failedBatches.incrementAndGet();
+        }
+        SimulationMetrics.getInstance().record(SimulationMetrics.Stage.RESULT_UPLOAD_HANDOFF, System.nanoTime() - start);
+    }
+
+    /**
+     * Sends queued batches until the final one has gone out.
+     */
+    private void drain() {
+        while (true) {
+            Batch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!send(batch)) {
+                failedBatches.incrementAndGet();
+            }
+            if (batch.last) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(Batch batch) {
+        long sequence = batch.sequence;
+        byte[] body;
+        try {
+            body = encode(batch.entries);
+        } catch (IOException e) {
+            LOG.warn("[MetaTest] Failed to encode result batch " + sequence + ": " + e.getMessage());
+            return false;
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("X-API-Key", apiKey)
+                .header("Content-Type", "application/x-ndjson")
+                .header("Content-Encoding", "gzip")
+                .header("Idempotency-Key", runId + "-" + sequence)
+                .header("X-Metatest-Run-Id", runId)
+                .header("X-Metatest-Batch-Sequence", String.valueOf(sequence))
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (batch.last) {
+            builder.header("X-Metatest-Batch-Final", "true")
+                    .header("X-Metatest-Result-Count", String.valueOf(batch.count));
+        }
+        HttpRequest request = builder.build();
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            String failure;
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status >= 200 && status < 300) {
+                    return true;
+                }
+                if (status != 408 && status != 429 && status < 500) {
+                    LOG.warn("[MetaTest] Result batch " + sequence + " was rejected with HTTP " + status);
+                    return false;
+                }
+                failure = "HTTP " + status;
+            } catch (IOException e) {
+                failure = e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+
+            if (attempt < maxAttempts) {
+                long delay = backoffMillis << (attempt - 1);
+                LOG.debug("[MetaTest] Result batch {} failed ({}), retrying in {} ms", sequence, failure, delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            } else {
+                LOG.warn("[MetaTest] Result batch " + sequence + " failed after " + maxAttempts + " attempt(s): " + failure);
+            }
+        }
+        return false;
+    }
+
+    private byte[] encode(List<ResultJournal.Entry> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (ResultJournal.Entry entry : batch) {
+                gzip.write(objectMapper.writeValueAsBytes(entry));
+                gzip.write('\n');
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class Batch {
+        private final List<ResultJournal.Entry> entries;
+        private final long sequence;
+        private final boolean last;
+        private final long count;
+
+        Batch(List<ResultJournal.Entry> entries, long sequence, boolean last, long count) {
+            this.entries = entries;
+            this.sequence = sequence;
+            this.last = last;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package metatest.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk cache of API responses that rarely change (the fault strategy list), shared by every test JVM
+ * and fork that runs in the same project directory.
+ *
+ * A copy younger than half the TTL is used as is. An older copy is still used, and one JVM revalidates it
+ * in the background with If-None-Match, so the next fork finds it fresh. Once the TTL has passed the
+ * revalidation blocks, falling back to the stale copy if the server cannot be reached. Within a JVM each URL
+ * is resolved once, so every caller sees the same response for the whole run.
+ *
+ * Directory: build/metatest/strategy-cache (-Dmetatest.strategy.cache.dir or METATEST_STRATEGY_CACHE_DIR).
+ * TTL: 300 seconds (-Dmetatest.strategy.cache.ttl or METATEST_STRATEGY_CACHE_TTL); 0 disables the disk cache.
+ */
+public class StrategyCache {
+
+    private static final Logger LOG = Logs.get(StrategyCache.class);
+
+    private static final String DEFAULT_DIRECTORY = "build/metatest/strategy-cache";
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    private static volatile StrategyCache instance;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final File directory;
+    private final long ttlMillis;
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> refreshing = new ConcurrentHashMap<>();
+
+    public StrategyCache(File directory, long ttlMillis) {
+        this.directory = directory;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public static StrategyCache getInstance() {
+        StrategyCache cache = instance;
+        if (cache == null) {
+            synchronized (StrategyCache.class) {
+                cache = instance;
+                if (cache == null) {
+                    String dir = SystemSettings.getString("metatest.strategy.cache.dir", "METATEST_STRATEGY_CACHE_DIR", DEFAULT_DIRECTORY);
+                    long ttlSeconds = SystemSettings.getLong("metatest.strategy.cache.ttl", "METATEST_STRATEGY_CACHE_TTL", DEFAULT_TTL_SECONDS);
+                    cache = new StrategyCache(new File(dir), ttlSeconds * 1000);
+                    instance = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Fetches a resource, returning the new body and ETag, or null when the server answers 304 Not Modified.
+     */
+    public interface Fetcher {
+        Fetched fetch(String ifNoneMatch) throws IOException, InterruptedException;
+    }
+
+    public static final class Fetched {
+        private final String body;
+        private final String etag;
+
+        public Fetched(String body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+
+    @Data
+    static class Entry {
+        @JsonProperty("url")
+        private String url;
+
+        @JsonProperty("etag")
+        private String etag;
+
+        @JsonProperty("fetched_at")
+        private long fetchedAt;
+
+        @JsonProperty("body")
+        private String body;
+    }
+
+    /**
+     * Returns the body of the resource at the URL, from this JVM, the disk cache or the server.
+     */
+    public String get(String url, Fetcher fetcher) throws IOException, InterruptedException {
+        String body = resolved.get(url);
+        if (body == null) {
+            body = load(url, fetcher);
+            String previous = resolved.putIfAbsent(url, body);
+            if (previous != null) {
+                body = previous;
+            }
+        }
+        return body;
+    }
+
+    private String load(String url, Fetcher fetcher) throws IOException, InterruptedException {
+        if (ttlMillis <= 0) {
+            return fetcher.fetch(null).body;
+        }
+
+        Entry cached = read(url);
+        if (cached == null) {
+            return revalidate(url, null, fetcher).getBody();
+        }
+
+        long age = System.currentTimeMillis() - cached.getFetchedAt();
+        if (age < ttlMillis / 2) {
+            return cached.getBody();
+        }
+        if (age < ttlMillis) {
+            refreshInBackground(url, cached, fetcher);
+            return cached.getBody();
+        }
+        try {
+            return revalidate(url, cached, fetcher).getBody();
+        } catch (IOException e) {
+            LOG.warn("[MetaTest] Could not revalidate cached fault strategies, using a copy from "
+                    + (age / 1000) + "s ago: " + e.getMessage());
+            return cached.getBody();
+        }
+    }
+
+    private Entry revalidate(String url, Entry cached, Fetcher fetcher) throws IOException, InterruptedException {
+        Fetched fetched = fetcher.fetch(cached != null ? cached.getEtag() : null);
+        Entry entry = new Entry();
+        entry.setUrl(url);
+        entry.setFetchedAt(System.currentTimeMillis());
+        if (fetched == null && cached != null) {
+            entry.setEtag(cached.getEtag());
+            entry.setBody(cached.getBody());
+        } else if (fetched != null) {
+            entry.setEtag(fetched.etag);
+            entry.setBody(fetched.body);
+        } else {
+            throw new IOException("Server answered 304 Not Modified without a cached copy");
+        }
+        write(entry);
+        return entry;
+    }
+
+    /**
+     * Revalidates on a daemon thread. The lock file keeps concurrent forks from all refreshing at once.
+     */
+    private void refreshInBackground(String url, Entry cached, Fetcher fetcher) {
+        if (refreshing.putIfAbsent(url, Boolean.TRUE) != null) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                Files.createDirectories(directory.toPath());
+                try (FileChannel channel = FileChannel.open(new File(directory, key(url) + ".lock").toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock lock = channel.tryLock()) {
+                    if (lock != null) {
+                        revalidate(url, cached, fetcher);
+                    }
+                }
+            } catch (IOException e) {
+                LOG.debug("[MetaTest] Background refresh of cached fault strategies failed: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                refreshing.remove(url);
+            }
+        }, "metatest-strategy-refresh");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    Entry read(String url) {
+        File file = fileFor(url);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            Entry entry = objectMapper.readValue(file, Entry.class);
+            return url.equals(entry.getUrl()) && entry.getBody() != null ? entry : null;
+        } catch (IOException e) {
+            LOG.warn("[MetaTest] Ignoring unreadable strategy cache " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes to a temporary file and moves it into place, so other forks never read a partial entry.
+     */
+    private void write(Entry entry) {
+        File file = fileFor(entry.getUrl());
+        try {
+            Files.createDirectories(directory.toPath());
+            File temp = File.createTempFile(file.getName(), ".tmp", directory);
+            try {
+                objectMapper.writeValue(temp, entry);
+                try {
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            LOG.warn("[MetaTest] Failed to cache fault strategies: " + e.getMessage());
+        }
+    }
+
+    private File fileFor(String url) {
+        return new File(directory, key(url) + ".json");
+    }
+
+    private static String key(String url) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package metatest.core.config;
 import metatest.api.FaultStrategyApiClient;
 import metatest.api.dto.ContractFaultStrategyListResponse;
 import metatest.api.dto.ContractFaultStrategyResponse;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +15,8 @@ import java.util.List;
  */
 public class ApiConfigurationSource implements ConfigurationSource {
 
+    private static final Logger LOG = Logs.get(ApiConfigurationSource.class);
+
     private final FaultStrategyApiClient apiClient;
 
     public ApiConfigurationSource() {
@@ -33,11 +37,11 @@ public class ApiConfigurationSource implements ConfigurationSource {
                     .orElse(null);
 
             if (strategy == null) {
-                System.out.println("No enabled contract fault strategies found");
+                LOG.info("No enabled contract fault strategies found");
                 return enabledFaults;
             }
 
-            System.out.println("Using fault strategy: " + strategy.getName());
+            LOG.info("Using fault strategy: " + strategy.getName());
 
             ContractFaultStrategyResponse.Faults faults = strategy.getFaults();
             if (faults == null) {
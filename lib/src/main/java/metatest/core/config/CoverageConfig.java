@@ -3,17 +3,20 @@ package metatest.core.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import lombok.Data;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Data
 public class CoverageConfig {
 
-    private static CoverageConfig INSTANCE;
+    private static final Logger LOG = Logs.get(CoverageConfig.class);
+
+    private static volatile CoverageConfig INSTANCE;
     private static final String CONFIG_FILE = "coverage_config.yml";
 
     private Coverage coverage;
@@ -26,6 +29,8 @@ public class CoverageConfig {
         private List<String> exclude_endpoints = new ArrayList<>();
         private boolean include_request_body = true;
         private boolean include_response_body = false;
+        private int max_calls_per_endpoint = 100;
+        private boolean spill_bodies = false;
         private boolean aggregate_by_pattern = true;
         private GapAnalysis gap_analysis;
     }
@@ -37,13 +42,20 @@ public class CoverageConfig {
         private String output_file = "gap_analysis.json";
     }
 
-    private List<Pattern> excludePatterns;
-
-    public static synchronized CoverageConfig getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = loadConfig();
+    private ExclusionMatcher excludeMatcher = ExclusionMatcher.NONE;
+
+    public static CoverageConfig getInstance() {
+        CoverageConfig config = INSTANCE;
+        if (config == null) {
+            synchronized (CoverageConfig.class) {
+                config = INSTANCE;
+                if (config == null) {
+                    config = loadConfig();
+                    INSTANCE = config;
+                }
+            }
         }
-        return INSTANCE;
+        return config;
     }
 
     private static CoverageConfig loadConfig() {
@@ -51,7 +63,7 @@ public class CoverageConfig {
 
         try (InputStream is = CoverageConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (is == null) {
-                System.out.println("[Coverage] No coverage_config.yml found, using defaults");
+                LOG.info("[Coverage] No coverage_config.yml found, using defaults");
                 CoverageConfig config = new CoverageConfig();
                 config.coverage = new Coverage();
                 return config;
@@ -59,11 +71,11 @@ public class CoverageConfig {
 
             CoverageConfig config = mapper.readValue(is, CoverageConfig.class);
             config.compileExclusionPatterns();
-            System.out.println("[Coverage] Loaded configuration from " + CONFIG_FILE);
+            LOG.info("[Coverage] Loaded configuration from " + CONFIG_FILE);
             return config;
 
         } catch (IOException e) {
-            System.err.println("[Coverage] Failed to load coverage_config.yml: " + e.getMessage());
+            LOG.warn("[Coverage] Failed to load coverage_config.yml: " + e.getMessage());
             CoverageConfig config = new CoverageConfig();
             config.coverage = new Coverage();
             return config;
@@ -71,16 +83,7 @@ public class CoverageConfig {
     }
 
     private void compileExclusionPatterns() {
-        excludePatterns = new ArrayList<>();
-        if (coverage != null && coverage.exclude_endpoints != null) {
-            for (String pattern : coverage.exclude_endpoints) {
-                // Convert glob-like patterns to regex
-                String regex = pattern
-                        .replace("*", ".*")
-                        .replace("?", ".");
-                excludePatterns.add(Pattern.compile(regex));
-            }
-        }
+        excludeMatcher = ExclusionMatcher.ofGlobs(coverage != null ? coverage.exclude_endpoints : null);
     }
 
     public boolean isEnabled() {
@@ -88,16 +91,7 @@ public class CoverageConfig {
     }
 
     public boolean isEndpointExcluded(String endpoint) {
-        if (endpoint == null || excludePatterns == null) {
-            return false;
-        }
-
-        for (Pattern pattern : excludePatterns) {
-            if (pattern.matcher(endpoint).matches()) {
-                return true;
-            }
-        }
-        return false;
+        return excludeMatcher.matches(endpoint);
     }
 
     public boolean isUrlTracked(String url) {
@@ -129,6 +123,17 @@ public class CoverageConfig {
         return coverage != null && coverage.include_response_body;
     }
 
+    /**
+     * Maximum number of calls kept per endpoint and method, or 0 to keep every call.
+     */
+    public int getMaxCallsPerEndpoint() {
+        return coverage != null ? Math.max(0, coverage.max_calls_per_endpoint) : 100;
+    }
+
+    public boolean shouldSpillBodies() {
+        return coverage != null && coverage.spill_bodies;
+    }
+
     public boolean shouldAggregateByPattern() {
         return coverage != null && coverage.aggregate_by_pattern;
     }
@@ -0,0 +1,119 @@
+package metatest.core.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * One category of exclusion rules (URLs, endpoints, tests) compiled into a single alternation pattern,
+ * so a check runs one match however many rules there are. Verdicts are memoized per value, which makes
+ * repeated checks of the same endpoint or test a map lookup.
+ *
+ * A value is excluded when it matches any rule in full, exactly as with one {@link Pattern} per rule.
+ */
+public final class ExclusionMatcher {
+
+    public static final ExclusionMatcher NONE = new ExclusionMatcher(Collections.emptyList());
+
+    private static final int MAX_CACHED_VERDICTS = 10_000;
+
+    private final Pattern combined;
+    private final List<Pattern> separate;
+    private final Map<String, Boolean> verdicts = new ConcurrentHashMap<>();
+
+    private ExclusionMatcher(List<String> regexes) {
+        List<Pattern> patterns = new ArrayList<>();
+        StringBuilder alternation = new StringBuilder();
+        // Numbered back-references would point at the wrong group once rules are joined
+        boolean joinable = true;
+        for (String regex : regexes) {
+            // Each rule is compiled on its own too, so a bad rule is reported as itself
+            patterns.add(Pattern.compile(regex));
+            joinable &= !regex.matches("(?s).*\\\\[1-9].*");
+            alternation.append(alternation.length() > 0 ? "|" : "").append("(?:").append(regex).append(')');
+        }
+
+        Pattern joined = null;
+        if (joinable && !regexes.isEmpty()) {
+            try {
+                joined = Pattern.compile(alternation.toString());
+            } catch (PatternSyntaxException e) {
+                // e.g. the same named group in two rules
+            }
+        }
+        this.combined = joined;
+        this.separate = joined != null ? Collections.emptyList() : patterns;
+    }
+
+    /**
+     * Compiles glob-like rules: '*' matches any run of characters, '?' any single character.
+     */
+    public static ExclusionMatcher ofGlobs(List<String> globs) {
+        List<String> regexes = new ArrayList<>();
+        if (globs != null) {
+            for (String glob : globs) {
+                if (glob != null) {
+                    regexes.add(globToRegex(glob));
+                }
+            }
+        }
+        return regexes.isEmpty() ? NONE : new ExclusionMatcher(regexes);
+    }
+
+    /**
+     * Compiles rules that are already regular expressions.
+     */
+    public static ExclusionMatcher ofRegexes(List<String> regexes) {
+        List<String> rules = new ArrayList<>();
+        if (regexes != null) {
+            for (String regex : regexes) {
+                if (regex != null) {
+                    rules.add(regex);
+                }
+            }
+        }
+        return rules.isEmpty() ? NONE : new ExclusionMatcher(rules);
+    }
+
+    static String globToRegex(String glob) {
+        // Example: '*/login*' becomes '.*/login.*'
+        return glob
+                .replace("*", ".*")
+                .replace("?", ".");
+    }
+
+    public boolean isEmpty() {
+        return combined == null && separate.isEmpty();
+    }
+
+    public boolean matches(String value) {
+        if (value == null || isEmpty()) {
+            return false;
+        }
+        Boolean verdict = verdicts.get(value);
+        if (verdict == null) {
+            verdict = evaluate(value);
+            if (verdicts.size() >= MAX_CACHED_VERDICTS) {
+                verdicts.clear();
+            }
+            verdicts.put(value, verdict);
+        }
+        return verdict;
+    }
+
+    private boolean evaluate(String value) {
+        if (combined != null) {
+            return combined.matcher(value).matches();
+        }
+        for (Pattern pattern : separate) {
+            if (pattern.matcher(value).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,27 +2,37 @@ package metatest.core.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 
 public class LocalConfigurationSource implements ConfigurationSource {
 
+    private static final Logger LOG = Logs.get(LocalConfigurationSource.class);
+
     private final SimulatorConfig config;
-    private final List<Pattern> urlExcludePatterns;
-    private final List<Pattern> endpointExcludePatterns;
-    private final List<Pattern> testExcludePatterns;
+    private final ExclusionMatcher endpointExclusions;
+    private final ExclusionMatcher testExclusions;
 
     public LocalConfigurationSource() {
         this.config = loadConfig();
         // Support both new exclusions structure and legacy structure
-        this.urlExcludePatterns = compilePatterns(getUrlExclusions());
-        this.endpointExcludePatterns = compilePatterns(getEndpointExclusions());
-        this.testExcludePatterns = compilePatterns(getTestExclusions());
+        // URL and endpoint rules are checked against the same value, so they share one matcher
+        List<String> endpointRules = new ArrayList<>();
+        if (getUrlExclusions() != null) {
+            endpointRules.addAll(getUrlExclusions());
+        }
+        if (getEndpointExclusions() != null) {
+            endpointRules.addAll(getEndpointExclusions());
+        }
+        this.endpointExclusions = ExclusionMatcher.ofGlobs(endpointRules);
+        this.testExclusions = ExclusionMatcher.ofGlobs(getTestExclusions());
     }
 
     private List<String> getUrlExclusions() {
@@ -61,6 +71,20 @@ public class LocalConfigurationSource implements ConfigurationSource {
     private SimulatorConfig loadConfig() {
         ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
 
+        // An explicit file path takes precedence over the classpath resource,
+        // so config.yml can be edited between runs without reprocessing resources
+        String configPath = SystemSettings.getString("metatest.config.path", "METATEST_CONFIG_PATH");
+        if (configPath != null) {
+            File configFile = new File(configPath);
+            try {
+                SimulatorConfig config = mapper.readValue(configFile, SimulatorConfig.class);
+                LOG.info("Loaded Metatest configuration from " + configFile.getAbsolutePath());
+                return config;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to parse " + configFile.getAbsolutePath(), e);
+            }
+        }
+
         try (InputStream is = getClass().getClassLoader().getResourceAsStream("config.yml")) {
             if (is == null) {
                 throw new RuntimeException("config.yml not found in classpath. " +
@@ -68,7 +92,7 @@ public class LocalConfigurationSource implements ConfigurationSource {
             }
 
             SimulatorConfig config = mapper.readValue(is, SimulatorConfig.class);
-            System.out.println("Loaded Metatest configuration from config.yml");
+            LOG.info("Loaded Metatest configuration from config.yml");
             return config;
 
         } catch (IOException e) {
@@ -76,29 +100,12 @@ public class LocalConfigurationSource implements ConfigurationSource {
         }
     }
 
-    private List<Pattern> compilePatterns(List<String> patterns) {
-        if (patterns == null || patterns.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        List<Pattern> compiledPatterns = new ArrayList<>();
-        for (String pattern : patterns) {
-            // Convert glob-like patterns to regex
-            // Example: '*/login*' becomes '.*\/login.*'
-            String regex = pattern
-                    .replace("*", ".*")
-                    .replace("?", ".");
-            compiledPatterns.add(Pattern.compile(regex));
-        }
-        return compiledPatterns;
-    }
-
     @Override
     public List<FaultCollection> getEnabledFaults() {
         List<FaultCollection> enabledFaults = new ArrayList<>();
 
         if (config.faults == null) {
-            System.out.println("No faults section found in config.yml");
+            LOG.info("No faults section found in config.yml");
             return enabledFaults;
         }
 
@@ -121,44 +128,18 @@ public class LocalConfigurationSource implements ConfigurationSource {
             enabledFaults.add(FaultCollection.http_method_change);
         }
 
-        System.out.println("Enabled faults from config.yml: " + enabledFaults);
+        LOG.info("Enabled faults from config.yml: " + enabledFaults);
         return enabledFaults;
     }
 
     @Override
     public boolean isEndpointExcluded(String endpoint) {
-        if (endpoint == null) {
-            return false;
-        }
-
-        for (Pattern pattern : urlExcludePatterns) {
-            if (pattern.matcher(endpoint).matches()) {
-                return true;
-            }
-        }
-
-        for (Pattern pattern : endpointExcludePatterns) {
-            if (pattern.matcher(endpoint).matches()) {
-                return true;
-            }
-        }
-
-        return false;
+        return endpointExclusions.matches(endpoint);
     }
 
     @Override
     public boolean isTestExcluded(String testName) {
-        if (testName == null) {
-            return false;
-        }
-
-        for (Pattern pattern : testExcludePatterns) {
-            if (pattern.matcher(testName).matches()) {
-                return true;
-            }
-        }
-
-        return false;
+        return testExclusions.matches(testName);
     }
 
     @Override
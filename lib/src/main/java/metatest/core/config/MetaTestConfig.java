@@ -1,6 +1,8 @@
 package metatest.core.config;
 
 import lombok.Data;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -8,6 +10,8 @@ import java.util.Properties;
 
 @Data
 public class MetaTestConfig {
+    private static final Logger LOG = Logs.get(MetaTestConfig.class);
+
     private static MetaTestConfig instance;
     private final String apiKey;
     private final String apiBaseUrl;
@@ -39,11 +43,11 @@ public class MetaTestConfig {
         try (InputStream is = getClass().getClassLoader().getResourceAsStream("metatest.properties")) {
             if (is != null) {
                 props.load(is);
-                System.out.println("Loaded Metatest configuration from metatest.properties");
+                LOG.info("Loaded Metatest configuration from metatest.properties");
             }
         } catch (IOException e) {
             // Properties file not found or not readable, continue with other methods
-            System.out.println("No metatest.properties found, using system properties and environment variables");
+            LOG.info("No metatest.properties found, using system properties and environment variables");
         }
         
         return props;
@@ -55,14 +59,9 @@ public class MetaTestConfig {
     
     private String getConfigValue(Properties props, String propertyName, String envVarName, String defaultValue) {
         // Priority: System property > Environment variable > Properties file > Default value
-        String value = System.getProperty(propertyName);
-        if (value != null && !value.trim().isEmpty()) {
-            return value.trim();
-        }
-        
-        value = System.getenv(envVarName);
-        if (value != null && !value.trim().isEmpty()) {
-            return value.trim();
+        String value = SystemSettings.getString(propertyName, envVarName);
+        if (value != null) {
+            return value;
         }
         
         value = props.getProperty(propertyName);
@@ -1,6 +1,9 @@
 package metatest.core.config;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -9,6 +12,8 @@ import java.util.Map;
 
 @Data
 public class SimulatorConfig {
+    private static final Logger LOG = Logs.get(SimulatorConfig.class);
+
     /**
      * Config version
      */
@@ -284,6 +289,19 @@ public class SimulatorConfig {
     public static class MultipleEndpointsStrategy {
         public boolean test_only_last_endpoint = true; // default: true
         public List<String> exclude_endpoints; // regex patterns
+
+        @JsonIgnore
+        private transient ExclusionMatcher excludeMatcher;
+
+        /**
+         * exclude_endpoints compiled once, on first use.
+         */
+        public synchronized ExclusionMatcher excludeMatcher() {
+            if (excludeMatcher == null) {
+                excludeMatcher = ExclusionMatcher.ofRegexes(exclude_endpoints);
+            }
+            return excludeMatcher;
+        }
     }
 
     @Data
@@ -306,33 +324,29 @@ public class SimulatorConfig {
     private static final ConfigurationSource configSource = initializeConfigurationSource();
 
     private static ConfigurationSource initializeConfigurationSource() {
-        String configSourceType = System.getProperty("metatest.config.source");
-
-        if (configSourceType == null) {
-            configSourceType = System.getenv("METATEST_CONFIG_SOURCE");
-        }
+        String configSourceType = SystemSettings.getString("metatest.config.source", "METATEST_CONFIG_SOURCE");
 
         ConfigurationSource source;
 
         if ("local".equalsIgnoreCase(configSourceType)) {
-            System.out.println("Using LOCAL configuration source (explicitly set via metatest.config.source)");
+            LOG.info("Using LOCAL configuration source (explicitly set via metatest.config.source)");
             source = new LocalConfigurationSource();
         } else if ("api".equalsIgnoreCase(configSourceType)) {
-            System.out.println("Using API configuration source (explicitly set via metatest.config.source)");
+            LOG.info("Using API configuration source (explicitly set via metatest.config.source)");
             source = new ApiConfigurationSource();
         } else {
             // Auto-detect based on API configuration
             MetaTestConfig metaTestConfig = MetaTestConfig.getInstance();
             if (metaTestConfig.isApiConfigured()) {
-                System.out.println("Using API configuration source (auto-detected - API key present)");
+                LOG.info("Using API configuration source (auto-detected - API key present)");
                 source = new ApiConfigurationSource();
             } else {
-                System.out.println("Using LOCAL configuration source (auto-detected - no API key)");
+                LOG.info("Using LOCAL configuration source (auto-detected - no API key)");
                 source = new LocalConfigurationSource();
             }
         }
 
-        System.out.println("Configuration source initialized: " + source.getSourceName());
+        LOG.info("Configuration source initialized: " + source.getSourceName());
         return source;
     }
 
@@ -425,7 +439,7 @@ public class SimulatorConfig {
             boolean is2xx = statusCode >= 200 && statusCode < 300;
             boolean isCollection = isCollectionResponse(responseBody);
             if (isCollection) {
-                System.out.println("[Metatest-Sim] Skipping simulation - response is a collection (array)");
+                LOG.debug("[Metatest-Sim] Skipping simulation - response is a collection (array)");
                 return false;
             }
             return is2xx;
@@ -435,28 +449,28 @@ public class SimulatorConfig {
 
         if (simConfig.only_success_responses) {
             if (statusCode < 200 || statusCode >= 300) {
-                System.out.println("[Metatest-Sim] Skipping simulation - non-success status code: " + statusCode);
+                LOG.debug("[Metatest-Sim] Skipping simulation - non-success status code: " + statusCode);
                 return false;
             }
         } else if (simConfig.allowed_status_codes != null && !simConfig.allowed_status_codes.isEmpty()) {
             if (!simConfig.allowed_status_codes.contains(statusCode)) {
-                System.out.println("[Metatest-Sim] Skipping simulation - status code not in allowed list: " + statusCode);
+                LOG.debug("[Metatest-Sim] Skipping simulation - status code not in allowed list: " + statusCode);
                 return false;
             }
         }
 
         if (simConfig.skip_collections_response && isCollectionResponse(responseBody)) {
-            System.out.println("[Metatest-Sim] Skipping simulation - response is a collection (array)");
+            LOG.debug("[Metatest-Sim] Skipping simulation - response is a collection (array)");
             return false;
         }
 
         if (responseMap == null || responseMap.isEmpty()) {
             if (simConfig.min_response_fields > 0) {
-                System.out.println("[Metatest-Sim] Skipping simulation - empty response body");
+                LOG.debug("[Metatest-Sim] Skipping simulation - empty response body");
                 return false;
             }
         } else if (responseMap.size() < simConfig.min_response_fields) {
-            System.out.println("[Metatest-Sim] Skipping simulation - response has fewer than " +
+            LOG.debug("[Metatest-Sim] Skipping simulation - response has fewer than " +
                 simConfig.min_response_fields + " fields (" + responseMap.size() + " found)");
             return false;
         }
@@ -464,7 +478,7 @@ public class SimulatorConfig {
         if (simConfig.skip_if_contains_fields != null && responseMap != null) {
             for (String errorField : simConfig.skip_if_contains_fields) {
                 if (responseMap.containsKey(errorField)) {
-                    System.out.println("[Metatest-Sim] Skipping simulation - response contains error field: " + errorField);
+                    LOG.debug("[Metatest-Sim] Skipping simulation - response contains error field: " + errorField);
                     return false;
                 }
             }
@@ -0,0 +1,79 @@
+package metatest.core.config;
+
+import metatest.core.log.Logs;
+
+/**
+ * Reads Metatest switches from a system property, falling back to an environment variable
+ * (-Dmetatest.report.binary, then METATEST_REPORT_BINARY), as opposed to the settings section of config.yml.
+ * Values are trimmed, and a blank value counts as unset. A value that does not parse is logged and replaced
+ * by the default.
+ */
+public final class SystemSettings {
+
+    private SystemSettings() {
+    }
+
+    /**
+     * @return The trimmed value, or null if neither the property nor the environment variable is set
+     */
+    public static String getString(String property, String envVar) {
+        String value = trimToNull(System.getProperty(property));
+        return value != null ? value : trimToNull(System.getenv(envVar));
+    }
+
+    public static String getString(String property, String envVar, String defaultValue) {
+        String value = getString(property, envVar);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Only the opposite of the default changes the result: with a false default the value must be "true",
+     * with a true default it must be "false" (case-insensitive).
+     */
+    public static boolean getBoolean(String property, String envVar, boolean defaultValue) {
+        String value = getString(property, envVar);
+        if (value == null) {
+            return defaultValue;
+        }
+        return defaultValue ? !"false".equalsIgnoreCase(value) : "true".equalsIgnoreCase(value);
+    }
+
+    public static int getInt(String property, String envVar, int defaultValue) {
+        String value = getString(property, envVar);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            warnInvalid(property, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String property, String envVar, long defaultValue) {
+        String value = getString(property, envVar);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            warnInvalid(property, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static void warnInvalid(String property, String value, Object defaultValue) {
+        // Looked up here rather than held in a field: Logs reads its own settings while it initializes
+        Logs.get(SystemSettings.class).warn("[MetaTest] Invalid value '" + value + "' for " + property + ", using " + defaultValue);
+    }
+}
@@ -0,0 +1,115 @@
+package metatest.core.interceptor;
+
+import io.restassured.RestAssured;
+import metatest.core.config.SimulatorConfig;
+import metatest.core.log.Logs;
+import metatest.metrics.FlightEvents;
+import metatest.metrics.SimulationMetrics;
+import metatest.simulation.Runner;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.slf4j.Logger;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * JUnit Jupiter extension for agentless mode (no AspectJ load-time weaving).
+ *
+ * Registered through extension auto-detection (junit.jupiter.extensions.autodetection.enabled).
+ * Active only with -DrunWithMetatest=true and -Dmetatest.interception=agentless, otherwise it
+ * just proceeds with the test. Responses are captured and injected by RestAssuredInterceptionFilter,
+ * which this extension registers as a global RestAssured filter.
+ */
+public class AgentlessTestExtension implements InvocationInterceptor {
+
+    private static final Logger LOG = Logs.get(AgentlessTestExtension.class);
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("runWithMetatest"))
+            && InterceptionMode.current() == InterceptionMode.AGENTLESS;
+
+    private final boolean enabled;
+
+    public AgentlessTestExtension() {
+        this(ENABLED);
+    }
+
+    /**
+     * Lets tests run the extension without the system properties that enable it for the whole JVM.
+     */
+    AgentlessTestExtension(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation,
+                                    ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        if (!enabled) {
+            invocation.proceed();
+            return;
+        }
+
+        registerFilter();
+
+        String testName = invocationContext.getExecutable().getName();
+        TestContext context = new TestContext();
+        context.setTestName(testName);
+        TestContextManager.setContext(context);
+        FlightEvents.TestInterception interceptionEvent = FlightEvents.TestInterception.start();
+
+        try {
+            LOG.debug("[MetaTest] Intercepting test method: {}", testName);
+            LOG.debug("[MetaTest] Executing original test run to capture baseline...");
+
+            long baselineStart = System.nanoTime();
+            invocation.proceed();
+            context.setBaselineDurationNanos(System.nanoTime() - baselineStart);
+            SimulationMetrics.getInstance().recordBaseline(testName, context.getBaselineDurationNanos());
+
+            if (context.getOriginalResponse() == null) {
+                LOG.info("[MetaTest] No interceptable HTTP response was captured in {}. Skipping fault simulation for this test.", testName);
+                return;
+            }
+            LOG.debug("[MetaTest] Original test run completed. Baseline response captured.");
+
+            String endpointUrl = context.getOriginalRequest() != null ? context.getOriginalRequest().getUrl() : "";
+
+            if (!SimulatorConfig.isTestExcluded(testName) && !SimulatorConfig.isEndpointExcluded(endpointUrl)) {
+                Runner.executeTestWithSimulatedFaults(testName, () -> rerun(invocationContext), context);
+            } else {
+                LOG.info("[MetaTest] Skipping fault simulation for {} due to exclusion rules.", testName);
+            }
+
+        } finally {
+            TestContextManager.clearContext();
+            interceptionEvent.finish(testName, "agentless", context.getCapturedRequests().size());
+            LOG.debug("[MetaTest] Test method execution finished: {}", testName);
+        }
+    }
+
+    /**
+     * Re-invokes the test method reflectively. Jupiter's Invocation can only be proceeded once.
+     */
+    private static void rerun(ReflectiveInvocationContext<Method> invocationContext) throws Throwable {
+        Method method = invocationContext.getExecutable();
+        method.setAccessible(true);
+        try {
+            method.invoke(invocationContext.getTarget().orElse(null), invocationContext.getArguments().toArray());
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Adds the interception filter to RestAssured's global filters unless already present.
+     * Checked per test because suites may call RestAssured.reset() in their setup.
+     */
+    private static synchronized void registerFilter() {
+        boolean registered = RestAssured.filters().stream()
+                .anyMatch(filter -> filter instanceof RestAssuredInterceptionFilter);
+        if (!registered) {
+            RestAssured.filters(new RestAssuredInterceptionFilter());
+        }
+    }
+}
@@ -7,7 +7,10 @@ import metatest.http.Response;
 import metatest.simulation.Runner;
 import metatest.core.interceptor.TestContext;
 import metatest.core.interceptor.TestContextManager;
+import metatest.core.log.Logs;
 import metatest.coverage.Logger;
+import metatest.metrics.FlightEvents;
+import metatest.metrics.SimulationMetrics;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.StringEntity;
@@ -22,24 +25,36 @@ import java.net.HttpURLConnection;
 @Aspect
 public class AspectExecutor {
 
+    // metatest.coverage.Logger is imported here, so the SLF4J type is spelled out
+    private static final org.slf4j.Logger LOG = Logs.get(AspectExecutor.class);
+
     @Around("execution(@org.junit.jupiter.api.Test * *(..))")
     public Object interceptTestMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Agentless mode intercepts through the JUnit extension instead
+        if (InterceptionMode.current() == InterceptionMode.AGENTLESS) {
+            return joinPoint.proceed();
+        }
+
         TestContext context = new TestContext();
         context.setTestName(joinPoint.getSignature().getName());
         TestContextManager.setContext(context);
         Object originalTestResult;
+        FlightEvents.TestInterception interceptionEvent = FlightEvents.TestInterception.start();
 
         try {
-            System.out.println("Intercepting test method: " + joinPoint.getSignature().getName());
-            System.out.println("Executing original test run to capture baseline...");
+            LOG.debug("[MetaTest] Intercepting test method: {}", joinPoint.getSignature().getName());
+            LOG.debug("[MetaTest] Executing original test run to capture baseline...");
 
+            long baselineStart = System.nanoTime();
             originalTestResult = joinPoint.proceed();
+            context.setBaselineDurationNanos(System.nanoTime() - baselineStart);
+            SimulationMetrics.getInstance().recordBaseline(joinPoint.getSignature().getName(), context.getBaselineDurationNanos());
 
             if (context.getOriginalResponse() == null) {
-                System.out.println("No interceptable HTTP response was captured. Skipping fault simulation for this test.");
+                LOG.info("[MetaTest] No interceptable HTTP response was captured in {}. Skipping fault simulation for this test.", joinPoint.getSignature().getName());
                 return originalTestResult;
             }
-            System.out.println("Original test run completed. Baseline response captured.");
+            LOG.debug("[MetaTest] Original test run completed. Baseline response captured.");
 
             String testName = joinPoint.getSignature().getName();
             String endpointUrl = context.getOriginalRequest() != null ? context.getOriginalRequest().getUrl() : "";
@@ -47,14 +62,15 @@ public class AspectExecutor {
             if (!SimulatorConfig.isTestExcluded(testName) && !SimulatorConfig.isEndpointExcluded(endpointUrl)) {
                 Runner.executeTestWithSimulatedFaults(joinPoint, context);
             } else {
-                System.out.println("Skipping fault simulation for this test due to exclusion rules.");
+                LOG.info("[MetaTest] Skipping fault simulation for {} due to exclusion rules.", testName);
             }
 
         } finally {
             // Clean up the context for the current thread to prevent memory leaks
             // and state bleeding between tests in the same thread.
             TestContextManager.clearContext();
-            System.out.println("Test method execution finished: " + joinPoint.getSignature().getName());
+            interceptionEvent.finish(joinPoint.getSignature().getName(), "agent", context.getCapturedRequests().size());
+            LOG.debug("[MetaTest] Test method execution finished: {}", joinPoint.getSignature().getName());
         }
 
         return originalTestResult;
@@ -64,7 +80,7 @@ public class AspectExecutor {
     public Object interceptApacheHttpClient(ProceedingJoinPoint joinPoint) throws Throwable {
         // Check if we're inside a @Test method (context exists)
         // If not (e.g., @BeforeAll, @BeforeEach), just let the request proceed normally
-        if (!TestContextManager.hasContext()) {
+        if (!TestContextManager.hasContext() || InterceptionMode.current() == InterceptionMode.AGENTLESS) {
             return joinPoint.proceed(joinPoint.getArgs());
         }
 
@@ -78,12 +94,16 @@ public class AspectExecutor {
             if (context.getOriginalResponse() == null) {
                 Request requestWrapper = HTTPFactory.createRequestFrom(httpRequest);
                 context.setOriginalRequest(requestWrapper);
-                System.out.println("Original request captured: " + requestWrapper.getUrl());
+                LOG.debug("[MetaTest] Original request captured: {}", requestWrapper.getUrl());
             }
         }
 
         // Proceed with the actual HTTP call.
+        long callStart = System.nanoTime();
         Object result = joinPoint.proceed(args);
+        if (httpRequest != null) {
+            SimulationMetrics.getInstance().recordHttp(httpRequest.getURI().toString(), System.nanoTime() - callStart);
+        }
 
         // Response Interception
         if (result instanceof HttpResponse) {
@@ -109,24 +129,29 @@ public class AspectExecutor {
                 // Capture FIRST request as originalResponse (for backward compatibility)
                 if (context.getOriginalResponse() == null) {
                     context.setOriginalResponse(responseWrapper);
-                    System.out.println("Original response captured.");
+                    LOG.debug("[MetaTest] Original response captured.");
                 }
 
                 // Add to captured requests list for comprehensive simulation
                 if (httpRequest != null) {
                     Request requestWrapper = HTTPFactory.createRequestFrom(httpRequest);
                     context.addCapturedRequest(requestWrapper, responseWrapper);
-                    System.out.println("Captured request #" + currentRequestIndex + ": " + requestWrapper.getUrl());
+                    SimulationMetrics.getInstance().recordCapture(responseWrapper.getBody());
+                    FlightEvents.ResponseCapture.emit(context.getTestName(), requestWrapper.getUrl(), requestWrapper.getMethod(),
+                            responseWrapper.getStatusCode(), currentRequestIndex);
+                    LOG.debug("[MetaTest] Captured request #{}: {}", currentRequestIndex, requestWrapper.getUrl());
 
                     // Log to coverage
-                    Logger.parseResponse(httpRequest, context.getTestName(), responseWrapper);
+                    Logger.parseResponse(requestWrapper, context.getTestName(), responseWrapper);
                 }
 
             } else if (context.getSimulatedResponse() != null && currentRequestIndex == context.getCurrentSimulationIndex()) {
                 // During simulation run, inject mutated response for the target request
                 String simulatedBody = context.getSimulatedResponse().getBody();
                 httpResponse.setEntity(new StringEntity(simulatedBody));
-                System.out.printf("    [RESPONSE-INJECTION] Injecting simulated response for request #%d: %s%n", currentRequestIndex, simulatedBody);
+                FlightEvents.MutantInjection.emit(context.getTestName(), httpRequest != null ? httpRequest.getURI().toString() : "",
+                        context.getSimulatedFaultType(), context.getSimulatedField(), currentRequestIndex);
+                LOG.trace("    [RESPONSE-INJECTION] Injecting simulated response for request #{}: {}", currentRequestIndex, Logs.body(simulatedBody));
             } else {
                 // For other requests during simulation, use original response
                 Response responseWrapper = HTTPFactory.createResponseFrom(httpResponse);
@@ -140,13 +165,13 @@ public class AspectExecutor {
 
     @Around("execution(* okhttp3.Call.execute(..))")
     public Object interceptOkHttpClient(ProceedingJoinPoint joinPoint) throws Throwable {
-        System.out.println("Intercepted OkHttpClient call (placeholder, no fault injection)");
+        LOG.debug("[MetaTest] Intercepted OkHttpClient call (placeholder, no fault injection)");
         Object result = joinPoint.proceed();
 
         if (result instanceof okhttp3.Response) {
             okhttp3.Response response = (okhttp3.Response) result;
             String originalResponse = response.peekBody(Long.MAX_VALUE).string();
-            System.out.println("Response peeked for OkHttpClient: " + originalResponse.substring(0, Math.min(originalResponse.length(), 150)) + "...");
+            LOG.trace("[MetaTest] Response peeked for OkHttpClient: {}", Logs.body(originalResponse));
         }
 
         return result;
@@ -155,7 +180,7 @@ public class AspectExecutor {
 
     @Around("execution(* java.net.HttpURLConnection.connect(..))")
     public Object interceptHttpURLConnection(ProceedingJoinPoint joinPoint) throws Throwable {
-        System.out.println("Intercepted HttpURLConnection call (placeholder, no fault injection)");
+        LOG.debug("[MetaTest] Intercepted HttpURLConnection call (placeholder, no fault injection)");
         Object result = joinPoint.proceed();
         HttpURLConnection connection = (HttpURLConnection) joinPoint.getTarget();
 
@@ -1,47 +1,102 @@
 package metatest.core.interceptor;
 
 import metatest.simulation.FaultSimulationReport;
+import metatest.simulation.SimulationPlan;
 import metatest.coverage.Collector;
 import metatest.analytics.GapAnalyzer;
+import metatest.analytics.TestSubsetAnalyzer;
+import metatest.core.log.Logs;
+import metatest.history.RunHistory;
+import metatest.metrics.FlightEvents;
+import metatest.metrics.MetricsTextfile;
+import metatest.metrics.SimulationMetrics;
 import metatest.report.HtmlReportGenerator;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class GlobalTestExecutionListener implements TestExecutionListener {
 
-    private static boolean executed = false;
+    private static final Logger LOG = Logs.get(GlobalTestExecutionListener.class);
+
+    private static final AtomicBoolean executed = new AtomicBoolean(false);
+    private static final AtomicReference<MetricsTextfile> textfile = new AtomicReference<>();
     private final boolean runWithMetatest = Boolean.parseBoolean(System.getProperty("runWithMetatest"));
 
     public GlobalTestExecutionListener() {
-        System.out.println("[MetaTest] GlobalTestExecutionListener initialized. runWithMetatest=" + runWithMetatest);
+        LOG.debug("[MetaTest] GlobalTestExecutionListener initialized. runWithMetatest=" + runWithMetatest);
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        // Refresh the metrics textfile while the tests run; plan-only runs execute no mutants
+        if (runWithMetatest && !SimulationPlan.isPlanOnly()) {
+            MetricsTextfile exporter = MetricsTextfile.fromConfig(FaultSimulationReport.getInstance()::getSummary);
+            if (exporter != null && textfile.compareAndSet(null, exporter)) {
+                exporter.start();
+            }
+        }
     }
 
     @Override
     public void testPlanExecutionFinished(TestPlan testPlan) {
-        System.out.println("[MetaTest] testPlanExecutionFinished called. executed=" + executed + ", runWithMetatest=" + runWithMetatest);
-        if (!executed && runWithMetatest) {
-            executed = true;
-            System.out.println("[MetaTest] All tests completed - Generating reports...");
+        LOG.debug("[MetaTest] testPlanExecutionFinished called. executed=" + executed + ", runWithMetatest=" + runWithMetatest);
+        if (runWithMetatest && executed.compareAndSet(false, true)) {
+            LOG.info("[MetaTest] All tests completed - Generating reports...");
 //            FaultSimulationReport.getInstance().sendResultsToAPI();
 
-            // Generate JSON reports first
-            FaultSimulationReport.getInstance().createJSONReport();
-            Collector.saveCoverageReport();
-            GapAnalyzer.generateGapReport();
+            // Plan-only runs execute no mutants, so there are no fault results to report
+            if (SimulationPlan.isPlanOnly()) {
+                flush("simulation_plan", () -> SimulationPlan.getInstance().writePlan());
+                flush("coverage", Collector::saveCoverageReport);
+                flush("gap_analysis", GapAnalyzer::generateGapReport);
+                LOG.info("[MetaTest] Simulation plan generated successfully!");
+                return;
+            }
+
+            // Flush results still waiting to be streamed to the API, then generate JSON reports
+            flush("result_upload", () -> FaultSimulationReport.getInstance().finishResultUpload());
+            flush("fault_simulation", () -> FaultSimulationReport.getInstance().createJSONReport());
+            flush("test_subsets", TestSubsetAnalyzer::generateSubsetReport);
+            flush("run_history", RunHistory::recordCurrentRun);
+            flush("coverage", Collector::saveCoverageReport);
+            flush("gap_analysis", GapAnalyzer::generateGapReport);
+            flush("metrics", () -> SimulationMetrics.getInstance().writeReport());
+            MetricsTextfile exporter = textfile.getAndSet(null);
+            if (exporter != null) {
+                flush("metrics_textfile", exporter::close);
+            }
 
             // Generate HTML report after all JSON reports are created
+            FlightEvents.ReportFlush htmlEvent = FlightEvents.ReportFlush.start();
             try {
-                System.out.println("[MetaTest] Generating HTML report...");
-                HtmlReportGenerator.generateReport("metatest_report.html");
-                System.out.println("[MetaTest] HTML report generated successfully: metatest_report.html");
+                LOG.info("[MetaTest] Generating HTML report...");
+                HtmlReportGenerator.generateReport("metatest_report.html", FaultSimulationReport.getInstance().getSummary());
+                LOG.info("[MetaTest] HTML report generated successfully: metatest_report.html");
             } catch (Exception e) {
-                System.err.println("[MetaTest] Failed to generate HTML report: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("[MetaTest] Failed to generate HTML report: " + e.getMessage(), e);
+            } finally {
+                htmlEvent.finish("html");
             }
 
-            System.out.println("[MetaTest] All reports generated successfully!");
+            LOG.info("[MetaTest] All reports generated successfully!");
         } else {
-            System.out.println("[MetaTest] Skipping report generation (executed=" + executed + ", runWithMetatest=" + runWithMetatest + ")");
+            LOG.info("[MetaTest] Skipping report generation (executed=" + executed + ", runWithMetatest=" + runWithMetatest + ")");
+        }
+    }
+
+    /**
+     * Runs one report step inside a ReportFlush flight recorder event.
+     */
+    private static void flush(String report, Runnable step) {
+        FlightEvents.ReportFlush event = FlightEvents.ReportFlush.start();
+        try {
+            step.run();
+        } finally {
+            event.finish(report);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package metatest.core.interceptor;
+
+import metatest.core.config.SystemSettings;
+
+/**
+ * How Metatest hooks into test execution.
+ *
+ * ASPECTJ (default) relies on load-time weaving of @Test methods and Apache HttpClient.
+ * AGENTLESS uses a JUnit Jupiter extension and a RestAssured filter, no javaagent required.
+ * Selected via -Dmetatest.interception=agentless or METATEST_INTERCEPTION.
+ */
+public enum InterceptionMode {
+    ASPECTJ,
+    AGENTLESS;
+
+    private static final InterceptionMode CURRENT = resolve();
+
+    public static InterceptionMode current() {
+        return CURRENT;
+    }
+
+    private static InterceptionMode resolve() {
+        return "agentless".equalsIgnoreCase(SystemSettings.getString("metatest.interception", "METATEST_INTERCEPTION")) ? AGENTLESS : ASPECTJ;
+    }
+}
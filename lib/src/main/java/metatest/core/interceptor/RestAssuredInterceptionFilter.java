@@ -0,0 +1,81 @@
+package metatest.core.interceptor;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import metatest.core.log.Logs;
+import metatest.coverage.Logger;
+import metatest.http.HTTPFactory;
+import metatest.http.Request;
+import metatest.metrics.FlightEvents;
+import metatest.metrics.SimulationMetrics;
+
+/**
+ * RestAssured filter used in agentless mode.
+ * Captures request/response pairs during the baseline run and injects simulated responses
+ * during re-runs, mirroring AspectExecutor's Apache HttpClient interception.
+ */
+public class RestAssuredInterceptionFilter implements Filter {
+
+    // metatest.coverage.Logger is imported here, so the SLF4J type is spelled out
+    private static final org.slf4j.Logger LOG = Logs.get(RestAssuredInterceptionFilter.class);
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        // Outside of a @Test method (e.g., @BeforeAll, @BeforeEach), just let the request proceed normally
+        if (!TestContextManager.hasContext()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        TestContext context = TestContextManager.getContext();
+        Request requestWrapper = HTTPFactory.createRequestFrom(requestSpec);
+
+        if (context.getOriginalResponse() == null) {
+            context.setOriginalRequest(requestWrapper);
+            LOG.debug("[MetaTest] Original request captured: {}", requestWrapper.getUrl());
+        }
+
+        long callStart = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        SimulationMetrics.getInstance().recordHttp(requestWrapper.getUrl(), System.nanoTime() - callStart);
+
+        // Baseline run: capture ALL requests
+        if (context.getCurrentSimulationIndex() == -1) {
+            int currentRequestIndex = context.getCapturedRequests().size();
+            metatest.http.Response responseWrapper = HTTPFactory.createResponseFrom(response);
+
+            // Capture FIRST request as originalResponse (for backward compatibility)
+            if (context.getOriginalResponse() == null) {
+                context.setOriginalResponse(responseWrapper);
+                LOG.debug("[MetaTest] Original response captured.");
+            }
+
+            context.addCapturedRequest(requestWrapper, responseWrapper);
+            SimulationMetrics.getInstance().recordCapture(responseWrapper.getBody());
+            FlightEvents.ResponseCapture.emit(context.getTestName(), requestWrapper.getUrl(), requestWrapper.getMethod(),
+                    responseWrapper.getStatusCode(), currentRequestIndex);
+            LOG.debug("[MetaTest] Captured request #{}: {}", currentRequestIndex, requestWrapper.getUrl());
+
+            // Log to coverage
+            Logger.parseResponse(requestWrapper, context.getTestName(), responseWrapper);
+            return response;
+        }
+
+        // Simulation re-run: inject mutated response for the target request
+        int currentRequestIndex = context.getAndIncrementRequestCounter();
+        if (context.getSimulatedResponse() != null && currentRequestIndex == context.getCurrentSimulationIndex()) {
+            String simulatedBody = context.getSimulatedResponse().getBody();
+            LOG.trace("    [RESPONSE-INJECTION] Injecting simulated response for request #{}: {}", currentRequestIndex, Logs.body(simulatedBody));
+            FlightEvents.MutantInjection.emit(context.getTestName(), requestWrapper.getUrl(),
+                    context.getSimulatedFaultType(), context.getSimulatedField(), currentRequestIndex);
+            return new ResponseBuilder().clone(response).setBody(simulatedBody).build();
+        }
+
+        return response;
+    }
+}
@@ -25,14 +25,19 @@ public class TestContext {
     private Request originalRequest;
     private Response originalResponse;
     private Response simulatedResponse;
+    private String simulatedFaultType; // Fault type or invariant name of the simulated response
+    private String simulatedField;
 
     // Track ALL requests/responses for comprehensive fault simulation
     private List<RequestResponsePair> capturedRequests = new ArrayList<>();
     private int currentSimulationIndex = -1; // Which request is being simulated
     private int currentRequestCounter = 0; // Counter for current request position during re-runs
+    private long baselineDurationNanos; // Wall-clock time of the baseline run, used for plan estimates
 
     public void clearSimulation() {
         this.simulatedResponse = null;
+        this.simulatedFaultType = null;
+        this.simulatedField = null;
     }
 
     public void resetRequestCounter() {
@@ -0,0 +1,56 @@
+package metatest.core.io;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Names files written by every forked test JVM, so forks sharing a working directory each get their own copy:
+ * the fork's suffix goes before the extension (fault_simulation_journal.jsonl -> fault_simulation_journal-4242.jsonl).
+ */
+public final class ProcessFiles {
+
+    private ProcessFiles() {
+    }
+
+    /**
+     * Inserts "-suffix" before the file's extension, or appends it if the name has none.
+     */
+    public static File perProcess(File file, String suffix) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        String perProcess = dot > 0 ? name.substring(0, dot) + "-" + suffix + name.substring(dot) : name + "-" + suffix;
+        return new File(file.getParentFile(), perProcess);
+    }
+
+    /**
+     * Returns the suffix of a per-process copy of the file, or null if the name is not one.
+     */
+    public static String suffixOf(File file, File perProcessCopy) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        String prefix = (dot > 0 ? name.substring(0, dot) : name) + "-";
+        String extension = dot > 0 ? name.substring(dot) : "";
+        String copy = perProcessCopy.getName();
+        if (!copy.startsWith(prefix) || !copy.endsWith(extension) || copy.length() <= prefix.length() + extension.length()) {
+            return null;
+        }
+        return copy.substring(prefix.length(), copy.length() - extension.length());
+    }
+
+    /**
+     * Lists the existing per-process copies of the file written by any JVM, sorted by name.
+     */
+    public static List<File> copiesOf(File file) {
+        File directory = file.getAbsoluteFile().getParentFile();
+        File[] copies = directory.listFiles(candidate -> candidate.isFile() && suffixOf(file, candidate) != null);
+        if (copies == null) {
+            return Collections.emptyList();
+        }
+        List<File> sorted = new ArrayList<>(Arrays.asList(copies));
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
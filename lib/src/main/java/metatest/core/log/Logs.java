@@ -0,0 +1,58 @@
+package metatest.core.log;
+
+import metatest.core.config.SystemSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loggers for Metatest classes. All output goes through SLF4J under the "metatest" logger hierarchy:
+ * INFO (the default) prints one summary per test and the report locations, DEBUG adds every simulated
+ * fault and its verdict, TRACE adds request and response bodies.
+ *
+ * No binding is bundled. -Dmetatest.log.level (or METATEST_LOG_LEVEL) sets the level when the project uses
+ * slf4j-simple (the Gradle plugin's simpleLogging option adds it); with another binding configure the
+ * "metatest" logger there instead.
+ */
+public final class Logs {
+
+    private static final String SIMPLE_LOGGER_LEVEL = "org.slf4j.simpleLogger.log.metatest";
+    private static final int DEFAULT_BODY_LIMIT = 1000;
+
+    private static final int BODY_LIMIT;
+
+    static {
+        // slf4j-simple reads this property when each logger is created, so it must be set before the first one
+        String level = SystemSettings.getString("metatest.log.level", "METATEST_LOG_LEVEL");
+        if (level != null && System.getProperty(SIMPLE_LOGGER_LEVEL) == null) {
+            System.setProperty(SIMPLE_LOGGER_LEVEL, level.toLowerCase());
+        }
+        BODY_LIMIT = SystemSettings.getInt("metatest.log.body.limit", "METATEST_LOG_BODY_LIMIT", DEFAULT_BODY_LIMIT);
+    }
+
+    private Logs() {
+    }
+
+    public static Logger get(Class<?> type) {
+        return LoggerFactory.getLogger(type);
+    }
+
+    /**
+     * Wraps a body for a log argument. It is converted to text only if the message is actually logged,
+     * and cut to -Dmetatest.log.body.limit characters (default 1000, 0 for no limit).
+     */
+    public static Object body(Object body) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return truncate(String.valueOf(body), BODY_LIMIT);
+            }
+        };
+    }
+
+    static String truncate(String text, int limit) {
+        if (limit <= 0 || text.length() <= limit) {
+            return text;
+        }
+        return text.substring(0, limit) + "... (" + text.length() + " chars)";
+    }
+}
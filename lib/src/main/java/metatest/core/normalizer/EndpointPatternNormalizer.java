@@ -1,10 +1,11 @@
 package metatest.core.normalizer;
 
-import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.parser.OpenAPIV3Parser;
-import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import metatest.core.spec.OpenApiSpecRegistry;
+import metatest.core.spec.SpecIndex;
+import org.slf4j.Logger;
 
-import java.io.File;
 import java.util.*;
 import java.util.regex.Pattern;
 
@@ -16,6 +17,8 @@ import java.util.regex.Pattern;
  * but with different parameter values.
  *
  * Uses OpenAPI spec when available, otherwise falls back to heuristics.
+ * Spec patterns are matched through a segment trie, and results are memoized in a bounded LRU cache
+ * (-Dmetatest.normalizer.cache.size, default 10000), so repeated URLs cost a single lookup.
  *
  * Example transformations:
  * - /api/v1/orders/123 -> /api/v1/orders/{id}
@@ -26,6 +29,8 @@ import java.util.regex.Pattern;
  */
 public class EndpointPatternNormalizer {
 
+    private static final Logger LOG = Logs.get(EndpointPatternNormalizer.class);
+
     // Pattern to match numeric IDs (e.g., 123, 456789, +1, -1, +123, -456)
     // Matches optional +/- followed by digits
     private static final Pattern NUMERIC_ID = Pattern.compile("^[+-]?\\d+$");
@@ -51,14 +56,20 @@ public class EndpointPatternNormalizer {
     private static final Pattern ACCOUNT_NUMBER = Pattern.compile("^[A-Z]{2,4}[0-9]{5,}$");
 
     // Cached OpenAPI path patterns
-    private static volatile Set<String> openApiPathPatterns = null;
+    private static volatile PathPatternTrie openApiPathPatterns = null;
     private static volatile boolean openApiLoaded = false;
 
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    private static final int CACHE_STRIPES = 16;
+
+    // Striped so concurrent lookups rarely share a lock; each stripe evicts its least recently used path
+    private static final Map<String, String>[] CACHE = createCache(readCacheSize());
+
     private EndpointPatternNormalizer() {
     }
 
     /**
-     * Loads OpenAPI spec path patterns from the default location.
+     * Loads OpenAPI spec path patterns from the shared spec registry.
      */
     private static void loadOpenApiPatterns() {
         if (openApiLoaded) {
@@ -70,35 +81,20 @@ public class EndpointPatternNormalizer {
                 return;
             }
 
-            openApiPathPatterns = new HashSet<>();
-            String[] possiblePaths = {"api-specs.yaml", "lib/api-specs.yaml", "openapi.yaml", "swagger.yaml"};
-
-            for (String specPath : possiblePaths) {
-                File specFile = new File(specPath);
-                if (specFile.exists()) {
-                    try {
-                        OpenAPIV3Parser parser = new OpenAPIV3Parser();
-                        SwaggerParseResult parseResult = parser.readLocation(specPath, null, null);
-
-                        if (parseResult != null && parseResult.getOpenAPI() != null) {
-                            OpenAPI openAPI = parseResult.getOpenAPI();
-                            if (openAPI.getPaths() != null) {
-                                // Normalize OpenAPI patterns to use {id} instead of specific parameter names
-                                for (String path : openAPI.getPaths().keySet()) {
-                                    String normalizedPath = normalizeOpenApiPath(path);
-                                    openApiPathPatterns.add(normalizedPath);
-                                }
-                                System.out.println("[Normalizer] Loaded " + openApiPathPatterns.size() +
-                                                 " patterns from OpenAPI spec: " + specPath);
-                            }
-                            break;
-                        }
-                    } catch (Exception e) {
-                        System.err.println("[Normalizer] Failed to load OpenAPI spec from " + specPath + ": " + e.getMessage());
-                    }
+            // Build the trie locally and publish it once complete, readers never see a partial trie
+            PathPatternTrie patterns = new PathPatternTrie();
+            String specPath = OpenApiSpecRegistry.defaultSpecPath();
+            SpecIndex spec = specPath != null ? OpenApiSpecRegistry.getIndex(specPath) : null;
+            if (spec != null) {
+                // Normalize OpenAPI patterns to use {id} instead of specific parameter names
+                for (String path : spec.getPaths().keySet()) {
+                    patterns.add(normalizeOpenApiPath(path));
                 }
+                LOG.info("[Normalizer] Loaded " + patterns.size() +
+                                 " patterns from OpenAPI spec: " + specPath);
             }
 
+            openApiPathPatterns = patterns;
             openApiLoaded = true;
         }
     }
@@ -120,30 +116,34 @@ public class EndpointPatternNormalizer {
      * Returns the matching pattern if found, null otherwise.
      */
     private static String matchOpenApiPattern(String path) {
-        if (openApiPathPatterns == null || openApiPathPatterns.isEmpty()) {
+        PathPatternTrie patterns = openApiPathPatterns;
+        if (patterns == null || patterns.size() == 0) {
             return null;
         }
+        return patterns.match(path);
+    }
 
-        String[] pathSegments = path.split("/");
-
-        for (String pattern : openApiPathPatterns) {
-            String[] patternSegments = pattern.split("/");
+    private static int readCacheSize() {
+        return Math.max(0, SystemSettings.getInt("metatest.normalizer.cache.size", "METATEST_NORMALIZER_CACHE_SIZE", DEFAULT_CACHE_SIZE));
+    }
 
-            if (pathSegments.length == patternSegments.length) {
-                boolean matches = true;
-                for (int i = 0; i < pathSegments.length; i++) {
-                    if (!patternSegments[i].equals("{id}") && !patternSegments[i].equals(pathSegments[i])) {
-                        matches = false;
-                        break;
-                    }
-                }
-                if (matches) {
-                    return pattern;
+    @SuppressWarnings("unchecked")
+    private static Map<String, String>[] createCache(int size) {
+        if (size == 0) {
+            return null;
+        }
+        int stripes = Math.min(CACHE_STRIPES, size);
+        int stripeSize = (size + stripes - 1) / stripes;
+        Map<String, String>[] cache = new Map[stripes];
+        for (int i = 0; i < stripes; i++) {
+            cache[i] = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > stripeSize;
                 }
-            }
+            });
         }
-
-        return null;
+        return cache;
     }
 
     /**
@@ -164,6 +164,19 @@ public class EndpointPatternNormalizer {
             loadOpenApiPatterns();
         }
 
+        if (CACHE == null) {
+            return computePattern(path);
+        }
+        Map<String, String> stripe = CACHE[(path.hashCode() & Integer.MAX_VALUE) % CACHE.length];
+        String pattern = stripe.get(path);
+        if (pattern == null) {
+            pattern = computePattern(path);
+            stripe.put(path, pattern);
+        }
+        return pattern;
+    }
+
+    private static String computePattern(String path) {
         // Remove query parameters if present
         int queryIndex = path.indexOf('?');
         if (queryIndex != -1) {
@@ -234,6 +247,11 @@ public class EndpointPatternNormalizer {
             return false;
         }
 
+        // Short lowercase words (orders, users, me) cannot match any of the patterns below
+        if (segment.length() < 16 && isLowercaseWord(segment)) {
+            return false;
+        }
+
         // Common resource names that should NOT be treated as IDs
         // Check this FIRST before other patterns
         String lowerSegment = segment.toLowerCase();
@@ -280,6 +298,16 @@ public class EndpointPatternNormalizer {
         return false;
     }
 
+    private static boolean isLowercaseWord(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Checks if two paths match the same endpoint pattern.
      *
@@ -0,0 +1,64 @@
+package metatest.core.normalizer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Endpoint patterns indexed by path segment, so matching a path costs one lookup per segment
+ * however many patterns the spec has. A "{id}" segment matches any segment; where a path could
+ * match both, the literal segment wins (/users/me over /users/{id}).
+ */
+public final class PathPatternTrie {
+
+    private static final String WILDCARD = "{id}";
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Adds a pattern whose path parameters are already written as {id}.
+     */
+    public void add(String pattern) {
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            node = WILDCARD.equals(segment)
+                    ? (node.wildcard != null ? node.wildcard : (node.wildcard = new Node()))
+                    : node.literals.computeIfAbsent(segment, k -> new Node());
+        }
+        if (node.pattern == null) {
+            size++;
+        }
+        node.pattern = pattern;
+    }
+
+    /**
+     * Returns the pattern matching the path, or null if none does.
+     */
+    public String match(String path) {
+        return match(root, path.split("/"), 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static String match(Node node, String[] segments, int index) {
+        if (index == segments.length) {
+            return node.pattern;
+        }
+        Node literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            String pattern = match(literal, segments, index + 1);
+            if (pattern != null) {
+                return pattern;
+            }
+        }
+        return node.wildcard != null ? match(node.wildcard, segments, index + 1) : null;
+    }
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        Node wildcard;
+        String pattern;
+    }
+}
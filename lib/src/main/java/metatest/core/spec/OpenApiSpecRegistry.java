@@ -0,0 +1,179 @@
+package metatest.core.spec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import metatest.core.config.CoverageConfig;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses each OpenAPI spec at most once per run and serves every consumer (endpoint normalization,
+ * gap analysis) from the same {@link SpecIndex}.
+ *
+ * The index is also stored on disk under the SHA-256 of the spec file, in build/metatest/spec-cache
+ * (-Dmetatest.spec.cache.dir or METATEST_SPEC_CACHE_DIR to change), so later runs with an unchanged spec
+ * skip swagger-parser. Only the spec file itself is hashed; edits to external $ref files are not detected.
+ */
+public class OpenApiSpecRegistry {
+
+    private static final Logger LOG = Logs.get(OpenApiSpecRegistry.class);
+
+    private static final String[] DEFAULT_SPEC_PATHS = {"api-specs.yaml", "lib/api-specs.yaml", "openapi.yaml", "swagger.yaml"};
+    private static final String DEFAULT_CACHE_DIR = "build/metatest/spec-cache";
+    private static final Object MISSING = new Object();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Map<String, Object> INDEXES = new ConcurrentHashMap<>();
+
+    private OpenApiSpecRegistry() {
+    }
+
+    /**
+     * Returns the spec used for endpoint normalization: the gap analysis spec if it exists,
+     * otherwise the first of the conventional file names found. Null if there is none.
+     */
+    public static String defaultSpecPath() {
+        String configured = CoverageConfig.getInstance().getGapAnalysisSpecPath();
+        if (configured != null && !configured.isEmpty() && new File(configured).isFile()) {
+            return configured;
+        }
+        for (String specPath : DEFAULT_SPEC_PATHS) {
+            if (new File(specPath).isFile()) {
+                return specPath;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index of a spec file, or null if it does not exist or cannot be parsed.
+     */
+    public static SpecIndex getIndex(String specPath) {
+        File specFile = new File(specPath);
+        if (!specFile.isFile()) {
+            return null;
+        }
+        String key = specFile.getAbsoluteFile().toPath().normalize().toString();
+        Object index = INDEXES.computeIfAbsent(key, k -> {
+            SpecIndex loaded = load(specFile, specPath);
+            return loaded != null ? loaded : MISSING;
+        });
+        return index == MISSING ? null : (SpecIndex) index;
+    }
+
+    private static SpecIndex load(File specFile, String specPath) {
+        String hash;
+        try {
+            hash = sha256(Files.readAllBytes(specFile.toPath()));
+        } catch (IOException e) {
+            LOG.warn("[OpenAPI] Failed to read spec " + specPath + ": " + e.getMessage());
+            return null;
+        }
+
+        File cacheFile = new File(cacheDirectory(), hash + ".v" + SpecIndex.FORMAT_VERSION + ".json");
+        if (cacheFile.isFile()) {
+            try {
+                SpecIndex cached = OBJECT_MAPPER.readValue(cacheFile, SpecIndex.class);
+                if (hash.equals(cached.getSpecHash()) && cached.getFormatVersion() == SpecIndex.FORMAT_VERSION) {
+                    LOG.info("[OpenAPI] Loaded " + cached.getPaths().size() + " paths for " + specPath + " from cache");
+                    return cached;
+                }
+            } catch (IOException e) {
+                LOG.warn("[OpenAPI] Ignoring unreadable spec cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+
+        SpecIndex index = parse(specPath);
+        if (index == null) {
+            return null;
+        }
+        index.setSpecPath(specPath);
+        index.setSpecHash(hash);
+        store(index, cacheFile);
+        return index;
+    }
+
+    private static SpecIndex parse(String specPath) {
+        try {
+            SwaggerParseResult parseResult = new OpenAPIV3Parser().readLocation(specPath, null, null);
+            if (parseResult == null || parseResult.getOpenAPI() == null) {
+                LOG.warn("[OpenAPI] Failed to parse spec: " + specPath);
+                if (parseResult != null && parseResult.getMessages() != null && !parseResult.getMessages().isEmpty()) {
+                    LOG.warn("[OpenAPI] Parse errors: " + parseResult.getMessages());
+                }
+                return null;
+            }
+
+            OpenAPI openAPI = parseResult.getOpenAPI();
+            SpecIndex index = new SpecIndex();
+            if (openAPI.getPaths() != null) {
+                for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
+                    List<String> methods = new ArrayList<>();
+                    for (PathItem.HttpMethod method : pathEntry.getValue().readOperationsMap().keySet()) {
+                        methods.add(method.name());
+                    }
+                    index.getPaths().put(pathEntry.getKey(), methods);
+                }
+            }
+            LOG.info("[OpenAPI] Parsed " + index.getPaths().size() + " paths from " + specPath);
+            return index;
+        } catch (Exception e) {
+            LOG.warn("[OpenAPI] Error parsing spec " + specPath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the index to a temporary file and moves it into place, so readers never see a partial index.
+     */
+    private static void store(SpecIndex index, File cacheFile) {
+        try {
+            Files.createDirectories(cacheFile.getParentFile().toPath());
+            File temp = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getParentFile());
+            try {
+                OBJECT_MAPPER.writeValue(temp, index);
+                try {
+                    Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            LOG.warn("[OpenAPI] Failed to cache spec index: " + e.getMessage());
+        }
+    }
+
+    private static File cacheDirectory() {
+        return new File(SystemSettings.getString("metatest.spec.cache.dir", "METATEST_SPEC_CACHE_DIR", DEFAULT_CACHE_DIR));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
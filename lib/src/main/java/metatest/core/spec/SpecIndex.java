@@ -0,0 +1,31 @@
+package metatest.core.spec;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of an OpenAPI spec Metatest uses: its paths and their methods.
+ * Small enough to be stored as JSON and read back instead of parsing the spec again.
+ */
+@Data
+public class SpecIndex {
+
+    static final int FORMAT_VERSION = 2;
+
+    @JsonProperty("format_version")
+    private int formatVersion = FORMAT_VERSION;
+
+    @JsonProperty("spec_path")
+    private String specPath;
+
+    @JsonProperty("spec_hash")
+    private String specHash;
+
+    /** Path (as written in the spec) -> upper-case HTTP methods */
+    @JsonProperty("paths")
+    private Map<String, List<String>> paths = new LinkedHashMap<>();
+}
@@ -0,0 +1,89 @@
+package metatest.coverage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves the bodies of sampled calls out of memory into a gzipped JSON Lines file next to the coverage report,
+ * named after the JVM's pid (schema_coverage.json -> schema_coverage_bodies-4242.jsonl.gz) so forked test JVMs
+ * never write to the same file. The report names its side file in bodies_file. Each kept call gets a body_ref,
+ * the 0-based line holding {"ref", "path", "method", "body", "response_body"}. Calls later evicted from the sample
+ * leave their line behind; with reservoir sampling such lines only grow logarithmically with the number of calls.
+ */
+public class CallBodySpill {
+
+    private static CallBodySpill instance;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final File file;
+    private OutputStream out;
+    private long nextRef;
+
+    private CallBodySpill(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the spill file for the configured coverage report.
+     */
+    public static synchronized CallBodySpill getInstance(String reportPath) {
+        if (instance == null) {
+            instance = new CallBodySpill(bodiesFileFor(reportPath, ProcessHandle.current().pid()));
+        }
+        return instance;
+    }
+
+    public static File bodiesFileFor(String reportPath, long pid) {
+        String base = reportPath.endsWith(".json") ? reportPath.substring(0, reportPath.length() - 5) : reportPath;
+        return new File(base + "_bodies-" + pid + ".jsonl.gz");
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Writes the call's bodies to the side file and replaces them with a reference.
+     */
+    public synchronized void spill(String path, String method, EndpointCall call) throws IOException {
+        if (call.getBody() == null && call.getResponseBody() == null) {
+            return;
+        }
+        if (out == null) {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            // A reopened file gets a new gzip member, which readers see as one continuous stream
+            out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file, nextRef > 0)));
+        }
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("ref", nextRef);
+        line.put("path", path);
+        line.put("method", method);
+        line.set("body", objectMapper.valueToTree(call.getBody()));
+        line.set("response_body", objectMapper.valueToTree(call.getResponseBody()));
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+
+        call.setBody(null);
+        call.setResponseBody(null);
+        call.setBodyRef(nextRef++);
+    }
+
+    /**
+     * Finishes the gzip stream. Called when the coverage report is saved.
+     */
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
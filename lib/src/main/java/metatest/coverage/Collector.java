@@ -1,15 +1,18 @@
 package metatest.coverage;
 
 import metatest.core.config.CoverageConfig;
+import metatest.core.log.Logs;
 
 public class Collector {
-    private static volatile CollectorData data = new CollectorData();
+    private static final org.slf4j.Logger LOG = Logs.get(Collector.class);
 
-    public static synchronized CollectorData getData() {
-        if (data == null) {
-            data = new CollectorData();
-        }
-        return data;
+    private static final CollectorData DATA = new CollectorData();
+
+    /**
+     * Returns the shared coverage data. Called for every captured request, so it does not lock.
+     */
+    public static CollectorData getData() {
+        return DATA;
     }
 
     public static void saveCoverageReport() {
@@ -20,12 +23,15 @@ public class Collector {
             return;
         }
 
+        // Wait for the coverage thread to record the calls still queued
+        CoverageQueue.getInstance().flush();
+
         String outputFile = config.getOutputFile();
         if (outputFile != null && !outputFile.isEmpty()) {
-            System.out.println("Saving coverage report to: " + outputFile);
+            LOG.info("Saving coverage report to: " + outputFile);
             FileUtils.saveToJsonFile(outputFile);
         } else {
-            System.out.println("Coverage output file not configured. Skipping coverage report.");
+            LOG.info("Coverage output file not configured. Skipping coverage report.");
         }
     }
 }
@@ -1,5 +1,6 @@
 package metatest.coverage;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
@@ -14,6 +15,11 @@ public class CollectorData {
     @JsonProperty("host")
     private volatile String host;
 
+    /** Name of the side file holding the spilled call bodies, next to the report */
+    @JsonProperty("bodies_file")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private volatile String bodiesFile;
+
     @JsonProperty("paths")
     private final Map<String, Map<String, EndpointMethodCoverage>> paths;
 
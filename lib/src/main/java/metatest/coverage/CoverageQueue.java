@@ -0,0 +1,218 @@
+package metatest.coverage;
+
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import metatest.http.Request;
+import metatest.http.Response;
+import metatest.metrics.SimulationMetrics;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands captured calls from the test threads to a single background thread that records them in the
+ * coverage data, so URI parsing, normalization and header copying stay off the intercepted call.
+ *
+ * The queue is a lock-free ConcurrentLinkedQueue bounded by an atomic counter. What happens when it is full
+ * is set with -Dmetatest.coverage.queue.policy (METATEST_COVERAGE_QUEUE_POLICY):
+ *   caller_runs - the test thread records the call itself (default, nothing is lost)
+ *   block       - the test thread waits for room
+ *   drop        - the call is left out of the coverage report
+ * Recording on the test thread can be restored with -Dmetatest.coverage.async=false.
+ */
+public class CoverageQueue {
+
+    private static final org.slf4j.Logger LOG = Logs.get(CoverageQueue.class);
+
+    public enum FullQueuePolicy {
+        CALLER_RUNS, BLOCK, DROP
+    }
+
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final CoverageQueue INSTANCE = new CoverageQueue();
+
+    private final boolean async = SystemSettings.getBoolean("metatest.coverage.async", "METATEST_COVERAGE_ASYNC", true);
+    private final int capacity = Math.max(1, SystemSettings.getInt("metatest.coverage.queue.capacity", "METATEST_COVERAGE_QUEUE_CAPACITY", DEFAULT_CAPACITY));
+    private final FullQueuePolicy policy = parsePolicy(SystemSettings.getString("metatest.coverage.queue.policy", "METATEST_COVERAGE_QUEUE_POLICY"));
+
+    private final ConcurrentLinkedQueue<CapturedCall> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Thread worker;
+    private volatile boolean idle;
+
+    private CoverageQueue() {
+    }
+
+    public static CoverageQueue getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queues a captured call for recording. Request and response wrappers are immutable, so they are
+     * handed over as they are.
+     */
+    public void submit(Request request, String testName, Response response) {
+        CapturedCall call = new CapturedCall(request, testName, response, Instant.now());
+        if (!async) {
+            Logger.record(call);
+            return;
+        }
+
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            if (!handleFull(call)) {
+                return;
+            }
+        }
+        submitted.incrementAndGet();
+        queue.offer(call);
+        if (idle) {
+            LockSupport.unpark(startWorker());
+        } else {
+            startWorker();
+        }
+    }
+
+    /**
+     * Applies the full-queue policy. Returns true once the call holds a reserved slot and should be queued.
+     */
+    private boolean handleFull(CapturedCall call) {
+        long start = System.nanoTime();
+        switch (policy) {
+            case DROP:
+                if (dropped.getAndIncrement() == 0) {
+                    LOG.warn("[Coverage] Coverage queue is full (" + capacity + " calls), dropping calls");
+                }
+                return false;
+            case BLOCK:
+                while (size.incrementAndGet() > capacity) {
+                    size.decrementAndGet();
+                    LockSupport.unpark(startWorker());
+                    LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+                }
+                SimulationMetrics.getInstance().record(SimulationMetrics.Stage.COVERAGE_QUEUE_FULL, System.nanoTime() - start);
+                return true;
+            default:
+                Logger.record(call);
+                SimulationMetrics.getInstance().record(SimulationMetrics.Stage.COVERAGE_QUEUE_FULL, System.nanoTime() - start);
+                return false;
+        }
+    }
+
+    /**
+     * Waits until every call submitted so far has been recorded. Called before the coverage data is read.
+     */
+    public void flush() {
+        long target = submitted.get();
+        while (completed.get() < target) {
+            Thread current = worker;
+            if (current == null || !current.isAlive()) {
+                break;
+            }
+            LockSupport.unpark(current);
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        if (dropped.get() > 0) {
+            LOG.warn("[Coverage] " + dropped.get() + " call(s) were dropped from the coverage report because the queue was full");
+        }
+    }
+
+    private Thread startWorker() {
+        Thread current = worker;
+        if (current == null) {
+            synchronized (this) {
+                current = worker;
+                if (current == null) {
+                    current = new Thread(this::drain, "metatest-coverage");
+                    current.setDaemon(true);
+                    current.start();
+                    worker = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void drain() {
+        while (true) {
+            CapturedCall call = queue.poll();
+            if (call == null) {
+                idle = true;
+                // Re-check after publishing idle, so a call queued in between is not left waiting
+                if (queue.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            size.decrementAndGet();
+            SimulationMetrics.getInstance().record(SimulationMetrics.Stage.COVERAGE_QUEUE_DELAY, System.nanoTime() - call.getQueuedAtNanos());
+            try {
+                Logger.record(call);
+            } catch (RuntimeException e) {
+                LOG.warn("[Coverage] Failed to record call to " + call.getRequest().getUrl() + ": " + e.getMessage());
+            } finally {
+                completed.incrementAndGet();
+            }
+        }
+    }
+
+    private static FullQueuePolicy parsePolicy(String value) {
+        if (value == null) {
+            return FullQueuePolicy.CALLER_RUNS;
+        }
+        try {
+            return FullQueuePolicy.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("[Coverage] Unknown coverage queue policy '" + value + "', using caller_runs");
+            return FullQueuePolicy.CALLER_RUNS;
+        }
+    }
+
+    /**
+     * A call as captured on the test thread, recorded later by the coverage thread.
+     */
+    static final class CapturedCall {
+        private final Request request;
+        private final String testName;
+        private final Response response;
+        private final Instant capturedAt;
+        private final long queuedAtNanos = System.nanoTime();
+
+        CapturedCall(Request request, String testName, Response response, Instant capturedAt) {
+            this.request = request;
+            this.testName = testName;
+            this.response = response;
+            this.capturedAt = capturedAt;
+        }
+
+        Request getRequest() {
+            return request;
+        }
+
+        String getTestName() {
+            return testName;
+        }
+
+        Response getResponse() {
+            return response;
+        }
+
+        long getQueuedAtNanos() {
+            return queuedAtNanos;
+        }
+
+        Instant getCapturedAt() {
+            return capturedAt;
+        }
+    }
+}
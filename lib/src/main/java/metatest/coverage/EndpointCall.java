@@ -1,4 +1,5 @@
 package metatest.coverage;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
@@ -32,4 +33,9 @@ public class EndpointCall {
 
     @JsonProperty("response_body")
     private Object responseBody;
+
+    /** Line of the bodies side file holding this call's bodies, when they are spilled */
+    @JsonProperty("body_ref")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long bodyRef;
 }
@@ -1,10 +1,16 @@
 package metatest.coverage;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Calls to one endpoint and method. With a call limit, calls holds a uniform random sample of that size
+ * (reservoir sampling); the summary counts every call.
+ */
 @Data
 public class EndpointMethodCoverage {
 
@@ -14,14 +20,38 @@ public class EndpointMethodCoverage {
     @JsonProperty("calls")
     private List<EndpointCall> calls;
 
+    /** Maximum number of calls kept, 0 for no limit */
+    @JsonIgnore
+    private final int maxCalls;
+
     public EndpointMethodCoverage() {
+        this(0);
+    }
+
+    public EndpointMethodCoverage(int maxCalls) {
         this.summary = new CoverageSummary();
         this.calls = new ArrayList<>();
+        this.maxCalls = maxCalls;
     }
 
-    public synchronized void addCall(EndpointCall call) {
-        calls.add(call);
+    /**
+     * Counts the call and keeps it if it is sampled.
+     *
+     * @return true if the call was kept, false if only counted
+     */
+    public synchronized boolean addCall(EndpointCall call) {
         updateSummary(call);
+        if (maxCalls <= 0 || calls.size() < maxCalls) {
+            calls.add(call);
+            return true;
+        }
+        // Keep the n-th call with probability maxCalls / n, replacing a random kept call
+        long slot = ThreadLocalRandom.current().nextLong(summary.no_of_times_called);
+        if (slot < maxCalls) {
+            calls.set((int) slot, call);
+            return true;
+        }
+        return false;
     }
 
     private void updateSummary(EndpointCall call) {
@@ -1,17 +1,55 @@
 package metatest.coverage;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import metatest.core.config.CoverageConfig;
+import metatest.core.log.Logs;
+import metatest.report.IndexedReportWriter;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Map;
 
 public class FileUtils {
+
+    private static final org.slf4j.Logger LOG = Logs.get(FileUtils.class);
+
     public static void saveToJsonFile(String path) {
         ObjectMapper objectMapper = new ObjectMapper();
         try {
+            if (CoverageConfig.getInstance().shouldSpillBodies()) {
+                CallBodySpill spill = CallBodySpill.getInstance(path);
+                spill.close();
+                if (spill.getFile().exists()) {
+                    Collector.getData().setBodiesFile(spill.getFile().getName());
+                }
+            }
             objectMapper.writeValue(new FileWriter(path), Collector.getData());
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("[Coverage] Failed to save coverage report: " + e.getMessage(), e);
+        }
+        if (IndexedReportWriter.isBinaryReportEnabled()) {
+            saveToBinaryFile(path);
+        }
+    }
+
+    /**
+     * Writes the coverage report as an indexed binary file next to the JSON, with one entry per path.
+     */
+    private static void saveToBinaryFile(String jsonPath) {
+        CollectorData data = Collector.getData();
+        try (IndexedReportWriter writer = new IndexedReportWriter(IndexedReportWriter.binaryFileFor(jsonPath))) {
+            writer.writeEntry("dateCollected", data.getDateCollected());
+            writer.writeEntry("host", data.getHost());
+            if (data.getBodiesFile() != null) {
+                writer.writeEntry("bodies_file", data.getBodiesFile());
+            }
+            writer.startGroup("paths");
+            for (Map.Entry<String, Map<String, EndpointMethodCoverage>> path : data.getPaths().entrySet()) {
+                writer.writeEntry(path.getKey(), path.getValue());
+            }
+            writer.endGroup();
+        } catch (IOException e) {
+            LOG.error("[Coverage] Failed to save binary coverage report: " + e.getMessage(), e);
         }
     }
 }
@@ -1,6 +1,9 @@
 package metatest.coverage;
 
 import metatest.core.config.CoverageConfig;
+import metatest.core.log.Logs;
+import metatest.http.HTTPFactory;
+import metatest.http.Request;
 import metatest.http.Response;
 import metatest.core.normalizer.EndpointPatternNormalizer;
 import org.apache.http.HttpEntity;
@@ -10,26 +13,50 @@ import org.apache.http.util.EntityUtils;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.time.Instant;
-import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class Logger {
 
+    private static final org.slf4j.Logger LOG = Logs.get(Logger.class);
+
     public static void parseResponse(HttpRequestBase httpRequestBase, String testName, Response response) {
-        CoverageConfig config = CoverageConfig.getInstance();
+        if (!CoverageConfig.getInstance().isEnabled()) {
+            return;
+        }
+        parseResponse(HTTPFactory.createRequestFrom(httpRequestBase), testName, response);
+    }
 
+    /**
+     * Queues a captured call for the coverage data.
+     * Works on the client-agnostic request wrapper, so the request body is not read again.
+     * The call is recorded by the coverage thread, see {@link CoverageQueue}.
+     *
+     * @param request  The captured request
+     * @param testName The test that issued the request
+     * @param response The captured response
+     */
+    public static void parseResponse(Request request, String testName, Response response) {
         // Check if coverage is enabled
-        if (!config.isEnabled()) {
+        if (!CoverageConfig.getInstance().isEnabled() || request == null) {
             return;
         }
+        CoverageQueue.getInstance().submit(request, testName, response);
+    }
+
+    /**
+     * Records a captured call in the coverage data.
+     */
+    static void record(CoverageQueue.CapturedCall call) {
+        CoverageConfig config = CoverageConfig.getInstance();
+        Request request = call.getRequest();
+        Response response = call.getResponse();
 
         CollectorData collectorData = Collector.getData();
-        String method = httpRequestBase.getMethod() != null ? httpRequestBase.getMethod().toUpperCase() : "UNKNOWN";
+        String method = request.getMethod() != null ? request.getMethod().toUpperCase() : "UNKNOWN";
 
         try {
-            String requestUri = httpRequestBase.getURI() != null ? httpRequestBase.getURI().toString() : "";
+            String requestUri = request.getUrl() != null ? request.getUrl() : "";
             URI uriObj = new URI(requestUri);
             String literalPath = uriObj.getPath();
 
@@ -38,7 +65,7 @@ public class Logger {
                 return;
             }
 
-            String baseUri = httpRequestBase.getURI() != null ? httpRequestBase.getURI().getHost() : "";
+            String baseUri = uriObj.getHost() != null ? uriObj.getHost() : "";
             URI baseUriObj = new URI(baseUri);
             String basePath = baseUriObj.getPath();
 
@@ -71,20 +98,21 @@ public class Logger {
             Map<String, EndpointMethodCoverage> methodsMap = paths.computeIfAbsent(endpointPattern, k -> new ConcurrentHashMap<>());
 
             // Get or create coverage for this method
-            EndpointMethodCoverage methodCoverage = methodsMap.computeIfAbsent(method, k -> new EndpointMethodCoverage());
+            EndpointMethodCoverage methodCoverage = methodsMap.computeIfAbsent(method,
+                    k -> new EndpointMethodCoverage(config.getMaxCallsPerEndpoint()));
 
             // Prepare endpoint call data
             Map<String, String> headers = new ConcurrentHashMap<>();
-            if (httpRequestBase.getAllHeaders() != null) {
-                Arrays.stream(httpRequestBase.getAllHeaders()).forEach(header -> {
-                    if (header != null && header.getName() != null && header.getValue() != null) {
-                        headers.put(header.getName(), header.getValue());
+            if (request.getHeaders() != null) {
+                request.getHeaders().forEach((key, value) -> {
+                    if (key != null && value != null) {
+                        headers.put(key, value.toString());
                     }
                 });
             }
 
-            Object body = config.shouldIncludeRequestBody() ? getRequestBody(httpRequestBase) : null;
-            Map<String, String> urlParams = getQueryParams(httpRequestBase);
+            Object body = config.shouldIncludeRequestBody() ? request.getBody() : null;
+            Map<String, String> urlParams = getQueryParams(uriObj);
 
             // Extract response data
             Integer responseStatusCode = null;
@@ -112,8 +140,8 @@ public class Logger {
 
             // Create endpoint call
             EndpointCall endpointCall = new EndpointCall();
-            endpointCall.setTestName(testName);
-            endpointCall.setTimestamp(Instant.now().toString());
+            endpointCall.setTestName(call.getTestName());
+            endpointCall.setTimestamp(call.getCapturedAt().toString());
             endpointCall.setUrl(literalPath);  // Store literal path
             endpointCall.setHeaders(headers);
             endpointCall.setBody(body);
@@ -122,16 +150,17 @@ public class Logger {
             endpointCall.setResponseHeaders(responseHeaders);
             endpointCall.setResponseBody(responseBody);
 
-            // Add call to coverage (aggregates automatically)
-            methodCoverage.addCall(endpointCall);
+            // Add call to coverage (aggregates automatically, keeps a sample of the calls)
+            boolean kept = methodCoverage.addCall(endpointCall);
+            if (kept && config.shouldSpillBodies()) {
+                CallBodySpill.getInstance(config.getOutputFile()).spill(endpointPattern, method, endpointCall);
+            }
 
         } catch (URISyntaxException e) {
-            e.printStackTrace();
+            LOG.warn("[Coverage] Invalid request URL: " + e.getMessage());
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            LOG.warn("[Coverage] Failed to spill call bodies: " + e.getMessage());
         }
-
-
     }
 
     public static String getRequestBody(HttpRequestBase request) throws IOException {
@@ -146,8 +175,11 @@ public class Logger {
     }
 
     public static Map<String, String> getQueryParams(HttpRequestBase request) throws URISyntaxException {
+        return getQueryParams(request.getURI());
+    }
+
+    private static Map<String, String> getQueryParams(URI uri) {
         Map<String, String> queryParams = new ConcurrentHashMap<>();
-        URI uri = request.getURI();
         String query = uri.getQuery();
 
         if (query != null) {
@@ -172,7 +204,7 @@ public class Logger {
                 return EntityUtils.toString(response.getEntity());
             }
         } catch (IOException e) {
-            System.err.println("[Coverage] Failed to read response body: " + e.getMessage());
+            LOG.warn("[Coverage] Failed to read response body: " + e.getMessage());
         }
         return null;
     }
@@ -0,0 +1,547 @@
+package metatest.history;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import metatest.simulation.FaultSimulationReport;
+import metatest.simulation.ResultStore;
+import metatest.simulation.ResultSummary;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only local store of past simulation runs, kept in a directory that survives between runs:
+ *
+ *   mutants.jsonl  - dictionary of every (endpoint, kind, fault, field) mutant ever seen, with a stable id
+ *   verdicts.bin   - per run, the tested and caught BitSets over mutant ids
+ *   runs.jsonl     - per run, a summary with per-endpoint scores and the offset of its verdict block
+ *
+ * A run line is appended last, so a run interrupted while recording is ignored on load. Trends are served
+ * from the summaries alone, and comparing two runs reads just their two verdict blocks.
+ *
+ * Loading and recording hold an exclusive lock on .lock in the directory, and recording reloads the files
+ * under it, so test JVMs sharing the directory (Gradle forks, parallel builds) append whole runs one at a time.
+ * Each JVM records the results it executed itself. JVMs that record the same run id (-Dmetatest.run.id, set
+ * by the Gradle plugin for each test task execution) are merged into one run: the later fork ORs its verdicts
+ * into the earlier ones, writes the merged block at the end of verdicts.bin and replaces runs.jsonl with the
+ * updated summary. The superseded block stays behind as unused bytes.
+ */
+public class RunHistory {
+
+    private static final Logger LOG = Logs.get(RunHistory.class);
+
+    private static final String MUTANTS_FILE = "mutants.jsonl";
+    private static final String VERDICTS_FILE = "verdicts.bin";
+    private static final String RUNS_FILE = "runs.jsonl";
+    private static final String LOCK_FILE = ".lock";
+
+    private final File directory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Mutant> mutants = new ArrayList<>();
+    private final Map<String, Integer> mutantIds = new HashMap<>();
+    private final Map<String, BitSet> endpointMutants = new HashMap<>();
+    private final List<RunSummary> runs = new ArrayList<>();
+
+    public RunHistory(File directory) throws IOException {
+        this.directory = directory;
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        if (directory.isDirectory()) {
+            locked(() -> {
+                load();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * History is recorded when -Dmetatest.history.dir or METATEST_HISTORY_DIR names its directory.
+     */
+    public static File resolveDirectory() {
+        String value = SystemSettings.getString("metatest.history.dir", "METATEST_HISTORY_DIR");
+        return value == null ? null : new File(value);
+    }
+
+    public static boolean isEnabled() {
+        return resolveDirectory() != null;
+    }
+
+    /**
+     * The build-scoped run id from -Dmetatest.run.id or METATEST_RUN_ID, or null if none was given.
+     */
+    public static String resolveRunId() {
+        return SystemSettings.getString("metatest.run.id", "METATEST_RUN_ID");
+    }
+
+    /**
+     * Records the current run's results, if history is enabled.
+     */
+    public static void recordCurrentRun() {
+        File directory = resolveDirectory();
+        if (directory == null) {
+            return;
+        }
+        try {
+            RunSummary run = new RunHistory(directory).recordRun(FaultSimulationReport.getInstance().getStore(), resolveRunId());
+            LOG.info("[Run History] Recorded run " + run.getRun() + " (mutation score " + run.getMutationScore()
+                    + "%) in " + directory.getAbsolutePath());
+        } catch (IOException e) {
+            LOG.warn("[Run History] Failed to record run: " + e.getMessage());
+        }
+    }
+
+    // ==================== locking ====================
+
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Runs the action holding the directory lock. File locks are held per JVM, not per channel, so
+     * instances in the same JVM are serialized on the class as well.
+     */
+    private <T> T locked(LockedAction<T> action) throws IOException {
+        synchronized (RunHistory.class) {
+            Files.createDirectories(directory.toPath());
+            try (FileChannel channel = FileChannel.open(new File(directory, LOCK_FILE).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                return action.run();
+            }
+        }
+    }
+
+    // ==================== loading ====================
+
+    /**
+     * Drops the in-memory state and reads the files again, picking up runs other processes recorded.
+     */
+    private void reload() throws IOException {
+        mutants.clear();
+        mutantIds.clear();
+        endpointMutants.clear();
+        runs.clear();
+        load();
+    }
+
+    private void load() throws IOException {
+        File mutantsFile = new File(directory, MUTANTS_FILE);
+        if (mutantsFile.isFile()) {
+            long validLength = 0;
+            try (BufferedReader reader = Files.newBufferedReader(mutantsFile.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Mutant mutant = readLine(line, Mutant.class);
+                    // Ids are assigned in line order; a torn last line or a gap ends the dictionary
+                    if (mutant == null || mutant.getId() != mutants.size()) {
+                        break;
+                    }
+                    index(mutant);
+                    validLength += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                }
+            }
+            truncate(mutantsFile, validLength);
+        }
+
+        File runsFile = new File(directory, RUNS_FILE);
+        long verdictsLength = new File(directory, VERDICTS_FILE).length();
+        if (runsFile.isFile()) {
+            long validLength = 0;
+            try (BufferedReader reader = Files.newBufferedReader(runsFile.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    RunSummary run = readLine(line, RunSummary.class);
+                    if (run == null || run.getRun() != runs.size()
+                            || run.getVerdictsOffset() + run.getVerdictsLength() > verdictsLength) {
+                        break;
+                    }
+                    runs.add(run);
+                    validLength += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                }
+            }
+            truncate(runsFile, validLength);
+        }
+    }
+
+    /**
+     * Cuts off anything after the last valid line, so later appends start on a fresh line.
+     */
+    private static void truncate(File file, long validLength) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() > validLength) {
+                raf.setLength(validLength);
+            } else if (raf.length() < validLength) {
+                // The last valid line lost its newline
+                raf.seek(raf.length());
+                raf.write('\n');
+            }
+        }
+    }
+
+    private <T> T readLine(String line, Class<T> type) {
+        try {
+            return objectMapper.readValue(line, type);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void index(Mutant mutant) {
+        mutants.add(mutant);
+        mutantIds.put(mutant.key(), mutant.getId());
+        endpointMutants.computeIfAbsent(mutant.getEndpoint(), k -> new BitSet()).set(mutant.getId());
+    }
+
+    // ==================== recording ====================
+
+    /**
+     * Appends the results held by the result store as a new run, after reloading the history under the lock.
+     */
+    public RunSummary recordRun(ResultStore store) throws IOException {
+        return recordRun(store, null);
+    }
+
+    /**
+     * Records the results held by the result store, after reloading the history under the lock. If a run with
+     * the same run id was already recorded, the results are merged into it; otherwise they are appended as a new run.
+     */
+    public synchronized RunSummary recordRun(ResultStore store, String runId) throws IOException {
+        return locked(() -> {
+            reload();
+            return append(store, runId);
+        });
+    }
+
+    private RunSummary append(ResultStore store, String runId) throws IOException {
+        List<Mutant> added = new ArrayList<>();
+        BitSet tested = new BitSet();
+        BitSet caught = new BitSet();
+        RunSummary merged = findRun(runId);
+        RunSummary summary = new RunSummary();
+        summary.setRun(merged != null ? merged.getRun() : runs.size());
+        summary.setRunId(runId);
+
+        for (int mutant : store.sortedMutants()) {
+            Mutant key = new Mutant(-1, store.endpoint(mutant), store.isInvariant(mutant) ? "invariant" : "contract",
+                    store.fault(mutant), store.isInvariant(mutant) ? null : store.field(mutant));
+            Integer id = mutantIds.get(key.key());
+            if (id == null) {
+                id = mutants.size();
+                key.setId(id);
+                index(key);
+                added.add(key);
+            }
+            tested.set(id);
+            caught.set(id, store.isCaughtByAnyTest(mutant));
+        }
+
+        if (merged != null) {
+            // Another fork of the same build recorded first: a mutant is caught if any fork caught it
+            BitSet[] earlier = readVerdicts(merged.getRun());
+            tested.or(earlier[0]);
+            caught.or(earlier[1]);
+            summary.setTimestamp(merged.getTimestamp());
+            scoreVerdicts(summary, tested, caught);
+        } else {
+            // Scores come from the store's running totals
+            ResultSummary totals = store.summary();
+            for (Map.Entry<String, ResultSummary.EndpointCounts> entry : totals.getEndpoints().entrySet()) {
+                EndpointScore score = new EndpointScore();
+                score.setTotal(entry.getValue().getContract().getMutants() + entry.getValue().getInvariant().getMutants());
+                score.setCaught(entry.getValue().getContract().getCaughtMutants() + entry.getValue().getInvariant().getCaughtMutants());
+                summary.getEndpoints().put(entry.getKey(), score);
+            }
+            summary.setTotalMutants(totals.getTotal().getMutants());
+            summary.setCaughtMutants(totals.getTotal().getCaughtMutants());
+        }
+        summary.setMutationScore(summary.getTotalMutants() > 0
+                ? Math.round(summary.getCaughtMutants() * 10000.0 / summary.getTotalMutants()) / 100.0 : 0);
+
+        // Dictionary and verdicts first, the run line last: it is what makes the run visible
+        for (Mutant mutant : added) {
+            appendLine(MUTANTS_FILE, mutant);
+        }
+        File verdictsFile = new File(directory, VERDICTS_FILE);
+        byte[] block = encodeVerdicts(tested, caught);
+        try (RandomAccessFile file = new RandomAccessFile(verdictsFile, "rw")) {
+            // Drop a block left behind by a run that never got its run line
+            long offset = verdictsEnd();
+            file.setLength(offset);
+            file.seek(offset);
+            file.write(block);
+            summary.setVerdictsOffset(offset);
+            summary.setVerdictsLength(block.length);
+        }
+        if (merged != null) {
+            runs.set(merged.getRun(), summary);
+            rewriteRuns();
+        } else {
+            appendLine(RUNS_FILE, summary);
+            runs.add(summary);
+        }
+        return summary;
+    }
+
+    private RunSummary findRun(String runId) {
+        if (runId == null) {
+            return null;
+        }
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            if (runId.equals(runs.get(i).getRunId())) {
+                return runs.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Counts the tested and caught mutants per endpoint from a run's verdicts.
+     */
+    private void scoreVerdicts(RunSummary summary, BitSet tested, BitSet caught) {
+        int caughtMutants = 0;
+        for (int id = tested.nextSetBit(0); id >= 0; id = tested.nextSetBit(id + 1)) {
+            EndpointScore score = summary.getEndpoints().computeIfAbsent(mutants.get(id).getEndpoint(), k -> new EndpointScore());
+            score.setTotal(score.getTotal() + 1);
+            if (caught.get(id)) {
+                score.setCaught(score.getCaught() + 1);
+                caughtMutants++;
+            }
+        }
+        summary.setTotalMutants(tested.cardinality());
+        summary.setCaughtMutants(caughtMutants);
+    }
+
+    /**
+     * End of the last verdict block a run line refers to. Merged runs move their block to the end, so
+     * this is not necessarily the last run's block.
+     */
+    private long verdictsEnd() {
+        long end = 0;
+        for (RunSummary run : runs) {
+            end = Math.max(end, run.getVerdictsOffset() + run.getVerdictsLength());
+        }
+        return end;
+    }
+
+    /**
+     * Replaces runs.jsonl with the in-memory runs, atomically where the file system allows it.
+     */
+    private void rewriteRuns() throws IOException {
+        Path runsFile = new File(directory, RUNS_FILE).toPath();
+        Path temp = Files.createTempFile(directory.toPath(), RUNS_FILE, ".tmp");
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (RunSummary run : runs) {
+                lines.append(objectMapper.writeValueAsString(run)).append('\n');
+            }
+            Files.write(temp, lines.toString().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, runsFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, runsFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void appendLine(String fileName, Object value) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(value);
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+        try (FileOutputStream out = new FileOutputStream(new File(directory, fileName), true)) {
+            out.write(line);
+        }
+    }
+
+    private static byte[] encodeVerdicts(BitSet tested, BitSet caught) {
+        long[] testedWords = tested.toLongArray();
+        long[] caughtWords = caught.toLongArray();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + (testedWords.length + caughtWords.length) * Long.BYTES);
+        buffer.putInt(testedWords.length);
+        for (long word : testedWords) {
+            buffer.putLong(word);
+        }
+        buffer.putInt(caughtWords.length);
+        for (long word : caughtWords) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    // ==================== queries ====================
+
+    public synchronized List<RunSummary> getRuns() {
+        return Collections.unmodifiableList(new ArrayList<>(runs));
+    }
+
+    public synchronized Mutant getMutant(int id) {
+        return mutants.get(id);
+    }
+
+    /**
+     * Returns the ids of every mutant ever recorded for an endpoint.
+     */
+    public synchronized BitSet getEndpointMutants(String endpoint) {
+        BitSet ids = endpointMutants.get(endpoint);
+        return ids == null ? new BitSet() : (BitSet) ids.clone();
+    }
+
+    /**
+     * Reads a run's verdicts: index 0 holds the tested mutant ids, index 1 the caught ones.
+     */
+    public synchronized BitSet[] readVerdicts(int run) throws IOException {
+        RunSummary summary = runs.get(run);
+        byte[] block = new byte[summary.getVerdictsLength()];
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, VERDICTS_FILE), "r")) {
+            file.seek(summary.getVerdictsOffset());
+            file.readFully(block);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        return new BitSet[]{readBitSet(buffer), readBitSet(buffer)};
+    }
+
+    private static BitSet readBitSet(ByteBuffer buffer) {
+        long[] words = new long[buffer.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Mutants caught in the earlier run that were tested but not caught in the later one.
+     */
+    public List<Mutant> newlySurviving(int previousRun, int run) throws IOException {
+        BitSet[] previous = readVerdicts(previousRun);
+        BitSet[] current = readVerdicts(run);
+        BitSet surviving = (BitSet) current[0].clone();
+        surviving.andNot(current[1]);
+        surviving.and(previous[1]);
+
+        List<Mutant> result = new ArrayList<>();
+        synchronized (this) {
+            for (int id = surviving.nextSetBit(0); id >= 0 && id < mutants.size(); id = surviving.nextSetBit(id + 1)) {
+                result.add(mutants.get(id));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Mutation score of one endpoint per run, or null for runs that did not reach it.
+     */
+    public synchronized List<Double> endpointTrend(String endpoint) {
+        List<Double> trend = new ArrayList<>();
+        for (RunSummary run : runs) {
+            EndpointScore score = run.getEndpoints().get(endpoint);
+            trend.add(score == null || score.getTotal() == 0 ? null
+                    : Math.round(score.getCaught() * 10000.0 / score.getTotal()) / 100.0);
+        }
+        return trend;
+    }
+
+    // ==================== records ====================
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Mutant {
+        @JsonProperty("id")
+        private int id;
+
+        @JsonProperty("endpoint")
+        private String endpoint;
+
+        /** "contract" or "invariant" */
+        @JsonProperty("kind")
+        private String kind;
+
+        /** Fault type, or invariant name */
+        @JsonProperty("fault")
+        private String fault;
+
+        @JsonProperty("field")
+        private String field;
+
+        public Mutant() {
+        }
+
+        public Mutant(int id, String endpoint, String kind, String fault, String field) {
+            this.id = id;
+            this.endpoint = endpoint;
+            this.kind = kind;
+            this.fault = fault;
+            this.field = field;
+        }
+
+        String key() {
+            return endpoint + '|' + kind + '|' + fault + '|' + field;
+        }
+    }
+
+    @Data
+    public static class RunSummary {
+        @JsonProperty("run")
+        private int run;
+
+        /** Build-scoped id shared by the forks of one build, null if none was given */
+        @JsonProperty("run_id")
+        private String runId;
+
+        @JsonProperty("timestamp")
+        private String timestamp = Instant.now().toString();
+
+        @JsonProperty("total_mutants")
+        private int totalMutants;
+
+        @JsonProperty("caught_mutants")
+        private int caughtMutants;
+
+        @JsonProperty("mutation_score")
+        private double mutationScore;
+
+        @JsonProperty("endpoints")
+        private Map<String, EndpointScore> endpoints = new LinkedHashMap<>();
+
+        @JsonProperty("verdicts_offset")
+        private long verdictsOffset;
+
+        @JsonProperty("verdicts_length")
+        private int verdictsLength;
+    }
+
+    @Data
+    public static class EndpointScore {
+        @JsonProperty("total")
+        private int total;
+
+        @JsonProperty("caught")
+        private int caught;
+    }
+}
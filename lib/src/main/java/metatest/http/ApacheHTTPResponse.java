@@ -4,9 +4,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
+import metatest.core.log.Logs;
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
 import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -17,6 +19,8 @@ import java.util.stream.Collectors;
 @Data
 public class ApacheHTTPResponse implements Response {
 
+    private static final Logger LOG = Logs.get(ApacheHTTPResponse.class);
+
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final Map<String, Object> headers;
@@ -94,7 +98,7 @@ public class ApacheHTTPResponse implements Response {
         try {
             return OBJECT_MAPPER.readValue(body, new TypeReference<Map<String, Object>>() {});
         } catch (JsonProcessingException e) {
-            System.err.println("[METATEST-WARN] Failed to parse response body as JSON: " + e.getMessage());
+            LOG.warn("[MetaTest] Failed to parse response body as JSON: " + e.getMessage());
             return Collections.emptyMap();
         }
     }
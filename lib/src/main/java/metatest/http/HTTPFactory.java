@@ -1,5 +1,6 @@
 package metatest.http;
 
+import io.restassured.specification.FilterableRequestSpecification;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
 
@@ -11,6 +12,9 @@ public class HTTPFactory {
         if(request instanceof org.apache.http.client.methods.HttpRequestBase){
             return new ApacheHTTPRequest((HttpRequestBase) request);
         }
+        if(request instanceof FilterableRequestSpecification){
+            return new RestAssuredRequest((FilterableRequestSpecification) request);
+        }
         return null;
     }
 
@@ -22,6 +26,9 @@ public class HTTPFactory {
                 throw new RuntimeException(e);
             }
         }
+        if(request instanceof io.restassured.response.Response){
+            return new RestAssuredResponse((io.restassured.response.Response) request);
+        }
         return null;
     }
 }
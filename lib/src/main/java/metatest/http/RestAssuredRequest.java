@@ -0,0 +1,70 @@
+package metatest.http;
+
+import io.restassured.http.Header;
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RestAssuredRequest implements Request {
+    private final String url;
+    private final String method;
+    private final Map<String, Object> headers;
+    private final String body;
+
+
+    public RestAssuredRequest(FilterableRequestSpecification requestSpec) {
+        this.url = requestSpec.getURI();
+        this.method = requestSpec.getMethod();
+        this.headers = extractHeaders(requestSpec);
+        this.body = extractBody(requestSpec);
+    }
+
+
+    private Map<String, Object> extractHeaders(FilterableRequestSpecification requestSpec) {
+        if (requestSpec.getHeaders() == null || !requestSpec.getHeaders().exist()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Object> extracted = new HashMap<>();
+        for (Header header : requestSpec.getHeaders()) {
+            // Handle duplicate header names by using the latest value
+            extracted.put(header.getName(), header.getValue());
+        }
+        return extracted;
+    }
+
+
+    private String extractBody(FilterableRequestSpecification requestSpec) {
+        Object requestBody = requestSpec.getBody();
+        if (requestBody == null) {
+            return null;
+        }
+        if (requestBody instanceof byte[]) {
+            return new String((byte[]) requestBody, StandardCharsets.UTF_8);
+        }
+        return requestBody.toString();
+    }
+
+    @Override
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public Map<String, Object> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public String getBody() {
+        return body;
+    }
+}
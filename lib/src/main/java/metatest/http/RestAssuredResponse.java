@@ -0,0 +1,99 @@
+package metatest.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.http.Header;
+import lombok.Data;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class RestAssuredResponse implements Response {
+
+    private static final Logger LOG = Logs.get(RestAssuredResponse.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, Object> headers;
+    private final String body;
+    private final int statusCode;
+    private final Map<String, Object> responseAsMap;
+
+    public RestAssuredResponse(io.restassured.response.Response response) {
+        this.statusCode = response.getStatusCode();
+        this.body = response.getBody() != null ? response.getBody().asString() : "";
+
+        if (response.getHeaders() != null && response.getHeaders().exist()) {
+            Map<String, Object> extracted = new HashMap<>();
+            for (Header header : response.getHeaders()) {
+                extracted.put(header.getName(), header.getValue());
+            }
+            this.headers = extracted;
+        } else {
+            this.headers = Collections.emptyMap();
+        }
+
+        this.responseAsMap = parseBodyToMap(this.body);
+    }
+
+
+    private RestAssuredResponse(int statusCode, Map<String, Object> headers, String body) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+        this.responseAsMap = parseBodyToMap(body);
+    }
+
+    @Override
+    public String getUrl() {
+        return null;
+    }
+
+    @Override
+    public Map<String, Object> getHeaders() {
+        return this.headers;
+    }
+
+    @Override
+    public String getBody() {
+        return this.body;
+    }
+
+
+    @Override
+    public void setBody(String body) {
+        throw new UnsupportedOperationException("RestAssuredResponse is immutable. Use withBody() to create a new instance with a different body.");
+    }
+
+    @Override
+    public Response withBody(String newBody) {
+        return new RestAssuredResponse(this.statusCode, this.headers, newBody);
+    }
+
+    @Override
+    public Map<String, Object> getResponseAsMap() {
+        return responseAsMap;
+    }
+
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+
+
+    private Map<String, Object> parseBodyToMap(String body) {
+        if (body == null || body.trim().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(body, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            LOG.warn("[MetaTest] Failed to parse response body as JSON: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -4,13 +4,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import metatest.core.config.InvariantConfig;
 import metatest.core.config.SimulatorConfig;
 import metatest.core.interceptor.TestContext;
+import metatest.core.log.Logs;
 import metatest.http.Response;
+import metatest.metrics.FlightEvents;
+import metatest.metrics.SimulationMetrics;
 import metatest.simulation.FaultSimulationReport;
+import metatest.simulation.TestInvocation;
 import metatest.simulation.TestLevelSimulationResults;
-import org.aspectj.lang.ProceedingJoinPoint;
+import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,24 +27,27 @@ import java.util.Map;
  */
 public class InvariantSimulator {
 
+    private static final Logger LOG = Logs.get(InvariantSimulator.class);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final FaultSimulationReport REPORT = FaultSimulationReport.getInstance();
+    private static final SimulationMetrics METRICS = SimulationMetrics.getInstance();
     private static final ViolationGenerator VIOLATION_GENERATOR = new ViolationGenerator();
     private static final ConditionEvaluator CONDITION_EVALUATOR = new ConditionEvaluator();
 
     /**
      * Executes invariant-based fault simulation for a specific endpoint response.
      *
-     * @param joinPoint The test method join point
+     * @param testInvocation Re-runs the test method
      * @param context The test context
      * @param testName The name of the test
      * @param endpointPattern The normalized endpoint pattern
      * @param httpMethod The HTTP method (GET, POST, etc.)
      * @param originalResponse The original response
      * @param requestIndex The index of this request in the captured requests
+     * @return The results of the mutations that were run
      */
-    public static void simulateInvariantViolations(
-            ProceedingJoinPoint joinPoint,
+    public static List<TestLevelSimulationResults> simulateInvariantViolations(
+            TestInvocation testInvocation,
             TestContext context,
             String testName,
             String endpointPattern,
@@ -48,13 +57,14 @@ public class InvariantSimulator {
 
         // Get invariants configured for this endpoint/method
         List<InvariantConfig> invariants = SimulatorConfig.getInvariantsForEndpoint(endpointPattern, httpMethod);
+        List<TestLevelSimulationResults> results = new ArrayList<>();
 
         if (invariants.isEmpty()) {
-            System.out.printf("[Metatest-Invariant] No invariants configured for %s %s%n", httpMethod, endpointPattern);
-            return;
+            LOG.debug("[Metatest-Invariant] No invariants configured for {} {}", httpMethod, endpointPattern);
+            return results;
         }
 
-        System.out.printf("[Metatest-Invariant] Found %d invariant(s) for %s %s%n",
+        LOG.debug("[Metatest-Invariant] Found {} invariant(s) for {} {}",
                 invariants.size(), httpMethod, endpointPattern);
 
         Map<String, Object> responseMap = originalResponse.getResponseAsMap();
@@ -65,7 +75,7 @@ public class InvariantSimulator {
 
             // Skip if stop_on_first_catch is enabled and invariant fault was already caught
             if (stopOnFirstCatch && REPORT.isInvariantFaultCaught(endpointPattern, invariantName)) {
-                System.out.printf("  -> Skipping invariant '%s' (already caught by another test)%n", invariantName);
+                LOG.debug("  -> Skipping invariant '{}' (already caught by another test)", invariantName);
                 continue;
             }
 
@@ -74,7 +84,7 @@ public class InvariantSimulator {
                     CONDITION_EVALUATOR.evaluate(invariant, responseMap);
 
             if (!originalResult.isSatisfied()) {
-                System.out.printf("  [WARN] Original response already violates invariant '%s': %s%n",
+                LOG.warn("[Metatest-Invariant] Original response already violates invariant '{}': {}",
                         invariantName, originalResult.getMessage());
                 // Record that the original already violates
                 // Skip simulation for this invariant
@@ -85,27 +95,59 @@ public class InvariantSimulator {
             List<Mutation> mutations = VIOLATION_GENERATOR.generateViolations(invariant, responseMap);
 
             if (mutations.isEmpty()) {
-                System.out.printf("  [INFO] No mutations generated for invariant '%s' (may be conditional with unmet precondition)%n",
+                LOG.debug("  No mutations generated for invariant '{}' (may be conditional with unmet precondition)",
                         invariantName);
                 continue;
             }
 
-            System.out.printf("  [INFO] Testing %d mutation(s) for invariant '%s'%n",
+            LOG.debug("  Testing {} mutation(s) for invariant '{}'",
                     mutations.size(), invariantName);
 
             // Execute each mutation
             for (Mutation mutation : mutations) {
-                executeMutation(joinPoint, context, testName, endpointPattern,
+                TestLevelSimulationResults result = executeMutation(testInvocation, context, testName, endpointPattern,
                         originalResponse, requestIndex, invariant, mutation, stopOnFirstCatch);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Counts the mutations simulateInvariantViolations would execute, without re-running the test.
+     *
+     * @return Mutation count per invariant name, for invariants that would be simulated
+     */
+    public static Map<String, Integer> planInvariantViolations(
+            String endpointPattern,
+            String httpMethod,
+            Response originalResponse) {
+
+        Map<String, Integer> plan = new LinkedHashMap<>();
+        Map<String, Object> responseMap = originalResponse.getResponseAsMap();
+
+        for (InvariantConfig invariant : SimulatorConfig.getInvariantsForEndpoint(endpointPattern, httpMethod)) {
+            if (!CONDITION_EVALUATOR.evaluate(invariant, responseMap).isSatisfied()) {
+                continue;
+            }
+            int mutations = VIOLATION_GENERATOR.generateViolations(invariant, responseMap).size();
+            if (mutations > 0) {
+                String invariantName = invariant.getName() != null ? invariant.getName() : "unnamed_invariant";
+                plan.merge(invariantName, mutations, Integer::sum);
             }
         }
+        return plan;
     }
 
     /**
      * Executes a single mutation and records the result.
+     *
+     * @return The result, or null if the mutation was skipped or could not be applied
      */
-    private static void executeMutation(
-            ProceedingJoinPoint joinPoint,
+    private static TestLevelSimulationResults executeMutation(
+            TestInvocation testInvocation,
             TestContext context,
             String testName,
             String endpointPattern,
@@ -118,39 +160,56 @@ public class InvariantSimulator {
         String invariantName = invariant.getName() != null ? invariant.getName() : "unnamed";
         String field = mutation.getField();
 
+        // Skip if an interrupted run being resumed already completed this mutation
+        if (REPORT.consumeCompletedInvariantFault(testName, endpointPattern, invariantName, field)) {
+            LOG.debug("    -> Skipping mutation on field '{}' of invariant '{}' (completed before resume)",
+                    field, invariantName);
+            return null;
+        }
+
         try {
             // Apply mutation to response
+            FlightEvents.MutantGeneration generationEvent = FlightEvents.MutantGeneration.start();
             Map<String, Object> mutatedMap = new HashMap<>(originalResponse.getResponseAsMap());
+            long mutationStart = System.nanoTime();
             applyMutation(mutatedMap, mutation);
 
+            long serializationStart = System.nanoTime();
             String mutatedBody = OBJECT_MAPPER.writeValueAsString(mutatedMap);
+            METRICS.record(SimulationMetrics.Stage.MUTATION, serializationStart - mutationStart);
+            METRICS.record(SimulationMetrics.Stage.SERIALIZATION, System.nanoTime() - serializationStart);
+            generationEvent.finish(testName, endpointPattern, "invariant", invariantName, field, mutatedBody.length());
 
-            System.out.printf("    -> Testing mutation: %s%n", mutation.getDescription());
-            System.out.printf("       Field: %s, Value: %s%n", field, mutation.getValue());
+            LOG.debug("    -> Testing mutation: {}", mutation.getDescription());
+            LOG.trace("       Field: {}, Value: {}", field, Logs.body(mutation.getValue()));
 
             // Create simulated response with mutation
             Response simulatedResponse = originalResponse.withBody(mutatedBody);
             context.setSimulatedResponse(simulatedResponse);
+            context.setSimulatedFaultType(invariantName);
+            context.setSimulatedField(field);
             context.setCurrentSimulationIndex(requestIndex);
 
             // Create result object
             TestLevelSimulationResults testLevelResults = new TestLevelSimulationResults();
             testLevelResults.setTest(testName);
 
+            long rerunStart = System.nanoTime();
+            FlightEvents.MutantRerun rerunEvent = FlightEvents.MutantRerun.start();
             try {
                 context.resetRequestCounter();
-                joinPoint.proceed(); // Re-run the test
+                testInvocation.proceed(); // Re-run the test
 
                 // Test passed - fault not detected
                 testLevelResults.setCaught(false);
-                System.err.printf("    [INVARIANT NOT VALIDATED] Test '%s' passed for violation of '%s' on field '%s'%n",
+                LOG.debug("    [INVARIANT NOT VALIDATED] Test '{}' passed for violation of '{}' on field '{}'",
                         testName, invariantName, field);
 
             } catch (Throwable t) {
                 // Test failed - fault detected
                 testLevelResults.setCaught(true);
                 testLevelResults.setError(t.getMessage());
-                System.out.printf("    [INVARIANT VALIDATED] Test '%s' failed as expected for violation of '%s' on field '%s'%n",
+                LOG.debug("    [INVARIANT VALIDATED] Test '{}' failed as expected for violation of '{}' on field '{}'",
                         testName, invariantName, field);
 
                 // Mark as caught if stop_on_first_catch is enabled
@@ -159,15 +218,19 @@ public class InvariantSimulator {
                 }
 
             } finally {
+                METRICS.recordRerun(testName, endpointPattern, System.nanoTime() - rerunStart);
+                rerunEvent.finish(testName, endpointPattern, "invariant", invariantName, field, testLevelResults.isCaught());
                 context.clearSimulation();
             }
 
             // Record result with invariant name
-            REPORT.recordInvariantResult(endpointPattern, invariantName, testLevelResults);
+            REPORT.recordInvariantResult(endpointPattern, invariantName, field, testLevelResults);
+            return testLevelResults;
 
         } catch (IOException e) {
-            System.err.printf("    [ERROR] Failed to apply mutation for invariant '%s': %s%n",
+            LOG.error("[Metatest-Invariant] Failed to apply mutation for invariant '{}': {}",
                     invariantName, e.getMessage());
+            return null;
         }
     }
 
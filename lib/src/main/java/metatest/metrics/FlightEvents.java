@@ -0,0 +1,240 @@
+package metatest.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the mutant lifecycle, so Metatest phases can be lined up with GC,
+ * allocation and I/O in the same recording. They appear under the "Metatest" category, e.g. with
+ * -XX:StartFlightRecording=filename=build/metatest/jfr on the test JVM; a directory destination gives
+ * each forked JVM its own file.
+ *
+ * When no recording is running, begin/end/shouldCommit are no-ops that the JIT removes, and attributes
+ * (including endpoint patterns) are only filled in for events that will be committed.
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    @Name("metatest.TestInterception")
+    @Label("Test Interception")
+    @Category("Metatest")
+    @Description("A test method from interception to the end of its baseline run and mutant re-runs")
+    @StackTrace(false)
+    public static final class TestInterception extends Event {
+        @Label("Test")
+        String test;
+
+        @Label("Interception Mode")
+        String mode;
+
+        @Label("Captured Requests")
+        int capturedRequests;
+
+        public static TestInterception start() {
+            TestInterception event = new TestInterception();
+            event.begin();
+            return event;
+        }
+
+        public void finish(String test, String mode, int capturedRequests) {
+            end();
+            if (shouldCommit()) {
+                this.test = test;
+                this.mode = mode;
+                this.capturedRequests = capturedRequests;
+                commit();
+            }
+        }
+    }
+
+    @Name("metatest.ResponseCapture")
+    @Label("Response Capture")
+    @Category("Metatest")
+    @Description("A response captured during a baseline run")
+    @StackTrace(false)
+    public static final class ResponseCapture extends Event {
+        @Label("Test")
+        String test;
+
+        @Label("Endpoint Pattern")
+        String endpoint;
+
+        @Label("Method")
+        String method;
+
+        @Label("Status Code")
+        int statusCode;
+
+        @Label("Request Index")
+        int requestIndex;
+
+        public static void emit(String test, String url, String method, int statusCode, int requestIndex) {
+            ResponseCapture event = new ResponseCapture();
+            if (event.shouldCommit()) {
+                event.test = test;
+                event.endpoint = SimulationMetrics.endpointPattern(url);
+                event.method = method;
+                event.statusCode = statusCode;
+                event.requestIndex = requestIndex;
+                event.commit();
+            }
+        }
+    }
+
+    @Name("metatest.MutantGeneration")
+    @Label("Mutant Generation")
+    @Category("Metatest")
+    @Description("Applying a fault or invariant violation to a response and serializing the mutated body")
+    @StackTrace(false)
+    public static final class MutantGeneration extends Event {
+        @Label("Test")
+        String test;
+
+        @Label("Endpoint Pattern")
+        String endpoint;
+
+        @Label("Kind")
+        @Description("contract or invariant")
+        String kind;
+
+        @Label("Fault Type")
+        @Description("Contract fault type, or invariant name")
+        String faultType;
+
+        @Label("Field")
+        String field;
+
+        @Label("Body Length")
+        int bodyLength;
+
+        public static MutantGeneration start() {
+            MutantGeneration event = new MutantGeneration();
+            event.begin();
+            return event;
+        }
+
+        public void finish(String test, String endpoint, String kind, String faultType, String field, int bodyLength) {
+            end();
+            if (shouldCommit()) {
+                this.test = test;
+                this.endpoint = endpoint;
+                this.kind = kind;
+                this.faultType = faultType;
+                this.field = field;
+                this.bodyLength = bodyLength;
+                commit();
+            }
+        }
+    }
+
+    @Name("metatest.MutantInjection")
+    @Label("Mutant Injection")
+    @Category("Metatest")
+    @Description("A mutated response handed to the test in place of the real one")
+    @StackTrace(false)
+    public static final class MutantInjection extends Event {
+        @Label("Test")
+        String test;
+
+        @Label("Endpoint Pattern")
+        String endpoint;
+
+        @Label("Fault Type")
+        String faultType;
+
+        @Label("Field")
+        String field;
+
+        @Label("Request Index")
+        int requestIndex;
+
+        public static void emit(String test, String url, String faultType, String field, int requestIndex) {
+            MutantInjection event = new MutantInjection();
+            if (event.shouldCommit()) {
+                event.test = test;
+                event.endpoint = SimulationMetrics.endpointPattern(url);
+                event.faultType = faultType;
+                event.field = field;
+                event.requestIndex = requestIndex;
+                event.commit();
+            }
+        }
+    }
+
+    @Name("metatest.MutantRerun")
+    @Label("Mutant Re-run")
+    @Category("Metatest")
+    @Description("A test re-run against one mutant, with its verdict")
+    @StackTrace(false)
+    public static final class MutantRerun extends Event {
+        @Label("Test")
+        String test;
+
+        @Label("Endpoint Pattern")
+        String endpoint;
+
+        @Label("Kind")
+        @Description("contract or invariant")
+        String kind;
+
+        @Label("Fault Type")
+        @Description("Contract fault type, or invariant name")
+        String faultType;
+
+        @Label("Field")
+        String field;
+
+        @Label("Caught")
+        @Description("True if the test failed against the mutant")
+        boolean caught;
+
+        public static MutantRerun start() {
+            MutantRerun event = new MutantRerun();
+            event.begin();
+            return event;
+        }
+
+        public void finish(String test, String endpoint, String kind, String faultType, String field, boolean caught) {
+            end();
+            if (shouldCommit()) {
+                this.test = test;
+                this.endpoint = endpoint;
+                this.kind = kind;
+                this.faultType = faultType;
+                this.field = field;
+                this.caught = caught;
+                commit();
+            }
+        }
+    }
+
+    @Name("metatest.ReportFlush")
+    @Label("Report Flush")
+    @Category("Metatest")
+    @Description("Writing one of the end-of-run reports")
+    @StackTrace(false)
+    public static final class ReportFlush extends Event {
+        @Label("Report")
+        String report;
+
+        public static ReportFlush start() {
+            ReportFlush event = new ReportFlush();
+            event.begin();
+            return event;
+        }
+
+        public void finish(String report) {
+            end();
+            if (shouldCommit()) {
+                this.report = report;
+                commit();
+            }
+        }
+    }
+}
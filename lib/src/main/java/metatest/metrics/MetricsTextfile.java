@@ -0,0 +1,320 @@
+package metatest.metrics;
+
+import metatest.core.config.SystemSettings;
+import metatest.core.io.ProcessFiles;
+import metatest.core.log.Logs;
+import metatest.simulation.ResultSummary;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Writes simulation throughput in the Prometheus text format (0.0.4), for node-exporter's textfile collector
+ * or any other scraper that reads files. Refreshed every -Dmetatest.metrics.textfile.interval seconds
+ * (default 15, 0 writes only at the end) while the tests run, and once more when they finish.
+ *
+ * Written to metatest_metrics.prom unless -Dmetatest.metrics.textfile (or METATEST_METRICS_TEXTFILE) names
+ * another path, with the JVM's fork slot inserted before the extension (metatest_metrics-0.prom). Each JVM claims
+ * the lowest slot no running JVM holds, so forks write their own file and label their series with a fork number
+ * that stays the same from build to build. Files of slots nobody holds are left from earlier runs and deleted
+ * when a JVM claims its slot. Each refresh replaces the file atomically, so a scrape never sees a partial file.
+ * Off together with the other timing metrics (-Dmetatest.metrics=false).
+ */
+public class MetricsTextfile {
+
+    private static final Logger LOG = Logs.get(MetricsTextfile.class);
+
+    public static final String DEFAULT_TEXTFILE_PATH = "metatest_metrics.prom";
+    private static final long DEFAULT_INTERVAL_SECONDS = 15;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final Path path;
+    private final String fork;
+    private final long intervalSeconds;
+    private final SimulationMetrics metrics;
+    private final Supplier<ResultSummary> summary;
+    private final long startNanos = System.nanoTime();
+    private ScheduledExecutorService scheduler;
+    private Slot slot;
+
+    public MetricsTextfile(Path path, String fork, long intervalSeconds, SimulationMetrics metrics, Supplier<ResultSummary> summary) {
+        this.path = path;
+        this.fork = fork;
+        this.intervalSeconds = intervalSeconds;
+        this.metrics = metrics;
+        this.summary = summary;
+    }
+
+    /**
+     * Returns an exporter writing to this JVM's fork slot of the configured path, or null if timing metrics
+     * are off or no slot could be claimed.
+     */
+    public static MetricsTextfile fromConfig(Supplier<ResultSummary> summary) {
+        if (!SimulationMetrics.isEnabled()) {
+            return null;
+        }
+        String file = SystemSettings.getString("metatest.metrics.textfile", "METATEST_METRICS_TEXTFILE", DEFAULT_TEXTFILE_PATH);
+        long intervalSeconds = SystemSettings.getLong("metatest.metrics.textfile.interval", "METATEST_METRICS_TEXTFILE_INTERVAL", DEFAULT_INTERVAL_SECONDS);
+        Slot slot;
+        try {
+            slot = claimSlot(Paths.get(file));
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("[MetaTest] Failed to claim a metrics textfile slot next to {}: {}", file, e.getMessage());
+            return null;
+        }
+        MetricsTextfile exporter = new MetricsTextfile(slot.getPath(), String.valueOf(slot.getNumber()),
+                intervalSeconds, SimulationMetrics.getInstance(), summary);
+        exporter.slot = slot;
+        return exporter;
+    }
+
+    /**
+     * Claims the lowest fork slot of the path that no running JVM holds, and deletes the files of the other
+     * free slots. The slot stays claimed until it is closed or the JVM exits.
+     */
+    public static Slot claimSlot(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        // Claims are serialized, so a JVM probing the slots of others never makes a starting fork skip its slot
+        try (FileChannel claims = FileChannel.open(lockPath(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = claims.lock()) {
+            Slot claimed = null;
+            for (int number = 0; claimed == null; number++) {
+                claimed = Slot.tryClaim(slotPath(path, number), number);
+            }
+            for (File copy : ProcessFiles.copiesOf(path.toFile())) {
+                Path stale = copy.toPath();
+                if (stale.equals(claimed.getPath())) {
+                    continue;
+                }
+                Slot free = Slot.tryClaim(stale, -1);
+                if (free != null) {
+                    free.close();
+                    Files.deleteIfExists(stale);
+                    Files.deleteIfExists(lockPath(stale));
+                    LOG.debug("[MetaTest] Deleted stale metrics textfile {}", stale);
+                }
+            }
+            return claimed;
+        }
+    }
+
+    /**
+     * Inserts the slot number before the file's extension: metatest_metrics.prom -> metatest_metrics-0.prom.
+     */
+    public static Path slotPath(Path path, int number) {
+        return ProcessFiles.perProcess(path.toFile(), String.valueOf(number)).toPath();
+    }
+
+    private static Path lockPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".lock");
+    }
+
+    /**
+     * Starts the periodic refresh on a daemon thread.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalSeconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metatest-metrics-textfile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::write, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic refresh and writes the final figures.
+     */
+    public void close() {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+        write();
+        LOG.info("[MetaTest] Metrics textfile saved to: " + path.toAbsolutePath());
+    }
+
+    public synchronized void write() {
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            Files.write(temp, render().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("[MetaTest] Failed to write metrics textfile: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Renders the current figures. Every sample carries this JVM's fork label; invariant mutants are reported
+     * under fault_type="invariant".
+     */
+    public String render() {
+        ResultSummary current = summary.get();
+        StringBuilder out = new StringBuilder();
+
+        family(out, "metatest_mutants_executed_total", "counter", "Mutants run, by fault type.");
+        forEachFaultType(current, (faultType, counts) ->
+                sample(out, "metatest_mutants_executed_total", "fault_type", faultType, counts.getMutants()));
+        family(out, "metatest_mutants_killed_total", "counter", "Mutants caught by at least one test, by fault type.");
+        forEachFaultType(current, (faultType, counts) ->
+                sample(out, "metatest_mutants_killed_total", "fault_type", faultType, counts.getCaughtMutants()));
+        family(out, "metatest_mutants_survived", "gauge", "Mutants no test has caught so far, by fault type.");
+        forEachFaultType(current, (faultType, counts) ->
+                sample(out, "metatest_mutants_survived", "fault_type", faultType, counts.getEscapedMutants()));
+
+        LatencyHistogram reruns = metrics.histogram(SimulationMetrics.Stage.RERUN);
+        double elapsedSeconds = seconds(System.nanoTime() - startNanos);
+        family(out, "metatest_mutants_per_second", "gauge", "Test re-runs against mutants per second since the run started.");
+        sample(out, "metatest_mutants_per_second", null, null, elapsedSeconds > 0 ? reruns.getCount() / elapsedSeconds : 0);
+
+        family(out, "metatest_rerun_duration_seconds", "summary", "Duration of test re-runs against one mutant, in seconds.");
+        for (double quantile : QUANTILES) {
+            sample(out, "metatest_rerun_duration_seconds", "quantile", String.valueOf(quantile),
+                    seconds(reruns.valueAtPercentile(quantile * 100)));
+        }
+        sample(out, "metatest_rerun_duration_seconds_sum", null, null, seconds(reruns.getTotalNanos()));
+        sample(out, "metatest_rerun_duration_seconds_count", null, null, reruns.getCount());
+
+        family(out, "metatest_captured_bytes_total", "counter", "UTF-8 bytes of response bodies captured in baseline runs.");
+        sample(out, "metatest_captured_bytes_total", null, null, metrics.getCapturedBytes());
+
+        family(out, "metatest_heap_high_water_bytes", "gauge", "Peak heap usage in bytes, summed over the heap memory pools.");
+        sample(out, "metatest_heap_high_water_bytes", null, null, heapHighWater());
+
+        family(out, "metatest_run_duration_seconds", "gauge", "Time since the test run started, in seconds.");
+        sample(out, "metatest_run_duration_seconds", null, null, elapsedSeconds);
+
+        return out.toString();
+    }
+
+    private static void forEachFaultType(ResultSummary summary, BiConsumer<String, ResultSummary.Counts> action) {
+        for (Map.Entry<String, ResultSummary.Counts> entry : summary.getFaultTypes().entrySet()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+        if (summary.getInvariant().getMutants() > 0) {
+            action.accept("invariant", summary.getInvariant());
+        }
+    }
+
+    /**
+     * HELP and TYPE name the samples exactly as written, _total suffix included, as the 0.0.4 format expects.
+     */
+    private static void family(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void sample(StringBuilder out, String name, String label, String labelValue, double value) {
+        out.append(name).append("{fork=\"").append(fork).append('"');
+        if (label != null) {
+            out.append(',').append(label).append("=\"").append(escapeLabel(labelValue)).append('"');
+        }
+        out.append("} ");
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    private static long heapHighWater() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * A fork slot, held through an exclusive lock on the slot file's .lock sibling.
+     */
+    public static final class Slot implements Closeable {
+        private final int number;
+        private final Path path;
+        private final FileChannel channel;
+        private final FileLock lock;
+
+        private Slot(int number, Path path, FileChannel channel, FileLock lock) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+            this.lock = lock;
+        }
+
+        /**
+         * Returns the slot, or null if a running JVM, this one included, holds it.
+         */
+        private static Slot tryClaim(Path path, int number) throws IOException {
+            FileChannel channel = FileChannel.open(lockPath(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                FileLock lock = channel.tryLock();
+                if (lock != null) {
+                    return new Slot(number, path, channel, lock);
+                }
+            } catch (OverlappingFileLockException e) {
+                // Held by another exporter of this JVM
+            }
+            channel.close();
+            return null;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                lock.release();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
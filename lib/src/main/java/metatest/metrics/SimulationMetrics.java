@@ -0,0 +1,375 @@
+package metatest.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import metatest.core.normalizer.EndpointPatternNormalizer;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where simulation time goes: baseline runs, mutant re-runs, HTTP round trips, building and serializing
+ * mutated bodies, and waits on the background queues. Durations are kept in LatencyHistograms per stage
+ * and per endpoint pattern, and as totals per test. Each endpoint pattern holds two histograms (about 19 KB),
+ * so only the first -Dmetatest.metrics.endpoints.max patterns (default 100) get their own; later ones share
+ * the "(other)" entry.
+ *
+ * Written to metatest_metrics.json at the end of the run and shown in the Timing tab of the HTML report.
+ * On by default; -Dmetatest.metrics=false (or METATEST_METRICS=false) turns recording off.
+ */
+public class SimulationMetrics {
+    private static final Logger LOG = Logs.get(SimulationMetrics.class);
+
+    private static final SimulationMetrics INSTANCE = new SimulationMetrics();
+    public static final String DEFAULT_METRICS_PATH = "metatest_metrics.json";
+    private static final boolean ENABLED = resolveEnabled();
+    private static final int DEFAULT_MAX_ENDPOINTS = 100;
+    public static final String OTHER_ENDPOINTS = "(other)";
+
+    public enum Stage {
+        /** Original test runs that capture the baseline responses. */
+        BASELINE("baseline"),
+        /** Test re-runs against one mutant each. */
+        RERUN("rerun"),
+        /** Intercepted HTTP calls made by tests, baseline and re-runs. */
+        HTTP("http"),
+        /** Applying a fault or invariant violation to a response map. */
+        MUTATION("mutation"),
+        /** Serializing a mutated response map back to a body. */
+        SERIALIZATION("serialization"),
+        /** Time a test thread lost because the coverage queue was full (waiting or recording itself). */
+        COVERAGE_QUEUE_FULL("coverage_queue_full"),
+        /** Time a captured call waited in the coverage queue before it was recorded. */
+        COVERAGE_QUEUE_DELAY("coverage_queue_delay"),
+        /** Time a test thread spent handing a result batch to the uploader, including sending it itself. */
+        RESULT_UPLOAD_HANDOFF("result_upload_handoff");
+
+        private final String key;
+
+        Stage(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final Map<Stage, LatencyHistogram> stages = new EnumMap<>(Stage.class);
+    private final Map<String, TestTimer> tests = new ConcurrentHashMap<>();
+    private final Map<String, EndpointTimer> endpoints = new ConcurrentHashMap<>();
+    private final EndpointTimer otherEndpoints = new EndpointTimer();
+    private final int maxEndpoints;
+    private final LongAdder capturedBytes = new LongAdder();
+    private final ObjectMapper objectMapper;
+
+    private SimulationMetrics() {
+        this(SystemSettings.getInt("metatest.metrics.endpoints.max", "METATEST_METRICS_ENDPOINTS_MAX", DEFAULT_MAX_ENDPOINTS));
+    }
+
+    /**
+     * Creates metrics that keep separate histograms for at most maxEndpoints endpoint patterns.
+     */
+    public SimulationMetrics(int maxEndpoints) {
+        this.maxEndpoints = Math.max(0, maxEndpoints);
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new LatencyHistogram());
+        }
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public static SimulationMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    private static boolean resolveEnabled() {
+        return SystemSettings.getBoolean("metatest.metrics", "METATEST_METRICS", true);
+    }
+
+    public void record(Stage stage, long nanos) {
+        if (ENABLED) {
+            stages.get(stage).record(nanos);
+        }
+    }
+
+    public void recordBaseline(String test, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        stages.get(Stage.BASELINE).record(nanos);
+        TestTimer timer = tests.computeIfAbsent(test, k -> new TestTimer());
+        timer.baselines.increment();
+        timer.baselineNanos.add(nanos);
+    }
+
+    public void recordRerun(String test, String endpointPattern, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        stages.get(Stage.RERUN).record(nanos);
+        TestTimer timer = tests.computeIfAbsent(test, k -> new TestTimer());
+        timer.reruns.increment();
+        timer.rerunNanos.add(nanos);
+        timer.rerunMaxNanos.accumulateAndGet(nanos, Math::max);
+        endpointTimer(endpointPattern).reruns.record(nanos);
+    }
+
+    /**
+     * Records an intercepted HTTP call under the endpoint pattern of its URL (or path).
+     */
+    public void recordHttp(String url, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        stages.get(Stage.HTTP).record(nanos);
+        endpointTimer(endpointPattern(url)).http.record(nanos);
+    }
+
+    /**
+     * Returns the pattern's timer, or the shared overflow timer once the cap is reached.
+     * Threads racing past the size check can add a few patterns beyond the cap.
+     */
+    private EndpointTimer endpointTimer(String endpointPattern) {
+        EndpointTimer timer = endpoints.get(endpointPattern);
+        if (timer != null) {
+            return timer;
+        }
+        if (endpoints.size() >= maxEndpoints) {
+            return otherEndpoints;
+        }
+        return endpoints.computeIfAbsent(endpointPattern, k -> new EndpointTimer());
+    }
+
+    /**
+     * Counts the UTF-8 size of a response body captured in a baseline run.
+     */
+    public void recordCapture(String body) {
+        if (ENABLED && body != null) {
+            capturedBytes.add(utf8Length(body));
+        }
+    }
+
+    public long getCapturedBytes() {
+        return capturedBytes.sum();
+    }
+
+    LatencyHistogram histogram(Stage stage) {
+        return stages.get(stage);
+    }
+
+    private static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    static String endpointPattern(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return EndpointPatternNormalizer.normalize(path != null ? path : url);
+        } catch (RuntimeException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Builds the metrics document, with tests and endpoints sorted by total re-run time (most expensive first).
+     */
+    public MetricsDocument buildReport() {
+        MetricsDocument document = new MetricsDocument();
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = stages.get(stage);
+            if (histogram.getCount() > 0) {
+                document.getStages().put(stage.getKey(), Timing.of(histogram));
+            }
+        }
+
+        for (Map.Entry<String, TestTimer> entry : tests.entrySet()) {
+            TestTimer timer = entry.getValue();
+            TestTiming timing = new TestTiming();
+            timing.setTest(entry.getKey());
+            timing.setBaselines(timer.baselines.sum());
+            timing.setBaselineMs(millis(timer.baselineNanos.sum()));
+            timing.setReruns(timer.reruns.sum());
+            timing.setRerunTotalMs(millis(timer.rerunNanos.sum()));
+            timing.setRerunMeanMs(timing.getReruns() > 0 ? millis(timer.rerunNanos.sum() / timing.getReruns()) : 0);
+            timing.setRerunMaxMs(millis(timer.rerunMaxNanos.get()));
+            document.getTests().add(timing);
+        }
+        document.getTests().sort(Comparator.comparingDouble(TestTiming::getRerunTotalMs).reversed());
+
+        for (Map.Entry<String, EndpointTimer> entry : endpoints.entrySet()) {
+            document.getEndpoints().add(EndpointTiming.of(entry.getKey(), entry.getValue()));
+        }
+        if (otherEndpoints.reruns.getCount() > 0 || otherEndpoints.http.getCount() > 0) {
+            document.getEndpoints().add(EndpointTiming.of(OTHER_ENDPOINTS, otherEndpoints));
+        }
+        document.getEndpoints().sort(Comparator.comparingDouble((EndpointTiming timing) -> timing.getReruns().getTotalMs())
+                .thenComparingDouble(timing -> timing.getHttp().getTotalMs())
+                .reversed());
+        return document;
+    }
+
+    public void writeReport() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            File metricsFile = new File(DEFAULT_METRICS_PATH);
+            objectMapper.writeValue(metricsFile, buildReport());
+            LOG.info("[MetaTest] Timing metrics saved to: " + metricsFile.getAbsolutePath());
+        } catch (IOException e) {
+            LOG.error("Failed to save timing metrics: " + e.getMessage());
+        }
+    }
+
+    static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static final class TestTimer {
+        private final LongAdder baselines = new LongAdder();
+        private final LongAdder baselineNanos = new LongAdder();
+        private final LongAdder reruns = new LongAdder();
+        private final LongAdder rerunNanos = new LongAdder();
+        private final AtomicLong rerunMaxNanos = new AtomicLong();
+    }
+
+    private static final class EndpointTimer {
+        private final LatencyHistogram reruns = new LatencyHistogram();
+        private final LatencyHistogram http = new LatencyHistogram();
+    }
+
+    @Data
+    public static class MetricsDocument {
+        @JsonProperty("generated_at")
+        private String generatedAt = Instant.now().toString();
+
+        @JsonProperty("stages")
+        private Map<String, Timing> stages = new LinkedHashMap<>();
+
+        @JsonProperty("tests")
+        private List<TestTiming> tests = new ArrayList<>();
+
+        @JsonProperty("endpoints")
+        private List<EndpointTiming> endpoints = new ArrayList<>();
+    }
+
+    @Data
+    public static class Timing {
+        @JsonProperty("count")
+        private long count;
+
+        @JsonProperty("total_ms")
+        private double totalMs;
+
+        @JsonProperty("mean_ms")
+        private double meanMs;
+
+        @JsonProperty("min_ms")
+        private double minMs;
+
+        @JsonProperty("p50_ms")
+        private double p50Ms;
+
+        @JsonProperty("p90_ms")
+        private double p90Ms;
+
+        @JsonProperty("p99_ms")
+        private double p99Ms;
+
+        @JsonProperty("max_ms")
+        private double maxMs;
+
+        static Timing of(LatencyHistogram histogram) {
+            Timing timing = new Timing();
+            long count = histogram.getCount();
+            timing.setCount(count);
+            timing.setTotalMs(millis(histogram.getTotalNanos()));
+            timing.setMeanMs(count > 0 ? millis(histogram.getTotalNanos() / count) : 0);
+            timing.setMinMs(millis(histogram.getMinNanos()));
+            timing.setP50Ms(millis(histogram.valueAtPercentile(50)));
+            timing.setP90Ms(millis(histogram.valueAtPercentile(90)));
+            timing.setP99Ms(millis(histogram.valueAtPercentile(99)));
+            timing.setMaxMs(millis(histogram.getMaxNanos()));
+            return timing;
+        }
+    }
+
+    @Data
+    public static class TestTiming {
+        @JsonProperty("test")
+        private String test;
+
+        @JsonProperty("baselines")
+        private long baselines;
+
+        @JsonProperty("baseline_ms")
+        private double baselineMs;
+
+        @JsonProperty("reruns")
+        private long reruns;
+
+        @JsonProperty("rerun_total_ms")
+        private double rerunTotalMs;
+
+        @JsonProperty("rerun_mean_ms")
+        private double rerunMeanMs;
+
+        @JsonProperty("rerun_max_ms")
+        private double rerunMaxMs;
+    }
+
+    @Data
+    public static class EndpointTiming {
+        @JsonProperty("endpoint")
+        private String endpoint;
+
+        @JsonProperty("reruns")
+        private Timing reruns;
+
+        @JsonProperty("http")
+        private Timing http;
+
+        static EndpointTiming of(String endpoint, EndpointTimer timer) {
+            EndpointTiming timing = new EndpointTiming();
+            timing.setEndpoint(endpoint);
+            timing.setReruns(Timing.of(timer.reruns));
+            timing.setHttp(Timing.of(timer.http));
+            return timing;
+        }
+    }
+}
@@ -1,97 +1,285 @@
 package metatest.report;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import metatest.history.RunHistory;
+import metatest.metrics.SimulationMetrics;
+import metatest.simulation.ResultSummary;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders metatest_report.html. The fault simulation report is read with Jackson's streaming parser
+ * one endpoint at a time, endpoint sections are rendered in parallel, and everything is written
+ * straight to a buffered writer. gap_analysis.json is streamed one endpoint at a time as well, and only
+ * the stages and the first rows of the test and endpoint timings are read from the metrics file,
+ * so peak memory stays bounded by the largest single endpoint.
+ *
+ * In sharded mode the page only holds the endpoint headers; each endpoint's fault table is written
+ * to its own gzipped data file next to it and loaded by the page when the card is expanded.
+ */
 public class HtmlReportGenerator {
 
+    private static final Logger LOG = Logs.get(HtmlReportGenerator.class);
+
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    /** Endpoint sections rendered ahead of the writer; bounds memory held by pending sections. */
+    private static final int RENDER_WINDOW = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final String SHARD_FILE_PREFIX = "endpoint-";
+    private static final String FAULT_SIMULATION_PATH = "fault_simulation_report.json";
+    private static final String GAP_ANALYSIS_PATH = "gap_analysis.json";
+
+    private static final int HISTORY_TREND_RUNS = 30;
+    private static final int HISTORY_SURVIVOR_LIMIT = 200;
+    private static final int TIMING_ROW_LIMIT = 20;
+
     public static void generateReport(String outputPath) {
-        try {
-            // Read JSON reports
-            JsonNode faultSimulation = readJsonFile("fault_simulation_report.json");
-            JsonNode gapAnalysis = readJsonFile("gap_analysis.json");
-            JsonNode schemaCoverage = readJsonFile("schema_coverage.json");
+        generateReport(outputPath, null);
+    }
 
-            // Generate HTML
-            String html = buildHtmlReport(faultSimulation, gapAnalysis, schemaCoverage);
+    /**
+     * Generates the report, taking the summary card totals from the run's summary instead of
+     * reading them from fault_simulation_report.json. Pass null to read them from the file.
+     */
+    public static void generateReport(String outputPath, ResultSummary summary) {
+        generateReport(outputPath, summary, new File(FAULT_SIMULATION_PATH));
+    }
 
-            // Write to file
-            try (FileWriter writer = new FileWriter(outputPath)) {
-                writer.write(html);
+    /**
+     * Generates the report from the given fault simulation report instead of the one in the working directory.
+     */
+    static void generateReport(String outputPath, ResultSummary summary, File faultSimulation) {
+        try {
+            JsonNode gapSummary = readSection(GAP_ANALYSIS_PATH, "summary");
+            JsonNode stages = readSection(SimulationMetrics.DEFAULT_METRICS_PATH, "stages");
+            File shardDir = isShardedEnabled() ? prepareShardDirectory(outputPath) : null;
+            RunHistory history = loadHistory();
+
+            try (Writer writer = Files.newBufferedWriter(Paths.get(outputPath), StandardCharsets.UTF_8)) {
+                writeHtmlReport(writer, faultSimulation, gapSummary, shardDir, history, stages, summary);
             }
 
-            System.out.println("[MetaTest] HTML report generated: " + outputPath);
+            LOG.info("[MetaTest] HTML report generated: " + outputPath);
+            if (shardDir != null) {
+                LOG.info("[MetaTest] Endpoint data written to: " + shardDir.getPath());
+            }
 
         } catch (Exception e) {
-            System.err.println("[MetaTest] Failed to generate HTML report: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("[MetaTest] Failed to generate HTML report: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sharded output is enabled with -Dmetatest.report.sharded=true or METATEST_REPORT_SHARDED=true.
+     */
+    public static boolean isShardedEnabled() {
+        return SystemSettings.getBoolean("metatest.report.sharded", "METATEST_REPORT_SHARDED", false);
+    }
+
+    /**
+     * Returns the data directory next to the page (metatest_report.html -> metatest_report_data),
+     * cleared of shards from a previous run.
+     */
+    private static File prepareShardDirectory(String outputPath) throws IOException {
+        String baseName = outputPath.endsWith(".html") ? outputPath.substring(0, outputPath.length() - 5) : outputPath;
+        File shardDir = new File(baseName + "_data");
+        Files.createDirectories(shardDir.toPath());
+        File[] stale = shardDir.listFiles((dir, name) -> name.startsWith(SHARD_FILE_PREFIX));
+        if (stale != null) {
+            for (File file : stale) {
+                Files.delete(file.toPath());
+            }
+        }
+        return shardDir;
+    }
+
+    /**
+     * Returns the indexed binary copy of a JSON report if binary reports are enabled and it exists, otherwise null.
+     */
+    private static File binaryReportFor(String jsonPath) {
+        if (!IndexedReportWriter.isBinaryReportEnabled()) {
+            return null;
+        }
+        File binaryFile = IndexedReportWriter.binaryFileFor(jsonPath);
+        return binaryFile.exists() ? binaryFile : null;
+    }
+
+    /**
+     * Returns the run history if it is enabled and holds at least one run, otherwise null.
+     */
+    private static RunHistory loadHistory() {
+        File directory = RunHistory.resolveDirectory();
+        if (directory == null || !directory.isDirectory()) {
+            return null;
+        }
+        try {
+            RunHistory history = new RunHistory(directory);
+            return history.getRuns().isEmpty() ? null : history;
+        } catch (IOException e) {
+            LOG.warn("[MetaTest] Failed to read run history: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads one top-level field of a JSON report, or null if the report or the field does not exist.
+     */
+    private static JsonNode readSection(String filename, String field) throws IOException {
+        try (JsonParser parser = openSection(filename, field)) {
+            return parser == null ? null : parser.readValueAsTree();
         }
     }
 
-    private static JsonNode readJsonFile(String filename) throws IOException {
+    /**
+     * Opens a streaming parser positioned on the value of one top-level field of a JSON report, skipping the
+     * other fields, or returns null if the report or the field does not exist. With binary reports enabled,
+     * only that field's entry of the indexed copy is read.
+     */
+    private static JsonParser openSection(String filename, String field) throws IOException {
+        File binaryFile = binaryReportFor(filename);
+        if (binaryFile != null) {
+            try (IndexedReportReader reader = IndexedReportReader.open(binaryFile)) {
+                JsonParser parser = reader.parser(null, field);
+                if (parser != null) {
+                    parser.nextToken();
+                }
+                return parser;
+            }
+        }
         File file = new File(filename);
         if (!file.exists()) {
-            return OBJECT_MAPPER.createObjectNode();
+            return null;
+        }
+        JsonParser parser = OBJECT_MAPPER.getFactory().createParser(file);
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if (field.equals(name)) {
+                    return parser;
+                }
+                parser.skipChildren();
+            }
         }
-        return OBJECT_MAPPER.readTree(file);
+        parser.close();
+        return null;
     }
 
-    private static String buildHtmlReport(JsonNode faultSimulation, JsonNode gapAnalysis, JsonNode schemaCoverage) {
-        StringBuilder html = new StringBuilder();
+    /**
+     * Reads up to limit elements of the array the parser is positioned on; the rest is never parsed.
+     */
+    private static List<JsonNode> readFirst(JsonParser parser, int limit) throws IOException {
+        List<JsonNode> elements = new ArrayList<>();
+        if (parser == null || parser.currentToken() != JsonToken.START_ARRAY) {
+            return elements;
+        }
+        while (elements.size() < limit && parser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(parser.readValueAsTree());
+        }
+        return elements;
+    }
 
-        html.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n");
-        html.append("  <meta charset=\"UTF-8\">\n");
-        html.append("  <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
-        html.append("  <title>MetaTest Report</title>\n");
-        html.append("  <style>\n");
-        html.append(getCssStyles());
-        html.append("  </style>\n");
-        html.append("</head>\n<body>\n");
+    private static boolean reportExists(String filename) {
+        return binaryReportFor(filename) != null || new File(filename).exists();
+    }
+
+    private static void writeHtmlReport(Writer out, File faultSimulation, JsonNode gapSummary, File shardDir,
+                                        RunHistory history, JsonNode stages, ResultSummary summary) throws IOException {
+        boolean hasTiming = stages != null && stages.size() > 0;
+        out.write("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n");
+        out.write("  <meta charset=\"UTF-8\">\n");
+        out.write("  <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
+        out.write("  <title>MetaTest Report</title>\n");
+        out.write("  <style>\n");
+        out.write(getCssStyles());
+        if (shardDir != null) {
+            out.write(getShardCssStyles());
+        }
+        if (history != null) {
+            out.write(getHistoryCssStyles());
+        }
+        if (hasTiming) {
+            out.write(getTimingCssStyles());
+        }
+        out.write("  </style>\n");
+        out.write("</head>\n<body>\n");
 
         // Header
-        html.append(buildHeader());
+        out.write(buildHeader());
 
-        // Summary Cards
-        html.append(buildSummaryCards(faultSimulation, gapAnalysis, schemaCoverage));
+        // Summary Cards (from the run summary, or a first streaming pass since they precede the endpoint sections)
+        int[] faultStats = summary != null ? calculateFaultStats(summary) : calculateFaultStats(faultSimulation);
+        out.write(buildSummaryCards(faultStats, gapSummary));
 
         // Navigation Tabs
-        html.append("  <div class=\"tabs\">\n");
-        html.append("    <button class=\"tab-button active\" onclick=\"showTab('fault-simulation')\">Fault Simulation</button>\n");
-        html.append("    <button class=\"tab-button\" onclick=\"showTab('gap-analysis')\">Execution Coverage</button>\n");
-//        html.append("    <button class=\"tab-button\" onclick=\"showTab('schema-coverage')\">Schema Coverage</button>\n");
-        html.append("  </div>\n");
+        out.write("  <div class=\"tabs\">\n");
+        out.write("    <button class=\"tab-button active\" onclick=\"showTab('fault-simulation')\">Fault Simulation</button>\n");
+        out.write("    <button class=\"tab-button\" onclick=\"showTab('gap-analysis')\">Execution Coverage</button>\n");
+        if (history != null) {
+            out.write("    <button class=\"tab-button\" onclick=\"showTab('run-history')\">History</button>\n");
+        }
+        if (hasTiming) {
+            out.write("    <button class=\"tab-button\" onclick=\"showTab('timing')\">Timing</button>\n");
+        }
+//        out.write("    <button class=\"tab-button\" onclick=\"showTab('schema-coverage')\">Schema Coverage</button>\n");
+        out.write("  </div>\n");
 
         // Tab Content
-        html.append("  <div id=\"fault-simulation\" class=\"tab-content active\">\n");
-        html.append(buildFaultSimulationSection(faultSimulation));
-        html.append("  </div>\n");
+        out.write("  <div id=\"fault-simulation\" class=\"tab-content active\">\n");
+        writeFaultSimulationSection(out, faultSimulation, shardDir);
+        out.write("  </div>\n");
+
+        out.write("  <div id=\"gap-analysis\" class=\"tab-content\">\n");
+        writeGapAnalysisSection(out, gapSummary);
+        out.write("  </div>\n");
+
+        if (history != null) {
+            out.write("  <div id=\"run-history\" class=\"tab-content\">\n");
+            writeHistorySection(out, history);
+            out.write("  </div>\n");
+        }
 
-        html.append("  <div id=\"gap-analysis\" class=\"tab-content\">\n");
-        html.append(buildGapAnalysisSection(gapAnalysis));
-        html.append("  </div>\n");
+        if (hasTiming) {
+            out.write("  <div id=\"timing\" class=\"tab-content\">\n");
+            writeTimingSection(out, stages);
+            out.write("  </div>\n");
+        }
 
-//        html.append("  <div id=\"schema-coverage\" class=\"tab-content\">\n");
-//        html.append(buildSchemaCoverageSection(schemaCoverage));
-//        html.append("  </div>\n");
+//        out.write("  <div id=\"schema-coverage\" class=\"tab-content\">\n");
+//        out.write(buildSchemaCoverageSection(readJsonFile("schema_coverage.json")));
+//        out.write("  </div>\n");
 
         // JavaScript
-        html.append("  <script>\n");
-        html.append(getJavaScript());
-        html.append("  </script>\n");
-
-        html.append("</body>\n</html>");
+        out.write("  <script>\n");
+        out.write(getJavaScript());
+        if (shardDir != null) {
+            out.write("const SHARD_DIR = " + OBJECT_MAPPER.writeValueAsString(shardDir.getName()) + ";\n");
+            out.write(getShardJavaScript());
+        }
+        out.write("  </script>\n");
 
-        return html.toString();
+        out.write("</body>\n</html>");
     }
 
     private static String buildHeader() {
@@ -110,17 +298,15 @@ public class HtmlReportGenerator {
                "  </div>\n";
     }
 
-    private static String buildSummaryCards(JsonNode faultSimulation, JsonNode gapAnalysis, JsonNode schemaCoverage) {
-        // Calculate metrics
-        int totalEndpoints = faultSimulation != null ? faultSimulation.size() : 0;
-        int[] faultStats = calculateFaultStats(faultSimulation);
-        // [total, detected, escaped, invariantTotal, invariantDetected, invariantEscaped]
+    private static String buildSummaryCards(int[] faultStats, JsonNode gapSummary) {
+        // [total, detected, escaped, invariantTotal, invariantDetected, invariantEscaped, endpoints]
         int totalFaults = faultStats[0];
         int detectedFaults = faultStats[1];
         int escapedFaults = faultStats[2];
         int invariantTotal = faultStats[3];
         int invariantDetected = faultStats[4];
         int invariantEscaped = faultStats[5];
+        int totalEndpoints = faultStats[6];
 
         // Combined stats for overall detection rate
         int allTotal = totalFaults + invariantTotal;
@@ -130,13 +316,12 @@ public class HtmlReportGenerator {
 
         int untestedEndpoints = 0;
         double coveragePercentage = 0;
-        if (gapAnalysis != null && gapAnalysis.has("summary")) {
-            JsonNode summary = gapAnalysis.get("summary");
-            if (summary.has("untested_endpoints")) {
-                untestedEndpoints = summary.get("untested_endpoints").asInt();
+        if (gapSummary != null) {
+            if (gapSummary.has("untested_endpoints")) {
+                untestedEndpoints = gapSummary.get("untested_endpoints").asInt();
             }
-            if (summary.has("coverage_percentage")) {
-                coveragePercentage = summary.get("coverage_percentage").asDouble();
+            if (gapSummary.has("coverage_percentage")) {
+                coveragePercentage = gapSummary.get("coverage_percentage").asDouble();
             }
         }
 
@@ -191,456 +376,744 @@ public class HtmlReportGenerator {
         return cards.toString();
     }
 
-    private static int[] calculateFaultStats(JsonNode faultSimulation) {
-        // Returns: [total, detected, escaped, invariantTotal, invariantDetected, invariantEscaped]
-        int total = 0;
-        int detected = 0;
-        int escaped = 0;
-        int invariantTotal = 0;
-        int invariantDetected = 0;
-        int invariantEscaped = 0;
-
-        if (faultSimulation == null || faultSimulation.isNull()) {
-            return new int[]{0, 0, 0, 0, 0, 0};
-        }
-
-        Iterator<Map.Entry<String, JsonNode>> endpoints = faultSimulation.fields();
-        while (endpoints.hasNext()) {
-            Map.Entry<String, JsonNode> endpoint = endpoints.next();
-            JsonNode endpointData = endpoint.getValue();
-
-            // Process contract_faults: faultType -> field -> result
-            if (endpointData.has("contract_faults")) {
-                JsonNode contractFaults = endpointData.get("contract_faults");
-                Iterator<Map.Entry<String, JsonNode>> faultTypeIter = contractFaults.fields();
-                while (faultTypeIter.hasNext()) {
-                    Map.Entry<String, JsonNode> faultTypeEntry = faultTypeIter.next();
-                    JsonNode fields = faultTypeEntry.getValue();
-
-                    Iterator<Map.Entry<String, JsonNode>> fieldIter = fields.fields();
-                    while (fieldIter.hasNext()) {
-                        Map.Entry<String, JsonNode> fieldEntry = fieldIter.next();
-                        JsonNode faultData = fieldEntry.getValue();
-
-                        boolean caughtByAny = faultData.has("caught_by_any_test") &&
-                                            faultData.get("caught_by_any_test").asBoolean();
-                        total++;
-                        if (caughtByAny) {
-                            detected++;
-                        } else {
-                            escaped++;
-                        }
-                    }
-                }
-            }
+    private static int[] calculateFaultStats(ResultSummary summary) {
+        // Same layout as calculateFaultStats(File)
+        ResultSummary.Counts contract = summary.getContract();
+        ResultSummary.Counts invariant = summary.getInvariant();
+        return new int[]{
+                contract.getMutants(), contract.getCaughtMutants(), contract.getEscapedMutants(),
+                invariant.getMutants(), invariant.getCaughtMutants(), invariant.getEscapedMutants(),
+                summary.getEndpoints().size()
+        };
+    }
 
-            // Process invariant_faults: invariantName -> result
-            if (endpointData.has("invariant_faults")) {
-                JsonNode invariantFaults = endpointData.get("invariant_faults");
-                Iterator<Map.Entry<String, JsonNode>> invariantIter = invariantFaults.fields();
-                while (invariantIter.hasNext()) {
-                    Map.Entry<String, JsonNode> invariantEntry = invariantIter.next();
-                    JsonNode faultData = invariantEntry.getValue();
-
-                    boolean caughtByAny = faultData.has("caught_by_any_test") &&
-                                        faultData.get("caught_by_any_test").asBoolean();
-                    invariantTotal++;
-                    if (caughtByAny) {
-                        invariantDetected++;
-                    } else {
-                        invariantEscaped++;
+    private static int[] calculateFaultStats(File faultSimulation) throws IOException {
+        // Returns: [total, detected, escaped, invariantTotal, invariantDetected, invariantEscaped, endpoints]
+        int[] stats = new int[7];
+
+        File binaryFile = binaryReportFor(faultSimulation.getPath());
+        if (binaryFile != null) {
+            try (IndexedReportReader reader = IndexedReportReader.open(binaryFile)) {
+                for (String endpoint : reader.keys(null)) {
+                    try (JsonParser parser = reader.parser(null, endpoint)) {
+                        parser.nextToken();
+                        stats[6]++;
+                        countEndpointFaults(parser, stats);
                     }
                 }
             }
+            return stats;
         }
 
-        return new int[]{total, detected, escaped, invariantTotal, invariantDetected, invariantEscaped};
+        if (!faultSimulation.exists()) {
+            return stats;
+        }
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(faultSimulation)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return stats;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+                stats[6]++;
+                countEndpointFaults(parser, stats);
+            }
+        }
+        return stats;
     }
 
-    private static String buildFaultSimulationSection(JsonNode faultSimulation) {
-        if (faultSimulation == null || faultSimulation.isNull() || faultSimulation.size() == 0) {
-            return "    <div class=\"empty-state\">No fault simulation data available</div>\n";
+    /**
+     * Counts one endpoint's faults; the parser is positioned on the endpoint's START_OBJECT.
+     */
+    private static void countEndpointFaults(JsonParser parser, int[] stats) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if ("contract_faults".equals(name) && parser.currentToken() == JsonToken.START_OBJECT) {
+                // faultType -> field -> result
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                    countFaults(parser, stats, 0);
+                }
+            } else if ("invariant_faults".equals(name) && parser.currentToken() == JsonToken.START_OBJECT) {
+                // invariantName -> result
+                countFaults(parser, stats, 3);
+            } else {
+                parser.skipChildren();
+            }
         }
+    }
 
-        StringBuilder section = new StringBuilder();
-        section.append("    <div class=\"section-title\">Fault Simulation Results</div>\n");
-        section.append("    <div class=\"section-subtitle\">Showing which faults were detected or escaped by your tests</div>\n");
-
-        int endpointIndex = 0;
-        Iterator<Map.Entry<String, JsonNode>> endpoints = faultSimulation.fields();
-        while (endpoints.hasNext()) {
-            Map.Entry<String, JsonNode> endpoint = endpoints.next();
-            String endpointPath = endpoint.getKey();
-            JsonNode endpointData = endpoint.getValue();
-
-            // Calculate summary for this endpoint
-            int contractFaults = 0, contractDetected = 0, contractEscaped = 0;
-            int invariantFaults = 0, invariantDetected = 0, invariantEscaped = 0;
-
-            // Count contract faults
-            if (endpointData.has("contract_faults")) {
-                JsonNode contractFaultsNode = endpointData.get("contract_faults");
-                Iterator<Map.Entry<String, JsonNode>> faultTypeIter = contractFaultsNode.fields();
-                while (faultTypeIter.hasNext()) {
-                    Map.Entry<String, JsonNode> faultTypeEntry = faultTypeIter.next();
-                    JsonNode fields = faultTypeEntry.getValue();
-
-                    Iterator<Map.Entry<String, JsonNode>> fieldIter = fields.fields();
-                    while (fieldIter.hasNext()) {
-                        Map.Entry<String, JsonNode> fieldEntry = fieldIter.next();
-                        JsonNode faultData = fieldEntry.getValue();
-                        boolean caught = faultData.has("caught_by_any_test") &&
-                                        faultData.get("caught_by_any_test").asBoolean();
-                        contractFaults++;
-                        if (caught) contractDetected++; else contractEscaped++;
-                    }
+    /**
+     * Counts the results of an object of name -> result, reading only caught_by_any_test.
+     */
+    private static void countFaults(JsonParser parser, int[] stats, int offset) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            boolean caught = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if ("caught_by_any_test".equals(name)) {
+                    caught = parser.getValueAsBoolean();
+                } else {
+                    parser.skipChildren();
                 }
             }
+            stats[offset]++;
+            stats[offset + (caught ? 1 : 2)]++;
+        }
+    }
 
-            // Count invariant faults
-            if (endpointData.has("invariant_faults")) {
-                JsonNode invariantFaultsNode = endpointData.get("invariant_faults");
-                Iterator<Map.Entry<String, JsonNode>> invariantIter = invariantFaultsNode.fields();
-                while (invariantIter.hasNext()) {
-                    Map.Entry<String, JsonNode> invariantEntry = invariantIter.next();
-                    JsonNode faultData = invariantEntry.getValue();
-                    boolean caught = faultData.has("caught_by_any_test") &&
-                                    faultData.get("caught_by_any_test").asBoolean();
-                    invariantFaults++;
-                    if (caught) invariantDetected++; else invariantEscaped++;
-                }
+    private static void writeFaultSimulationSection(Writer out, File faultSimulation, File shardDir) throws IOException {
+        File binaryFile = binaryReportFor(faultSimulation.getPath());
+        if (binaryFile != null) {
+            writeBinaryFaultSimulationSection(out, IndexedReportReader.open(binaryFile), shardDir);
+            return;
+        }
+
+        JsonParser parser = faultSimulation.exists() ? OBJECT_MAPPER.getFactory().createParser(faultSimulation) : null;
+        try {
+            if (parser == null || parser.nextToken() != JsonToken.START_OBJECT || parser.nextToken() != JsonToken.FIELD_NAME) {
+                out.write("    <div class=\"empty-state\">No fault simulation data available</div>\n");
+                return;
             }
 
-            int totalFaults = contractFaults + invariantFaults;
-            int detectedFaults = contractDetected + invariantDetected;
-            int escapedFaults = contractEscaped + invariantEscaped;
+            writeFaultSimulationTitle(out);
 
-            section.append("    <div class=\"endpoint-card\">\n");
-            section.append("      <div class=\"endpoint-header collapsible\" onclick=\"toggleEndpoint(" + endpointIndex + ")\">\n");
-            section.append("        <div class=\"endpoint-title-section\">\n");
-            section.append("          <span class=\"endpoint-path\">" + escapeHtml(endpointPath) + "</span>\n");
-            section.append("          <div class=\"endpoint-summary\">\n");
-            if (invariantFaults > 0) {
-                section.append("            <span class=\"summary-badge detected\">" + contractDetected + "/" + contractFaults + " contract</span>\n");
-                section.append("            <span class=\"summary-badge invariant\">" + invariantDetected + "/" + invariantFaults + " invariant</span>\n");
-            } else {
-                section.append("            <span class=\"summary-badge detected\">" + detectedFaults + " detected</span>\n");
+            // Endpoints are read one at a time and rendered in parallel, but written in report order
+            Deque<CompletableFuture<String>> pending = new ArrayDeque<>();
+            int endpointIndex = 0;
+            do {
+                String endpointPath = parser.getCurrentName();
+                parser.nextToken();
+                submitEndpoint(out, pending, endpointIndex++, endpointPath, parser.readValueAsTree(), shardDir);
+            } while (parser.nextToken() == JsonToken.FIELD_NAME);
+
+            while (!pending.isEmpty()) {
+                out.write(pending.poll().join());
             }
-            section.append("            <span class=\"summary-badge escaped\">" + escapedFaults + " escaped</span>\n");
-            section.append("          </div>\n");
-            section.append("        </div>\n");
-            section.append("        <span class=\"collapse-icon collapsed\">▼</span>\n");
-            section.append("      </div>\n");
-            section.append("      <div id=\"endpoint-" + endpointIndex + "\" class=\"endpoint-content collapsed\">\n");
-
-            // Build fault table
-            section.append("      <div class=\"fault-table\">\n");
-            section.append("        <div class=\"fault-table-header\">\n");
-            section.append("          <div class=\"fault-cell\">Field</div>\n");
-            section.append("          <div class=\"fault-cell\">Fault Type</div>\n");
-            section.append("          <div class=\"fault-cell\">Status</div>\n");
-            section.append("          <div class=\"fault-cell\">Details</div>\n");
-            section.append("        </div>\n");
+        } finally {
+            if (parser != null) {
+                parser.close();
+            }
+        }
+    }
 
-            // Render contract faults: faultType -> field -> result
-            if (endpointData.has("contract_faults")) {
-                JsonNode contractFaultsNode = endpointData.get("contract_faults");
-                Iterator<Map.Entry<String, JsonNode>> faultTypeIter = contractFaultsNode.fields();
-                while (faultTypeIter.hasNext()) {
-                    Map.Entry<String, JsonNode> faultTypeEntry = faultTypeIter.next();
-                    String faultType = faultTypeEntry.getKey();
-                    JsonNode fields = faultTypeEntry.getValue();
-
-                    Iterator<Map.Entry<String, JsonNode>> fieldIter = fields.fields();
-                    while (fieldIter.hasNext()) {
-                        Map.Entry<String, JsonNode> fieldEntry = fieldIter.next();
-                        String fieldName = fieldEntry.getKey();
-                        JsonNode faultData = fieldEntry.getValue();
-
-                        boolean caught = faultData.has("caught_by_any_test") &&
-                                        faultData.get("caught_by_any_test").asBoolean();
-
-                        // Get tested_by and caught_by
-                        JsonNode testedBy = faultData.get("tested_by");
-                        JsonNode caughtBy = faultData.get("caught_by");
-                        int testedCount = testedBy != null && testedBy.isArray() ? testedBy.size() : 0;
-                        int caughtCount = caughtBy != null && caughtBy.isArray() ? caughtBy.size() : 0;
-
-                        section.append("        <div class=\"fault-row\">\n");
-                        section.append("          <div class=\"fault-cell\"><code>" + escapeHtml(fieldName) + "</code></div>\n");
-                        section.append("          <div class=\"fault-cell\"><span class=\"fault-badge\">" + escapeHtml(faultType) + "</span></div>\n");
-                        section.append("          <div class=\"fault-cell\">");
-                        section.append("<span class=\"status-badge " + (caught ? "detected" : "escaped") + "\">");
-                        section.append(caught ? "✓ Detected" : "✗ Escaped");
-                        section.append("</span></div>\n");
-                        section.append("          <div class=\"fault-cell\">");
-                        section.append("<button class=\"details-btn\" onclick=\"toggleDetails(this)\">View " + testedCount + " test(s)</button>");
-                        section.append("<div class=\"test-details\" style=\"display:none;\">");
-
-                        // Show all tests that tested this mutation
-                        if (testedBy != null && testedBy.isArray()) {
-                            for (JsonNode testName : testedBy) {
-                                String test = testName.asText();
-                                // Check if this test caught the fault
-                                boolean testCaught = false;
-                                String error = null;
-                                if (caughtBy != null && caughtBy.isArray()) {
-                                    for (JsonNode caughtDetail : caughtBy) {
-                                        if (caughtDetail.has("test") && caughtDetail.get("test").asText().equals(test)) {
-                                            testCaught = true;
-                                            if (caughtDetail.has("error") && !caughtDetail.get("error").isNull()) {
-                                                error = caughtDetail.get("error").asText();
-                                            }
-                                            break;
-                                        }
-                                    }
-                                }
-
-                                section.append("<div class=\"test-detail-item\">");
-                                section.append("<span class=\"test-name\">" + escapeHtml(test) + "</span>");
-                                section.append("<span class=\"status-badge " + (testCaught ? "detected" : "escaped") + "\">");
-                                section.append(testCaught ? "✓" : "✗");
-                                section.append("</span>");
-                                if (error != null) {
-                                    section.append("<div class=\"error-message\">" + escapeHtml(error) + "</div>");
-                                }
-                                section.append("</div>");
-                            }
-                        }
+    /**
+     * Endpoints are decoded one at a time by seeking to their index entries.
+     */
+    private static void writeBinaryFaultSimulationSection(Writer out, IndexedReportReader reader, File shardDir) throws IOException {
+        try (reader) {
+            List<String> endpoints = reader.keys(null);
+            if (endpoints.isEmpty()) {
+                out.write("    <div class=\"empty-state\">No fault simulation data available</div>\n");
+                return;
+            }
 
-                        section.append("</div>");
-                        section.append("</div>\n");
-                        section.append("        </div>\n");
-                    }
-                }
+            writeFaultSimulationTitle(out);
+
+            Deque<CompletableFuture<String>> pending = new ArrayDeque<>();
+            int endpointIndex = 0;
+            for (String endpointPath : endpoints) {
+                submitEndpoint(out, pending, endpointIndex++, endpointPath, reader.read(null, endpointPath), shardDir);
             }
 
-            // Render invariant faults: invariantName -> result
-            if (endpointData.has("invariant_faults")) {
-                JsonNode invariantFaultsNode = endpointData.get("invariant_faults");
-                Iterator<Map.Entry<String, JsonNode>> invariantIter = invariantFaultsNode.fields();
-                while (invariantIter.hasNext()) {
-                    Map.Entry<String, JsonNode> invariantEntry = invariantIter.next();
-                    String invariantName = invariantEntry.getKey();
-                    JsonNode faultData = invariantEntry.getValue();
-
-                    boolean caught = faultData.has("caught_by_any_test") &&
-                                    faultData.get("caught_by_any_test").asBoolean();
-
-                    // Get tested_by and caught_by
-                    JsonNode testedBy = faultData.get("tested_by");
-                    JsonNode caughtBy = faultData.get("caught_by");
-                    int testedCount = testedBy != null && testedBy.isArray() ? testedBy.size() : 0;
-
-                    section.append("        <div class=\"fault-row\">\n");
-                    section.append("          <div class=\"fault-cell\"><code>-</code></div>\n");
-                    section.append("          <div class=\"fault-cell\"><span class=\"fault-badge invariant-badge\">" + escapeHtml(invariantName) + "</span></div>\n");
-                    section.append("          <div class=\"fault-cell\">");
-                    section.append("<span class=\"status-badge " + (caught ? "detected" : "escaped") + "\">");
-                    section.append(caught ? "✓ Detected" : "✗ Escaped");
-                    section.append("</span></div>\n");
-                    section.append("          <div class=\"fault-cell\">");
-                    section.append("<button class=\"details-btn\" onclick=\"toggleDetails(this)\">View " + testedCount + " test(s)</button>");
-                    section.append("<div class=\"test-details\" style=\"display:none;\">");
-
-                    // Show all tests that tested this invariant
-                    if (testedBy != null && testedBy.isArray()) {
-                        for (JsonNode testName : testedBy) {
-                            String test = testName.asText();
-                            // Check if this test caught the fault
-                            boolean testCaught = false;
-                            String error = null;
-                            if (caughtBy != null && caughtBy.isArray()) {
-                                for (JsonNode caughtDetail : caughtBy) {
-                                    if (caughtDetail.has("test") && caughtDetail.get("test").asText().equals(test)) {
-                                        testCaught = true;
-                                        if (caughtDetail.has("error") && !caughtDetail.get("error").isNull()) {
-                                            error = caughtDetail.get("error").asText();
-                                        }
-                                        break;
-                                    }
-                                }
-                            }
-
-                            section.append("<div class=\"test-detail-item\">");
-                            section.append("<span class=\"test-name\">" + escapeHtml(test) + "</span>");
-                            section.append("<span class=\"status-badge " + (testCaught ? "detected" : "escaped") + "\">");
-                            section.append(testCaught ? "✓" : "✗");
-                            section.append("</span>");
-                            if (error != null) {
-                                section.append("<div class=\"error-message\">" + escapeHtml(error) + "</div>");
-                            }
-                            section.append("</div>");
-                        }
-                    }
+            while (!pending.isEmpty()) {
+                out.write(pending.poll().join());
+            }
+        }
+    }
 
-                    section.append("</div>");
-                    section.append("</div>\n");
-                    section.append("        </div>\n");
+    private static void writeFaultSimulationTitle(Writer out) throws IOException {
+        out.write("    <div class=\"section-title\">Fault Simulation Results</div>\n");
+        out.write("    <div class=\"section-subtitle\">Showing which faults were detected or escaped by your tests</div>\n");
+    }
+
+    /**
+     * Renders an endpoint section asynchronously, writing the oldest pending section once the window is full.
+     */
+    private static void submitEndpoint(Writer out, Deque<CompletableFuture<String>> pending, int index,
+                                       String endpointPath, JsonNode endpointData, File shardDir) throws IOException {
+        pending.add(CompletableFuture.supplyAsync(() -> shardDir == null
+                ? buildEndpointSection(index, endpointPath, endpointData, false)
+                : writeEndpointShard(shardDir, index, endpointPath, endpointData)));
+        if (pending.size() >= RENDER_WINDOW) {
+            out.write(pending.poll().join());
+        }
+    }
+
+    /**
+     * Builds an endpoint card. A lazy card carries only its header; the page loads the fault table from the shard.
+     */
+    private static String buildEndpointSection(int endpointIndex, String endpointPath, JsonNode endpointData, boolean lazy) {
+        // Calculate summary for this endpoint
+        int contractFaults = 0, contractDetected = 0, contractEscaped = 0;
+        int invariantFaults = 0, invariantDetected = 0, invariantEscaped = 0;
+
+        // Count contract faults
+        if (endpointData.has("contract_faults")) {
+            for (JsonNode fields : endpointData.get("contract_faults")) {
+                for (JsonNode faultData : fields) {
+                    contractFaults++;
+                    if (isCaught(faultData)) contractDetected++; else contractEscaped++;
                 }
             }
+        }
+
+        // Count invariant faults
+        if (endpointData.has("invariant_faults")) {
+            for (JsonNode faultData : endpointData.get("invariant_faults")) {
+                invariantFaults++;
+                if (isCaught(faultData)) invariantDetected++; else invariantEscaped++;
+            }
+        }
 
+        int detectedFaults = contractDetected + invariantDetected;
+        int escapedFaults = contractEscaped + invariantEscaped;
+
+        StringBuilder section = new StringBuilder();
+        section.append("    <div class=\"endpoint-card\">\n");
+        section.append("      <div class=\"endpoint-header collapsible\" onclick=\"" + (lazy ? "toggleShardEndpoint(" : "toggleEndpoint(") + endpointIndex + ")\">\n");
+        section.append("        <div class=\"endpoint-title-section\">\n");
+        section.append("          <span class=\"endpoint-path\">" + escapeHtml(endpointPath) + "</span>\n");
+        section.append("          <div class=\"endpoint-summary\">\n");
+        if (invariantFaults > 0) {
+            section.append("            <span class=\"summary-badge detected\">" + contractDetected + "/" + contractFaults + " contract</span>\n");
+            section.append("            <span class=\"summary-badge invariant\">" + invariantDetected + "/" + invariantFaults + " invariant</span>\n");
+        } else {
+            section.append("            <span class=\"summary-badge detected\">" + detectedFaults + " detected</span>\n");
+        }
+        section.append("            <span class=\"summary-badge escaped\">" + escapedFaults + " escaped</span>\n");
+        section.append("          </div>\n");
+        section.append("        </div>\n");
+        section.append("        <span class=\"collapse-icon collapsed\">▼</span>\n");
+        section.append("      </div>\n");
+        if (lazy) {
+            section.append("      <div id=\"endpoint-" + endpointIndex + "\" class=\"endpoint-content collapsed\" data-shard=\"" + endpointIndex + "\">\n");
+            section.append("        <div class=\"shard-status\">Loading…</div>\n");
             section.append("      </div>\n");
-            section.append("      </div>\n"); // Close endpoint-content
-            section.append("    </div>\n"); // Close endpoint-card
+            section.append("    </div>\n");
+            return section.toString();
+        }
+        section.append("      <div id=\"endpoint-" + endpointIndex + "\" class=\"endpoint-content collapsed\">\n");
+
+        // Build fault table
+        section.append("      <div class=\"fault-table\">\n");
+        section.append("        <div class=\"fault-table-header\">\n");
+        section.append("          <div class=\"fault-cell\">Field</div>\n");
+        section.append("          <div class=\"fault-cell\">Fault Type</div>\n");
+        section.append("          <div class=\"fault-cell\">Status</div>\n");
+        section.append("          <div class=\"fault-cell\">Details</div>\n");
+        section.append("        </div>\n");
+
+        // Render contract faults: faultType -> field -> result
+        if (endpointData.has("contract_faults")) {
+            Iterator<Map.Entry<String, JsonNode>> faultTypeIter = endpointData.get("contract_faults").fields();
+            while (faultTypeIter.hasNext()) {
+                Map.Entry<String, JsonNode> faultTypeEntry = faultTypeIter.next();
+                String faultType = faultTypeEntry.getKey();
+
+                Iterator<Map.Entry<String, JsonNode>> fieldIter = faultTypeEntry.getValue().fields();
+                while (fieldIter.hasNext()) {
+                    Map.Entry<String, JsonNode> fieldEntry = fieldIter.next();
+                    appendFaultRow(section, "<code>" + escapeHtml(fieldEntry.getKey()) + "</code>",
+                            "fault-badge", faultType, fieldEntry.getValue());
+                }
+            }
+        }
 
-            endpointIndex++;
+        // Render invariant faults: invariantName -> result
+        if (endpointData.has("invariant_faults")) {
+            Iterator<Map.Entry<String, JsonNode>> invariantIter = endpointData.get("invariant_faults").fields();
+            while (invariantIter.hasNext()) {
+                Map.Entry<String, JsonNode> invariantEntry = invariantIter.next();
+                appendFaultRow(section, "<code>-</code>", "fault-badge invariant-badge",
+                        invariantEntry.getKey(), invariantEntry.getValue());
+            }
         }
 
+        section.append("      </div>\n");
+        section.append("      </div>\n"); // Close endpoint-content
+        section.append("    </div>\n"); // Close endpoint-card
+
         return section.toString();
     }
 
-    private static String buildGapAnalysisSection(JsonNode gapAnalysis) {
-        if (gapAnalysis == null || gapAnalysis.isNull() || gapAnalysis.size() == 0) {
-            return "    <div class=\"empty-state\">No gap analysis data available</div>\n";
+    private static boolean isCaught(JsonNode faultData) {
+        return faultData.has("caught_by_any_test") && faultData.get("caught_by_any_test").asBoolean();
+    }
+
+    /**
+     * Maps each catching test to the error of its first caught entry (null if none).
+     */
+    private static Map<String, String> caughtErrors(JsonNode caughtBy) {
+        Map<String, String> caughtErrors = new HashMap<>();
+        if (caughtBy != null && caughtBy.isArray()) {
+            for (JsonNode caughtDetail : caughtBy) {
+                if (caughtDetail.has("test") && !caughtErrors.containsKey(caughtDetail.get("test").asText())) {
+                    JsonNode error = caughtDetail.get("error");
+                    caughtErrors.put(caughtDetail.get("test").asText(), error != null && !error.isNull() ? error.asText() : null);
+                }
+            }
         }
+        return caughtErrors;
+    }
 
-        StringBuilder section = new StringBuilder();
-        section.append("    <div class=\"section-title\">Executed Endpoints</div>\n");
-        section.append("    <div class=\"section-subtitle\">Number of endpoints executions based on OpenAPI spec</div>\n");
-        section.append("    <div class=\"section-subtitle\">This is not representative of your functional coverage. Use it as a proxy to identify potential coverage issues</div>\n");
+    private static void appendFaultRow(StringBuilder section, String fieldCell, String badgeClass, String faultName, JsonNode faultData) {
+        boolean caught = isCaught(faultData);
+
+        // Get tested_by and caught_by
+        JsonNode testedBy = faultData.get("tested_by");
+        JsonNode caughtBy = faultData.get("caught_by");
+        int testedCount = testedBy != null && testedBy.isArray() ? testedBy.size() : 0;
+
+        Map<String, String> caughtErrors = caughtErrors(caughtBy);
+
+        section.append("        <div class=\"fault-row\">\n");
+        section.append("          <div class=\"fault-cell\">" + fieldCell + "</div>\n");
+        section.append("          <div class=\"fault-cell\"><span class=\"" + badgeClass + "\">" + escapeHtml(faultName) + "</span></div>\n");
+        section.append("          <div class=\"fault-cell\">");
+        section.append("<span class=\"status-badge " + (caught ? "detected" : "escaped") + "\">");
+        section.append(caught ? "✓ Detected" : "✗ Escaped");
+        section.append("</span></div>\n");
+        section.append("          <div class=\"fault-cell\">");
+        section.append("<button class=\"details-btn\" onclick=\"toggleDetails(this)\">View " + testedCount + " test(s)</button>");
+        section.append("<div class=\"test-details\" style=\"display:none;\">");
+
+        // Show all tests that tested this mutation
+        if (testedBy != null && testedBy.isArray()) {
+            for (JsonNode testName : testedBy) {
+                String test = testName.asText();
+                boolean testCaught = caughtErrors.containsKey(test);
+                String error = caughtErrors.get(test);
+
+                section.append("<div class=\"test-detail-item\">");
+                section.append("<span class=\"test-name\">" + escapeHtml(test) + "</span>");
+                section.append("<span class=\"status-badge " + (testCaught ? "detected" : "escaped") + "\">");
+                section.append(testCaught ? "✓" : "✗");
+                section.append("</span>");
+                if (error != null) {
+                    section.append("<div class=\"error-message\">" + escapeHtml(error) + "</div>");
+                }
+                section.append("</div>");
+            }
+        }
+
+        section.append("</div>");
+        section.append("</div>\n");
+        section.append("        </div>\n");
+    }
+
+    /**
+     * Writes an endpoint's fault table to SHARD_FILE_PREFIX + index + ".js" as gzipped, base64-encoded JSON
+     * wrapped in a MetatestShard(...) call. A script file, unlike fetch(), also loads from file:// pages.
+     *
+     * @return The lazy endpoint card for the index page
+     */
+    private static String writeEndpointShard(File shardDir, int endpointIndex, String endpointPath, JsonNode endpointData) {
+        ObjectNode shard = OBJECT_MAPPER.createObjectNode();
+        ArrayNode rows = shard.putArray("rows");
+
+        if (endpointData.has("contract_faults")) {
+            Iterator<Map.Entry<String, JsonNode>> faultTypeIter = endpointData.get("contract_faults").fields();
+            while (faultTypeIter.hasNext()) {
+                Map.Entry<String, JsonNode> faultTypeEntry = faultTypeIter.next();
+                Iterator<Map.Entry<String, JsonNode>> fieldIter = faultTypeEntry.getValue().fields();
+                while (fieldIter.hasNext()) {
+                    Map.Entry<String, JsonNode> fieldEntry = fieldIter.next();
+                    addShardRow(rows, fieldEntry.getKey(), faultTypeEntry.getKey(), false, fieldEntry.getValue());
+                }
+            }
+        }
+        if (endpointData.has("invariant_faults")) {
+            Iterator<Map.Entry<String, JsonNode>> invariantIter = endpointData.get("invariant_faults").fields();
+            while (invariantIter.hasNext()) {
+                Map.Entry<String, JsonNode> invariantEntry = invariantIter.next();
+                addShardRow(rows, null, invariantEntry.getKey(), true, invariantEntry.getValue());
+            }
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(OBJECT_MAPPER.writeValueAsBytes(shard));
+            }
+            String script = "MetatestShard(" + endpointIndex + ", \"" + Base64.getEncoder().encodeToString(bytes.toByteArray()) + "\");\n";
+            Files.writeString(new File(shardDir, SHARD_FILE_PREFIX + endpointIndex + ".js").toPath(), script, StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write data for " + endpointPath, e);
+        }
+
+        return buildEndpointSection(endpointIndex, endpointPath, endpointData, true);
+    }
+
+    private static void addShardRow(ArrayNode rows, String field, String fault, boolean invariant, JsonNode faultData) {
+        ObjectNode row = rows.addObject();
+        row.put("field", field);
+        row.put("fault", fault);
+        row.put("invariant", invariant);
+        row.put("caught", isCaught(faultData));
+
+        Map<String, String> caughtErrors = caughtErrors(faultData.get("caught_by"));
+        ArrayNode tests = row.putArray("tests");
+        JsonNode testedBy = faultData.get("tested_by");
+        if (testedBy != null && testedBy.isArray()) {
+            for (JsonNode testName : testedBy) {
+                String test = testName.asText();
+                ObjectNode entry = tests.addObject();
+                entry.put("test", test);
+                entry.put("caught", caughtErrors.containsKey(test));
+                if (caughtErrors.get(test) != null) {
+                    entry.put("error", caughtErrors.get(test));
+                }
+            }
+        }
+    }
+
+    private static void writeGapAnalysisSection(Writer out, JsonNode summary) throws IOException {
+        if (!reportExists(GAP_ANALYSIS_PATH)) {
+            out.write("    <div class=\"empty-state\">No gap analysis data available</div>\n");
+            return;
+        }
+
+        out.write("    <div class=\"section-title\">Executed Endpoints</div>\n");
+        out.write("    <div class=\"section-subtitle\">Number of endpoints executions based on OpenAPI spec</div>\n");
+        out.write("    <div class=\"section-subtitle\">This is not representative of your functional coverage. Use it as a proxy to identify potential coverage issues</div>\n");
 
         // Summary
-        if (gapAnalysis.has("summary")) {
-            JsonNode summary = gapAnalysis.get("summary");
-            section.append("    <div class=\"gap-summary\">\n");
-            section.append("      <div class=\"gap-stat\">\n");
-            section.append("        <span class=\"gap-label\">Total Endpoints:</span>\n");
-            section.append("        <span class=\"gap-value\">" + summary.get("total_endpoints_in_spec").asInt() + "</span>\n");
-            section.append("      </div>\n");
-            section.append("      <div class=\"gap-stat\">\n");
-            section.append("        <span class=\"gap-label\">Tested:</span>\n");
-            section.append("        <span class=\"gap-value good\">" + summary.get("tested_endpoints").asInt() + "</span>\n");
-            section.append("      </div>\n");
-            section.append("      <div class=\"gap-stat\">\n");
-            section.append("        <span class=\"gap-label\">Untested:</span>\n");
-            section.append("        <span class=\"gap-value warning\">" + summary.get("untested_endpoints").asInt() + "</span>\n");
-            section.append("      </div>\n");
-            section.append("      <div class=\"gap-stat\">\n");
-            section.append("        <span class=\"gap-label\">Coverage:</span>\n");
-            section.append("        <span class=\"gap-value\">" + String.format("%.1f%%", summary.get("coverage_percentage").asDouble()) + "</span>\n");
-            section.append("      </div>\n");
-            section.append("    </div>\n");
+        if (summary != null) {
+            out.write("    <div class=\"gap-summary\">\n");
+            out.write("      <div class=\"gap-stat\">\n");
+            out.write("        <span class=\"gap-label\">Total Endpoints:</span>\n");
+            out.write("        <span class=\"gap-value\">" + summary.get("total_endpoints_in_spec").asInt() + "</span>\n");
+            out.write("      </div>\n");
+            out.write("      <div class=\"gap-stat\">\n");
+            out.write("        <span class=\"gap-label\">Tested:</span>\n");
+            out.write("        <span class=\"gap-value good\">" + summary.get("tested_endpoints").asInt() + "</span>\n");
+            out.write("      </div>\n");
+            out.write("      <div class=\"gap-stat\">\n");
+            out.write("        <span class=\"gap-label\">Untested:</span>\n");
+            out.write("        <span class=\"gap-value warning\">" + summary.get("untested_endpoints").asInt() + "</span>\n");
+            out.write("      </div>\n");
+            out.write("      <div class=\"gap-stat\">\n");
+            out.write("        <span class=\"gap-label\">Coverage:</span>\n");
+            out.write("        <span class=\"gap-value\">" + String.format("%.1f%%", summary.get("coverage_percentage").asDouble()) + "</span>\n");
+            out.write("      </div>\n");
+            out.write("    </div>\n");
         }
 
         // Sub-tabs for Tested/Untested
-        section.append("    <div class=\"sub-tabs\">\n");
-        section.append("      <button class=\"sub-tab-button active\" onclick=\"showSubTab('tested-endpoints')\">Tested Endpoints</button>\n");
-        section.append("      <button class=\"sub-tab-button\" onclick=\"showSubTab('untested-endpoints')\">Untested Endpoints</button>\n");
-        section.append("    </div>\n");
+        out.write("    <div class=\"sub-tabs\">\n");
+        out.write("      <button class=\"sub-tab-button active\" onclick=\"showSubTab('tested-endpoints')\">Tested Endpoints</button>\n");
+        out.write("      <button class=\"sub-tab-button\" onclick=\"showSubTab('untested-endpoints')\">Untested Endpoints</button>\n");
+        out.write("    </div>\n");
 
         // Tested endpoints sub-tab
-        section.append("    <div id=\"tested-endpoints\" class=\"sub-tab-content active\">\n");
-        section.append(buildTestedEndpointsSection(gapAnalysis));
-        section.append("    </div>\n");
+        out.write("    <div id=\"tested-endpoints\" class=\"sub-tab-content active\">\n");
+        writeTestedEndpointsSection(out);
+        out.write("    </div>\n");
 
         // Untested endpoints sub-tab
-        section.append("    <div id=\"untested-endpoints\" class=\"sub-tab-content\">\n");
-        section.append(buildUntestedEndpointsSection(gapAnalysis));
-        section.append("    </div>\n");
-
-        return section.toString();
+        out.write("    <div id=\"untested-endpoints\" class=\"sub-tab-content\">\n");
+        writeUntestedEndpointsSection(out);
+        out.write("    </div>\n");
     }
 
-    private static String buildTestedEndpointsSection(JsonNode gapAnalysis) {
-        StringBuilder section = new StringBuilder();
-
-        // Tested endpoints
-        if (gapAnalysis.has("tested_endpoints")) {
-            JsonNode tested = gapAnalysis.get("tested_endpoints");
-            if (tested.isArray() && tested.size() > 0) {
-                section.append("    <div class=\"endpoint-list\">\n");
+    private static void writeTestedEndpointsSection(Writer out) throws IOException {
+        // Tested endpoints, read one at a time
+        try (JsonParser tested = openSection(GAP_ANALYSIS_PATH, "tested_endpoints")) {
+            if (tested == null) {
+                return;
+            }
+            if (tested.currentToken() == JsonToken.START_ARRAY && tested.nextToken() != JsonToken.END_ARRAY) {
+                out.write("    <div class=\"endpoint-list\">\n");
 
                 int endpointIndex = 0;
-                for (JsonNode endpoint : tested) {
+                do {
+                    JsonNode endpoint = tested.readValueAsTree();
                     String path = endpoint.has("path") ? endpoint.get("path").asText() : "";
                     String method = endpoint.has("method") ? endpoint.get("method").asText() : "";
                     JsonNode tests = endpoint.has("tests") ? endpoint.get("tests") : null;
                     int callCount = endpoint.has("call_count") ? endpoint.get("call_count").asInt() : 0;
                     int testCount = (tests != null && tests.isArray()) ? tests.size() : 0;
 
-                    section.append("      <div class=\"endpoint-card gap-endpoint-card\">\n");
-                    section.append("        <div class=\"endpoint-header collapsible\" onclick=\"toggleGapEndpoint('tested-" + endpointIndex + "')\">\n");
-                    section.append("          <div class=\"endpoint-title-section\">\n");
-                    section.append("            <div class=\"endpoint-main\">\n");
-                    section.append("              <span class=\"http-method method-" + method.toLowerCase() + "\">" + method + "</span>\n");
-                    section.append("              <span class=\"endpoint-path\">" + escapeHtml(path) + "</span>\n");
-                    section.append("            </div>\n");
-                    section.append("            <div class=\"endpoint-summary\">\n");
-                    section.append("              <span class=\"summary-badge total\">" + testCount + " test(s)</span>\n");
-                    section.append("              <span class=\"summary-badge total\">" + callCount + " call(s)</span>\n");
-                    section.append("            </div>\n");
-                    section.append("          </div>\n");
-                    section.append("          <span class=\"collapse-icon collapsed\">▼</span>\n");
-                    section.append("        </div>\n");
-                    section.append("        <div id=\"tested-" + endpointIndex + "\" class=\"endpoint-content collapsed\">\n");
+                    out.write("      <div class=\"endpoint-card gap-endpoint-card\">\n");
+                    out.write("        <div class=\"endpoint-header collapsible\" onclick=\"toggleGapEndpoint('tested-" + endpointIndex + "')\">\n");
+                    out.write("          <div class=\"endpoint-title-section\">\n");
+                    out.write("            <div class=\"endpoint-main\">\n");
+                    out.write("              <span class=\"http-method method-" + method.toLowerCase() + "\">" + method + "</span>\n");
+                    out.write("              <span class=\"endpoint-path\">" + escapeHtml(path) + "</span>\n");
+                    out.write("            </div>\n");
+                    out.write("            <div class=\"endpoint-summary\">\n");
+                    out.write("              <span class=\"summary-badge total\">" + testCount + " test(s)</span>\n");
+                    out.write("              <span class=\"summary-badge total\">" + callCount + " call(s)</span>\n");
+                    out.write("            </div>\n");
+                    out.write("          </div>\n");
+                    out.write("          <span class=\"collapse-icon collapsed\">▼</span>\n");
+                    out.write("        </div>\n");
+                    out.write("        <div id=\"tested-" + endpointIndex + "\" class=\"endpoint-content collapsed\">\n");
 
                     if (tests != null && tests.isArray() && tests.size() > 0) {
-                        section.append("          <div class=\"test-list-expanded\">\n");
+                        out.write("          <div class=\"test-list-expanded\">\n");
                         for (JsonNode test : tests) {
-                            section.append("            <span class=\"test-tag\">" + escapeHtml(test.asText()) + "</span>\n");
+                            out.write("            <span class=\"test-tag\">" + escapeHtml(test.asText()) + "</span>\n");
                         }
-                        section.append("          </div>\n");
+                        out.write("          </div>\n");
                     }
 
-                    section.append("        </div>\n");
-                    section.append("      </div>\n");
+                    out.write("        </div>\n");
+                    out.write("      </div>\n");
                     endpointIndex++;
-                }
+                } while (tested.nextToken() != JsonToken.END_ARRAY);
 
-                section.append("    </div>\n");
+                out.write("    </div>\n");
             } else {
-                section.append("    <div class=\"empty-state\">No tested endpoints found</div>\n");
+                out.write("    <div class=\"empty-state\">No tested endpoints found</div>\n");
             }
         }
-
-        return section.toString();
     }
 
-    private static String buildUntestedEndpointsSection(JsonNode gapAnalysis) {
-        StringBuilder section = new StringBuilder();
-
-        // Untested endpoints
-        if (gapAnalysis.has("untested_endpoints")) {
-            JsonNode untested = gapAnalysis.get("untested_endpoints");
-            if (untested.isArray() && untested.size() > 0) {
-                section.append("    <div class=\"endpoint-list\">\n");
+    private static void writeUntestedEndpointsSection(Writer out) throws IOException {
+        // Untested endpoints, read one at a time
+        try (JsonParser untested = openSection(GAP_ANALYSIS_PATH, "untested_endpoints")) {
+            if (untested == null) {
+                return;
+            }
+            if (untested.currentToken() == JsonToken.START_ARRAY && untested.nextToken() != JsonToken.END_ARRAY) {
+                out.write("    <div class=\"endpoint-list\">\n");
 
                 int endpointIndex = 0;
-                for (JsonNode endpoint : untested) {
+                do {
+                    JsonNode endpoint = untested.readValueAsTree();
                     String path = endpoint.has("path") ? endpoint.get("path").asText() : "";
                     String method = endpoint.has("method") ? endpoint.get("method").asText() : "";
 
-                    section.append("      <div class=\"endpoint-card gap-endpoint-card untested-card\">\n");
-                    section.append("        <div class=\"endpoint-header collapsible\" onclick=\"toggleGapEndpoint('untested-" + endpointIndex + "')\">\n");
-                    section.append("          <div class=\"endpoint-title-section\">\n");
-                    section.append("            <div class=\"endpoint-main\">\n");
-                    section.append("              <span class=\"http-method method-" + method.toLowerCase() + "\">" + method + "</span>\n");
-                    section.append("              <span class=\"endpoint-path\">" + escapeHtml(path) + "</span>\n");
-                    section.append("            </div>\n");
-                    section.append("            <div class=\"endpoint-summary\">\n");
-//                    section.append("              <span class=\"summary-badge escaped\">Not Tested</span>\n");
-                    section.append("            </div>\n");
-                    section.append("          </div>\n");
-                    section.append("          <span class=\"collapse-icon collapsed\">▼</span>\n");
-                    section.append("        </div>\n");
-                    section.append("        <div id=\"untested-" + endpointIndex + "\" class=\"endpoint-content collapsed\">\n");
-                    section.append("          <div class=\"untested-info\">\n");
-                    section.append("            <p>This endpoint is defined in the OpenAPI specification but has no test coverage.</p>\n");
-                    section.append("            <p>Consider adding tests to improve API coverage.</p>\n");
-                    section.append("          </div>\n");
-                    section.append("        </div>\n");
-                    section.append("      </div>\n");
+                    out.write("      <div class=\"endpoint-card gap-endpoint-card untested-card\">\n");
+                    out.write("        <div class=\"endpoint-header collapsible\" onclick=\"toggleGapEndpoint('untested-" + endpointIndex + "')\">\n");
+                    out.write("          <div class=\"endpoint-title-section\">\n");
+                    out.write("            <div class=\"endpoint-main\">\n");
+                    out.write("              <span class=\"http-method method-" + method.toLowerCase() + "\">" + method + "</span>\n");
+                    out.write("              <span class=\"endpoint-path\">" + escapeHtml(path) + "</span>\n");
+                    out.write("            </div>\n");
+                    out.write("            <div class=\"endpoint-summary\">\n");
+//                    out.write("              <span class=\"summary-badge escaped\">Not Tested</span>\n");
+                    out.write("            </div>\n");
+                    out.write("          </div>\n");
+                    out.write("          <span class=\"collapse-icon collapsed\">▼</span>\n");
+                    out.write("        </div>\n");
+                    out.write("        <div id=\"untested-" + endpointIndex + "\" class=\"endpoint-content collapsed\">\n");
+                    out.write("          <div class=\"untested-info\">\n");
+                    out.write("            <p>This endpoint is defined in the OpenAPI specification but has no test coverage.</p>\n");
+                    out.write("            <p>Consider adding tests to improve API coverage.</p>\n");
+                    out.write("          </div>\n");
+                    out.write("        </div>\n");
+                    out.write("      </div>\n");
                     endpointIndex++;
-                }
+                } while (untested.nextToken() != JsonToken.END_ARRAY);
 
-                section.append("    </div>\n");
+                out.write("    </div>\n");
             } else {
-                section.append("    <div class=\"empty-state\">All endpoints are tested! Great job!</div>\n");
+                out.write("    <div class=\"empty-state\">All endpoints are tested! Great job!</div>\n");
             }
         }
+    }
 
-        return section.toString();
+    /**
+     * Renders the score trend of recent runs from the run summaries, and the mutants the latest run
+     * let survive that the previous one caught, from those two runs' verdicts only.
+     */
+    private static void writeHistorySection(Writer out, RunHistory history) throws IOException {
+        List<RunHistory.RunSummary> runs = history.getRuns();
+        RunHistory.RunSummary latest = runs.get(runs.size() - 1);
+        RunHistory.RunSummary previous = runs.size() > 1 ? runs.get(runs.size() - 2) : null;
+
+        out.write("    <div class=\"section-title\">Run History</div>\n");
+        out.write("    <div class=\"section-subtitle\">Mutation score of recent runs recorded in the local history</div>\n");
+
+        out.write("    <div class=\"gap-summary\">\n");
+        out.write("      <div class=\"gap-stat\">\n");
+        out.write("        <span class=\"gap-label\">Runs Recorded:</span>\n");
+        out.write("        <span class=\"gap-value\">" + runs.size() + "</span>\n");
+        out.write("      </div>\n");
+        out.write("      <div class=\"gap-stat\">\n");
+        out.write("        <span class=\"gap-label\">Latest Score:</span>\n");
+        out.write("        <span class=\"gap-value\">" + String.format("%.1f%%", latest.getMutationScore()) + "</span>\n");
+        out.write("      </div>\n");
+        if (previous != null) {
+            double delta = latest.getMutationScore() - previous.getMutationScore();
+            out.write("      <div class=\"gap-stat\">\n");
+            out.write("        <span class=\"gap-label\">Since Previous Run:</span>\n");
+            out.write("        <span class=\"gap-value " + (delta < 0 ? "history-down" : "history-up") + "\">"
+                    + String.format("%+.1f%%", delta) + "</span>\n");
+            out.write("      </div>\n");
+        }
+        out.write("    </div>\n");
+
+        // Score trend, newest first
+        out.write("    <div class=\"history-trend\">\n");
+        for (int i = runs.size() - 1; i >= Math.max(0, runs.size() - HISTORY_TREND_RUNS); i--) {
+            RunHistory.RunSummary run = runs.get(i);
+            out.write("      <div class=\"history-row\">\n");
+            out.write("        <span class=\"history-run\">#" + run.getRun() + "</span>\n");
+            out.write("        <span class=\"history-time\">" + escapeHtml(run.getTimestamp()) + "</span>\n");
+            out.write("        <div class=\"history-bar\"><div class=\"history-bar-fill\" style=\"width: "
+                    + String.format(Locale.ROOT, "%.1f", run.getMutationScore()) + "%\"></div></div>\n");
+            out.write("        <span class=\"history-score\">" + String.format("%.1f%%", run.getMutationScore())
+                    + " (" + run.getCaughtMutants() + "/" + run.getTotalMutants() + ")</span>\n");
+            out.write("      </div>\n");
+        }
+        out.write("    </div>\n");
+
+        if (previous == null) {
+            return;
+        }
+
+        // Endpoints whose score dropped since the previous run
+        List<String> regressed = new ArrayList<>();
+        for (Map.Entry<String, RunHistory.EndpointScore> entry : latest.getEndpoints().entrySet()) {
+            RunHistory.EndpointScore before = previous.getEndpoints().get(entry.getKey());
+            if (before != null && before.getTotal() > 0 && entry.getValue().getTotal() > 0
+                    && entry.getValue().getCaught() * (long) before.getTotal() < before.getCaught() * (long) entry.getValue().getTotal()) {
+                regressed.add(entry.getKey());
+            }
+        }
+        if (!regressed.isEmpty()) {
+            out.write("    <div class=\"section-title history-heading\">Endpoints With a Lower Score</div>\n");
+            out.write("    <div class=\"history-list\">\n");
+            for (String endpoint : regressed) {
+                List<Double> trend = history.endpointTrend(endpoint);
+                out.write("      <div class=\"history-item\">\n");
+                out.write("        <span class=\"endpoint-path\">" + escapeHtml(endpoint) + "</span>\n");
+                out.write("        <span class=\"history-trend-values\">" + formatTrend(trend) + "</span>\n");
+                out.write("      </div>\n");
+            }
+            out.write("    </div>\n");
+        }
+
+        List<RunHistory.Mutant> surviving = history.newlySurviving(previous.getRun(), latest.getRun());
+        out.write("    <div class=\"section-title history-heading\">Newly Surviving Mutants</div>\n");
+        out.write("    <div class=\"section-subtitle\">Caught in run #" + previous.getRun() + " but not in run #" + latest.getRun() + "</div>\n");
+        if (surviving.isEmpty()) {
+            out.write("    <div class=\"empty-state\">No mutant escaped that was caught before</div>\n");
+            return;
+        }
+        out.write("    <div class=\"history-list\">\n");
+        for (RunHistory.Mutant mutant : surviving.subList(0, Math.min(surviving.size(), HISTORY_SURVIVOR_LIMIT))) {
+            out.write("      <div class=\"history-item\">\n");
+            out.write("        <span class=\"endpoint-path\">" + escapeHtml(mutant.getEndpoint()) + "</span>\n");
+            out.write("        <span class=\"summary-badge " + ("invariant".equals(mutant.getKind()) ? "invariant" : "escaped") + "\">"
+                    + escapeHtml(mutant.getFault()) + "</span>\n");
+            if (mutant.getField() != null) {
+                out.write("        <span class=\"history-field\">" + escapeHtml(mutant.getField()) + "</span>\n");
+            }
+            out.write("      </div>\n");
+        }
+        if (surviving.size() > HISTORY_SURVIVOR_LIMIT) {
+            out.write("      <div class=\"history-item history-more\">... and " + (surviving.size() - HISTORY_SURVIVOR_LIMIT) + " more</div>\n");
+        }
+        out.write("    </div>\n");
+    }
+
+    /**
+     * Writes the Timing tab from metatest_metrics.json: time per stage, then the tests and endpoints
+     * with the most re-run time. Both lists are sorted by re-run time, so only their first rows are read.
+     */
+    private static void writeTimingSection(Writer out, JsonNode stages) throws IOException {
+        out.write("    <div class=\"section-title\">Timing</div>\n");
+        out.write("    <div class=\"section-subtitle\">Where simulation time went in this run; percentiles are accurate to about 3%</div>\n");
+
+        out.write("    <div class=\"gap-summary\">\n");
+        writeTimingStat(out, "Baseline Time:", formatMillis(stages.path("baseline").path("total_ms").asDouble()));
+        writeTimingStat(out, "Re-run Time:", formatMillis(stages.path("rerun").path("total_ms").asDouble()));
+        writeTimingStat(out, "Re-runs:", String.valueOf(stages.path("rerun").path("count").asLong()));
+        writeTimingStat(out, "HTTP p99:", formatMillis(stages.path("http").path("p99_ms").asDouble()));
+        out.write("    </div>\n");
+
+        out.write("    <div class=\"timing-list\">\n");
+        out.write("      <div class=\"timing-row timing-header\"><span class=\"timing-name\">Stage</span><span>Count</span>"
+                + "<span>Total</span><span>p50</span><span>p90</span><span>p99</span><span>Max</span></div>\n");
+        Iterator<Map.Entry<String, JsonNode>> stageEntries = stages.fields();
+        while (stageEntries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = stageEntries.next();
+            JsonNode timing = entry.getValue();
+            out.write("      <div class=\"timing-row\"><span class=\"timing-name\">" + escapeHtml(entry.getKey()) + "</span>"
+                    + "<span>" + timing.path("count").asLong() + "</span>"
+                    + "<span>" + formatMillis(timing.path("total_ms").asDouble()) + "</span>"
+                    + "<span>" + formatMillis(timing.path("p50_ms").asDouble()) + "</span>"
+                    + "<span>" + formatMillis(timing.path("p90_ms").asDouble()) + "</span>"
+                    + "<span>" + formatMillis(timing.path("p99_ms").asDouble()) + "</span>"
+                    + "<span>" + formatMillis(timing.path("max_ms").asDouble()) + "</span></div>\n");
+        }
+        out.write("    </div>\n");
+
+        List<JsonNode> tests;
+        try (JsonParser parser = openSection(SimulationMetrics.DEFAULT_METRICS_PATH, "tests")) {
+            tests = readFirst(parser, TIMING_ROW_LIMIT);
+        }
+        if (!tests.isEmpty()) {
+            out.write("    <div class=\"section-title history-heading\">Most Expensive Tests</div>\n");
+            out.write("    <div class=\"timing-list\">\n");
+            out.write("      <div class=\"timing-row timing-header\"><span class=\"timing-name\">Test</span><span>Re-runs</span>"
+                    + "<span>Re-run Total</span><span>Re-run Mean</span><span>Re-run Max</span><span>Baseline</span></div>\n");
+            for (JsonNode test : tests) {
+                out.write("      <div class=\"timing-row\"><span class=\"timing-name\">" + escapeHtml(test.path("test").asText()) + "</span>"
+                        + "<span>" + test.path("reruns").asLong() + "</span>"
+                        + "<span>" + formatMillis(test.path("rerun_total_ms").asDouble()) + "</span>"
+                        + "<span>" + formatMillis(test.path("rerun_mean_ms").asDouble()) + "</span>"
+                        + "<span>" + formatMillis(test.path("rerun_max_ms").asDouble()) + "</span>"
+                        + "<span>" + formatMillis(test.path("baseline_ms").asDouble()) + "</span></div>\n");
+            }
+            out.write("    </div>\n");
+        }
+
+        List<JsonNode> endpoints;
+        try (JsonParser parser = openSection(SimulationMetrics.DEFAULT_METRICS_PATH, "endpoints")) {
+            endpoints = readFirst(parser, TIMING_ROW_LIMIT);
+        }
+        if (!endpoints.isEmpty()) {
+            out.write("    <div class=\"section-title history-heading\">Most Expensive Endpoints</div>\n");
+            out.write("    <div class=\"timing-list\">\n");
+            out.write("      <div class=\"timing-row timing-header\"><span class=\"timing-name\">Endpoint</span><span>Re-runs</span>"
+                    + "<span>Re-run Total</span><span>HTTP Calls</span><span>HTTP p50</span><span>HTTP p99</span></div>\n");
+            for (JsonNode endpoint : endpoints) {
+                JsonNode reruns = endpoint.path("reruns");
+                JsonNode http = endpoint.path("http");
+                out.write("      <div class=\"timing-row\"><span class=\"timing-name endpoint-path\">" + escapeHtml(endpoint.path("endpoint").asText()) + "</span>"
+                        + "<span>" + reruns.path("count").asLong() + "</span>"
+                        + "<span>" + formatMillis(reruns.path("total_ms").asDouble()) + "</span>"
+                        + "<span>" + http.path("count").asLong() + "</span>"
+                        + "<span>" + formatMillis(http.path("p50_ms").asDouble()) + "</span>"
+                        + "<span>" + formatMillis(http.path("p99_ms").asDouble()) + "</span></div>\n");
+            }
+            out.write("    </div>\n");
+        }
+    }
+
+    private static void writeTimingStat(Writer out, String label, String value) throws IOException {
+        out.write("      <div class=\"gap-stat\">\n");
+        out.write("        <span class=\"gap-label\">" + label + "</span>\n");
+        out.write("        <span class=\"gap-value\">" + value + "</span>\n");
+        out.write("      </div>\n");
+    }
+
+    private static String formatMillis(double millis) {
+        if (millis >= 1000) {
+            return String.format(Locale.ROOT, "%.2f s", millis / 1000);
+        }
+        return String.format(Locale.ROOT, millis >= 10 ? "%.0f ms" : "%.2f ms", millis);
+    }
+
+    /**
+     * Formats the last few scores of an endpoint trend, skipping runs that did not reach it.
+     */
+    private static String formatTrend(List<Double> trend) {
+        Deque<String> values = new ArrayDeque<>();
+        for (int i = trend.size() - 1; i >= 0 && values.size() < 5; i--) {
+            if (trend.get(i) != null) {
+                values.addFirst(String.format("%.1f%%", trend.get(i)));
+            }
+        }
+        return String.join(" → ", values);
     }
 
     private static String buildSchemaCoverageSection(JsonNode schemaCoverage) {
@@ -1656,6 +2129,346 @@ document.addEventListener('DOMContentLoaded', function() {
     document.documentElement.setAttribute('data-theme', savedTheme);
     icon.textContent = savedTheme === 'dark' ? '☀️' : '🌙';
 });
+""";
+    }
+
+    private static String getShardCssStyles() {
+        return """
+.shard-status {
+    padding: 16px;
+    color: var(--text-secondary);
+}
+
+.shard-status.error {
+    color: var(--escaped-text);
+}
+
+.virtual-list {
+    position: relative;
+    overflow-y: auto;
+    background: var(--card-bg);
+}
+
+.virtual-list > div {
+    position: relative;
+}
+
+.virtual-list .fault-row,
+.virtual-list .test-detail-item {
+    position: absolute;
+    left: 0;
+    right: 0;
+    box-sizing: border-box;
+    overflow: hidden;
+}
+
+.virtual-list .test-detail-item {
+    margin-bottom: 0;
+    align-items: center;
+}
+
+.virtual-list .error-message {
+    flex: 2;
+    margin-top: 0;
+    white-space: nowrap;
+    overflow: hidden;
+    text-overflow: ellipsis;
+}
+
+.shard-details-title {
+    font-weight: 600;
+    margin-bottom: 8px;
+    color: var(--text-primary);
+}
+""";
+    }
+
+    private static String getHistoryCssStyles() {
+        return """
+.history-up {
+    color: var(--detected-text);
+}
+
+.history-down {
+    color: var(--escaped-text);
+}
+
+.history-heading {
+    margin-top: 32px;
+}
+
+.history-trend,
+.history-list {
+    display: flex;
+    flex-direction: column;
+    gap: 1px;
+    background: var(--border-color);
+    border: 1px solid var(--border-color);
+    border-radius: 8px;
+    overflow: hidden;
+    margin-bottom: 24px;
+}
+
+.history-row,
+.history-item {
+    display: flex;
+    align-items: center;
+    gap: 16px;
+    padding: 10px 16px;
+    background: var(--card-bg);
+}
+
+.history-run {
+    width: 48px;
+    font-weight: 600;
+    color: var(--text-primary);
+}
+
+.history-time,
+.history-field,
+.history-trend-values,
+.history-more {
+    color: var(--text-secondary);
+    font-size: 0.875em;
+}
+
+.history-time {
+    width: 220px;
+}
+
+.history-bar {
+    flex: 1;
+    height: 10px;
+    background: var(--hover-bg);
+    border-radius: 5px;
+    overflow: hidden;
+}
+
+.history-bar-fill {
+    height: 100%;
+    background: var(--accent-primary);
+}
+
+.history-score {
+    width: 140px;
+    text-align: right;
+    color: var(--text-primary);
+}
+
+.history-item .endpoint-path {
+    font-size: 1em;
+}
+
+.history-trend-values {
+    margin-left: auto;
+}
+""";
+    }
+
+    private static String getTimingCssStyles() {
+        return """
+.timing-list {
+    display: flex;
+    flex-direction: column;
+    gap: 1px;
+    background: var(--border-color);
+    border: 1px solid var(--border-color);
+    border-radius: 8px;
+    overflow: hidden;
+    margin-bottom: 24px;
+}
+
+.timing-row {
+    display: flex;
+    align-items: center;
+    gap: 16px;
+    padding: 10px 16px;
+    background: var(--card-bg);
+    color: var(--text-primary);
+    font-size: 0.875em;
+}
+
+.timing-row span {
+    width: 96px;
+    text-align: right;
+}
+
+.timing-row .timing-name {
+    flex: 1;
+    text-align: left;
+    overflow: hidden;
+    text-overflow: ellipsis;
+    white-space: nowrap;
+}
+
+.timing-header {
+    color: var(--text-secondary);
+    font-weight: 600;
+}
+""";
+    }
+
+    private static String getShardJavaScript() {
+        return """
+// Sharded report: endpoint tables live in SHARD_DIR/endpoint-<index>.js and are loaded on first expand.
+// Long fault and test lists are virtualized: only the rows in view (plus overscan) are in the DOM.
+const FAULT_ROW_HEIGHT = 56;
+const TEST_ROW_HEIGHT = 48;
+const VISIBLE_ROWS = 15;
+const OVERSCAN = 5;
+const shardCallbacks = {};
+
+function toggleShardEndpoint(index) {
+    const content = document.getElementById('endpoint-' + index);
+    if (!content.dataset.loaded) {
+        loadShard(content);
+    }
+    toggleEndpoint(index);
+}
+
+function MetatestShard(index, payload) {
+    const callback = shardCallbacks[index];
+    delete shardCallbacks[index];
+    if (callback) {
+        callback(payload);
+    }
+}
+
+function loadShard(content) {
+    const index = content.dataset.shard;
+    content.dataset.loaded = 'loading';
+    const script = document.createElement('script');
+    shardCallbacks[index] = payload => {
+        script.remove();
+        inflateShard(payload)
+            .then(shard => renderShard(content, shard))
+            .catch(err => shardError(content, err));
+    };
+    script.src = SHARD_DIR + '/endpoint-' + index + '.js';
+    script.onerror = () => {
+        delete shardCallbacks[index];
+        script.remove();
+        shardError(content, 'could not load ' + script.src);
+    };
+    document.head.appendChild(script);
+}
+
+async function inflateShard(payload) {
+    const bytes = Uint8Array.from(atob(payload), c => c.charCodeAt(0));
+    const stream = new Blob([bytes]).stream().pipeThrough(new DecompressionStream('gzip'));
+    return JSON.parse(await new Response(stream).text());
+}
+
+function shardError(content, err) {
+    delete content.dataset.loaded;
+    content.innerHTML = '';
+    content.appendChild(element('div', 'shard-status error', 'Failed to load endpoint data: ' + err));
+}
+
+function element(tag, className, text) {
+    const el = document.createElement(tag);
+    if (className) {
+        el.className = className;
+    }
+    if (text !== undefined) {
+        el.textContent = text;
+    }
+    return el;
+}
+
+function virtualList(items, rowHeight, renderRow) {
+    const viewport = element('div', 'virtual-list');
+    viewport.style.height = Math.min(items.length, VISIBLE_ROWS) * rowHeight + 'px';
+    const spacer = element('div');
+    spacer.style.height = items.length * rowHeight + 'px';
+    viewport.appendChild(spacer);
+
+    let first = -1;
+    let scheduled = false;
+    const draw = () => {
+        scheduled = false;
+        const start = Math.max(0, Math.floor(viewport.scrollTop / rowHeight) - OVERSCAN);
+        if (start === first) {
+            return;
+        }
+        first = start;
+        const end = Math.min(items.length, start + VISIBLE_ROWS + 2 * OVERSCAN);
+        spacer.textContent = '';
+        for (let i = start; i < end; i++) {
+            const row = renderRow(items[i]);
+            row.style.top = i * rowHeight + 'px';
+            row.style.height = rowHeight + 'px';
+            spacer.appendChild(row);
+        }
+    };
+    viewport.addEventListener('scroll', () => {
+        if (!scheduled) {
+            scheduled = true;
+            requestAnimationFrame(draw);
+        }
+    });
+    draw();
+    return viewport;
+}
+
+function renderShard(content, shard) {
+    content.dataset.loaded = 'true';
+    content.innerHTML = '';
+
+    const table = element('div', 'fault-table');
+    const header = element('div', 'fault-table-header');
+    ['Field', 'Fault Type', 'Status', 'Details'].forEach(title => header.appendChild(element('div', 'fault-cell', title)));
+    table.appendChild(header);
+
+    const details = element('div', 'test-details');
+    details.style.display = 'none';
+    table.appendChild(virtualList(shard.rows, FAULT_ROW_HEIGHT, row => renderFaultRow(row, details)));
+
+    content.appendChild(table);
+    content.appendChild(details);
+}
+
+function renderFaultRow(row, details) {
+    const el = element('div', 'fault-row');
+
+    const fieldCell = element('div', 'fault-cell');
+    fieldCell.appendChild(element('code', null, row.invariant ? '-' : row.field));
+    el.appendChild(fieldCell);
+
+    const faultCell = element('div', 'fault-cell');
+    faultCell.appendChild(element('span', row.invariant ? 'fault-badge invariant-badge' : 'fault-badge', row.fault));
+    el.appendChild(faultCell);
+
+    const statusCell = element('div', 'fault-cell');
+    statusCell.appendChild(element('span', 'status-badge ' + (row.caught ? 'detected' : 'escaped'),
+        row.caught ? '✓ Detected' : '✗ Escaped'));
+    el.appendChild(statusCell);
+
+    const detailsCell = element('div', 'fault-cell');
+    const button = element('button', 'details-btn', 'View ' + row.tests.length + ' test(s)');
+    button.onclick = () => showShardTests(details, row);
+    detailsCell.appendChild(button);
+    el.appendChild(detailsCell);
+
+    return el;
+}
+
+function showShardTests(details, row) {
+    details.innerHTML = '';
+    details.appendChild(element('div', 'shard-details-title', (row.invariant ? '' : row.field + ' · ') + row.fault));
+    details.appendChild(virtualList(row.tests, TEST_ROW_HEIGHT, test => {
+        const item = element('div', 'test-detail-item');
+        item.appendChild(element('span', 'test-name', test.test));
+        item.appendChild(element('span', 'status-badge ' + (test.caught ? 'detected' : 'escaped'), test.caught ? '✓' : '✗'));
+        if (test.error) {
+            const error = element('div', 'error-message', test.error);
+            error.title = test.error;
+            item.appendChild(error);
+        }
+        return item;
+    }));
+    details.style.display = 'block';
+}
 """;
     }
 }
@@ -0,0 +1,193 @@
+package metatest.report;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads a file written by {@link IndexedReportWriter}. Only the index is loaded on open;
+ * each entry is read and decoded on demand.
+ */
+public class IndexedReportReader implements Closeable {
+
+    private static final int FOOTER_LENGTH = Long.BYTES + IndexedReportWriter.MAGIC.length;
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final FileChannel channel;
+    private final List<IndexEntry> entries = new ArrayList<>();
+    private final Map<String, IndexEntry> byKey = new LinkedHashMap<>();
+
+    private IndexedReportReader(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            loadIndex(file);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static IndexedReportReader open(File file) throws IOException {
+        return new IndexedReportReader(file);
+    }
+
+    private void loadIndex(File file) throws IOException {
+        long size = channel.size();
+        if (size < IndexedReportWriter.MAGIC.length + 1 + FOOTER_LENGTH) {
+            throw new IOException("Not a metatest indexed report: " + file);
+        }
+        byte[] header = readBytes(0, IndexedReportWriter.MAGIC.length + 1);
+        if (!Arrays.equals(Arrays.copyOf(header, IndexedReportWriter.MAGIC.length), IndexedReportWriter.MAGIC)
+                || header[IndexedReportWriter.MAGIC.length] != IndexedReportWriter.VERSION) {
+            throw new IOException("Not a metatest indexed report: " + file);
+        }
+        ByteBuffer footer = ByteBuffer.wrap(readBytes(size - FOOTER_LENGTH, FOOTER_LENGTH));
+        long indexOffset = footer.getLong();
+        byte[] trailer = new byte[IndexedReportWriter.MAGIC.length];
+        footer.get(trailer);
+        if (!Arrays.equals(trailer, IndexedReportWriter.MAGIC)) {
+            throw new IOException("Indexed report is truncated: " + file);
+        }
+
+        JsonNode index = smileMapper.readTree(readBytes(indexOffset, (int) (size - FOOTER_LENGTH - indexOffset)));
+        for (JsonNode item : index) {
+            IndexEntry entry = new IndexEntry(item.get(0).isNull() ? null : item.get(0).asText(),
+                    item.get(1).asText(), item.get(2).asLong(), item.get(3).asInt());
+            entries.add(entry);
+            byKey.put(lookupKey(entry.group, entry.key), entry);
+        }
+    }
+
+    /**
+     * Returns the keys of a group in write order, or the top-level keys when group is null.
+     */
+    public List<String> keys(String group) {
+        List<String> keys = new ArrayList<>();
+        for (IndexEntry entry : entries) {
+            if (Objects.equals(entry.group, group)) {
+                keys.add(entry.key);
+            }
+        }
+        return keys;
+    }
+
+    public boolean contains(String group, String key) {
+        return byKey.containsKey(lookupKey(group, key));
+    }
+
+    /**
+     * Decodes a single entry, or returns null if it does not exist.
+     */
+    public JsonNode read(String group, String key) throws IOException {
+        IndexEntry entry = byKey.get(lookupKey(group, key));
+        return entry == null ? null : smileMapper.readTree(readBytes(entry.offset, entry.length));
+    }
+
+    /**
+     * Returns a streaming parser over a single entry, or null if it does not exist.
+     */
+    public JsonParser parser(String group, String key) throws IOException {
+        IndexEntry entry = byKey.get(lookupKey(group, key));
+        return entry == null ? null : smileMapper.getFactory().createParser(readBytes(entry.offset, entry.length));
+    }
+
+    /**
+     * Reassembles the whole document. Meant for small reports; prefer {@link #read} for large ones.
+     */
+    public ObjectNode readAll() throws IOException {
+        ObjectNode root = smileMapper.createObjectNode();
+        for (IndexEntry entry : entries) {
+            JsonNode value = smileMapper.readTree(readBytes(entry.offset, entry.length));
+            if (entry.group == null) {
+                root.set(entry.key, value);
+            } else {
+                ObjectNode group = root.has(entry.group) ? (ObjectNode) root.get(entry.group) : root.putObject(entry.group);
+                group.set(entry.key, value);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Writes the report as pretty-printed JSON, transcoding one entry at a time.
+     * Entries of a group must be contiguous, which {@link IndexedReportWriter} guarantees.
+     */
+    public void exportJson(File jsonFile, ObjectMapper jsonMapper) throws IOException {
+        try (JsonGenerator generator = jsonMapper.getFactory().createGenerator(jsonFile, JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            String openGroup = null;
+            for (IndexEntry entry : entries) {
+                if (!Objects.equals(entry.group, openGroup)) {
+                    if (openGroup != null) {
+                        generator.writeEndObject();
+                    }
+                    if (entry.group != null) {
+                        generator.writeObjectFieldStart(entry.group);
+                    }
+                    openGroup = entry.group;
+                }
+                generator.writeFieldName(entry.key);
+                try (JsonParser parser = smileMapper.getFactory().createParser(readBytes(entry.offset, entry.length))) {
+                    parser.nextToken();
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            if (openGroup != null) {
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private byte[] readBytes(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Indexed report ends before offset " + (offset + length));
+            }
+        }
+        return buffer.array();
+    }
+
+    private static String lookupKey(String group, String key) {
+        return group == null ? key : group + '\u0000' + key;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static final class IndexEntry {
+        final String group;
+        final String key;
+        final long offset;
+        final int length;
+
+        IndexEntry(String group, String key, long offset, int length) {
+            this.group = group;
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package metatest.report;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import metatest.core.config.SystemSettings;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a report as a binary indexed file: each entry is an independent Smile document, followed by
+ * an index of entry offsets, so {@link IndexedReportReader} can decode a single entry without reading the rest.
+ *
+ * Layout: MAGIC, VERSION, entries..., index (Smile array of [group, key, offset, length]), index offset (long), MAGIC.
+ * Entries written between {@link #startGroup} and {@link #endGroup} are members of that top-level object
+ * (e.g. "paths" in schema_coverage), others are top-level members themselves.
+ */
+public class IndexedReportWriter implements Closeable {
+
+    static final byte[] MAGIC = {'M', 'T', 'I', 'R'};
+    static final int VERSION = 1;
+    static final String EXTENSION = ".smile";
+
+    private final ObjectMapper smileMapper;
+    private final CountingOutputStream out;
+    private final List<Object[]> index = new ArrayList<>();
+    private String group;
+
+    public IndexedReportWriter(File file) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        SmileFactory factory = new SmileFactory();
+        // Entries share the file stream, so a finished entry must not close it
+        factory.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        this.smileMapper = new ObjectMapper(factory);
+        this.out = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    /**
+     * Binary reports are enabled with -Dmetatest.report.binary=true or METATEST_REPORT_BINARY=true.
+     */
+    public static boolean isBinaryReportEnabled() {
+        return SystemSettings.getBoolean("metatest.report.binary", "METATEST_REPORT_BINARY", false);
+    }
+
+    /**
+     * Returns the binary file that sits next to a JSON report (fault_simulation_report.json -> .smile).
+     */
+    public static File binaryFileFor(String jsonPath) {
+        String base = jsonPath.endsWith(".json") ? jsonPath.substring(0, jsonPath.length() - 5) : jsonPath;
+        return new File(base + EXTENSION);
+    }
+
+    public void startGroup(String name) {
+        if (group != null) {
+            throw new IllegalStateException("Group " + group + " is still open");
+        }
+        group = name;
+    }
+
+    public void endGroup() {
+        group = null;
+    }
+
+    /**
+     * Writes one entry from any value Jackson can serialize.
+     */
+    public void writeEntry(String key, Object value) throws IOException {
+        long offset = out.count;
+        smileMapper.writeValue(out, value);
+        index.add(new Object[]{group, key, offset, out.count - offset});
+    }
+
+    /**
+     * Starts an entry that the caller writes with the returned generator, then completes with {@link #endEntry}.
+     */
+    public JsonGenerator startEntry(String key) throws IOException {
+        index.add(new Object[]{group, key, out.count, -1L});
+        return smileMapper.getFactory().createGenerator((OutputStream) out);
+    }
+
+    public void endEntry(JsonGenerator generator) throws IOException {
+        generator.close();
+        Object[] entry = index.get(index.size() - 1);
+        entry[3] = out.count - (long) entry[2];
+    }
+
+    @Override
+    public void close() throws IOException {
+        long indexOffset = out.count;
+        smileMapper.writeValue(out, index);
+        out.write(ByteBuffer.allocate(Long.BYTES).putLong(indexOffset).array());
+        out.write(MAGIC);
+        out.close();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package metatest.simulation;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mutants an interrupted run already completed, per test, rebuilt from its result journals when the run is resumed.
+ *
+ * The journals of every forked JVM are replayed, since a test may run in a different fork after the restart.
+ * Their results are held here until the test that produced them skips the mutant, and only then restored into
+ * the report, so each fork reports the tests it ran. A test that hits the same endpoint more than once runs
+ * the same mutant once per request, so each completed run is kept and consumed once.
+ */
+public class CompletedMutants {
+
+    /**
+     * Key format: "test|endpoint|contract|faultType|field" or "test|endpoint|invariant|invariantName|field"
+     */
+    private final Map<String, Deque<TestLevelSimulationResults>> remaining = new ConcurrentHashMap<>();
+
+    /**
+     * Reads the journal without modifying it and keeps each entry as a completed run.
+     *
+     * @return The number of entries replayed
+     */
+    public int replay(ResultJournal journal) throws IOException {
+        return journal.replay((entry, offset) -> {
+            String key = ResultJournal.Entry.INVARIANT.equals(entry.getKind())
+                    ? invariantKey(entry.getTest(), entry.getEndpoint(), entry.getInvariant(), entry.getMutationField())
+                    : contractKey(entry.getTest(), entry.getEndpoint(), entry.getFaultType(), entry.getField());
+            remaining.computeIfAbsent(key, k -> new ArrayDeque<>()).add(entry.toResult());
+        });
+    }
+
+    /**
+     * @return The interrupted run's result if it completed this contract mutant for this test, which is consumed,
+     * or null if the mutant must run
+     */
+    public TestLevelSimulationResults consumeContract(String test, String endpoint, String faultType, String field) {
+        return remaining.isEmpty() ? null : consume(contractKey(test, endpoint, faultType, field));
+    }
+
+    /**
+     * @return The interrupted run's result if it completed this invariant mutation for this test, which is consumed,
+     * or null if the mutation must run
+     */
+    public TestLevelSimulationResults consumeInvariant(String test, String endpoint, String invariantName, String field) {
+        return remaining.isEmpty() ? null : consume(invariantKey(test, endpoint, invariantName, field));
+    }
+
+    public boolean isEmpty() {
+        return remaining.isEmpty();
+    }
+
+    private TestLevelSimulationResults consume(String key) {
+        TestLevelSimulationResults[] consumed = {null};
+        remaining.computeIfPresent(key, (k, results) -> {
+            consumed[0] = results.poll();
+            return results.isEmpty() ? null : results;
+        });
+        return consumed[0];
+    }
+
+    private static String contractKey(String test, String endpoint, String faultType, String field) {
+        return test + "|" + endpoint + "|contract|" + faultType + "|" + field;
+    }
+
+    private static String invariantKey(String test, String endpoint, String invariantName, String field) {
+        return test + "|" + endpoint + "|invariant|" + invariantName + "|" + field;
+    }
+}
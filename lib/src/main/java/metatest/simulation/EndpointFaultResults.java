@@ -27,73 +27,27 @@ public class EndpointFaultResults {
     @JsonProperty("invariant_faults")
     private Map<String, FaultSimulationResult> invariantFaults;
 
-    public EndpointFaultResults() {
-        this.contractFaults = new ConcurrentHashMap<>();
-        this.invariantFaults = new ConcurrentHashMap<>();
-    }
-
     /**
-     * Records a contract fault result (field-level mutation).
+     * Number of contract faults (fault type and field pairs) tested, and how many were caught.
+     * FaultSimulationReport.getReport() sets them from the run summary.
      */
-    public void recordContractFault(String faultType, String field, TestLevelSimulationResults result) {
-        contractFaults
-                .computeIfAbsent(faultType, k -> new ConcurrentHashMap<>())
-                .computeIfAbsent(field, k -> new FaultSimulationResult())
-                .addTestResult(result);
-    }
+    @JsonProperty("contractFaultCount")
+    private int contractFaultCount;
 
-    /**
-     * Records a invariant fault result (business rule violation).
-     */
-    public void recordInvariantFault(String invariantName, TestLevelSimulationResults result) {
-        invariantFaults
-                .computeIfAbsent(invariantName, k -> new FaultSimulationResult())
-                .addTestResult(result);
-    }
-
-    /**
-     * Returns the total number of contract fault types tested.
-     */
-    public int getContractFaultCount() {
-        int count = 0;
-        for (Map<String, FaultSimulationResult> fields : contractFaults.values()) {
-            count += fields.size();
-        }
-        return count;
-    }
+    @JsonProperty("contractFaultsCaught")
+    private int contractFaultsCaught;
 
     /**
-     * Returns the number of contract faults that were caught.
+     * Number of invariant faults tested, and how many were caught.
      */
-    public int getContractFaultsCaught() {
-        int count = 0;
-        for (Map<String, FaultSimulationResult> fields : contractFaults.values()) {
-            for (FaultSimulationResult result : fields.values()) {
-                if (result.isCaughtByAnyTest()) {
-                    count++;
-                }
-            }
-        }
-        return count;
-    }
+    @JsonProperty("invariantFaultCount")
+    private int invariantFaultCount;
 
-    /**
-     * Returns the total number of invariant faults tested.
-     */
-    public int getInvariantFaultCount() {
-        return invariantFaults.size();
-    }
+    @JsonProperty("invariantFaultsCaught")
+    private int invariantFaultsCaught;
 
-    /**
-     * Returns the number of invariant faults that were caught.
-     */
-    public int getInvariantFaultsCaught() {
-        int count = 0;
-        for (FaultSimulationResult result : invariantFaults.values()) {
-            if (result.isCaughtByAnyTest()) {
-                count++;
-            }
-        }
-        return count;
+    public EndpointFaultResults() {
+        this.contractFaults = new ConcurrentHashMap<>();
+        this.invariantFaults = new ConcurrentHashMap<>();
     }
 }
@@ -1,10 +1,18 @@
 package metatest.simulation;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import metatest.api.FaultStrategyApiClient;
+import metatest.api.ResultUploader;
 import metatest.api.dto.SubmitSimulationResultsRequest;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
 import metatest.report.HtmlReportGenerator;
+import metatest.report.IndexedReportReader;
+import metatest.report.IndexedReportWriter;
+import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
@@ -13,26 +21,41 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class FaultSimulationReport {
+    private static final Logger LOG = Logs.get(FaultSimulationReport.class);
+
     private static final FaultSimulationReport INSTANCE = new FaultSimulationReport();
     private static final String DEFAULT_REPORT_PATH = "fault_simulation_report.json";
 
-    private final Map<String, EndpointFaultResults> report = new ConcurrentHashMap<>();
+    private final ResultStore store = new ResultStore();
+    private final ResultJournal journal;
     private final ObjectMapper objectMapper;
     private final FaultStrategyApiClient apiClient;
+    private final ResultUploader uploader;
     private LocalDateTime executionStartTime;
 
     /**
-     * Tracks faults that have been caught by at least one test.
-     * Key format: "endpoint|contract|faultType|field" or "endpoint|invariant|invariantName"
-     * Used when stop_on_first_catch is enabled to skip redundant simulations.
+     * Mutants completed by the interrupted run that is being resumed.
      */
-    private final Set<String> caughtFaults = ConcurrentHashMap.newKeySet();
+    private final CompletedMutants completedMutants = new CompletedMutants();
 
     private FaultSimulationReport() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
         this.apiClient = new FaultStrategyApiClient();
         this.executionStartTime = LocalDateTime.now(); // Set when first result is recorded
+        File journalPath = ResultJournal.resolveJournalPath();
+        this.journal = new ResultJournal(ResultJournal.journalFileFor(journalPath, ProcessHandle.current().pid()));
+        if (isResumeEnabled()) {
+            // The interrupted run's stream cannot be continued, so replayed and new results are submitted together at the end
+            if (ResultUploader.isEnabled()) {
+                LOG.warn("[MetaTest] Result streaming is off when resuming a run; results are submitted at the end instead");
+            }
+            this.uploader = null;
+            resumeFromJournals(journalPath);
+        } else {
+            this.uploader = ResultUploader.fromConfig();
+            ResultJournal.deleteStaleJournals(journalPath);
+        }
     }
 
     public static FaultSimulationReport getInstance() {
@@ -40,10 +63,82 @@ public class FaultSimulationReport {
     }
 
     /**
-     * Returns the internal report map for direct access.
+     * Checks if resume mode is enabled via -Dmetatest.resume=true or METATEST_RESUME.
+     */
+    public static boolean isResumeEnabled() {
+        return SystemSettings.getBoolean("metatest.resume", "METATEST_RESUME", false);
+    }
+
+    /**
+     * Loads the completed mutants of an interrupted run from the journals of all its forks. The journals are only
+     * read: this JVM appends to its own, and they stay complete for another restart.
+     */
+    private void resumeFromJournals(File journalPath) {
+        List<File> journals = ResultJournal.findJournals(journalPath);
+        int replayed = 0;
+        for (File file : journals) {
+            try {
+                replayed += completedMutants.replay(new ResultJournal(file));
+            } catch (IOException e) {
+                LOG.warn("[MetaTest] Failed to read result journal {} for resume, its mutants run again: {}",
+                        file, e.getMessage());
+            }
+        }
+        LOG.info("[Metatest-Sim] Resuming: {} completed mutant result(s) loaded from {} journal(s) at {}",
+                replayed, journals.size(), journalPath.getAbsoluteFile().getParent());
+    }
+
+    /**
+     * Returns the columnar store holding all recorded results.
+     */
+    public ResultStore getStore() {
+        return store;
+    }
+
+    /**
+     * Materializes the results as endpoint -> fault results, in the shape of the JSON report.
+     * Journaled caught results are read back from the journal, so this holds every result in memory;
+     * the report writers stream from the store instead.
      */
     public Map<String, EndpointFaultResults> getReport() {
-        return report;
+        Map<String, EndpointFaultResults> view = new LinkedHashMap<>();
+        try (ResultJournal.JournalReader reader = journal.getFile().exists() ? journal.openReader() : null) {
+            for (int mutant : store.sortedMutants()) {
+                FaultSimulationResult result = new FaultSimulationResult();
+                result.setTestedBy(store.testedBy(mutant));
+                result.setCaughtBy(caughtResults(mutant, reader));
+                result.setCaughtByAnyTest(store.isCaughtByAnyTest(mutant));
+
+                EndpointFaultResults endpointResults = view.computeIfAbsent(store.endpoint(mutant), k -> new EndpointFaultResults());
+                if (store.isInvariant(mutant)) {
+                    endpointResults.getInvariantFaults().put(store.fault(mutant), result);
+                } else {
+                    endpointResults.getContractFaults()
+                            .computeIfAbsent(store.fault(mutant), k -> new ConcurrentHashMap<>())
+                            .put(store.field(mutant), result);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("[MetaTest] Failed to read result journal " + journal.getFile() + ": " + e.getMessage());
+        }
+        // Taken after the walk, so it covers every endpoint in the view
+        ResultSummary summary = store.summary();
+        for (Map.Entry<String, EndpointFaultResults> entry : view.entrySet()) {
+            ResultSummary.EndpointCounts counts = summary.getEndpoints().get(entry.getKey());
+            entry.getValue().setContractFaultCount(counts.getContract().getMutants());
+            entry.getValue().setContractFaultsCaught(counts.getContract().getCaughtMutants());
+            entry.getValue().setInvariantFaultCount(counts.getInvariant().getMutants());
+            entry.getValue().setInvariantFaultsCaught(counts.getInvariant().getCaughtMutants());
+        }
+        return view;
+    }
+
+    /**
+     * Returns the run's totals per kind, endpoint, fault type and test, as kept by the result store.
+     * Every reporter reads its counts from here instead of walking the results.
+     */
+    public ResultSummary getSummary() {
+        return store.summary();
     }
 
     /**
@@ -51,25 +146,48 @@ public class FaultSimulationReport {
      */
     public void recordResult(String endpoint, String field, String faultType, TestLevelSimulationResults result) {
         if (endpoint == null || field == null || faultType == null || result == null) {
-            System.err.println("[METATEST-WARN] Attempted to record a contract fault result with null data. Skipping.");
+            LOG.warn("[MetaTest] Attempted to record a contract fault result with null data. Skipping.");
             return;
         }
 
-        report.computeIfAbsent(endpoint, k -> new EndpointFaultResults())
-                .recordContractFault(faultType, field, result);
+        long offset = appendToJournal(ResultJournal.Entry.contract(endpoint, faultType, field, result));
+        store.record(store.contractMutant(endpoint, faultType, field), result, offset);
     }
 
     /**
      * Records a invariant fault result (business rule violation).
      */
     public void recordInvariantResult(String endpoint, String invariantName, TestLevelSimulationResults result) {
+        recordInvariantResult(endpoint, invariantName, null, result);
+    }
+
+    /**
+     * Records a invariant fault result for a mutation of the given field.
+     */
+    public void recordInvariantResult(String endpoint, String invariantName, String mutationField, TestLevelSimulationResults result) {
         if (endpoint == null || invariantName == null || result == null) {
-            System.err.println("[METATEST-WARN] Attempted to record a invariant fault result with null data. Skipping.");
+            LOG.warn("[MetaTest] Attempted to record a invariant fault result with null data. Skipping.");
             return;
         }
 
-        report.computeIfAbsent(endpoint, k -> new EndpointFaultResults())
-                .recordInvariantFault(invariantName, result);
+        long offset = appendToJournal(ResultJournal.Entry.invariant(endpoint, invariantName, mutationField, result));
+        store.record(store.invariantMutant(endpoint, invariantName), result, offset);
+    }
+
+    /**
+     * Writes a result to the journal, and to the uploader when results are streamed to the API.
+     * Returns -1 if the journal is not writable, in which case the store keeps the full result in memory instead.
+     */
+    private long appendToJournal(ResultJournal.Entry entry) {
+        if (uploader != null) {
+            uploader.add(entry);
+        }
+        try {
+            return journal.append(entry);
+        } catch (IOException e) {
+            LOG.warn("[MetaTest] Failed to write result journal " + journal.getFile() + ": " + e.getMessage());
+            return -1;
+        }
     }
 
     // ==================== stop_on_first_catch tracking ====================
@@ -83,8 +201,7 @@ public class FaultSimulationReport {
      * @return true if the fault has been caught, false otherwise
      */
     public boolean isContractFaultCaught(String endpoint, String faultType, String field) {
-        String key = buildContractFaultKey(endpoint, faultType, field);
-        return caughtFaults.contains(key);
+        return store.isMarkedCaught(store.findContractMutant(endpoint, faultType, field));
     }
 
     /**
@@ -95,8 +212,7 @@ public class FaultSimulationReport {
      * @param field     The field name
      */
     public void markContractFaultCaught(String endpoint, String faultType, String field) {
-        String key = buildContractFaultKey(endpoint, faultType, field);
-        caughtFaults.add(key);
+        store.markCaught(store.contractMutant(endpoint, faultType, field));
     }
 
     /**
@@ -107,8 +223,7 @@ public class FaultSimulationReport {
      * @return true if the fault has been caught, false otherwise
      */
     public boolean isInvariantFaultCaught(String endpoint, String invariantName) {
-        String key = buildInvariantFaultKey(endpoint, invariantName);
-        return caughtFaults.contains(key);
+        return store.isMarkedCaught(store.findInvariantMutant(endpoint, invariantName));
     }
 
     /**
@@ -118,58 +233,249 @@ public class FaultSimulationReport {
      * @param invariantName The invariant name
      */
     public void markInvariantFaultCaught(String endpoint, String invariantName) {
-        String key = buildInvariantFaultKey(endpoint, invariantName);
-        caughtFaults.add(key);
+        store.markCaught(store.invariantMutant(endpoint, invariantName));
     }
 
+    // ==================== resume tracking ====================
+
     /**
-     * Clears the caught faults tracking. Useful for test isolation.
+     * Checks if the resumed run already completed this contract mutant for this test, and consumes it.
+     * A test that hits the same endpoint more than once runs the same mutant once per request,
+     * so each completed run is consumed only once.
+     *
+     * The interrupted run's result is restored into the report in place of running the mutant again.
+     *
+     * @return true if the mutant was completed by the interrupted run and should be skipped
      */
-    public void clearCaughtFaultsTracking() {
-        caughtFaults.clear();
+    public boolean consumeCompletedContractFault(String test, String endpoint, String faultType, String field) {
+        TestLevelSimulationResults result = completedMutants.consumeContract(test, endpoint, faultType, field);
+        if (result == null) {
+            return false;
+        }
+        restore(store.contractMutant(endpoint, faultType, field), result);
+        return true;
+    }
+
+    /**
+     * Checks if the resumed run already completed this invariant mutation for this test, and consumes it.
+     *
+     * @return true if the mutation was completed by the interrupted run and should be skipped
+     */
+    public boolean consumeCompletedInvariantFault(String test, String endpoint, String invariantName, String field) {
+        TestLevelSimulationResults result = completedMutants.consumeInvariant(test, endpoint, invariantName, field);
+        if (result == null) {
+            return false;
+        }
+        restore(store.invariantMutant(endpoint, invariantName), result);
+        return true;
     }
 
-    private String buildContractFaultKey(String endpoint, String faultType, String field) {
-        return endpoint + "|contract|" + faultType + "|" + field;
+    /**
+     * Records a result replayed on resume. It may come from another fork's journal, so it is kept in memory.
+     * A caught result counts for stop_on_first_catch, as it did before the interruption.
+     */
+    private void restore(int mutant, TestLevelSimulationResults result) {
+        store.record(mutant, result, -1);
+        if (result.isCaught()) {
+            store.markCaught(mutant);
+        }
     }
 
-    private String buildInvariantFaultKey(String endpoint, String invariantName) {
-        return endpoint + "|invariant|" + invariantName;
+    /**
+     * Clears the caught faults tracking. Useful for test isolation.
+     */
+    public void clearCaughtFaultsTracking() {
+        store.clearMarkedCaught();
     }
 
     // ======================================================================
 
+    /**
+     * Sends the last streamed batch and waits for the earlier ones. Does nothing unless results are streamed.
+     *
+     * @return false if some results could not be streamed
+     */
+    public boolean finishResultUpload() {
+        return uploader == null || uploader.close();
+    }
+
     public void sendResultsToAPI() {
+        if (uploader != null) {
+            if (!finishResultUpload()) {
+                LOG.info("Falling back to JSON file...");
+                createJSONReport();
+            }
+            return;
+        }
         try {
             SubmitSimulationResultsRequest request = convertToApiRequest();
             
             apiClient.submitSimulationResults(request);
             
-            System.out.println("Successfully sent simulation results to API");
+            LOG.info("Successfully sent simulation results to API");
             
         } catch (Exception e) {
-            System.err.println("Failed to send results to API: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to send results to API: " + e.getMessage(), e);
             
-            System.out.println("Falling back to JSON file...");
+            LOG.info("Falling back to JSON file...");
             createJSONReport();
         }
     }
     
+    /**
+     * Writes the report by streaming over the result store and the result journal,
+     * so caught results are read and written one at a time.
+     * In binary report mode the indexed binary file is written first and the JSON is exported from it.
+     */
     public void createJSONReport() {
+        journal.checkpoint();
+        File reportFile = new File(DEFAULT_REPORT_PATH);
+        if (reportFile.getParentFile() != null) {
+            reportFile.getParentFile().mkdirs();
+        }
+        if (IndexedReportWriter.isBinaryReportEnabled()) {
+            createBinaryReport(reportFile);
+            return;
+        }
+        try (ResultJournal.JournalReader reader = journal.getFile().exists() ? journal.openReader() : null;
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(reportFile, JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            writeReport(generator, reader);
+            LOG.info("Saving fault simulation report to JSON file: " + reportFile.getAbsolutePath());
+        } catch (IOException e) {
+            LOG.error("Failed to save report: " + e.getMessage());
+        }
+    }
+
+    private void createBinaryReport(File reportFile) {
+        File binaryFile = IndexedReportWriter.binaryFileFor(DEFAULT_REPORT_PATH);
         try {
-            File reportFile = new File(DEFAULT_REPORT_PATH);
-            if (reportFile.getParentFile() != null) {
-                reportFile.getParentFile().mkdirs();
+            try (ResultJournal.JournalReader reader = journal.getFile().exists() ? journal.openReader() : null;
+                 IndexedReportWriter writer = new IndexedReportWriter(binaryFile)) {
+                int[] mutants = store.sortedMutants();
+                int[] starts = endpointStarts(mutants);
+                ResultSummary summary = store.summary();
+                for (int k = 0; k + 1 < starts.length; k++) {
+                    String endpoint = store.endpoint(mutants[starts[k]]);
+                    JsonGenerator generator = writer.startEntry(endpoint);
+                    writeEndpoint(generator, reader, mutants, starts[k], starts[k + 1], summary.getEndpoints().get(endpoint));
+                    writer.endEntry(generator);
+                }
             }
-            objectMapper.writeValue(reportFile, report);
-            System.out.println("Saving fault simulation report to JSON file: " + reportFile.getAbsolutePath());
+            LOG.info("Saving fault simulation report to binary file: " + binaryFile.getAbsolutePath());
+            try (IndexedReportReader binary = IndexedReportReader.open(binaryFile)) {
+                binary.exportJson(reportFile, objectMapper);
+            }
+            LOG.info("Saving fault simulation report to JSON file: " + reportFile.getAbsolutePath());
         } catch (IOException e) {
-            System.err.println("Failed to save report: " + e.getMessage());
+            LOG.error("Failed to save report: " + e.getMessage());
         }
     }
-    
-    private SubmitSimulationResultsRequest convertToApiRequest() {
+
+    private void writeReport(JsonGenerator generator, ResultJournal.JournalReader reader) throws IOException {
+        int[] mutants = store.sortedMutants();
+        int[] starts = endpointStarts(mutants);
+        ResultSummary summary = store.summary();
+        generator.writeStartObject();
+        for (int k = 0; k + 1 < starts.length; k++) {
+            String endpoint = store.endpoint(mutants[starts[k]]);
+            generator.writeFieldName(endpoint);
+            writeEndpoint(generator, reader, mutants, starts[k], starts[k + 1], summary.getEndpoints().get(endpoint));
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Returns the index in mutants where each endpoint's range starts, followed by mutants.length.
+     * Mutants are sorted by endpoint, so each endpoint is a contiguous range.
+     */
+    private int[] endpointStarts(int[] mutants) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < mutants.length; i++) {
+            if (i == 0 || !store.endpoint(mutants[i]).equals(store.endpoint(mutants[i - 1]))) {
+                starts.add(i);
+            }
+        }
+        starts.add(mutants.length);
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void writeEndpoint(JsonGenerator generator, ResultJournal.JournalReader reader,
+                               int[] mutants, int from, int to,
+                               ResultSummary.EndpointCounts counts) throws IOException {
+        generator.writeStartObject();
+
+        // Contract mutants sort before invariants, grouped by fault type
+        generator.writeObjectFieldStart("contract_faults");
+        int i = from;
+        String currentFaultType = null;
+        for (; i < to && !store.isInvariant(mutants[i]); i++) {
+            int mutant = mutants[i];
+            String faultType = store.fault(mutant);
+            if (!faultType.equals(currentFaultType)) {
+                if (currentFaultType != null) {
+                    generator.writeEndObject();
+                }
+                generator.writeObjectFieldStart(faultType);
+                currentFaultType = faultType;
+            }
+            generator.writeFieldName(store.field(mutant));
+            writeFaultResult(generator, mutant, reader);
+        }
+        if (currentFaultType != null) {
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+
+        generator.writeObjectFieldStart("invariant_faults");
+        for (; i < to; i++) {
+            int mutant = mutants[i];
+            generator.writeFieldName(store.fault(mutant));
+            writeFaultResult(generator, mutant, reader);
+        }
+        generator.writeEndObject();
+
+        generator.writeNumberField("contractFaultCount", counts.getContract().getMutants());
+        generator.writeNumberField("contractFaultsCaught", counts.getContract().getCaughtMutants());
+        generator.writeNumberField("invariantFaultCount", counts.getInvariant().getMutants());
+        generator.writeNumberField("invariantFaultsCaught", counts.getInvariant().getCaughtMutants());
+        generator.writeEndObject();
+    }
+
+    private void writeFaultResult(JsonGenerator generator, int mutant,
+                                  ResultJournal.JournalReader reader) throws IOException {
+        generator.writeStartObject();
+        generator.writeBooleanField("caught_by_any_test", store.isCaughtByAnyTest(mutant));
+
+        generator.writeArrayFieldStart("tested_by");
+        for (String test : store.testedBy(mutant)) {
+            generator.writeString(test);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("caught_by");
+        for (TestLevelSimulationResults caught : store.unjournaledCaught(mutant)) {
+            writeTestResult(generator, caught);
+        }
+        if (reader != null) {
+            for (long offset : store.caughtOffsets(mutant)) {
+                writeTestResult(generator, reader.read(offset).toResult());
+            }
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    private void writeTestResult(JsonGenerator generator, TestLevelSimulationResults result) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("test", result.getTest());
+        generator.writeBooleanField("caught", result.isCaught());
+        generator.writeStringField("error", result.getError());
+        generator.writeEndObject();
+    }
+
+    private SubmitSimulationResultsRequest convertToApiRequest() throws IOException {
         SubmitSimulationResultsRequest request = new SubmitSimulationResultsRequest();
 
         request.setTestSuiteName(extractTestSuiteName());
@@ -180,69 +486,45 @@ public class FaultSimulationReport {
 
         Map<String, SubmitSimulationResultsRequest.EndpointResults> convertedResults = new HashMap<>();
 
-        for (Map.Entry<String, EndpointFaultResults> endpointEntry : report.entrySet()) {
-            String endpoint = endpointEntry.getKey();
-            EndpointFaultResults endpointFaultResults = endpointEntry.getValue();
-
-            SubmitSimulationResultsRequest.EndpointResults endpointResults = new SubmitSimulationResultsRequest.EndpointResults();
-            Map<String, SubmitSimulationResultsRequest.FieldResults> fieldResultsMap = new HashMap<>();
-
-            // Process contract faults: faultType -> field -> result
-            Map<String, Map<String, FaultSimulationResult>> contractFaults = endpointFaultResults.getContractFaults();
-
-            // Invert the structure: we need field -> faultType -> result for the API
-            Map<String, Map<String, FaultSimulationResult>> fieldToFaultType = new HashMap<>();
-            for (Map.Entry<String, Map<String, FaultSimulationResult>> faultTypeEntry : contractFaults.entrySet()) {
-                String faultType = faultTypeEntry.getKey();
-                for (Map.Entry<String, FaultSimulationResult> fieldEntry : faultTypeEntry.getValue().entrySet()) {
-                    String fieldName = fieldEntry.getKey();
-                    fieldToFaultType
-                            .computeIfAbsent(fieldName, k -> new HashMap<>())
-                            .put(faultType, fieldEntry.getValue());
+        // The API groups contract faults by field, then fault type; the store is read mutant by mutant
+        try (ResultJournal.JournalReader reader = journal.getFile().exists() ? journal.openReader() : null) {
+            for (int mutant : store.sortedMutants()) {
+                SubmitSimulationResultsRequest.EndpointResults endpointResults = convertedResults.computeIfAbsent(store.endpoint(mutant), k -> {
+                    SubmitSimulationResultsRequest.EndpointResults results = new SubmitSimulationResultsRequest.EndpointResults();
+                    results.setFields(new HashMap<>());
+                    return results;
+                });
+                if (store.isInvariant(mutant)) {
+                    continue;
                 }
-            }
-
-            for (Map.Entry<String, Map<String, FaultSimulationResult>> fieldEntry : fieldToFaultType.entrySet()) {
-                String fieldName = fieldEntry.getKey();
-                Map<String, FaultSimulationResult> faultTypesData = fieldEntry.getValue();
-
-                SubmitSimulationResultsRequest.FieldResults fieldResults = new SubmitSimulationResultsRequest.FieldResults();
-
-                for (Map.Entry<String, FaultSimulationResult> faultTypeEntry : faultTypesData.entrySet()) {
-                    String faultType = faultTypeEntry.getKey();
-                    FaultSimulationResult faultSimResult = faultTypeEntry.getValue();
-
-                    SubmitSimulationResultsRequest.FaultTypeResult faultTypeResult = convertFaultTypeResult(faultSimResult.getCaughtBy());
-
-                    switch (faultType) {
-                        case "null_field":
-                            fieldResults.setNullField(faultTypeResult);
-                            break;
-                        case "missing_field":
-                            fieldResults.setMissingField(faultTypeResult);
-                            break;
-                        case "empty_string":
-                            fieldResults.setEmptyString(faultTypeResult);
-                            break;
-                        case "empty_list":
-                            fieldResults.setEmptyList(faultTypeResult);
-                            break;
-                        case "invalid_value":
-                            fieldResults.setInvalidValue(faultTypeResult);
-                            break;
-                    }
+                SubmitSimulationResultsRequest.FieldResults fieldResults = endpointResults.getFields()
+                        .computeIfAbsent(store.field(mutant), k -> new SubmitSimulationResultsRequest.FieldResults());
+                SubmitSimulationResultsRequest.FaultTypeResult faultTypeResult = convertFaultTypeResult(caughtResults(mutant, reader));
+
+                switch (store.fault(mutant)) {
+                    case "null_field":
+                        fieldResults.setNullField(faultTypeResult);
+                        break;
+                    case "missing_field":
+                        fieldResults.setMissingField(faultTypeResult);
+                        break;
+                    case "empty_string":
+                        fieldResults.setEmptyString(faultTypeResult);
+                        break;
+                    case "empty_list":
+                        fieldResults.setEmptyList(faultTypeResult);
+                        break;
+                    case "invalid_value":
+                        fieldResults.setInvalidValue(faultTypeResult);
+                        break;
                 }
-
-                fieldResultsMap.put(fieldName, fieldResults);
             }
-
-            endpointResults.setFields(fieldResultsMap);
-            convertedResults.put(endpoint, endpointResults);
         }
 
         request.setResults(convertedResults);
 
-        SubmitSimulationResultsRequest.SimulationSummary summary = calculateSummary(convertedResults);
+        // The API request holds contract faults only, so its summary does too
+        SubmitSimulationResultsRequest.SimulationSummary summary = calculateSummary(store.summary().getContract());
         request.setSummary(summary);
 
         return request;
@@ -273,97 +555,37 @@ public class FaultSimulationReport {
         return faultTypeResult;
     }
     
-    private SubmitSimulationResultsRequest.SimulationSummary calculateSummary(Map<String, SubmitSimulationResultsRequest.EndpointResults> results) {
-        int totalFaultTypes = 0;
-        int faultTypesCaught = 0;
-        int totalTestExecutions = 0;
-        int successfulTestExecutions = 0;
-        
-        for (SubmitSimulationResultsRequest.EndpointResults endpointResults : results.values()) {
-            for (SubmitSimulationResultsRequest.FieldResults fieldResults : endpointResults.getFields().values()) {
-                
-                if (fieldResults.getNullField() != null) {
-                    totalFaultTypes++;
-                    if (fieldResults.getNullField().getCaughtByAny()) {
-                        faultTypesCaught++;
-                    }
-                    totalTestExecutions += fieldResults.getNullField().getResults().size();
-                    successfulTestExecutions += (int) fieldResults.getNullField().getResults().stream()
-                            .mapToInt(result -> result.getCaught() ? 1 : 0).sum();
-                }
-                
-                if (fieldResults.getMissingField() != null) {
-                    totalFaultTypes++;
-                    if (fieldResults.getMissingField().getCaughtByAny()) {
-                        faultTypesCaught++;
-                    }
-                    totalTestExecutions += fieldResults.getMissingField().getResults().size();
-                    successfulTestExecutions += (int) fieldResults.getMissingField().getResults().stream()
-                            .mapToInt(result -> result.getCaught() ? 1 : 0).sum();
-                }
-                
-                if (fieldResults.getEmptyString() != null) {
-                    totalFaultTypes++;
-                    if (fieldResults.getEmptyString().getCaughtByAny()) {
-                        faultTypesCaught++;
-                    }
-                    totalTestExecutions += fieldResults.getEmptyString().getResults().size();
-                    successfulTestExecutions += (int) fieldResults.getEmptyString().getResults().stream()
-                            .mapToInt(result -> result.getCaught() ? 1 : 0).sum();
-                }
-                
-                if (fieldResults.getEmptyList() != null) {
-                    totalFaultTypes++;
-                    if (fieldResults.getEmptyList().getCaughtByAny()) {
-                        faultTypesCaught++;
-                    }
-                    totalTestExecutions += fieldResults.getEmptyList().getResults().size();
-                    successfulTestExecutions += (int) fieldResults.getEmptyList().getResults().stream()
-                            .mapToInt(result -> result.getCaught() ? 1 : 0).sum();
-                }
-                
-                if (fieldResults.getInvalidValue() != null) {
-                    totalFaultTypes++;
-                    if (fieldResults.getInvalidValue().getCaughtByAny()) {
-                        faultTypesCaught++;
-                    }
-                    totalTestExecutions += fieldResults.getInvalidValue().getResults().size();
-                    successfulTestExecutions += (int) fieldResults.getInvalidValue().getResults().stream()
-                            .mapToInt(result -> result.getCaught() ? 1 : 0).sum();
-                }
+    private List<TestLevelSimulationResults> caughtResults(int mutant, ResultJournal.JournalReader reader) throws IOException {
+        List<TestLevelSimulationResults> caught = new ArrayList<>(store.unjournaledCaught(mutant));
+        if (reader != null) {
+            for (long offset : store.caughtOffsets(mutant)) {
+                caught.add(reader.read(offset).toResult());
             }
         }
-        
+        return caught;
+    }
+
+    private SubmitSimulationResultsRequest.SimulationSummary calculateSummary(ResultSummary.Counts contract) {
+        int totalFaultTypes = contract.getMutants();
+        int totalTestExecutions = contract.getExecutions();
+
         SubmitSimulationResultsRequest.SimulationSummary summary = new SubmitSimulationResultsRequest.SimulationSummary();
         summary.setTotalFaultTypes(totalFaultTypes);
-        summary.setFaultTypesCaught(faultTypesCaught);
-        summary.setFaultTypesMissed(totalFaultTypes - faultTypesCaught);
-        summary.setFaultCoverageScore(totalFaultTypes > 0 ? (double) faultTypesCaught / totalFaultTypes : 0.0);
+        summary.setFaultTypesCaught(contract.getCaughtMutants());
+        summary.setFaultTypesMissed(contract.getEscapedMutants());
+        summary.setFaultCoverageScore(totalFaultTypes > 0 ? (double) contract.getCaughtMutants() / totalFaultTypes : 0.0);
         summary.setTotalTestExecutions(totalTestExecutions);
-        summary.setTestExecutionSuccessRate(totalTestExecutions > 0 ? (double) successfulTestExecutions / totalTestExecutions : 0.0);
-        
+        summary.setTestExecutionSuccessRate(totalTestExecutions > 0 ? (double) contract.getCaughtExecutions() / totalTestExecutions : 0.0);
+
         return summary;
     }
-    
+
     private String extractTestSuiteName() {
-        for (EndpointFaultResults endpointData : report.values()) {
-            // Check contract faults
-            for (Map<String, FaultSimulationResult> fieldData : endpointData.getContractFaults().values()) {
-                for (FaultSimulationResult faultResult : fieldData.values()) {
-                    if (!faultResult.isEmpty() && !faultResult.getTestedBy().isEmpty()) {
-                        String fullTestName = faultResult.getTestedBy().get(0);
-                        // Extract class name from method name (e.g., "testCreatePayment" -> "PaymentTest")
-                        return fullTestName.replaceAll("test.*", "") + "Test";
-                    }
-                }
-            }
-            // Check invariant faults
-            for (FaultSimulationResult faultResult : endpointData.getInvariantFaults().values()) {
-                if (!faultResult.isEmpty() && !faultResult.getTestedBy().isEmpty()) {
-                    String fullTestName = faultResult.getTestedBy().get(0);
-                    return fullTestName.replaceAll("test.*", "") + "Test";
-                }
-            }
+        // Test ids are assigned in order of first appearance, so id 0 is the first test that ran a mutant
+        if (store.testCount() > 0) {
+            String fullTestName = store.testName(0);
+            // Extract class name from method name (e.g., "testCreatePayment" -> "PaymentTest")
+            return fullTestName.replaceAll("test.*", "") + "Test";
         }
         return "UnknownTestSuite";
     }
@@ -2,14 +2,21 @@ package metatest.simulation;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents the aggregated result of simulating a specific fault on a specific field.
  * Contains a flag indicating if ANY test caught the fault, plus detailed results from all tests.
+ * Results may be added concurrently when Jupiter runs tests in parallel.
  */
 @Data
 public class FaultSimulationResult {
@@ -18,7 +25,7 @@ public class FaultSimulationResult {
      * True if at least one test caught this fault, false if all tests missed it.
      */
     @JsonProperty("caught_by_any_test")
-    private boolean caughtByAnyTest;
+    private volatile boolean caughtByAnyTest;
 
     /**
      * List of all test names that were used to test this mutation.
@@ -32,6 +39,14 @@ public class FaultSimulationResult {
     @JsonProperty("caught_by")
     private List<TestLevelSimulationResults> caughtBy;
 
+    /**
+     * The names in testedBy, so adding a result does not scan the list.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Set<String> testedByIndex = new HashSet<>();
+
     public FaultSimulationResult() {
         this.caughtByAnyTest = false;
         this.testedBy = new ArrayList<>();
@@ -44,13 +59,13 @@ public class FaultSimulationResult {
      *
      * @param testResult The result from a single test execution
      */
-    public void addTestResult(TestLevelSimulationResults testResult) {
+    public synchronized void addTestResult(TestLevelSimulationResults testResult) {
         if (testResult == null) {
             return;
         }
 
         // Always add to tested_by list
-        if (!testedBy.contains(testResult.getTest())) {
+        if (testedByIndex.add(testResult.getTest())) {
             testedBy.add(testResult.getTest());
         }
 
@@ -61,12 +76,18 @@ public class FaultSimulationResult {
         }
     }
 
+    public synchronized void setTestedBy(List<String> testedBy) {
+        this.testedBy = testedBy;
+        testedByIndex.clear();
+        testedByIndex.addAll(testedBy);
+    }
+
     /**
      * Returns true if no tests have been added yet.
      * This is a utility method not included in JSON serialization.
      */
     @JsonIgnore
-    public boolean isEmpty() {
+    public synchronized boolean isEmpty() {
         return testedBy.isEmpty();
     }
 
@@ -75,7 +96,7 @@ public class FaultSimulationResult {
      * This is a utility method not included in JSON serialization.
      */
     @JsonIgnore
-    public int size() {
+    public synchronized int size() {
         return testedBy.size();
     }
 
@@ -0,0 +1,349 @@
+package metatest.simulation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import metatest.core.config.SystemSettings;
+import metatest.core.io.ProcessFiles;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Append-only JSONL journal of mutant results.
+ *
+ * Every recorded result is written as one line as soon as it is known, so the full results
+ * (including error messages) never need to be held in memory and survive a crashed run.
+ * FaultSimulationReport keeps only the journal offsets of caught results and reads them back
+ * when the final report is written.
+ *
+ * The journal doubles as the checkpoint for resumed runs: it is fsynced at most every -Dmetatest.checkpoint.interval
+ * (or METATEST_CHECKPOINT_INTERVAL) seconds (default 10), and replay() reads the journals of every fork back
+ * after a restart, without modifying them.
+ *
+ * Path: -Dmetatest.journal.path, METATEST_JOURNAL_PATH, or fault_simulation_journal.jsonl, with the pid inserted
+ * before the extension (fault_simulation_journal-4242.jsonl): forked test JVMs each append to their own journal,
+ * and offsets always point into the file of the JVM that wrote them.
+ */
+public class ResultJournal {
+    private static final Logger LOG = Logs.get(ResultJournal.class);
+
+    private static final String DEFAULT_JOURNAL_PATH = "fault_simulation_journal.jsonl";
+    private static final byte NEWLINE = '\n';
+    private static final long CHECKPOINT_INTERVAL_NANOS =
+            TimeUnit.SECONDS.toNanos(SystemSettings.getLong("metatest.checkpoint.interval", "METATEST_CHECKPOINT_INTERVAL", 10));
+
+    private final File file;
+    private final ObjectMapper objectMapper;
+    private FileOutputStream out;
+    private long position;
+    private long lastSync = System.nanoTime();
+
+    public ResultJournal(File file) {
+        this.file = file;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * Returns the configured journal path, which names the per-process journals rather than a file of its own.
+     */
+    public static File resolveJournalPath() {
+        return new File(SystemSettings.getString("metatest.journal.path", "METATEST_JOURNAL_PATH", DEFAULT_JOURNAL_PATH));
+    }
+
+    /**
+     * Returns the journal of the given process: fault_simulation_journal.jsonl -> fault_simulation_journal-4242.jsonl.
+     */
+    public static File journalFileFor(File journalPath, long pid) {
+        return ProcessFiles.perProcess(journalPath, String.valueOf(pid));
+    }
+
+    /**
+     * Lists the journals of every process written next to the configured path, sorted by name.
+     */
+    public static List<File> findJournals(File journalPath) {
+        return ProcessFiles.copiesOf(journalPath);
+    }
+
+    /**
+     * Deletes the journals left behind by earlier runs, so they are not replayed when a later run is resumed.
+     * A journal is stale when its process has exited and it was last written before the process that launched
+     * this JVM started: earlier forks of the same build were launched by the same build tool process, so their
+     * journals are kept.
+     */
+    public static void deleteStaleJournals(File journalPath) {
+        ProcessHandle current = ProcessHandle.current();
+        long runStart = current.parent()
+                .flatMap(parent -> parent.info().startInstant())
+                .map(Instant::toEpochMilli)
+                .orElse(ManagementFactory.getRuntimeMXBean().getStartTime());
+        for (File journal : findJournals(journalPath)) {
+            long pid;
+            try {
+                pid = Long.parseLong(ProcessFiles.suffixOf(journalPath, journal));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            // This JVM's own path may hold the journal of an exited process that had the same pid
+            boolean running = pid != current.pid() && ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+            if (running || journal.lastModified() >= runStart) {
+                continue;
+            }
+            if (journal.delete()) {
+                LOG.debug("[MetaTest] Deleted result journal of an earlier run: {}", journal);
+            } else {
+                LOG.warn("[MetaTest] Failed to delete result journal of an earlier run: {}", journal);
+            }
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Appends an entry and returns its byte offset in the journal.
+     * The file is created on the first append.
+     */
+    public synchronized long append(Entry entry) throws IOException {
+        if (out == null) {
+            open();
+        }
+        byte[] line = objectMapper.writeValueAsBytes(entry);
+        long offset = position;
+        // Single write per entry: the line reaches the OS immediately and is never half-buffered
+        byte[] record = new byte[line.length + 1];
+        System.arraycopy(line, 0, record, 0, line.length);
+        record[line.length] = NEWLINE;
+        out.write(record);
+        position += record.length;
+
+        if (System.nanoTime() - lastSync >= CHECKPOINT_INTERVAL_NANOS) {
+            checkpoint();
+        }
+        return offset;
+    }
+
+    /**
+     * Forces written entries to disk, so they survive a host crash and not only a JVM crash.
+     */
+    public synchronized void checkpoint() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.getFD().sync();
+        } catch (IOException e) {
+            LOG.warn("[MetaTest] Failed to sync result journal: " + e.getMessage());
+        }
+        lastSync = System.nanoTime();
+    }
+
+    private void open() throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        // A journal already at this path belongs to an exited process that had the same pid,
+        // and may still be replayed, so appends continue after its last complete entry
+        position = completeLength();
+        if (position > 0) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(position);
+            }
+        }
+        out = new FileOutputStream(file, position > 0);
+    }
+
+    /**
+     * Returns the length of the journal up to and including its last newline, dropping a partially written last line.
+     */
+    private long completeLength() throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] buffer = new byte[8192];
+            long end = raf.length();
+            while (end > 0) {
+                int read = (int) Math.min(buffer.length, end);
+                raf.seek(end - read);
+                raf.readFully(buffer, 0, read);
+                for (int i = read - 1; i >= 0; i--) {
+                    if (buffer[i] == NEWLINE) {
+                        return end - read + i + 1;
+                    }
+                }
+                end -= read;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Reads back all complete entries of an existing journal, with their offsets. The file is left unchanged.
+     *
+     * @return The number of entries replayed
+     */
+    public synchronized int replay(ObjLongConsumer<Entry> consumer) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+
+        int entries = 0;
+        long offset = 0;
+        long lineStart = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != NEWLINE) {
+                    line.write(b);
+                    continue;
+                }
+                try {
+                    consumer.accept(objectMapper.readValue(line.toByteArray(), Entry.class), lineStart);
+                    entries++;
+                } catch (IOException e) {
+                    LOG.warn("[MetaTest] Skipping unreadable journal entry at offset " + lineStart + ": " + e.getMessage());
+                }
+                line.reset();
+                lineStart = offset;
+            }
+        }
+        return entries;
+    }
+
+    public synchronized void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                LOG.warn("[MetaTest] Failed to close result journal: " + e.getMessage());
+            }
+            out = null;
+        }
+    }
+
+    /**
+     * Opens a random-access reader over the journal, used to read back entries by offset.
+     */
+    public JournalReader openReader() throws IOException {
+        return new JournalReader(new RandomAccessFile(file, "r"), objectMapper);
+    }
+
+    public static class JournalReader implements Closeable {
+        private final RandomAccessFile raf;
+        private final ObjectMapper objectMapper;
+        private final byte[] buffer = new byte[8192];
+
+        private JournalReader(RandomAccessFile raf, ObjectMapper objectMapper) {
+            this.raf = raf;
+            this.objectMapper = objectMapper;
+        }
+
+        public Entry read(long offset) throws IOException {
+            raf.seek(offset);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int read;
+            while ((read = raf.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == NEWLINE) {
+                        line.write(buffer, 0, i);
+                        return objectMapper.readValue(line.toByteArray(), Entry.class);
+                    }
+                }
+                line.write(buffer, 0, read);
+            }
+            return objectMapper.readValue(line.toByteArray(), Entry.class);
+        }
+
+        @Override
+        public void close() throws IOException {
+            raf.close();
+        }
+    }
+
+    /**
+     * One journal line: a single test's result against a single mutant.
+     */
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Entry {
+        public static final String CONTRACT = "contract";
+        public static final String INVARIANT = "invariant";
+
+        @JsonProperty("endpoint")
+        private String endpoint;
+
+        @JsonProperty("kind")
+        private String kind;
+
+        @JsonProperty("fault_type")
+        private String faultType;
+
+        @JsonProperty("field")
+        private String field;
+
+        @JsonProperty("invariant")
+        private String invariant;
+
+        @JsonProperty("mutation_field")
+        private String mutationField;
+
+        @JsonProperty("test")
+        private String test;
+
+        @JsonProperty("caught")
+        private boolean caught;
+
+        @JsonProperty("error")
+        private String error;
+
+        public static Entry contract(String endpoint, String faultType, String field, TestLevelSimulationResults result) {
+            Entry entry = of(endpoint, CONTRACT, result);
+            entry.setFaultType(faultType);
+            entry.setField(field);
+            return entry;
+        }
+
+        public static Entry invariant(String endpoint, String invariantName, String mutationField,
+                                      TestLevelSimulationResults result) {
+            Entry entry = of(endpoint, INVARIANT, result);
+            entry.setInvariant(invariantName);
+            entry.setMutationField(mutationField);
+            return entry;
+        }
+
+        private static Entry of(String endpoint, String kind, TestLevelSimulationResults result) {
+            Entry entry = new Entry();
+            entry.setEndpoint(endpoint);
+            entry.setKind(kind);
+            entry.setTest(result.getTest());
+            entry.setCaught(result.isCaught());
+            entry.setError(result.getError());
+            return entry;
+        }
+
+        public TestLevelSimulationResults toResult() {
+            return TestLevelSimulationResults.of(test, caught, error);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package metatest.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded, columnar store behind FaultSimulationReport.
+ *
+ * Endpoint, fault type, invariant, field and test names are interned to int ids. Every mutant
+ * (a contract fault type on a field, or an invariant, of one endpoint) gets a dense mutant id,
+ * and its state lives in columns indexed by that id: a BitSet of the tests that ran it, a BitSet
+ * of the tests that caught it, and the journal offsets of its caught results.
+ *
+ * Totals per kind, endpoint, fault type and test are kept up to date as results are recorded,
+ * so summary() does not depend on the number of results.
+ *
+ * All methods are synchronized; a record costs far less than the test re-run that produced it.
+ */
+public class ResultStore {
+    private static final int ID_BITS = 21;
+    private static final int MAX_ID = (1 << ID_BITS) - 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Dictionary endpoints = new Dictionary();
+    private final Dictionary faultTypes = new Dictionary();
+    private final Dictionary invariants = new Dictionary();
+    private final Dictionary fields = new Dictionary();
+    private final Dictionary tests = new Dictionary();
+
+    private final Map<Long, Integer> mutantIds = new HashMap<>();
+    private int mutantCount;
+
+    // Columns indexed by mutant id
+    private long[] mutantKeys = new long[INITIAL_CAPACITY];
+    private BitSet[] testedBy = new BitSet[INITIAL_CAPACITY];
+    private BitSet[] caughtBy = new BitSet[INITIAL_CAPACITY];
+    private long[][] caughtOffsets = new long[INITIAL_CAPACITY][];
+    private int[] caughtOffsetCounts = new int[INITIAL_CAPACITY];
+
+    /** Mutants marked caught for stop_on_first_catch. */
+    private final BitSet markedCaught = new BitSet();
+
+    /** Caught results that could not be journaled, kept in full. */
+    private final Map<Integer, List<TestLevelSimulationResults>> unjournaledCaught = new HashMap<>();
+
+    // Running totals, indexed by dictionary id
+    private final ResultSummary.Counts contractTotals = new ResultSummary.Counts();
+    private final ResultSummary.Counts invariantTotals = new ResultSummary.Counts();
+    private final List<ResultSummary.Counts> endpointContractTotals = new ArrayList<>();
+    private final List<ResultSummary.Counts> endpointInvariantTotals = new ArrayList<>();
+    private final List<ResultSummary.Counts> faultTypeTotals = new ArrayList<>();
+    private final List<ResultSummary.Counts> testTotals = new ArrayList<>();
+
+    // ==================== ids ====================
+
+    /**
+     * Returns the id of a contract mutant, creating it if needed.
+     */
+    public synchronized int contractMutant(String endpoint, String faultType, String field) {
+        return mutant(key(endpoints.intern(endpoint), false, faultTypes.intern(faultType), fields.intern(field) + 1));
+    }
+
+    /**
+     * Returns the id of an invariant mutant, creating it if needed.
+     */
+    public synchronized int invariantMutant(String endpoint, String invariantName) {
+        return mutant(key(endpoints.intern(endpoint), true, invariants.intern(invariantName), 0));
+    }
+
+    /**
+     * Returns the id of an existing contract mutant, or -1 if it has no results.
+     */
+    public synchronized int findContractMutant(String endpoint, String faultType, String field) {
+        int endpointId = endpoints.find(endpoint);
+        int faultTypeId = faultTypes.find(faultType);
+        int fieldId = fields.find(field);
+        if (endpointId < 0 || faultTypeId < 0 || fieldId < 0) {
+            return -1;
+        }
+        return mutantIds.getOrDefault(key(endpointId, false, faultTypeId, fieldId + 1), -1);
+    }
+
+    /**
+     * Returns the id of an existing invariant mutant, or -1 if it has no results.
+     */
+    public synchronized int findInvariantMutant(String endpoint, String invariantName) {
+        int endpointId = endpoints.find(endpoint);
+        int invariantId = invariants.find(invariantName);
+        if (endpointId < 0 || invariantId < 0) {
+            return -1;
+        }
+        return mutantIds.getOrDefault(key(endpointId, true, invariantId, 0), -1);
+    }
+
+    public synchronized int testId(String test) {
+        return tests.intern(test);
+    }
+
+    /**
+     * Returns the id of a test that has been seen, or -1.
+     */
+    public synchronized int findTestId(String test) {
+        return tests.find(test);
+    }
+
+    private static long key(int endpointId, boolean invariant, int faultId, int fieldId) {
+        if (endpointId > MAX_ID || faultId > MAX_ID || fieldId > MAX_ID) {
+            throw new IllegalStateException("Result store dictionary exceeds " + MAX_ID + " entries");
+        }
+        return ((long) endpointId << (2 * ID_BITS + 1))
+                | ((invariant ? 1L : 0L) << (2 * ID_BITS))
+                | ((long) faultId << ID_BITS)
+                | fieldId;
+    }
+
+    private int mutant(long key) {
+        Integer existing = mutantIds.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = mutantCount++;
+        if (id == mutantKeys.length) {
+            int capacity = id * 2;
+            mutantKeys = Arrays.copyOf(mutantKeys, capacity);
+            testedBy = Arrays.copyOf(testedBy, capacity);
+            caughtBy = Arrays.copyOf(caughtBy, capacity);
+            caughtOffsets = Arrays.copyOf(caughtOffsets, capacity);
+            caughtOffsetCounts = Arrays.copyOf(caughtOffsetCounts, capacity);
+        }
+        mutantKeys[id] = key;
+        testedBy[id] = new BitSet();
+        caughtBy[id] = new BitSet();
+        mutantIds.put(key, id);
+        tally(id, 1, 0, 0, 0);
+        return id;
+    }
+
+    /**
+     * Adds to the totals of a mutant's kind, endpoint and, for contract mutants, fault type.
+     */
+    private void tally(int mutant, int mutants, int caughtMutants, int executions, int caughtExecutions) {
+        long key = mutantKeys[mutant];
+        int endpointId = (int) (key >>> (2 * ID_BITS + 1));
+        if (((key >>> (2 * ID_BITS)) & 1L) == 1L) {
+            invariantTotals.add(mutants, caughtMutants, executions, caughtExecutions);
+            totals(endpointInvariantTotals, endpointId).add(mutants, caughtMutants, executions, caughtExecutions);
+        } else {
+            contractTotals.add(mutants, caughtMutants, executions, caughtExecutions);
+            totals(endpointContractTotals, endpointId).add(mutants, caughtMutants, executions, caughtExecutions);
+            totals(faultTypeTotals, (int) ((key >>> ID_BITS) & MAX_ID)).add(mutants, caughtMutants, executions, caughtExecutions);
+        }
+    }
+
+    private static ResultSummary.Counts totals(List<ResultSummary.Counts> totals, int id) {
+        while (totals.size() <= id) {
+            totals.add(new ResultSummary.Counts());
+        }
+        return totals.get(id);
+    }
+
+    // ==================== recording ====================
+
+    /**
+     * Records one test's result against a mutant.
+     *
+     * @param journalOffset Offset of the full result in the journal, or -1 to keep the result in memory
+     */
+    public synchronized void record(int mutant, TestLevelSimulationResults result, long journalOffset) {
+        int test = tests.intern(result.getTest());
+        ResultSummary.Counts perTest = totals(testTotals, test);
+        if (!testedBy[mutant].get(test)) {
+            testedBy[mutant].set(test);
+            tally(mutant, 0, 0, 1, 0);
+            perTest.add(1, 0, 1, 0);
+        }
+        if (!result.isCaught()) {
+            return;
+        }
+        if (!caughtBy[mutant].get(test)) {
+            tally(mutant, 0, caughtBy[mutant].isEmpty() ? 1 : 0, 0, 1);
+            perTest.add(0, 1, 0, 1);
+            caughtBy[mutant].set(test);
+        }
+        if (journalOffset < 0) {
+            unjournaledCaught.computeIfAbsent(mutant, k -> new ArrayList<>()).add(result);
+            return;
+        }
+        long[] offsets = caughtOffsets[mutant];
+        int count = caughtOffsetCounts[mutant];
+        if (offsets == null) {
+            offsets = new long[2];
+        } else if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count] = journalOffset;
+        caughtOffsets[mutant] = offsets;
+        caughtOffsetCounts[mutant] = count + 1;
+    }
+
+    public synchronized void markCaught(int mutant) {
+        markedCaught.set(mutant);
+    }
+
+    public synchronized boolean isMarkedCaught(int mutant) {
+        return mutant >= 0 && markedCaught.get(mutant);
+    }
+
+    public synchronized void clearMarkedCaught() {
+        markedCaught.clear();
+    }
+
+    // ==================== reading ====================
+
+    public synchronized int size() {
+        return mutantCount;
+    }
+
+    /**
+     * Returns a snapshot of the running totals. Costs one entry per endpoint, fault type and test.
+     */
+    public synchronized ResultSummary summary() {
+        ResultSummary summary = new ResultSummary();
+        summary.getContract().add(contractTotals);
+        summary.getInvariant().add(invariantTotals);
+        for (int id = 0; id < endpoints.size(); id++) {
+            ResultSummary.EndpointCounts counts = new ResultSummary.EndpointCounts();
+            counts.getContract().add(totals(endpointContractTotals, id));
+            counts.getInvariant().add(totals(endpointInvariantTotals, id));
+            summary.getEndpoints().put(endpoints.value(id), counts);
+        }
+        for (int id = 0; id < faultTypes.size(); id++) {
+            ResultSummary.Counts counts = new ResultSummary.Counts();
+            counts.add(totals(faultTypeTotals, id));
+            summary.getFaultTypes().put(faultTypes.value(id), counts);
+        }
+        for (int id = 0; id < tests.size(); id++) {
+            ResultSummary.Counts perTest = totals(testTotals, id);
+            if (perTest.getExecutions() > 0) {
+                ResultSummary.Counts counts = new ResultSummary.Counts();
+                counts.add(perTest);
+                summary.getTests().put(tests.value(id), counts);
+            }
+        }
+        return summary;
+    }
+
+    public synchronized int testCount() {
+        return tests.size();
+    }
+
+    public synchronized String testName(int testId) {
+        return tests.value(testId);
+    }
+
+    /**
+     * Returns all mutant ids ordered by endpoint, kind (contract before invariant), fault type
+     * or invariant, and field, each in order of first appearance.
+     */
+    public synchronized int[] sortedMutants() {
+        Integer[] order = new Integer[mutantCount];
+        for (int i = 0; i < mutantCount; i++) {
+            order[i] = i;
+        }
+        // Endpoint ids of 2^20 and up reach the sign bit of the key, so compare unsigned
+        Arrays.sort(order, (a, b) -> Long.compareUnsigned(mutantKeys[a], mutantKeys[b]));
+        int[] sorted = new int[mutantCount];
+        for (int i = 0; i < mutantCount; i++) {
+            sorted[i] = order[i];
+        }
+        return sorted;
+    }
+
+    public synchronized String endpoint(int mutant) {
+        return endpoints.value((int) (mutantKeys[mutant] >>> (2 * ID_BITS + 1)));
+    }
+
+    public synchronized boolean isInvariant(int mutant) {
+        return ((mutantKeys[mutant] >>> (2 * ID_BITS)) & 1L) == 1L;
+    }
+
+    /**
+     * Returns the contract fault type, or the invariant name for invariant mutants.
+     */
+    public synchronized String fault(int mutant) {
+        int faultId = (int) ((mutantKeys[mutant] >>> ID_BITS) & MAX_ID);
+        return isInvariant(mutant) ? invariants.value(faultId) : faultTypes.value(faultId);
+    }
+
+    /**
+     * Returns the field of a contract mutant, or null for invariant mutants.
+     */
+    public synchronized String field(int mutant) {
+        int fieldId = (int) (mutantKeys[mutant] & MAX_ID);
+        return fieldId == 0 ? null : fields.value(fieldId - 1);
+    }
+
+    public synchronized boolean isCaughtByAnyTest(int mutant) {
+        return !caughtBy[mutant].isEmpty();
+    }
+
+    /**
+     * Returns the names of the tests that ran a mutant, in order of first appearance in the run.
+     */
+    public synchronized List<String> testedBy(int mutant) {
+        BitSet tested = testedBy[mutant];
+        List<String> names = new ArrayList<>(tested.cardinality());
+        for (int test = tested.nextSetBit(0); test >= 0; test = tested.nextSetBit(test + 1)) {
+            names.add(tests.value(test));
+        }
+        return names;
+    }
+
+    /**
+     * Returns a copy of the ids of the tests that ran a mutant.
+     */
+    public synchronized BitSet testedBySet(int mutant) {
+        return (BitSet) testedBy[mutant].clone();
+    }
+
+    /**
+     * Returns a copy of the ids of the tests that caught a mutant.
+     */
+    public synchronized BitSet caughtBySet(int mutant) {
+        return (BitSet) caughtBy[mutant].clone();
+    }
+
+    public synchronized long[] caughtOffsets(int mutant) {
+        long[] offsets = caughtOffsets[mutant];
+        return offsets == null ? new long[0] : Arrays.copyOf(offsets, caughtOffsetCounts[mutant]);
+    }
+
+    public synchronized List<TestLevelSimulationResults> unjournaledCaught(int mutant) {
+        List<TestLevelSimulationResults> results = unjournaledCaught.get(mutant);
+        return results == null ? Collections.emptyList() : new ArrayList<>(results);
+    }
+
+    /**
+     * Interns strings to dense int ids. Guarded by the enclosing store's lock.
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int intern(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        int find(String value) {
+            return ids.getOrDefault(value, -1);
+        }
+
+        String value(int id) {
+            return values.get(id);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
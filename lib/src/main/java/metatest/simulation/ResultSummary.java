@@ -0,0 +1,93 @@
+package metatest.simulation;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Totals of a simulation run: mutants run and caught, and test executions run and caught,
+ * overall, per endpoint, per contract fault type and per test.
+ *
+ * ResultStore keeps these counts as results are recorded, so a summary costs the same however
+ * many results the run produced. Maps are in order of first appearance in the run.
+ */
+@Data
+public class ResultSummary {
+
+    @JsonProperty("contract")
+    private Counts contract = new Counts();
+
+    @JsonProperty("invariant")
+    private Counts invariant = new Counts();
+
+    @JsonProperty("endpoints")
+    private Map<String, EndpointCounts> endpoints = new LinkedHashMap<>();
+
+    /**
+     * Contract mutants by fault type (null_field, missing_field, ...).
+     */
+    @JsonProperty("fault_types")
+    private Map<String, Counts> faultTypes = new LinkedHashMap<>();
+
+    /**
+     * Mutants each test ran and caught; for a test, mutants and executions are the same.
+     */
+    @JsonProperty("tests")
+    private Map<String, Counts> tests = new LinkedHashMap<>();
+
+    /**
+     * Contract and invariant mutants together.
+     */
+    @JsonIgnore
+    public Counts getTotal() {
+        Counts total = new Counts();
+        total.add(contract);
+        total.add(invariant);
+        return total;
+    }
+
+    @Data
+    public static class Counts {
+        @JsonProperty("mutants")
+        private int mutants;
+
+        @JsonProperty("caught_mutants")
+        private int caughtMutants;
+
+        /** Distinct (test, mutant) pairs that were run. */
+        @JsonProperty("executions")
+        private int executions;
+
+        /** Distinct (test, mutant) pairs where the test caught the mutant. */
+        @JsonProperty("caught_executions")
+        private int caughtExecutions;
+
+        @JsonIgnore
+        public int getEscapedMutants() {
+            return mutants - caughtMutants;
+        }
+
+        void add(Counts other) {
+            add(other.mutants, other.caughtMutants, other.executions, other.caughtExecutions);
+        }
+
+        void add(int mutants, int caughtMutants, int executions, int caughtExecutions) {
+            this.mutants += mutants;
+            this.caughtMutants += caughtMutants;
+            this.executions += executions;
+            this.caughtExecutions += caughtExecutions;
+        }
+    }
+
+    @Data
+    public static class EndpointCounts {
+        @JsonProperty("contract")
+        private Counts contract = new Counts();
+
+        @JsonProperty("invariant")
+        private Counts invariant = new Counts();
+    }
+}
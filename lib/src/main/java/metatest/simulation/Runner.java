@@ -1,9 +1,11 @@
 package metatest.simulation;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import metatest.core.config.ExclusionMatcher;
 import metatest.core.config.FaultCollection;
 import metatest.core.config.SimulatorConfig;
 import metatest.core.interceptor.TestContext;
+import metatest.core.log.Logs;
 import metatest.http.Request;
 import metatest.http.Response;
 import metatest.injection.FaultStrategy;
@@ -12,10 +14,13 @@ import metatest.injection.EmptyStringStrategy;
 import metatest.injection.MissingFieldStrategy;
 import metatest.injection.NullFieldStrategy;
 import metatest.invariant.InvariantSimulator;
+import metatest.metrics.FlightEvents;
+import metatest.metrics.SimulationMetrics;
 import metatest.simulation.FaultSimulationReport;
 import metatest.simulation.TestLevelSimulationResults;
 import metatest.core.normalizer.EndpointPatternNormalizer;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.net.URI;
@@ -28,10 +33,13 @@ import java.util.Map;
 
 public final class Runner {
 
+    private static final Logger LOG = Logs.get(Runner.class);
     private static final Map<FaultCollection, FaultStrategy> FAULT_STRATEGIES;
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final FaultSimulationReport REPORT = FaultSimulationReport.getInstance();
     private static final List<FaultCollection> ENABLED_FAULTS = SimulatorConfig.getEnabledFaults();
+    private static final SimulationPlan PLAN = SimulationPlan.getInstance();
+    private static final SimulationMetrics METRICS = SimulationMetrics.getInstance();
 
     static {
         Map<FaultCollection, FaultStrategy> strategies = new HashMap<>();
@@ -45,20 +53,36 @@ public final class Runner {
     private Runner() {}
 
     public static void executeTestWithSimulatedFaults(ProceedingJoinPoint joinPoint, TestContext context) throws Throwable {
-        String testName = joinPoint.getSignature().getName();
+        executeTestWithSimulatedFaults(joinPoint.getSignature().getName(), joinPoint::proceed, context);
+    }
 
+    /**
+     * Runs fault simulation for the captured requests of a test, re-executing it through the given invocation.
+     *
+     * @param testName       The test method name
+     * @param testInvocation Re-runs the test method
+     * @param context        The test context holding the baseline requests and responses
+     */
+    public static void executeTestWithSimulatedFaults(String testName, TestInvocation testInvocation, TestContext context) throws Throwable {
         List<TestContext.RequestResponsePair> capturedRequests = context.getCapturedRequests();
         if (capturedRequests == null || capturedRequests.isEmpty()) {
-            System.err.println("[METATEST-WARN] No requests were captured. Skipping fault simulation.");
+            LOG.warn("[Metatest-Sim] No requests were captured for test '{}'. Skipping fault simulation.", testName);
+            return;
+        }
+
+        if (SimulationPlan.isPlanOnly()) {
+            planSimulatedFaults(testName, context);
             return;
         }
 
-        System.out.printf("%n[Metatest-Sim] === Starting simulations for test: '%s' ===%n", testName);
-        System.out.printf("[Metatest-Sim] Captured %d HTTP request(s)%n", capturedRequests.size());
+        LOG.debug("[Metatest-Sim] === Starting simulations for test: '{}' ===", testName);
+        LOG.debug("[Metatest-Sim] Captured {} HTTP request(s)", capturedRequests.size());
 
         // Apply multiple endpoints strategy filter
         List<TestContext.RequestResponsePair> requestsToSimulate = filterRequestsByStrategy(capturedRequests);
-        System.out.printf("[Metatest-Sim] Simulating %d request(s) after applying strategy%n", requestsToSimulate.size());
+        LOG.debug("[Metatest-Sim] Simulating {} request(s) after applying strategy", requestsToSimulate.size());
+        int simulated = 0;
+        int escaped = 0;
 
         // Simulate faults for filtered requests
         for (int i = 0; i < requestsToSimulate.size(); i++) {
@@ -69,7 +93,7 @@ public final class Runner {
             Response originalResponse = pair.getResponse();
 
             if (originalResponse == null || originalRequest == null) {
-                System.err.println("[METATEST-WARN] Request/response pair #" + requestIndex + " is incomplete. Skipping.");
+                LOG.warn("[Metatest-Sim] Request/response pair #{} is incomplete. Skipping.", requestIndex);
                 continue;
             }
 
@@ -77,7 +101,7 @@ public final class Runner {
             String endpointPattern = EndpointPatternNormalizer.normalize(endpointPath);
             String requestBody = originalRequest.getBody();
 
-            System.out.printf("%n[Metatest-Sim] --- Request #%d: '%s' (pattern: '%s') ---%n",
+            LOG.debug("[Metatest-Sim] --- Request #{}: '{}' (pattern: '{}') ---",
                     requestIndex, endpointPath, endpointPattern);
 
             // Check if we should simulate this response based on status code and content
@@ -86,11 +110,11 @@ public final class Runner {
             String responseBody = originalResponse.getBody();
 
             if (!SimulatorConfig.shouldSimulateResponse(statusCode, responseMap, responseBody)) {
-                System.out.printf("[Metatest-Sim] Skipping simulations for request #%d (status: %d)%n", requestIndex, statusCode);
+                LOG.debug("[Metatest-Sim] Skipping simulations for request #{} (status: {})", requestIndex, statusCode);
                 continue;
             }
 
-            System.out.printf("[Metatest-Sim] Response status: %d (simulation will proceed)%n", statusCode);
+            LOG.debug("[Metatest-Sim] Response status: {} (simulation will proceed)", statusCode);
 
             // Set which request we're currently simulating
             context.setCurrentSimulationIndex(requestIndex);
@@ -99,50 +123,135 @@ public final class Runner {
             boolean stopOnFirstCatch = SimulatorConfig.isStopOnFirstCatchEnabled();
             for (String field : originalResponse.getResponseAsMap().keySet()) {
                 for (FaultCollection fault : ENABLED_FAULTS) {
+                    // Skip if an interrupted run being resumed already completed this mutant
+                    if (REPORT.consumeCompletedContractFault(testName, endpointPattern, fault.name(), field)) {
+                        LOG.debug("  -> Skipping fault '{}' on field '{}' (completed before resume)", fault, field);
+                        continue;
+                    }
+
                     // Skip if stop_on_first_catch is enabled and fault was already caught
                     if (stopOnFirstCatch && REPORT.isContractFaultCaught(endpointPattern, fault.name(), field)) {
-                        System.out.printf("  -> Skipping fault '%s' on field '%s' (already caught by another test)%n", fault, field);
+                        LOG.debug("  -> Skipping fault '{}' on field '{}' (already caught by another test)", fault, field);
                         continue;
                     }
 
                     setFieldFault(context, field, fault, originalResponse, endpointPattern);
 
-                    System.out.printf("  -> Rerunning test '%s' with fault: %s on field: '%s'%n", testName, fault, field);
+                    LOG.debug("  -> Rerunning test '{}' with fault: {} on field: '{}'", testName, fault, field);
                     TestLevelSimulationResults testLevelResults = new TestLevelSimulationResults();
                     testLevelResults.setTest(testName);
 
+                    long rerunStart = System.nanoTime();
+                    FlightEvents.MutantRerun rerunEvent = FlightEvents.MutantRerun.start();
                     try {
                         context.resetRequestCounter(); // Reset counter before each test re-run
-                        joinPoint.proceed(); // Re-run the test method
+                        testInvocation.proceed(); // Re-run the test method
                         testLevelResults.setCaught(false);
-                        System.err.printf("  [FAULT NOT DETECTED] Test '%s' passed for fault '%s' on field '%s'%n", testName, fault, field);
+                        escaped++;
+                        LOG.debug("  [FAULT NOT DETECTED] Test '{}' passed for fault '{}' on field '{}'", testName, fault, field);
                     } catch (Throwable t) {
                         testLevelResults.setCaught(true);
                         testLevelResults.setError(t.getMessage());
-                        System.out.printf("  [FAULT DETECTED] Test '%s' failed as expected for fault '%s' on field '%s'%n", testName, fault, field);
+                        LOG.debug("  [FAULT DETECTED] Test '{}' failed as expected for fault '{}' on field '{}'", testName, fault, field);
 
                         // Mark as caught if stop_on_first_catch is enabled
                         if (stopOnFirstCatch) {
                             REPORT.markContractFaultCaught(endpointPattern, fault.name(), field);
                         }
                     } finally {
+                        METRICS.recordRerun(testName, endpointPattern, System.nanoTime() - rerunStart);
+                        rerunEvent.finish(testName, endpointPattern, "contract", fault.name(), field, testLevelResults.isCaught());
                         context.clearSimulation();
                     }
 
                     REPORT.recordResult(endpointPattern, field, fault.name(), testLevelResults);
+                    simulated++;
                 }
             }
 
             // === Invariant Violations (business rule mutations) ===
             String httpMethod = originalRequest.getMethod();
-            InvariantSimulator.simulateInvariantViolations(
-                    joinPoint, context, testName, endpointPattern, httpMethod,
-                    originalResponse, requestIndex);
+            for (TestLevelSimulationResults result : InvariantSimulator.simulateInvariantViolations(
+                    testInvocation, context, testName, endpointPattern, httpMethod,
+                    originalResponse, requestIndex)) {
+                simulated++;
+                if (!result.isCaught()) {
+                    escaped++;
+                }
+            }
         }
 
         // Reset simulation index after all requests are simulated
         context.setCurrentSimulationIndex(-1);
-        System.out.printf("[Metatest-Sim] === Completed all simulations for test: '%s' ===%n%n", testName);
+        LOG.info("[Metatest-Sim] Test '{}': {} request(s) captured, {} fault(s) simulated, {} not detected",
+                testName, capturedRequests.size(), simulated, escaped);
+    }
+
+    /**
+     * Enumerates the mutants a simulation run would execute for this test, without re-running it.
+     * Mirrors the filtering in executeTestWithSimulatedFaults; results go to the SimulationPlan.
+     */
+    private static void planSimulatedFaults(String testName, TestContext context) {
+        planSimulatedFaults(PLAN, testName, context, SimulatorConfig.getMultipleEndpointsStrategy(),
+                ENABLED_FAULTS, SimulatorConfig.isStopOnFirstCatchEnabled());
+    }
+
+    /**
+     * Plans the test into the given plan with explicit strategy, faults and stop_on_first_catch setting.
+     */
+    static void planSimulatedFaults(SimulationPlan plan, String testName, TestContext context,
+                                    SimulatorConfig.MultipleEndpointsStrategy strategy,
+                                    List<FaultCollection> faults, boolean stopOnFirstCatch) {
+        List<TestContext.RequestResponsePair> capturedRequests = context.getCapturedRequests();
+        SimulationPlan.TestPlan testPlan = plan.addTest(testName, context.getBaselineDurationNanos());
+
+        for (TestContext.RequestResponsePair pair : filterRequestsByStrategy(capturedRequests, strategy)) {
+            Request originalRequest = pair.getRequest();
+            Response originalResponse = pair.getResponse();
+            if (originalResponse == null || originalRequest == null) {
+                continue;
+            }
+
+            String endpointPattern = EndpointPatternNormalizer.normalize(URI.create(originalRequest.getUrl()).getPath());
+            Map<String, Object> responseMap = originalResponse.getResponseAsMap();
+            if (!SimulatorConfig.shouldSimulateResponse(originalResponse.getStatusCode(), responseMap, originalResponse.getBody())) {
+                continue;
+            }
+
+            SimulationPlan.RequestPlan requestPlan = new SimulationPlan.RequestPlan();
+            requestPlan.setRequestIndex(capturedRequests.indexOf(pair));
+            requestPlan.setEndpoint(endpointPattern);
+            requestPlan.setMethod(originalRequest.getMethod());
+
+            int contractMutants = 0;
+            int requiredReruns = 0;
+            for (String field : responseMap.keySet()) {
+                for (FaultCollection fault : faults) {
+                    contractMutants++;
+                    if (!stopOnFirstCatch || plan.claimContractFault(endpointPattern, fault.name(), field)) {
+                        requiredReruns++;
+                    }
+                }
+            }
+
+            int invariantMutants = 0;
+            Map<String, Integer> invariantPlan = InvariantSimulator.planInvariantViolations(
+                    endpointPattern, originalRequest.getMethod(), originalResponse);
+            for (Map.Entry<String, Integer> entry : invariantPlan.entrySet()) {
+                invariantMutants += entry.getValue();
+                if (!stopOnFirstCatch || plan.claimInvariantFault(endpointPattern, entry.getKey())) {
+                    requiredReruns += entry.getValue();
+                }
+            }
+
+            requestPlan.setContractMutants(contractMutants);
+            requestPlan.setInvariantMutants(invariantMutants);
+            requestPlan.setRequiredReruns(requiredReruns);
+            testPlan.addRequest(requestPlan);
+        }
+
+        LOG.info("[Metatest-Plan] Test '{}': {} re-run(s) planned, baseline {} ms",
+                testName, testPlan.getRerunsMax(), String.format("%.1f", testPlan.getBaselineMs()));
     }
 
     /**
@@ -152,8 +261,11 @@ public final class Runner {
      * @return Filtered list of requests to simulate
      */
     private static List<TestContext.RequestResponsePair> filterRequestsByStrategy(List<TestContext.RequestResponsePair> capturedRequests) {
-        SimulatorConfig.MultipleEndpointsStrategy strategy = SimulatorConfig.getMultipleEndpointsStrategy();
+        return filterRequestsByStrategy(capturedRequests, SimulatorConfig.getMultipleEndpointsStrategy());
+    }
 
+    private static List<TestContext.RequestResponsePair> filterRequestsByStrategy(List<TestContext.RequestResponsePair> capturedRequests,
+                                                                                  SimulatorConfig.MultipleEndpointsStrategy strategy) {
         List<TestContext.RequestResponsePair> filtered = new ArrayList<>();
 
         // Step 1: Apply test_only_last_endpoint filter
@@ -167,21 +279,14 @@ public final class Runner {
 
         // Step 2: Apply exclude_endpoints filter (regex patterns)
         if (strategy.exclude_endpoints != null && !strategy.exclude_endpoints.isEmpty()) {
+            ExclusionMatcher exclusions = strategy.excludeMatcher();
             List<TestContext.RequestResponsePair> afterExclusion = new ArrayList<>();
 
             for (TestContext.RequestResponsePair pair : filtered) {
                 String endpointPath = URI.create(pair.getRequest().getUrl()).getPath();
                 String endpointPattern = EndpointPatternNormalizer.normalize(endpointPath);
 
-                boolean excluded = false;
-                for (String excludePattern : strategy.exclude_endpoints) {
-                    if (endpointPattern.matches(excludePattern)) {
-                        excluded = true;
-                        break;
-                    }
-                }
-
-                if (!excluded) {
+                if (!exclusions.matches(endpointPattern)) {
                     afterExclusion.add(pair);
                 }
             }
@@ -206,20 +311,29 @@ public final class Runner {
         }
 
         try {
+            FlightEvents.MutantGeneration generationEvent = FlightEvents.MutantGeneration.start();
             Map<String, Object> responseMap = new HashMap<>(originalResponse.getResponseAsMap());
             String originalBody = originalResponse.getBody();
             
+            // Timed from here so the stage covers the mutation only, not the copy of the captured map
+            long mutationStart = System.nanoTime();
             strategy.apply(responseMap, field);
+            long serializationStart = System.nanoTime();
             String faultyBody = OBJECT_MAPPER.writeValueAsString(responseMap);
+            METRICS.record(SimulationMetrics.Stage.MUTATION, serializationStart - mutationStart);
+            METRICS.record(SimulationMetrics.Stage.SERIALIZATION, System.nanoTime() - serializationStart);
+            generationEvent.finish(context.getTestName(), endpointPattern, "contract", fault.name(), field, faultyBody.length());
 
-            System.out.printf("    [FAULT-INJECTION] Original response body: %s%n", originalBody);
-            System.out.printf("    [FAULT-INJECTION] Simulated response body: %s%n", faultyBody);
+            LOG.trace("    [FAULT-INJECTION] Original response body: {}", Logs.body(originalBody));
+            LOG.trace("    [FAULT-INJECTION] Simulated response body: {}", Logs.body(faultyBody));
 
             Response simulatedResponse = originalResponse.withBody(faultyBody);
             context.setSimulatedResponse(simulatedResponse);
+            context.setSimulatedFaultType(fault.name());
+            context.setSimulatedField(field);
 
         } catch (IOException e) {
-            System.err.println("Failed to create simulated response body for fault " + fault + ". Error: " + e.getMessage());
+            LOG.error("[Metatest-Sim] Failed to create simulated response body for fault {}. Error: {}", fault, e.getMessage());
         }
     }
 }
\ No newline at end of file
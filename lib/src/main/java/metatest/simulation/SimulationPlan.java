@@ -0,0 +1,259 @@
+package metatest.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+import metatest.core.config.SimulatorConfig;
+import metatest.core.config.SystemSettings;
+import metatest.core.log.Logs;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects the simulation plan when running in plan-only mode (-Dmetatest.plan.only=true).
+ *
+ * The baseline of every test still runs, but no mutant is executed. Instead, Runner and
+ * InvariantSimulator enumerate the mutants they would execute and the plan estimates the
+ * re-run cost from each test's measured baseline duration.
+ *
+ * With stop_on_first_catch enabled, only the first occurrence of a mutant is certain to run;
+ * later occurrences run only if earlier tests missed it. The plan reports both bounds.
+ */
+public class SimulationPlan {
+    private static final Logger LOG = Logs.get(SimulationPlan.class);
+
+    private static final SimulationPlan INSTANCE = new SimulationPlan();
+    private static final String DEFAULT_PLAN_PATH = "simulation_plan.json";
+    private static final boolean PLAN_ONLY = resolvePlanOnly();
+
+    private final Queue<TestPlan> tests = new ConcurrentLinkedQueue<>();
+    private final Set<String> plannedFaults = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+
+    SimulationPlan() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public static SimulationPlan getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks if plan-only mode is enabled via -Dmetatest.plan.only=true or METATEST_PLAN_ONLY.
+     */
+    public static boolean isPlanOnly() {
+        return PLAN_ONLY;
+    }
+
+    private static boolean resolvePlanOnly() {
+        return SystemSettings.getBoolean("metatest.plan.only", "METATEST_PLAN_ONLY", false);
+    }
+
+    /**
+     * Registers a test with its measured baseline duration.
+     */
+    public TestPlan addTest(String testName, long baselineNanos) {
+        TestPlan testPlan = new TestPlan();
+        testPlan.setTest(testName);
+        testPlan.setBaselineMs(baselineNanos / 1_000_000.0);
+        tests.add(testPlan);
+        return testPlan;
+    }
+
+    /**
+     * Claims a contract fault for the lower-bound estimate.
+     *
+     * @return true if this is the first time the fault is planned, i.e. it runs even with stop_on_first_catch
+     */
+    public boolean claimContractFault(String endpoint, String faultType, String field) {
+        return plannedFaults.add(endpoint + "|contract|" + faultType + "|" + field);
+    }
+
+    /**
+     * Claims an invariant fault for the lower-bound estimate.
+     *
+     * @return true if this is the first time the invariant is planned
+     */
+    public boolean claimInvariantFault(String endpoint, String invariantName) {
+        return plannedFaults.add(endpoint + "|invariant|" + invariantName);
+    }
+
+    /**
+     * Builds the plan document with tests sorted by estimated cost (most expensive first).
+     */
+    public PlanDocument buildPlan() {
+        return buildPlan(SimulatorConfig.isStopOnFirstCatchEnabled());
+    }
+
+    PlanDocument buildPlan(boolean stopOnFirstCatch) {
+        PlanDocument plan = new PlanDocument();
+        plan.setStopOnFirstCatch(stopOnFirstCatch);
+
+        List<TestPlan> sortedTests = new ArrayList<>(tests);
+        sortedTests.sort(Comparator.comparingDouble(TestPlan::getEstimatedMsMax).reversed());
+        plan.setTests(sortedTests);
+
+        Summary summary = plan.getSummary();
+        for (TestPlan testPlan : sortedTests) {
+            summary.tests++;
+            summary.baselineMs += testPlan.getBaselineMs();
+            for (RequestPlan request : testPlan.getRequests()) {
+                summary.contractMutants += request.getContractMutants();
+                summary.invariantMutants += request.getInvariantMutants();
+            }
+            summary.rerunsMax += testPlan.getRerunsMax();
+            summary.rerunsMin += testPlan.getRerunsMin();
+            summary.estimatedMsMax += testPlan.getEstimatedMsMax();
+            summary.estimatedMsMin += testPlan.getEstimatedMsMin();
+        }
+        return plan;
+    }
+
+    public void writePlan() {
+        writePlan(new File(DEFAULT_PLAN_PATH), SimulatorConfig.isStopOnFirstCatchEnabled());
+    }
+
+    void writePlan(File planFile, boolean stopOnFirstCatch) {
+        try {
+            PlanDocument plan = buildPlan(stopOnFirstCatch);
+            objectMapper.writeValue(planFile, plan);
+
+            Summary summary = plan.getSummary();
+            LOG.info("[Metatest-Plan] ========================================");
+            LOG.info("[Metatest-Plan] Tests planned: {}", summary.tests);
+            LOG.info("[Metatest-Plan] Contract mutants: {}, invariant mutants: {}",
+                    summary.contractMutants, summary.invariantMutants);
+            LOG.info("[Metatest-Plan] Test re-runs: {} - {}", summary.rerunsMin, summary.rerunsMax);
+            LOG.info("[Metatest-Plan] Estimated simulation time: {}s - {}s (baseline {}s)",
+                    seconds(summary.estimatedMsMin), seconds(summary.estimatedMsMax), seconds(summary.baselineMs));
+            LOG.info("[Metatest-Plan] Plan saved to: {}", planFile.getAbsolutePath());
+            LOG.info("[Metatest-Plan] ========================================");
+        } catch (IOException e) {
+            LOG.error("Failed to save simulation plan: {}", e.getMessage());
+        }
+    }
+
+    private static String seconds(double millis) {
+        return String.format("%.1f", millis / 1000.0);
+    }
+
+    @Data
+    public static class PlanDocument {
+        @JsonProperty("generated_at")
+        private String generatedAt = Instant.now().toString();
+
+        @JsonProperty("stop_on_first_catch")
+        private boolean stopOnFirstCatch;
+
+        @JsonProperty("summary")
+        private Summary summary = new Summary();
+
+        @JsonProperty("tests")
+        private List<TestPlan> tests = new ArrayList<>();
+    }
+
+    @Data
+    public static class Summary {
+        @JsonProperty("tests")
+        private int tests;
+
+        @JsonProperty("contract_mutants")
+        private int contractMutants;
+
+        @JsonProperty("invariant_mutants")
+        private int invariantMutants;
+
+        @JsonProperty("reruns_max")
+        private int rerunsMax;
+
+        @JsonProperty("reruns_min")
+        private int rerunsMin;
+
+        @JsonProperty("baseline_ms")
+        private double baselineMs;
+
+        @JsonProperty("estimated_ms_max")
+        private double estimatedMsMax;
+
+        @JsonProperty("estimated_ms_min")
+        private double estimatedMsMin;
+    }
+
+    /**
+     * Planned mutants for a single test. Each mutant costs one re-run of the test.
+     */
+    @Data
+    public static class TestPlan {
+        @JsonProperty("test")
+        private String test;
+
+        @JsonProperty("baseline_ms")
+        private double baselineMs;
+
+        @JsonProperty("requests")
+        private List<RequestPlan> requests = new ArrayList<>();
+
+        public void addRequest(RequestPlan request) {
+            requests.add(request);
+        }
+
+        @JsonProperty("reruns_max")
+        public int getRerunsMax() {
+            return requests.stream().mapToInt(r -> r.getContractMutants() + r.getInvariantMutants()).sum();
+        }
+
+        @JsonProperty("reruns_min")
+        public int getRerunsMin() {
+            return requests.stream().mapToInt(RequestPlan::getRequiredReruns).sum();
+        }
+
+        @JsonProperty("estimated_ms_max")
+        public double getEstimatedMsMax() {
+            return getRerunsMax() * baselineMs;
+        }
+
+        @JsonProperty("estimated_ms_min")
+        public double getEstimatedMsMin() {
+            return getRerunsMin() * baselineMs;
+        }
+    }
+
+    /**
+     * Planned mutants for one captured request of a test.
+     */
+    @Data
+    public static class RequestPlan {
+        @JsonProperty("request_index")
+        private int requestIndex;
+
+        @JsonProperty("endpoint")
+        private String endpoint;
+
+        @JsonProperty("method")
+        private String method;
+
+        @JsonProperty("contract_mutants")
+        private int contractMutants;
+
+        @JsonProperty("invariant_mutants")
+        private int invariantMutants;
+
+        /**
+         * Mutants that run regardless of stop_on_first_catch (first occurrence in the run).
+         */
+        @JsonProperty("required_reruns")
+        private int requiredReruns;
+    }
+}
@@ -0,0 +1,14 @@
+package metatest.simulation;
+
+/**
+ * Re-executes the intercepted test method.
+ * Decouples the simulation engine from the interception mechanism (AspectJ join point or JUnit extension).
+ */
+@FunctionalInterface
+public interface TestInvocation {
+
+    /**
+     * Runs the test method once. Assertion failures and other errors are propagated to the caller.
+     */
+    void proceed() throws Throwable;
+}
@@ -8,4 +8,16 @@ public class TestLevelSimulationResults {
     String test;
     boolean caught;
     String error;
+
+    public static TestLevelSimulationResults of(String test, boolean caught) {
+        return of(test, caught, null);
+    }
+
+    public static TestLevelSimulationResults of(String test, boolean caught, String error) {
+        TestLevelSimulationResults result = new TestLevelSimulationResults();
+        result.setTest(test);
+        result.setCaught(caught);
+        result.setError(error);
+        return result;
+    }
 }
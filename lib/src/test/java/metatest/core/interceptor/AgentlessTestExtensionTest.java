@@ -0,0 +1,188 @@
+package metatest.core.interceptor;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.restassured.RestAssured;
+import metatest.simulation.EndpointFaultResults;
+import metatest.simulation.FaultSimulationReport;
+import metatest.simulation.FaultSimulationResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a RestAssured test against a WireMock stub through the agentless extension, without the AspectJ agent.
+ */
+class AgentlessTestExtensionTest {
+
+    private static final String EXTENSION_SERVICES = "META-INF/services/" + Extension.class.getName();
+
+    @TempDir
+    static Path tempDir;
+
+    private static WireMockServer server;
+
+    @BeforeAll
+    static void startServer() {
+        // Keeps the result journal out of the working directory, unless an earlier test already used the report
+        System.setProperty("metatest.journal.path", tempDir.resolve("fault_simulation_journal.jsonl").toString());
+        server = new WireMockServer(options().dynamicPort());
+        server.start();
+        server.stubFor(get(urlEqualTo("/api/profile")).willReturn(okJson("{\"name\":\"Ann\"}")));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+        RestAssured.reset();
+        System.clearProperty("metatest.journal.path");
+    }
+
+    /**
+     * The test class run through the extension: one request, one asserted field.
+     */
+    static class ProfileApiTest {
+        private final String baseUri;
+        private final List<String> names = new ArrayList<>();
+
+        ProfileApiTest(String baseUri) {
+            this.baseUri = baseUri;
+        }
+
+        void getProfileName() {
+            String name = RestAssured.given().baseUri(baseUri).get("/api/profile").jsonPath().getString("name");
+            names.add(name);
+            assertEquals("Ann", name);
+        }
+    }
+
+    @Test
+    void agentlessRun_capturesBaseline_injectsMutants_andRecordsVerdicts() throws Throwable {
+        ProfileApiTest target = new ProfileApiTest("http://localhost:" + server.port());
+        Method method = ProfileApiTest.class.getDeclaredMethod("getProfileName");
+        int[] proceeded = {0};
+        InvocationInterceptor.Invocation<Void> invocation = () -> {
+            proceeded[0]++;
+            target.getProfileName();
+            return null;
+        };
+
+        new AgentlessTestExtension(true).interceptTestMethod(invocation, invocationContext(target, method), null);
+
+        // The baseline goes through Jupiter's invocation, the mutants re-invoke the method reflectively
+        assertEquals(1, proceeded[0]);
+        assertEquals(3, target.names.size());
+        assertEquals("Ann", target.names.get(0));
+        // null_field and missing_field, the faults enabled in config.yml, each injected into the single field
+        assertNull(target.names.get(1));
+        assertNull(target.names.get(2));
+        assertFalse(TestContextManager.hasContext());
+        assertTrue(RestAssured.filters().stream().anyMatch(filter -> filter instanceof RestAssuredInterceptionFilter));
+
+        Map<String, EndpointFaultResults> report = FaultSimulationReport.getInstance().getReport();
+        Map<String, Map<String, FaultSimulationResult>> faults = report.get("/api/profile").getContractFaults();
+        for (String fault : List.of("null_field", "missing_field")) {
+            FaultSimulationResult result = faults.get(fault).get("name");
+            assertEquals(List.of("getProfileName"), result.getTestedBy());
+            assertTrue(result.isCaughtByAnyTest());
+            assertEquals("getProfileName", result.getCaughtBy().get(0).getTest());
+        }
+    }
+
+    @Test
+    void disabledExtension_onlyProceeds() throws Throwable {
+        ProfileApiTest target = new ProfileApiTest("http://localhost:" + server.port());
+        Method method = ProfileApiTest.class.getDeclaredMethod("getProfileName");
+        int[] proceeded = {0};
+
+        new AgentlessTestExtension(false).interceptTestMethod(() -> {
+            proceeded[0]++;
+            target.getProfileName();
+            return null;
+        }, invocationContext(target, method), null);
+
+        assertEquals(1, proceeded[0]);
+        assertEquals(List.of("Ann"), target.names);
+    }
+
+    @Test
+    void autoDetection_registersTheExtensionFromTheLibrary() throws IOException {
+        Enumeration<URL> services = getClass().getClassLoader().getResources(EXTENSION_SERVICES);
+        URL declaring = null;
+        while (services.hasMoreElements()) {
+            URL url = services.nextElement();
+            if (readLines(url).contains(AgentlessTestExtension.class.getName())) {
+                declaring = url;
+            }
+        }
+        assertNotNull(declaring, "AgentlessTestExtension is not listed in " + EXTENSION_SERVICES);
+
+        // junit-platform.properties shipped next to the service file turns on extension auto-detection
+        String root = declaring.toString().substring(0, declaring.toString().length() - EXTENSION_SERVICES.length());
+        Properties properties = new Properties();
+        try (InputStream in = new URL(root + "junit-platform.properties").openStream()) {
+            properties.load(in);
+        }
+        assertEquals("true", properties.getProperty("junit.jupiter.extensions.autodetection.enabled"));
+    }
+
+    private static List<String> readLines(URL url) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line.trim());
+            }
+        }
+        return lines;
+    }
+
+    private static ReflectiveInvocationContext<Method> invocationContext(Object target, Method method) {
+        return new ReflectiveInvocationContext<>() {
+            @Override
+            public Class<?> getTargetClass() {
+                return target.getClass();
+            }
+
+            @Override
+            public Method getExecutable() {
+                return method;
+            }
+
+            @Override
+            public List<Object> getArguments() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Optional<Object> getTarget() {
+                return Optional.of(target);
+            }
+        };
+    }
+}
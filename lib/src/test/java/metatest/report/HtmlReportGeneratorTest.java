@@ -1,10 +1,31 @@
 package metatest.report;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class HtmlReportGeneratorTest {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Pattern SHARD_SCRIPT = Pattern.compile("MetatestShard\\((\\d+), \"([A-Za-z0-9+/=]+)\"\\);\n");
+
+    @TempDir
+    Path tempDir;
+
     @Test
     public void testGenerateReport() {
         System.out.println("Testing HTML report generation...");
@@ -20,4 +41,72 @@ public class HtmlReportGeneratorTest {
             System.err.println("HTML report was not created!");
         }
     }
+
+    @Test
+    public void testShardedReport() throws IOException {
+        File faultSimulation = tempDir.resolve("fault_simulation_report.json").toFile();
+        Files.writeString(faultSimulation.toPath(), "{\n"
+                + "  \"/api/users/{id}\": {\"contract_faults\": {\"null_field\": {\n"
+                + "    \"id\": {\"caught_by_any_test\": true, \"tested_by\": [\"testA\", \"testB\"],"
+                + " \"caught_by\": [{\"test\": \"testA\", \"caught\": true, \"error\": \"expected <1>\"}]},\n"
+                + "    \"name\": {\"caught_by_any_test\": false, \"tested_by\": [\"testA\"], \"caught_by\": []}}},"
+                + " \"invariant_faults\": {}},\n"
+                + "  \"/api/orders\": {\"contract_faults\": {}, \"invariant_faults\": {\n"
+                + "    \"positive_total\": {\"caught_by_any_test\": true, \"tested_by\": [\"testC\"],"
+                + " \"caught_by\": [{\"test\": \"testC\", \"caught\": true}]}}}\n"
+                + "}\n");
+        File page = tempDir.resolve("report.html").toFile();
+
+        System.setProperty("metatest.report.sharded", "true");
+        try {
+            HtmlReportGenerator.generateReport(page.getPath(), null, faultSimulation);
+        } finally {
+            System.clearProperty("metatest.report.sharded");
+        }
+
+        // The index page holds the endpoint headers only, each pointing at its shard
+        String html = Files.readString(page.toPath());
+        assertFalse(html.contains("class=\"fault-table\""));
+        assertFalse(html.contains("class=\"fault-row\""));
+        assertTrue(html.contains("const SHARD_DIR = \"report_data\";"));
+        assertTrue(html.contains("data-shard=\"0\""));
+        assertTrue(html.contains("data-shard=\"1\""));
+        assertEquals(2, html.split("data-shard=", -1).length - 1);
+
+        File[] shards = tempDir.resolve("report_data").toFile().listFiles();
+        assertNotNull(shards);
+        assertEquals(2, shards.length);
+
+        JsonNode users = readShard(tempDir.resolve("report_data/endpoint-0.js"), 0).get("rows");
+        assertEquals(2, users.size());
+        assertEquals("id", users.get(0).get("field").asText());
+        assertEquals("null_field", users.get(0).get("fault").asText());
+        assertTrue(users.get(0).get("caught").asBoolean());
+        assertEquals(2, users.get(0).get("tests").size());
+        assertEquals("testA", users.get(0).get("tests").get(0).get("test").asText());
+        assertEquals("expected <1>", users.get(0).get("tests").get(0).get("error").asText());
+        assertFalse(users.get(0).get("tests").get(1).get("caught").asBoolean());
+        assertEquals("name", users.get(1).get("field").asText());
+        assertFalse(users.get(1).get("caught").asBoolean());
+
+        JsonNode orders = readShard(tempDir.resolve("report_data/endpoint-1.js"), 1).get("rows");
+        assertEquals(1, orders.size());
+        assertEquals("positive_total", orders.get(0).get("fault").asText());
+        assertTrue(orders.get(0).get("invariant").asBoolean());
+        assertTrue(orders.get(0).get("caught").asBoolean());
+        assertEquals("testC", orders.get(0).get("tests").get(0).get("test").asText());
+    }
+
+    /**
+     * Decodes a shard script: MetatestShard(index, "<base64 of the gzipped rows>");
+     */
+    private static JsonNode readShard(Path shard, int index) throws IOException {
+        Matcher matcher = SHARD_SCRIPT.matcher(Files.readString(shard, StandardCharsets.US_ASCII));
+        assertTrue(matcher.matches(), "Unexpected shard script in " + shard);
+        assertEquals(index, Integer.parseInt(matcher.group(1)));
+        byte[] gzipped = Base64.getDecoder().decode(matcher.group(2));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return OBJECT_MAPPER.readTree(in);
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package metatest.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File writeSample() throws IOException {
+        File file = tempDir.resolve("report.smile").toFile();
+        try (IndexedReportWriter writer = new IndexedReportWriter(file)) {
+            writer.writeEntry("host", "localhost");
+            writer.startGroup("paths");
+            writer.writeEntry("/api/orders", Map.of("GET", Map.of("calls", 3)));
+            writer.writeEntry("/api/users", Map.of("POST", Map.of("calls", 1)));
+            writer.endGroup();
+        }
+        return file;
+    }
+
+    @Test
+    public void testReadsSingleEntryByKey() throws IOException {
+        try (IndexedReportReader reader = IndexedReportReader.open(writeSample())) {
+            assertEquals(List.of("host"), reader.keys(null));
+            assertEquals(List.of("/api/orders", "/api/users"), reader.keys("paths"));
+            assertEquals(1, reader.read("paths", "/api/users").get("POST").get("calls").asInt());
+            assertEquals("localhost", reader.read(null, "host").asText());
+            assertNull(reader.read(null, "/api/orders"));
+        }
+    }
+
+    @Test
+    public void testExportJsonRebuildsDocument() throws IOException {
+        File json = tempDir.resolve("report.json").toFile();
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (IndexedReportReader reader = IndexedReportReader.open(writeSample())) {
+            reader.exportJson(json, objectMapper);
+            JsonNode exported = objectMapper.readTree(json);
+            assertEquals(reader.readAll(), exported);
+            assertEquals(3, exported.get("paths").get("/api/orders").get("GET").get("calls").asInt());
+        }
+    }
+
+    @Test
+    public void testRejectsNonIndexedFile() throws IOException {
+        File file = tempDir.resolve("plain.json").toFile();
+        new ObjectMapper().writeValue(file, Map.of("a", 1));
+        assertThrows(IOException.class, () -> IndexedReportReader.open(file));
+    }
+}
@@ -0,0 +1,211 @@
+package metatest.simulation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import metatest.core.config.FaultCollection;
+import metatest.core.config.SimulatorConfig;
+import metatest.core.interceptor.TestContext;
+import metatest.http.Request;
+import metatest.http.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plans two tests with known captured requests and checks the values written to simulation_plan.json.
+ */
+class SimulationPlanTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<FaultCollection> FAULTS = List.of(FaultCollection.null_field, FaultCollection.missing_field);
+
+    @TempDir
+    static Path journalDir;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void redirectJournal() {
+        // Runner holds the report, which keeps its result journal; keep it out of the working directory
+        System.setProperty("metatest.journal.path", journalDir.resolve("fault_simulation_journal.jsonl").toString());
+    }
+
+    @AfterAll
+    static void clearJournal() {
+        System.clearProperty("metatest.journal.path");
+    }
+
+    @Test
+    void stopOnFirstCatch_planReportsBothBounds_andSkipsExcludedRequests() throws IOException {
+        JsonNode plan = writePlan(true);
+
+        assertTrue(plan.get("stop_on_first_catch").asBoolean());
+        JsonNode summary = plan.get("summary");
+        assertEquals(2, summary.get("tests").asInt());
+        // getUser: 2 fields x 2 faults; listUsers: 3 fields x 2 faults. /api/health and the 404 are not planned
+        assertEquals(10, summary.get("contract_mutants").asInt());
+        assertEquals(0, summary.get("invariant_mutants").asInt());
+        assertEquals(10, summary.get("reruns_max").asInt());
+        // listUsers re-plans id and name on the same endpoint; only its email mutants are certain to run
+        assertEquals(6, summary.get("reruns_min").asInt());
+        assertEquals(50.0, summary.get("baseline_ms").asDouble(), 1e-9);
+        assertEquals(4 * 40.0 + 6 * 10.0, summary.get("estimated_ms_max").asDouble(), 1e-9);
+        assertEquals(4 * 40.0 + 2 * 10.0, summary.get("estimated_ms_min").asDouble(), 1e-9);
+
+        // Most expensive test first
+        JsonNode getUser = plan.get("tests").get(0);
+        assertEquals("getUser", getUser.get("test").asText());
+        assertEquals(40.0, getUser.get("baseline_ms").asDouble(), 1e-9);
+        assertEquals(1, getUser.get("requests").size());
+        JsonNode request = getUser.get("requests").get(0);
+        assertEquals(0, request.get("request_index").asInt());
+        assertEquals("GET", request.get("method").asText());
+        assertEquals(4, request.get("contract_mutants").asInt());
+        assertEquals(4, request.get("required_reruns").asInt());
+
+        JsonNode listUsers = plan.get("tests").get(1);
+        assertEquals("listUsers", listUsers.get("test").asText());
+        assertEquals(6, listUsers.get("reruns_max").asInt());
+        assertEquals(2, listUsers.get("reruns_min").asInt());
+        assertEquals(60.0, listUsers.get("estimated_ms_max").asDouble(), 1e-9);
+        assertEquals(20.0, listUsers.get("estimated_ms_min").asDouble(), 1e-9);
+    }
+
+    @Test
+    void withoutStopOnFirstCatch_everyMutantIsRequired() throws IOException {
+        JsonNode plan = writePlan(false);
+
+        assertFalse(plan.get("stop_on_first_catch").asBoolean());
+        JsonNode summary = plan.get("summary");
+        assertEquals(10, summary.get("reruns_max").asInt());
+        assertEquals(10, summary.get("reruns_min").asInt());
+        assertEquals(220.0, summary.get("estimated_ms_max").asDouble(), 1e-9);
+        assertEquals(220.0, summary.get("estimated_ms_min").asDouble(), 1e-9);
+    }
+
+    private JsonNode writePlan(boolean stopOnFirstCatch) throws IOException {
+        SimulatorConfig.MultipleEndpointsStrategy strategy = new SimulatorConfig.MultipleEndpointsStrategy();
+        strategy.test_only_last_endpoint = false;
+        strategy.exclude_endpoints = List.of("/api/health.*");
+
+        SimulationPlan plan = new SimulationPlan();
+        TestContext getUser = context(40,
+                pair("/api/users/1", 200, "{\"id\":1,\"name\":\"Ann\"}"),
+                pair("/api/health", 200, "{\"status\":\"UP\"}"),
+                pair("/api/users/2", 404, "{\"error\":\"not found\"}"));
+        TestContext listUsers = context(10,
+                pair("/api/users/3", 200, "{\"id\":3,\"name\":\"Bob\",\"email\":\"bob@example.com\"}"));
+        Runner.planSimulatedFaults(plan, "getUser", getUser, strategy, FAULTS, stopOnFirstCatch);
+        Runner.planSimulatedFaults(plan, "listUsers", listUsers, strategy, FAULTS, stopOnFirstCatch);
+
+        File planFile = tempDir.resolve("simulation_plan.json").toFile();
+        plan.writePlan(planFile, stopOnFirstCatch);
+        return MAPPER.readTree(planFile);
+    }
+
+    private static TestContext context(long baselineMs, TestContext.RequestResponsePair... pairs) {
+        TestContext context = new TestContext();
+        context.setBaselineDurationNanos(baselineMs * 1_000_000L);
+        for (TestContext.RequestResponsePair pair : pairs) {
+            context.getCapturedRequests().add(pair);
+        }
+        return context;
+    }
+
+    private static TestContext.RequestResponsePair pair(String path, int status, String body) {
+        String url = "http://localhost:8080" + path;
+        return new TestContext.RequestResponsePair(new StubRequest(url), new StubResponse(url, status, body));
+    }
+
+    private static final class StubRequest implements Request {
+        private final String url;
+
+        StubRequest(String url) {
+            this.url = url;
+        }
+
+        @Override
+        public String getUrl() {
+            return url;
+        }
+
+        @Override
+        public String getMethod() {
+            return "GET";
+        }
+
+        @Override
+        public Map<String, Object> getHeaders() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public String getBody() {
+            return null;
+        }
+    }
+
+    private static final class StubResponse implements Response {
+        private final String url;
+        private final int status;
+        private String body;
+
+        StubResponse(String url, int status, String body) {
+            this.url = url;
+            this.status = status;
+            this.body = body;
+        }
+
+        @Override
+        public String getUrl() {
+            return url;
+        }
+
+        @Override
+        public Map<String, Object> getHeaders() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public String getBody() {
+            return body;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public void setBody(String body) {
+            this.body = body;
+        }
+
+        @Override
+        public Response withBody(String newBody) {
+            return new StubResponse(url, status, newBody);
+        }
+
+        @Override
+        public Map<String, Object> getResponseAsMap() {
+            try {
+                return MAPPER.readValue(body, new TypeReference<Map<String, Object>>() {});
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package metatest.unit;
+
+import metatest.core.config.CoverageConfig;
+import metatest.coverage.Collector;
+import metatest.coverage.CoverageQueue;
+import metatest.coverage.EndpointMethodCoverage;
+import metatest.coverage.Logger;
+import metatest.http.Request;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CoverageQueueTest {
+
+    private static Request request(String url) {
+        Request request = mock(Request.class);
+        when(request.getUrl()).thenReturn(url);
+        when(request.getMethod()).thenReturn("get");
+        when(request.getHeaders()).thenReturn(Collections.singletonMap("Accept", "application/json"));
+        return request;
+    }
+
+    @Test
+    void flush_recordsEveryCallSubmittedFromConcurrentThreads() throws InterruptedException {
+        Request request = request("http://localhost/queuetest/items?page=1");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String testName = "test" + t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    Logger.parseResponse(request, testName, null);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CoverageQueue.getInstance().flush();
+
+        Map<String, EndpointMethodCoverage> methods = Collector.getData().getPaths().get("/queuetest/items");
+        assertNotNull(methods);
+        EndpointMethodCoverage coverage = methods.get("GET");
+        int maxCalls = CoverageConfig.getInstance().getMaxCallsPerEndpoint();
+        assertEquals(maxCalls == 0 ? 1000 : Math.min(1000, maxCalls), coverage.getCalls().size());
+        assertEquals(1000, coverage.getSummary().getNo_of_times_called());
+        assertEquals(4, coverage.getSummary().getNo_of_tests_calling());
+        assertEquals("1", coverage.getCalls().get(0).getUrlParameters().get("page"));
+    }
+}
@@ -0,0 +1,58 @@
+package metatest.unit;
+
+import metatest.coverage.EndpointCall;
+import metatest.coverage.EndpointMethodCoverage;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointMethodCoverageTest {
+
+    private static EndpointCall call(int index, String test) {
+        EndpointCall call = new EndpointCall();
+        call.setTestName(test);
+        call.setUrl("/api/items/" + index);
+        return call;
+    }
+
+    @Test
+    void addCall_keepsSampleOfLimitSizeAndExactSummary() {
+        EndpointMethodCoverage coverage = new EndpointMethodCoverage(10);
+        for (int i = 0; i < 1000; i++) {
+            coverage.addCall(call(i, "test" + (i % 3)));
+        }
+
+        assertEquals(10, coverage.getCalls().size());
+        assertEquals(1000, coverage.getSummary().getNo_of_times_called());
+        assertEquals(3, coverage.getSummary().getNo_of_tests_calling());
+        assertEquals(Set.of("test0", "test1", "test2"), coverage.getSummary().getTests());
+
+        Set<String> urls = new HashSet<>();
+        for (EndpointCall call : coverage.getCalls()) {
+            assertTrue(urls.add(call.getUrl()), "a call must not be kept twice");
+        }
+    }
+
+    @Test
+    void addCall_keepsEveryCallBelowLimit() {
+        EndpointMethodCoverage coverage = new EndpointMethodCoverage(10);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(coverage.addCall(call(i, "test")));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals("/api/items/" + i, coverage.getCalls().get(i).getUrl());
+        }
+    }
+
+    @Test
+    void addCall_withoutLimitKeepsEveryCall() {
+        EndpointMethodCoverage coverage = new EndpointMethodCoverage();
+        for (int i = 0; i < 500; i++) {
+            assertTrue(coverage.addCall(call(i, "test")));
+        }
+        assertEquals(500, coverage.getCalls().size());
+    }
+}
@@ -0,0 +1,63 @@
+package metatest.unit;
+
+import metatest.core.config.ExclusionMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExclusionMatcherTest {
+
+    @Test
+    void ofGlobs_matchesWholeValueAgainstAnyRule() {
+        ExclusionMatcher matcher = ExclusionMatcher.ofGlobs(Arrays.asList("*/health", "/internal/*", "/v?/ping"));
+
+        assertTrue(matcher.matches("/api/health"));
+        assertTrue(matcher.matches("/internal/metrics"));
+        assertTrue(matcher.matches("/v1/ping"));
+        assertFalse(matcher.matches("/api/health/details"));
+        assertFalse(matcher.matches("/v10/ping"));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    void ofRegexes_agreesWithSeparatePatterns() {
+        List<String> rules = Arrays.asList("/api/v1/auth/.*", "^/admin$", "/orders/\\{id\\}(/items)?", "a|b");
+        ExclusionMatcher matcher = ExclusionMatcher.ofRegexes(rules);
+
+        for (String value : Arrays.asList("/api/v1/auth/login", "/admin", "/admin/x", "/orders/{id}",
+                "/orders/{id}/items", "/orders/{id}/x", "a", "b", "ab", "")) {
+            boolean expected = rules.stream().anyMatch(rule -> Pattern.compile(rule).matcher(value).matches());
+            assertEquals(expected, matcher.matches(value), value);
+            assertEquals(expected, matcher.matches(value), value + " (cached)");
+        }
+    }
+
+    @Test
+    void ofRegexes_keepsBackReferencesAndNamedGroupsWorking() {
+        ExclusionMatcher matcher = ExclusionMatcher.ofRegexes(Arrays.asList(
+                "(x)(y)", "/(\\w+)/\\1", "(?<id>\\d+)", "v(?<id>\\d+)"));
+
+        assertTrue(matcher.matches("/dup/dup"));
+        assertFalse(matcher.matches("/dup/other"));
+        assertTrue(matcher.matches("v12"));
+        assertTrue(matcher.matches("xy"));
+    }
+
+    @Test
+    void emptyRules_matchNothing() {
+        assertTrue(ExclusionMatcher.ofGlobs(null).isEmpty());
+        assertTrue(ExclusionMatcher.ofRegexes(Collections.emptyList()).isEmpty());
+        assertFalse(ExclusionMatcher.ofGlobs(Collections.singletonList(null)).matches("/anything"));
+    }
+
+    @Test
+    void invalidRule_isRejected() {
+        assertThrows(PatternSyntaxException.class, () -> ExclusionMatcher.ofRegexes(Arrays.asList("/ok", "/bad(")));
+    }
+}
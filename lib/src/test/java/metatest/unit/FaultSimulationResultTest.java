@@ -0,0 +1,84 @@
+package metatest.unit;
+
+import metatest.simulation.FaultSimulationResult;
+import metatest.simulation.TestLevelSimulationResults;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FaultSimulationResultTest {
+
+    @Test
+    public void testAddTestResultTracksTestedAndCaught() {
+        FaultSimulationResult faultResult = new FaultSimulationResult();
+        assertTrue(faultResult.isEmpty());
+
+        faultResult.addTestResult(TestLevelSimulationResults.of("testA", false));
+        faultResult.addTestResult(TestLevelSimulationResults.of("testA", false));
+        faultResult.addTestResult(TestLevelSimulationResults.of("testB", true));
+
+        assertEquals(2, faultResult.size());
+        assertTrue(faultResult.isCaughtByAnyTest());
+        assertEquals(1, faultResult.getCaughtBy().size());
+        assertEquals("testB", faultResult.getCaughtBy().get(0).getTest());
+    }
+
+    @Test
+    public void testAddTestResultIgnoresNull() {
+        FaultSimulationResult faultResult = new FaultSimulationResult();
+        faultResult.addTestResult(null);
+        assertTrue(faultResult.isEmpty());
+        assertFalse(faultResult.isCaughtByAnyTest());
+    }
+
+    @Test
+    public void testAddTestResultSkipsTestsAlreadySet() {
+        FaultSimulationResult faultResult = new FaultSimulationResult();
+        faultResult.setTestedBy(new ArrayList<>(List.of("testA", "testB")));
+
+        faultResult.addTestResult(TestLevelSimulationResults.of("testB", false));
+        faultResult.addTestResult(TestLevelSimulationResults.of("testC", false));
+
+        assertEquals(List.of("testA", "testB", "testC"), faultResult.getTestedBy());
+    }
+
+    @Test
+    public void testConcurrentAddTestResult() throws Exception {
+        FaultSimulationResult faultResult = new FaultSimulationResult();
+        int threads = 8;
+        int resultsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < resultsPerThread; i++) {
+                        faultResult.addTestResult(TestLevelSimulationResults.of("test" + thread + "_" + i, i % 2 == 0));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * resultsPerThread, faultResult.size());
+        assertEquals(threads * resultsPerThread / 2, faultResult.getCaughtBy().size());
+        assertTrue(faultResult.isCaughtByAnyTest());
+    }
+}
@@ -0,0 +1,64 @@
+package metatest.unit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import metatest.metrics.FlightEvents;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void events_areRecordedWithAttributes() throws Exception {
+        Path file = tempDir.resolve("metatest.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("metatest.MutantRerun");
+            recording.enable("metatest.MutantInjection");
+            recording.start();
+
+            FlightEvents.MutantRerun rerun = FlightEvents.MutantRerun.start();
+            FlightEvents.MutantInjection.emit("getUser", "http://localhost:8080/users/42?expand=true",
+                    "null_field", "id", 0);
+            rerun.finish("getUser", "/users/{id}", "contract", "null_field", "id", true);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent injection = find(events, "metatest.MutantInjection");
+        assertEquals("/users/{id}", injection.getString("endpoint"));
+        assertEquals("null_field", injection.getString("faultType"));
+        assertEquals("id", injection.getString("field"));
+
+        RecordedEvent rerun = find(events, "metatest.MutantRerun");
+        assertEquals("getUser", rerun.getString("test"));
+        assertEquals("contract", rerun.getString("kind"));
+        assertTrue(rerun.getBoolean("caught"));
+        assertFalse(rerun.getDuration().isNegative());
+    }
+
+    @Test
+    void events_areSkippedWithoutRecording() {
+        FlightEvents.MutantRerun rerun = FlightEvents.MutantRerun.start();
+        rerun.finish("getUser", "/users/{id}", "contract", "null_field", "id", false);
+
+        assertFalse(rerun.shouldCommit());
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+}
@@ -0,0 +1,71 @@
+package metatest.unit;
+
+import metatest.metrics.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogram_reportsZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMinNanos());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.valueAtPercentile(99));
+    }
+
+    @Test
+    void smallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(55, histogram.getTotalNanos());
+        assertEquals(1, histogram.getMinNanos());
+        assertEquals(10, histogram.getMaxNanos());
+        assertEquals(5, histogram.valueAtPercentile(50));
+        assertEquals(9, histogram.valueAtPercentile(90));
+        assertEquals(10, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void percentiles_areWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[10_000];
+        Random random = new Random(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + (long) (random.nextDouble() * 5_000_000_000L);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = histogram.valueAtPercentile(percentile);
+            assertTrue(actual >= expected, "p" + percentile + " below the true value");
+            assertTrue(actual <= expected * 1.03, "p" + percentile + " more than 3% above the true value");
+        }
+        assertEquals(values[values.length - 1], histogram.getMaxNanos());
+        assertEquals(values[0], histogram.getMinNanos());
+    }
+
+    @Test
+    void hugeValues_areCappedButMaxIsExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE / 2);
+        histogram.record(-5);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getMinNanos());
+        assertEquals(Long.MAX_VALUE / 2, histogram.getMaxNanos());
+        assertEquals(Long.MAX_VALUE / 2, histogram.valueAtPercentile(100));
+    }
+}
@@ -0,0 +1,54 @@
+package metatest.unit;
+
+import metatest.core.log.Logs;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogsTest {
+
+    @Test
+    void body_keepsShortBodies() {
+        assertEquals("{\"id\":1}", Logs.body("{\"id\":1}").toString());
+        assertEquals("null", Logs.body(null).toString());
+    }
+
+    @Test
+    void body_truncatesLongBodies() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            body.append('x');
+        }
+
+        String logged = Logs.body(body.toString()).toString();
+
+        assertTrue(logged.startsWith("xxxx"));
+        assertTrue(logged.endsWith("... (5000 chars)"));
+        assertTrue(logged.length() < 1100);
+    }
+
+    @Test
+    void body_isRenderedOnlyWhenLogged() {
+        AtomicInteger renders = new AtomicInteger();
+        Object body = new Object() {
+            @Override
+            public String toString() {
+                renders.incrementAndGet();
+                return "{}";
+            }
+        };
+
+        Object wrapped = Logs.body(body);
+        assertEquals(0, renders.get());
+
+        wrapped.toString();
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void get_returnsLoggerForClass() {
+        assertEquals(LogsTest.class.getName(), Logs.get(LogsTest.class).getName());
+    }
+}
@@ -0,0 +1,104 @@
+package metatest.unit;
+
+import metatest.metrics.MetricsTextfile;
+import metatest.metrics.SimulationMetrics;
+import metatest.simulation.ResultSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTextfileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ResultSummary.Counts counts(int mutants, int caught) {
+        ResultSummary.Counts counts = new ResultSummary.Counts();
+        counts.setMutants(mutants);
+        counts.setCaughtMutants(caught);
+        return counts;
+    }
+
+    private static final String FORK = "fork=\"1\"";
+
+    @Test
+    void close_writesPrometheusTextFile() throws IOException {
+        ResultSummary summary = new ResultSummary();
+        summary.getFaultTypes().put("null_field", counts(10, 7));
+        summary.getFaultTypes().put("missing_field", counts(4, 4));
+        summary.setInvariant(counts(3, 1));
+        SimulationMetrics.getInstance().recordRerun("getUser", "/users/{id}", 2_000_000);
+        SimulationMetrics.getInstance().recordCapture("{\"name\":\"é\"}");
+
+        Path file = tempDir.resolve("metrics/metatest.prom");
+        new MetricsTextfile(file, "1", 0, SimulationMetrics.getInstance(), () -> summary).close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertTrue(lines.contains("# TYPE metatest_mutants_executed_total counter"));
+        assertTrue(lines.contains("# HELP metatest_mutants_executed_total Mutants run, by fault type."));
+        assertTrue(lines.contains("metatest_mutants_executed_total{" + FORK + ",fault_type=\"null_field\"} 10"));
+        assertTrue(lines.contains("metatest_mutants_killed_total{" + FORK + ",fault_type=\"missing_field\"} 4"));
+        assertTrue(lines.contains("metatest_mutants_survived{" + FORK + ",fault_type=\"null_field\"} 3"));
+        assertTrue(lines.contains("metatest_mutants_survived{" + FORK + ",fault_type=\"invariant\"} 2"));
+        assertTrue(lines.contains("# TYPE metatest_captured_bytes_total counter"));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("metatest_rerun_duration_seconds{" + FORK + ",quantile=\"0.99\"} ")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("metatest_captured_bytes_total{" + FORK + "} ")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("metatest_heap_high_water_bytes{" + FORK + "} ")));
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith("# UNIT") || line.equals("# EOF")));
+        try (var files = Files.list(file.getParent())) {
+            assertEquals(1, files.count(), "temporary file left behind");
+        }
+    }
+
+    @Test
+    void render_escapesLabelValues() {
+        ResultSummary summary = new ResultSummary();
+        summary.getFaultTypes().put("odd\"type\\", counts(1, 0));
+
+        String text = new MetricsTextfile(tempDir.resolve("m.prom"), "1", 0, SimulationMetrics.getInstance(), () -> summary).render();
+
+        assertTrue(text.contains("metatest_mutants_executed_total{" + FORK + ",fault_type=\"odd\\\"type\\\\\"} 1\n"));
+        assertFalse(text.contains("fault_type=\"invariant\""));
+    }
+
+    @Test
+    void slotPath_insertsSlotBeforeExtension() {
+        assertEquals(tempDir.resolve("metatest_metrics-0.prom"), MetricsTextfile.slotPath(tempDir.resolve("metatest_metrics.prom"), 0));
+        assertEquals(tempDir.resolve("metrics-7"), MetricsTextfile.slotPath(tempDir.resolve("metrics"), 7));
+    }
+
+    @Test
+    void claimSlot_takesTheLowestFreeSlot_andDeletesStaleFiles() throws IOException {
+        Path base = tempDir.resolve("metatest_metrics.prom");
+        Path lastBuild = Files.writeString(tempDir.resolve("metatest_metrics-2.prom"), "metatest_run_duration_seconds{fork=\"2\"} 9\n");
+        Path oldPidFile = Files.writeString(tempDir.resolve("metatest_metrics-4242.prom"), "");
+        Path unrelated = Files.writeString(tempDir.resolve("node.prom"), "");
+
+        try (MetricsTextfile.Slot first = MetricsTextfile.claimSlot(base)) {
+            assertEquals(0, first.getNumber());
+            assertEquals(tempDir.resolve("metatest_metrics-0.prom"), first.getPath());
+            assertFalse(Files.exists(lastBuild));
+            assertFalse(Files.exists(oldPidFile));
+            assertTrue(Files.exists(unrelated));
+
+            Files.writeString(first.getPath(), "");
+            try (MetricsTextfile.Slot second = MetricsTextfile.claimSlot(base)) {
+                // The held slot and its file are kept
+                assertEquals(1, second.getNumber());
+                assertTrue(Files.exists(first.getPath()));
+            }
+        }
+
+        // Released slots are reused, so the fork label stays the same from build to build
+        try (MetricsTextfile.Slot again = MetricsTextfile.claimSlot(base)) {
+            assertEquals(0, again.getNumber());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package metatest.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import metatest.core.spec.OpenApiSpecRegistry;
+import metatest.core.spec.SpecIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenApiSpecRegistryTest {
+
+    private static final String SPEC = String.join("\n",
+            "openapi: 3.0.0",
+            "info:",
+            "  title: Orders",
+            "  version: '1'",
+            "paths:",
+            "  /orders/{order_id}:",
+            "    get:",
+            "      responses:",
+            "        '200':",
+            "          description: ok",
+            "          content:",
+            "            application/json:",
+            "              schema:",
+            "                type: object",
+            "    delete:",
+            "      responses:",
+            "        '204':",
+            "          description: deleted",
+            "");
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("metatest.spec.cache.dir", tempDir.resolve("cache").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("metatest.spec.cache.dir");
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Test
+    void getIndex_parsesSpecOnceAndCachesIndexByContentHash() throws Exception {
+        File spec = tempDir.resolve("parsed.yaml").toFile();
+        Files.writeString(spec.toPath(), SPEC);
+
+        SpecIndex index = OpenApiSpecRegistry.getIndex(spec.getPath());
+
+        assertNotNull(index);
+        assertEquals(List.of("GET", "DELETE"), index.getPaths().get("/orders/{order_id}"));
+        assertSame(index, OpenApiSpecRegistry.getIndex(spec.getPath()));
+
+        File cacheFile = tempDir.resolve("cache").resolve(sha256(SPEC.getBytes()) + ".v2.json").toFile();
+        assertTrue(cacheFile.isFile());
+        assertFalse(Files.readString(cacheFile.toPath()).contains("responses"));
+        assertEquals(index.getPaths().keySet(), new ObjectMapper().readValue(cacheFile, SpecIndex.class).getPaths().keySet());
+    }
+
+    @Test
+    void getIndex_readsCachedIndexInsteadOfParsing() throws Exception {
+        File spec = tempDir.resolve("cached.yaml").toFile();
+        Files.writeString(spec.toPath(), SPEC);
+        String hash = sha256(SPEC.getBytes());
+        Path cacheDir = Files.createDirectories(tempDir.resolve("cache"));
+        Files.writeString(cacheDir.resolve(hash + ".v2.json"),
+                "{\"format_version\":2,\"spec_hash\":\"" + hash + "\",\"paths\":{\"/from-cache\":[\"GET\"]}}");
+
+        SpecIndex index = OpenApiSpecRegistry.getIndex(spec.getPath());
+
+        assertEquals(Set.of("/from-cache"), index.getPaths().keySet());
+    }
+
+    @Test
+    void getIndex_missingSpecReturnsNull() {
+        assertNull(OpenApiSpecRegistry.getIndex(tempDir.resolve("missing.yaml").toString()));
+    }
+}
@@ -0,0 +1,51 @@
+package metatest.unit;
+
+import metatest.core.normalizer.PathPatternTrie;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathPatternTrieTest {
+
+    private static PathPatternTrie trie(String... patterns) {
+        PathPatternTrie trie = new PathPatternTrie();
+        for (String pattern : patterns) {
+            trie.add(pattern);
+        }
+        return trie;
+    }
+
+    @Test
+    void match_replacesParameterSegments() {
+        PathPatternTrie trie = trie("/api/v1/accounts/{id}", "/api/v1/accounts/{id}/deposit", "/api/v1/accounts");
+
+        assertEquals("/api/v1/accounts/{id}", trie.match("/api/v1/accounts/ACC123"));
+        assertEquals("/api/v1/accounts/{id}/deposit", trie.match("/api/v1/accounts/42/deposit"));
+        assertEquals("/api/v1/accounts", trie.match("/api/v1/accounts"));
+        assertNull(trie.match("/api/v1/accounts/42/withdraw"));
+        assertNull(trie.match("/api/v1"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void match_prefersLiteralSegmentOverParameter() {
+        PathPatternTrie trie = trie("/users/{id}/orders", "/users/me/{id}", "/users/{id}");
+
+        assertEquals("/users/{id}", trie.match("/users/me"));
+        assertEquals("/users/me/{id}", trie.match("/users/me/settings"));
+        assertEquals("/users/{id}/orders", trie.match("/users/7/orders"));
+    }
+
+    @Test
+    void match_backtracksFromLiteralBranch() {
+        PathPatternTrie trie = trie("/users/me", "/users/{id}/orders");
+
+        assertEquals("/users/{id}/orders", trie.match("/users/me/orders"));
+    }
+
+    @Test
+    void match_rootPath() {
+        assertEquals("/", trie("/", "/health").match("/"));
+        assertNull(trie("/health").match("/"));
+    }
+}
@@ -0,0 +1,193 @@
+package metatest.unit;
+
+import metatest.simulation.CompletedMutants;
+import metatest.simulation.ResultJournal;
+import metatest.simulation.TestLevelSimulationResults;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ResultJournal.Entry contract(String test, String faultType, String field, boolean caught) {
+        return ResultJournal.Entry.contract("/api/users/{id}", faultType, field,
+                TestLevelSimulationResults.of(test, caught, caught ? "expected <1> but was <null>" : null));
+    }
+
+    @Test
+    void offsets_roundTripThroughReader() throws IOException {
+        ResultJournal journal = new ResultJournal(tempDir.resolve("journal.jsonl").toFile());
+        long first = journal.append(contract("testA", "null_field", "id", true));
+        long second = journal.append(contract("testB", "missing_field", "name", false));
+        journal.checkpoint();
+        journal.close();
+
+        assertEquals(0, first);
+        assertTrue(second > first);
+        try (ResultJournal.JournalReader reader = journal.openReader()) {
+            ResultJournal.Entry entry = reader.read(second);
+            assertEquals("testB", entry.getTest());
+            assertEquals("missing_field", entry.getFaultType());
+            assertFalse(entry.isCaught());
+
+            TestLevelSimulationResults result = reader.read(first).toResult();
+            assertEquals("testA", result.getTest());
+            assertTrue(result.isCaught());
+            assertEquals("expected <1> but was <null>", result.getError());
+        }
+    }
+
+    @Test
+    void journalsOfTwoProcesses_inOneDirectory_keepTheirOwnOffsets() throws IOException {
+        File journalPath = tempDir.resolve("fault_simulation_journal.jsonl").toFile();
+        ResultJournal first = new ResultJournal(ResultJournal.journalFileFor(journalPath, 101));
+        ResultJournal second = new ResultJournal(ResultJournal.journalFileFor(journalPath, 202));
+        long firstA = first.append(contract("testA", "null_field", "id", true));
+        long secondB = second.append(contract("testB", "missing_field", "name", true));
+        long firstC = first.append(contract("testC", "null_field", "name", true));
+        first.close();
+        second.close();
+
+        assertEquals(List.of(tempDir.resolve("fault_simulation_journal-101.jsonl").toFile(),
+                tempDir.resolve("fault_simulation_journal-202.jsonl").toFile()), ResultJournal.findJournals(journalPath));
+        assertEquals(0, secondB);
+        try (ResultJournal.JournalReader reader = first.openReader()) {
+            assertEquals("testA", reader.read(firstA).getTest());
+            assertEquals("testC", reader.read(firstC).getTest());
+        }
+        try (ResultJournal.JournalReader reader = second.openReader()) {
+            assertEquals("testB", reader.read(secondB).getTest());
+        }
+    }
+
+    @Test
+    void deleteStaleJournals_keepsJournalsOfThisRun() throws IOException {
+        File journalPath = tempDir.resolve("fault_simulation_journal.jsonl").toFile();
+        // An earlier run's process had the pid this JVM has now
+        File reusedPid = ResultJournal.journalFileFor(journalPath, ProcessHandle.current().pid());
+        File earlierRun = ResultJournal.journalFileFor(journalPath, Long.MAX_VALUE);
+        File earlierFork = ResultJournal.journalFileFor(journalPath, Long.MAX_VALUE - 1);
+        File unrelated = tempDir.resolve("fault_simulation_journal-copy.jsonl").toFile();
+        for (File file : List.of(reusedPid, earlierRun, earlierFork, unrelated)) {
+            assertTrue(file.createNewFile());
+            assertTrue(file.setLastModified(0));
+        }
+        // Written after the build tool process started, so by an earlier fork of the same run
+        assertTrue(earlierFork.setLastModified(System.currentTimeMillis()));
+
+        ResultJournal.deleteStaleJournals(journalPath);
+
+        assertFalse(reusedPid.exists());
+        assertFalse(earlierRun.exists());
+        assertTrue(earlierFork.exists());
+        assertTrue(unrelated.exists());
+    }
+
+    @Test
+    void replay_leavesTheJournalUnchanged_andAppendsDropTheTornLastLine() throws IOException {
+        File file = tempDir.resolve("journal.jsonl").toFile();
+        ResultJournal journal = new ResultJournal(file);
+        journal.append(contract("testA", "null_field", "id", true));
+        journal.append(contract("testA", "missing_field", "id", false));
+        journal.close();
+        long completeLength = file.length();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write("{\"endpoint\":\"/api/users/{id}\",\"kind\":\"contr".getBytes(StandardCharsets.UTF_8));
+        }
+        long tornLength = file.length();
+
+        List<Long> offsets = new ArrayList<>();
+        assertEquals(2, new ResultJournal(file).replay((entry, offset) -> offsets.add(offset)));
+        assertEquals(0L, offsets.get(0).longValue());
+        assertEquals(tornLength, file.length());
+
+        // A later process with the same pid continues after the last complete entry
+        ResultJournal reused = new ResultJournal(file);
+        long offset = reused.append(contract("testB", "null_field", "id", false));
+        reused.close();
+        assertEquals(completeLength, offset);
+
+        List<String> tests = new ArrayList<>();
+        assertEquals(3, new ResultJournal(file).replay((entry, entryOffset) -> tests.add(entry.getTest())));
+        assertEquals(List.of("testA", "testA", "testB"), tests);
+    }
+
+    @Test
+    void resume_skipsExactlyTheCompletedMutants() throws IOException {
+        File file = tempDir.resolve("journal.jsonl").toFile();
+        ResultJournal journal = new ResultJournal(file);
+        // testA hits the endpoint twice, so it ran null_field/id twice
+        journal.append(contract("testA", "null_field", "id", false));
+        journal.append(contract("testA", "null_field", "id", true));
+        journal.append(contract("testA", "missing_field", "id", false));
+        journal.append(ResultJournal.Entry.invariant("/api/orders", "positive_total", "total",
+                TestLevelSimulationResults.of("testB", true)));
+        journal.close();
+
+        CompletedMutants completed = new CompletedMutants();
+        assertEquals(4, completed.replay(new ResultJournal(file)));
+
+        assertNull(completed.consumeContract("testB", "/api/users/{id}", "null_field", "id"));
+        assertNull(completed.consumeContract("testA", "/api/users/{id}", "null_field", "name"));
+        assertNull(completed.consumeContract("testA", "/api/users", "null_field", "id"));
+        assertFalse(completed.consumeContract("testA", "/api/users/{id}", "null_field", "id").isCaught());
+        assertTrue(completed.consumeContract("testA", "/api/users/{id}", "null_field", "id").isCaught());
+        assertNull(completed.consumeContract("testA", "/api/users/{id}", "null_field", "id"));
+        assertNotNull(completed.consumeContract("testA", "/api/users/{id}", "missing_field", "id"));
+
+        assertNull(completed.consumeInvariant("testB", "/api/orders", "positive_total", "quantity"));
+        TestLevelSimulationResults invariant = completed.consumeInvariant("testB", "/api/orders", "positive_total", "total");
+        assertEquals("testB", invariant.getTest());
+        assertTrue(invariant.isCaught());
+        assertTrue(completed.isEmpty());
+    }
+
+    @Test
+    void resume_fromTheJournalsOfTwoForks_runsOnlyTheMutantsTheyDidNotComplete() throws IOException {
+        File journalPath = tempDir.resolve("fault_simulation_journal.jsonl").toFile();
+        ResultJournal first = new ResultJournal(ResultJournal.journalFileFor(journalPath, 101));
+        first.append(contract("testA", "null_field", "id", true));
+        first.append(contract("testA", "missing_field", "id", false));
+        first.close();
+        ResultJournal second = new ResultJournal(ResultJournal.journalFileFor(journalPath, 202));
+        second.append(contract("testB", "null_field", "id", false));
+        long torn = second.append(contract("testB", "missing_field", "id", true));
+        second.close();
+        // The second fork was killed while writing its last entry
+        File secondFile = second.getFile();
+        try (RandomAccessFile raf = new RandomAccessFile(secondFile, "rw")) {
+            raf.setLength(torn + 20);
+        }
+        long firstLength = first.getFile().length();
+
+        CompletedMutants completed = new CompletedMutants();
+        int replayed = 0;
+        for (File file : ResultJournal.findJournals(journalPath)) {
+            replayed += completed.replay(new ResultJournal(file));
+        }
+
+        assertEquals(3, replayed);
+        assertEquals(firstLength, first.getFile().length());
+        assertEquals(torn + 20, secondFile.length());
+        // Tests are skipped wherever they run after the restart, whichever fork completed them
+        assertNotNull(completed.consumeContract("testB", "/api/users/{id}", "null_field", "id"));
+        assertTrue(completed.consumeContract("testA", "/api/users/{id}", "null_field", "id").isCaught());
+        assertFalse(completed.consumeContract("testA", "/api/users/{id}", "missing_field", "id").isCaught());
+        // The torn entry was not completed, so its mutant runs again
+        assertNull(completed.consumeContract("testB", "/api/users/{id}", "missing_field", "id"));
+        assertTrue(completed.isEmpty());
+    }
+}
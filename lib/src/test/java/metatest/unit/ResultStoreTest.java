@@ -0,0 +1,118 @@
+package metatest.unit;
+
+import metatest.simulation.ResultStore;
+import metatest.simulation.ResultSummary;
+import metatest.simulation.TestLevelSimulationResults;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultStoreTest {
+
+    @Test
+    public void testMutantIdsAreStableAndDecodable() {
+        ResultStore store = new ResultStore();
+        int contract = store.contractMutant("/api/orders/{id}", "null_field", "status");
+        int invariant = store.invariantMutant("/api/orders/{id}", "positive_quantity");
+
+        assertEquals(contract, store.contractMutant("/api/orders/{id}", "null_field", "status"));
+        assertEquals(contract, store.findContractMutant("/api/orders/{id}", "null_field", "status"));
+        assertEquals(invariant, store.findInvariantMutant("/api/orders/{id}", "positive_quantity"));
+        assertEquals(-1, store.findContractMutant("/api/orders/{id}", "missing_field", "status"));
+        assertEquals(2, store.size());
+
+        assertEquals("/api/orders/{id}", store.endpoint(contract));
+        assertFalse(store.isInvariant(contract));
+        assertEquals("null_field", store.fault(contract));
+        assertEquals("status", store.field(contract));
+
+        assertTrue(store.isInvariant(invariant));
+        assertEquals("positive_quantity", store.fault(invariant));
+        assertNull(store.field(invariant));
+    }
+
+    @Test
+    public void testRecordTracksTestedAndCaughtTests() {
+        ResultStore store = new ResultStore();
+        int mutant = store.contractMutant("/api/users/{id}", "missing_field", "email");
+
+        store.record(mutant, TestLevelSimulationResults.of("testA", false), 0L);
+        store.record(mutant, TestLevelSimulationResults.of("testB", true), 120L);
+        store.record(mutant, TestLevelSimulationResults.of("testA", false), 240L);
+        store.record(mutant, TestLevelSimulationResults.of("testC", true), -1L);
+
+        assertEquals(List.of("testA", "testB", "testC"), store.testedBy(mutant));
+        assertTrue(store.isCaughtByAnyTest(mutant));
+        assertEquals(2, store.caughtBySet(mutant).cardinality());
+        assertArrayEquals(new long[]{120L}, store.caughtOffsets(mutant));
+        assertEquals(1, store.unjournaledCaught(mutant).size());
+        assertEquals("testC", store.unjournaledCaught(mutant).get(0).getTest());
+    }
+
+    @Test
+    public void testMarkedCaughtIsIndependentOfResults() {
+        ResultStore store = new ResultStore();
+        int mutant = store.invariantMutant("/api/trades", "filled_has_timestamp");
+
+        assertFalse(store.isMarkedCaught(mutant));
+        assertFalse(store.isMarkedCaught(-1));
+        store.markCaught(mutant);
+        assertTrue(store.isMarkedCaught(mutant));
+        store.clearMarkedCaught();
+        assertFalse(store.isMarkedCaught(mutant));
+    }
+
+    @Test
+    public void testSortedMutantsGroupByEndpointAndKind() {
+        ResultStore store = new ResultStore();
+        int ordersInvariant = store.invariantMutant("/api/orders", "positive_total");
+        int usersContract = store.contractMutant("/api/users", "null_field", "name");
+        int ordersContract = store.contractMutant("/api/orders", "null_field", "total");
+
+        assertArrayEquals(new int[]{ordersContract, ordersInvariant, usersContract}, store.sortedMutants());
+    }
+
+    @Test
+    public void testSummaryKeepsRunningTotals() {
+        ResultStore store = new ResultStore();
+        int nullStatus = store.contractMutant("/api/orders", "null_field", "status");
+        int missingStatus = store.contractMutant("/api/orders", "missing_field", "status");
+        int nullName = store.contractMutant("/api/users", "null_field", "name");
+        int invariant = store.invariantMutant("/api/orders", "positive_total");
+
+        store.record(nullStatus, TestLevelSimulationResults.of("testA", true), 0L);
+        store.record(nullStatus, TestLevelSimulationResults.of("testB", true), 10L);
+        store.record(nullStatus, TestLevelSimulationResults.of("testA", true), 20L);
+        store.record(missingStatus, TestLevelSimulationResults.of("testA", false), -1L);
+        store.record(nullName, TestLevelSimulationResults.of("testB", false), -1L);
+        store.record(invariant, TestLevelSimulationResults.of("testB", true), 30L);
+
+        ResultSummary summary = store.summary();
+
+        ResultSummary.Counts contract = summary.getContract();
+        assertEquals(3, contract.getMutants());
+        assertEquals(1, contract.getCaughtMutants());
+        assertEquals(2, contract.getEscapedMutants());
+        assertEquals(4, contract.getExecutions());
+        assertEquals(2, contract.getCaughtExecutions());
+        assertEquals(1, summary.getInvariant().getMutants());
+        assertEquals(1, summary.getInvariant().getCaughtMutants());
+        assertEquals(4, summary.getTotal().getMutants());
+
+        assertEquals(List.of("/api/orders", "/api/users"), List.copyOf(summary.getEndpoints().keySet()));
+        assertEquals(2, summary.getEndpoints().get("/api/orders").getContract().getMutants());
+        assertEquals(1, summary.getEndpoints().get("/api/orders").getInvariant().getCaughtMutants());
+        assertEquals(0, summary.getEndpoints().get("/api/users").getContract().getCaughtMutants());
+
+        assertEquals(2, summary.getFaultTypes().get("null_field").getMutants());
+        assertEquals(1, summary.getFaultTypes().get("null_field").getCaughtMutants());
+        assertEquals(0, summary.getFaultTypes().get("missing_field").getCaughtMutants());
+
+        assertEquals(2, summary.getTests().get("testA").getExecutions());
+        assertEquals(1, summary.getTests().get("testA").getCaughtExecutions());
+        assertEquals(3, summary.getTests().get("testB").getExecutions());
+        assertEquals(2, summary.getTests().get("testB").getCaughtExecutions());
+    }
+}
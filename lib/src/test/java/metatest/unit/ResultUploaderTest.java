@@ -0,0 +1,168 @@
+package metatest.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import metatest.api.ResultUploader;
+import metatest.simulation.ResultJournal;
+import metatest.simulation.TestLevelSimulationResults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultUploaderTest {
+
+    private HttpServer server;
+    private final List<Headers> headers = new CopyOnWriteArrayList<>();
+    private final List<List<String>> bodies = new CopyOnWriteArrayList<>();
+    private final List<Integer> statuses = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch serverReleased = new CountDownLatch(1);
+    private volatile boolean serverStalled;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            if (serverStalled) {
+                try {
+                    serverReleased.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            headers.add(exchange.getRequestHeaders());
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(exchange.getRequestBody()), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+            bodies.add(lines);
+            int request = requests.getAndIncrement();
+            int status = request < statuses.size() ? statuses.get(request) : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private ResultUploader uploader(int batchSize) {
+        return new ResultUploader("http://localhost:" + server.getAddress().getPort() + "/batches",
+                "test-key", batchSize, 3, 1);
+    }
+
+    private static ResultJournal.Entry entry(String test) {
+        TestLevelSimulationResults result = new TestLevelSimulationResults();
+        result.setTest(test);
+        result.setCaught(true);
+        return ResultJournal.Entry.contract("GET /users", "null_field", "id", result);
+    }
+
+    @Test
+    void results_areSentInCompressedBatches() throws IOException {
+        ResultUploader uploader = uploader(2);
+        for (int i = 0; i < 5; i++) {
+            uploader.add(entry("test" + i));
+        }
+
+        assertTrue(uploader.close());
+
+        assertEquals(3, bodies.size());
+        List<String> tests = new ArrayList<>();
+        ObjectMapper mapper = new ObjectMapper();
+        for (List<String> body : bodies) {
+            for (String line : body) {
+                tests.add(mapper.readValue(line, ResultJournal.Entry.class).getTest());
+            }
+        }
+        tests.sort(null);
+        assertEquals(List.of("test0", "test1", "test2", "test3", "test4"), tests);
+
+        Headers last = headers.get(2);
+        assertEquals("true", last.getFirst("X-Metatest-Batch-Final"));
+        assertEquals("5", last.getFirst("X-Metatest-Result-Count"));
+        assertEquals(1, bodies.get(2).size());
+        assertNull(headers.get(0).getFirst("X-Metatest-Batch-Final"));
+        assertEquals("gzip", headers.get(0).getFirst("Content-Encoding"));
+        assertEquals("test-key", headers.get(0).getFirst("X-API-Key"));
+        assertEquals(3, headers.stream().map(h -> h.getFirst("Idempotency-Key")).distinct().count());
+    }
+
+    @Test
+    void failedBatch_isRetriedWithSameIdempotencyKey() {
+        statuses.add(503);
+        ResultUploader uploader = uploader(10);
+        uploader.add(entry("test0"));
+
+        assertTrue(uploader.close());
+
+        assertEquals(2, requests.get());
+        assertEquals(headers.get(0).getFirst("Idempotency-Key"), headers.get(1).getFirst("Idempotency-Key"));
+    }
+
+    @Test
+    void rejectedBatch_isNotRetried() {
+        statuses.add(400);
+        ResultUploader uploader = uploader(10);
+        uploader.add(entry("test0"));
+
+        assertFalse(uploader.close());
+
+        assertEquals(1, requests.get());
+        assertEquals(1, uploader.getFailedBatches());
+    }
+
+    @Test
+    void fullQueue_blocksOnlyTheThreadHandingOffABatch() throws InterruptedException {
+        serverStalled = true;
+        ResultUploader uploader = uploader(2);
+        // One batch is stuck at the server and four wait in the queue, so the sixth hand-off has to wait
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 12; i++) {
+                uploader.add(entry("test" + i));
+            }
+        });
+        producer.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (producer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, producer.getState());
+
+        Thread other = new Thread(() -> uploader.add(entry("test12")));
+        other.start();
+        other.join(1000);
+        assertFalse(other.isAlive());
+
+        serverReleased.countDown();
+        producer.join(5000);
+        assertTrue(uploader.close());
+
+        assertEquals(7, bodies.size());
+        assertEquals("13", headers.get(6).getFirst("X-Metatest-Result-Count"));
+        assertEquals("6", headers.get(6).getFirst("X-Metatest-Batch-Sequence"));
+    }
+}
@@ -0,0 +1,155 @@
+package metatest.unit;
+
+import metatest.history.RunHistory;
+import metatest.simulation.ResultStore;
+import metatest.simulation.TestLevelSimulationResults;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunHistoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ResultStore store(boolean ordersCaught) {
+        ResultStore store = new ResultStore();
+        record(store, store.contractMutant("/api/orders", "null_field", "id"), ordersCaught);
+        record(store, store.contractMutant("/api/users", "missing_field", "name"), true);
+        record(store, store.invariantMutant("/api/users", "positive_age"), false);
+        return store;
+    }
+
+    private static void record(ResultStore store, int mutant, boolean caught) {
+        TestLevelSimulationResults result = new TestLevelSimulationResults();
+        result.setTest("testA");
+        result.setCaught(caught);
+        store.record(mutant, result, -1);
+    }
+
+    @Test
+    public void testRecordsRunSummaries() throws IOException {
+        RunHistory history = new RunHistory(tempDir.toFile());
+        history.recordRun(store(true));
+        RunHistory.RunSummary second = history.recordRun(store(false));
+
+        assertEquals(1, second.getRun());
+        assertEquals(3, second.getTotalMutants());
+        assertEquals(1, second.getCaughtMutants());
+        assertEquals(33.33, second.getMutationScore());
+        assertEquals(Arrays.asList(100.0, 0.0), history.endpointTrend("/api/orders"));
+        assertEquals(Arrays.asList(50.0, 50.0), history.endpointTrend("/api/users"));
+        assertEquals(2, history.getEndpointMutants("/api/users").cardinality());
+    }
+
+    @Test
+    public void testFindsNewlySurvivingMutants() throws IOException {
+        RunHistory history = new RunHistory(tempDir.toFile());
+        history.recordRun(store(true));
+        history.recordRun(store(false));
+
+        List<RunHistory.Mutant> surviving = new RunHistory(tempDir.toFile()).newlySurviving(0, 1);
+        assertEquals(1, surviving.size());
+        assertEquals("/api/orders", surviving.get(0).getEndpoint());
+        assertEquals("null_field", surviving.get(0).getFault());
+        assertEquals("id", surviving.get(0).getField());
+
+        assertTrue(history.newlySurviving(1, 0).isEmpty());
+    }
+
+    @Test
+    public void testIgnoresTornRunLine() throws IOException {
+        File directory = tempDir.toFile();
+        new RunHistory(directory).recordRun(store(true));
+        try (FileOutputStream out = new FileOutputStream(new File(directory, "runs.jsonl"), true)) {
+            out.write("{\"run\":1,\"total_mut".getBytes(StandardCharsets.UTF_8));
+        }
+
+        RunHistory history = new RunHistory(directory);
+        assertEquals(1, history.getRuns().size());
+
+        RunHistory.RunSummary next = history.recordRun(store(false));
+        assertEquals(1, next.getRun());
+        assertEquals(2, new RunHistory(directory).getRuns().size());
+        assertEquals(1, history.newlySurviving(0, 1).size());
+    }
+
+    @Test
+    public void testRecordingPicksUpRunsFromOtherInstances() throws IOException {
+        File directory = tempDir.toFile();
+        RunHistory first = new RunHistory(directory);
+        RunHistory second = new RunHistory(directory);
+
+        first.recordRun(store(true));
+        RunHistory.RunSummary run = second.recordRun(store(false));
+
+        assertEquals(1, run.getRun());
+        RunHistory reopened = new RunHistory(directory);
+        assertEquals(2, reopened.getRuns().size());
+        assertEquals(3, reopened.getEndpointMutants("/api/orders").cardinality()
+                + reopened.getEndpointMutants("/api/users").cardinality());
+        assertEquals(1, reopened.newlySurviving(0, 1).size());
+    }
+
+    @Test
+    public void testMergesTheForksOfOneRun() throws IOException {
+        File directory = tempDir.toFile();
+        // Fork A misses the orders mutant, fork B catches it and also runs a mutant fork A never saw
+        ResultStore forkA = store(false);
+        ResultStore forkB = new ResultStore();
+        record(forkB, forkB.contractMutant("/api/orders", "null_field", "id"), true);
+        record(forkB, forkB.contractMutant("/api/orders", "missing_field", "total"), false);
+
+        new RunHistory(directory).recordRun(store(true), "build-1");
+        new RunHistory(directory).recordRun(forkA, "build-2");
+        RunHistory.RunSummary merged = new RunHistory(directory).recordRun(forkB, "build-2");
+
+        assertEquals(1, merged.getRun());
+        assertEquals("build-2", merged.getRunId());
+        assertEquals(4, merged.getTotalMutants());
+        assertEquals(2, merged.getCaughtMutants());
+        assertEquals(50.0, merged.getMutationScore());
+        assertEquals(2, merged.getEndpoints().get("/api/orders").getTotal());
+        assertEquals(1, merged.getEndpoints().get("/api/orders").getCaught());
+
+        RunHistory reopened = new RunHistory(directory);
+        assertEquals(2, reopened.getRuns().size());
+        assertEquals("build-2", reopened.getRuns().get(1).getRunId());
+        assertEquals(merged.getVerdictsOffset(), reopened.getRuns().get(1).getVerdictsOffset());
+        assertEquals(Arrays.asList(100.0, 50.0), reopened.endpointTrend("/api/orders"));
+        assertEquals(4, reopened.readVerdicts(1)[0].cardinality());
+        assertTrue(reopened.newlySurviving(0, 1).isEmpty());
+
+        // The next build appends after the merged block instead of overwriting it
+        RunHistory.RunSummary next = reopened.recordRun(store(false), "build-3");
+        assertEquals(2, next.getRun());
+        assertEquals(4, reopened.readVerdicts(1)[0].cardinality());
+        assertEquals(2, reopened.readVerdicts(1)[1].cardinality());
+        assertEquals(1, new RunHistory(directory).newlySurviving(1, 2).size());
+    }
+
+    @Test
+    public void testMergesIntoAnEarlierRunWithTheSameId() throws IOException {
+        File directory = tempDir.toFile();
+        RunHistory history = new RunHistory(directory);
+        history.recordRun(store(false), "build-1");
+        history.recordRun(store(true), "build-2");
+        history.recordRun(store(true), "build-1");
+
+        RunHistory reopened = new RunHistory(directory);
+        assertEquals(2, reopened.getRuns().size());
+        assertEquals(2, reopened.getRuns().get(0).getCaughtMutants());
+        assertEquals(2, reopened.getRuns().get(1).getCaughtMutants());
+        assertEquals(2, reopened.readVerdicts(0)[1].cardinality());
+        assertEquals(2, reopened.readVerdicts(1)[1].cardinality());
+    }
+}
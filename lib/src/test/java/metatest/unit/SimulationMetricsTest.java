@@ -0,0 +1,39 @@
+package metatest.unit;
+
+import metatest.metrics.SimulationMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationMetricsTest {
+
+    @Test
+    void endpoints_beyondTheCapShareTheOtherEntry() {
+        SimulationMetrics metrics = new SimulationMetrics(2);
+        metrics.recordRerun("testA", "/users/{id}", 1_000_000);
+        metrics.recordRerun("testA", "/orders/{id}", 2_000_000);
+        metrics.recordRerun("testB", "/items/{id}", 3_000_000);
+        metrics.recordRerun("testB", "/carts/{id}", 4_000_000);
+        metrics.recordRerun("testB", "/users/{id}", 5_000_000);
+
+        Map<String, Long> reruns = metrics.buildReport().getEndpoints().stream()
+                .collect(Collectors.toMap(SimulationMetrics.EndpointTiming::getEndpoint, timing -> timing.getReruns().getCount()));
+
+        assertEquals(3, reruns.size());
+        assertEquals(2L, reruns.get("/users/{id}").longValue());
+        assertEquals(1L, reruns.get("/orders/{id}").longValue());
+        assertEquals(2L, reruns.get(SimulationMetrics.OTHER_ENDPOINTS).longValue());
+    }
+
+    @Test
+    void endpoints_withoutOverflowHaveNoOtherEntry() {
+        SimulationMetrics metrics = new SimulationMetrics(2);
+        metrics.recordRerun("testA", "/users/{id}", 1_000_000);
+
+        assertTrue(metrics.buildReport().getEndpoints().stream()
+                .noneMatch(timing -> SimulationMetrics.OTHER_ENDPOINTS.equals(timing.getEndpoint())));
+    }
+}
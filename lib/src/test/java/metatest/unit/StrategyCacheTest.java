@@ -0,0 +1,153 @@
+package metatest.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import metatest.api.FaultStrategyApiClient;
+import metatest.api.StrategyCache;
+import metatest.api.dto.ContractFaultStrategyListResponse;
+import metatest.core.config.MetaTestConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrategyCacheTest {
+
+    private static final String BODY = "{\"strategies\":[{\"name\":\"default\",\"enabled\":true}],\"total\":1}";
+    private static final String ETAG = "\"v1\"";
+    private static final long TTL = 60_000;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String header = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(String.valueOf(header));
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            if (ETAG.equals(header)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+
+        System.setProperty("metatest.api.key", "test-key");
+        System.setProperty("metatest.api.url", "http://localhost:" + server.getAddress().getPort());
+        System.setProperty("metatest.project.id", "project-1");
+        MetaTestConfig.resetInstance();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        System.clearProperty("metatest.api.key");
+        System.clearProperty("metatest.api.url");
+        System.clearProperty("metatest.project.id");
+        MetaTestConfig.resetInstance();
+    }
+
+    private ContractFaultStrategyListResponse fetchWithNewJvmState() {
+        return new FaultStrategyApiClient(new StrategyCache(tempDir.toFile(), TTL)).getContractFaultStrategies();
+    }
+
+    private void ageCachedCopy(long ageMillis) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        File[] entries = tempDir.toFile().listFiles((dir, name) -> name.endsWith(".json"));
+        assertNotNull(entries);
+        assertEquals(1, entries.length);
+        ObjectNode entry = (ObjectNode) mapper.readTree(entries[0]);
+        entry.put("fetched_at", System.currentTimeMillis() - ageMillis);
+        mapper.writeValue(entries[0], entry);
+    }
+
+    @Test
+    void freshCopy_isServedWithoutRequest() {
+        assertEquals("default", fetchWithNewJvmState().getStrategies().get(0).getName());
+        assertEquals(1, ifNoneMatch.size());
+        assertEquals("null", ifNoneMatch.get(0));
+
+        assertEquals("default", fetchWithNewJvmState().getStrategies().get(0).getName());
+        assertEquals(1, ifNoneMatch.size());
+    }
+
+    @Test
+    void sameJvm_resolvesStrategiesOnce() throws IOException {
+        FaultStrategyApiClient client = new FaultStrategyApiClient(new StrategyCache(tempDir.toFile(), TTL));
+        client.getContractFaultStrategies();
+        ageCachedCopy(TTL * 2);
+
+        client.getContractFaultStrategies();
+
+        assertEquals(1, ifNoneMatch.size());
+    }
+
+    @Test
+    void expiredCopy_isRevalidatedWithIfNoneMatch() throws IOException {
+        fetchWithNewJvmState();
+        ageCachedCopy(TTL * 2);
+
+        assertEquals("default", fetchWithNewJvmState().getStrategies().get(0).getName());
+
+        assertEquals(2, ifNoneMatch.size());
+        assertEquals(ETAG, ifNoneMatch.get(1));
+
+        // The 304 made the copy fresh again
+        fetchWithNewJvmState();
+        assertEquals(2, ifNoneMatch.size());
+    }
+
+    @Test
+    void agingCopy_isUsedAndRefreshedInBackground() throws Exception {
+        fetchWithNewJvmState();
+        ageCachedCopy(TTL * 3 / 4);
+
+        assertEquals("default", fetchWithNewJvmState().getStrategies().get(0).getName());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ifNoneMatch.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, ifNoneMatch.size());
+        assertEquals(ETAG, ifNoneMatch.get(1));
+    }
+
+    @Test
+    void expiredCopy_isUsedWhenServerIsDown() throws IOException {
+        fetchWithNewJvmState();
+        ageCachedCopy(TTL * 2);
+        server.stop(0);
+
+        assertEquals("default", fetchWithNewJvmState().getStrategies().get(0).getName());
+    }
+
+    @Test
+    void withoutCachedCopy_serverErrorsAreReported() {
+        server.stop(0);
+
+        assertThrows(RuntimeException.class, this::fetchWithNewJvmState);
+    }
+}
@@ -0,0 +1,62 @@
+package metatest.unit;
+
+import metatest.core.config.SystemSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SystemSettingsTest {
+
+    private static final String PROPERTY = "metatest.settings.test";
+    private static final String ENV_VAR = "METATEST_SETTINGS_TEST_UNSET";
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    void getString_trimsAndTreatsBlankAsUnset() {
+        assertNull(SystemSettings.getString(PROPERTY, ENV_VAR));
+        assertEquals("fallback", SystemSettings.getString(PROPERTY, ENV_VAR, "fallback"));
+
+        System.setProperty(PROPERTY, "   ");
+        assertNull(SystemSettings.getString(PROPERTY, ENV_VAR));
+
+        System.setProperty(PROPERTY, "  build/metatest  ");
+        assertEquals("build/metatest", SystemSettings.getString(PROPERTY, ENV_VAR, "fallback"));
+    }
+
+    @Test
+    void getBoolean_onlyTheOppositeValueOverridesTheDefault() {
+        assertFalse(SystemSettings.getBoolean(PROPERTY, ENV_VAR, false));
+        assertTrue(SystemSettings.getBoolean(PROPERTY, ENV_VAR, true));
+
+        System.setProperty(PROPERTY, " TRUE ");
+        assertTrue(SystemSettings.getBoolean(PROPERTY, ENV_VAR, false));
+        assertTrue(SystemSettings.getBoolean(PROPERTY, ENV_VAR, true));
+
+        System.setProperty(PROPERTY, "false");
+        assertFalse(SystemSettings.getBoolean(PROPERTY, ENV_VAR, false));
+        assertFalse(SystemSettings.getBoolean(PROPERTY, ENV_VAR, true));
+
+        System.setProperty(PROPERTY, "yes");
+        assertFalse(SystemSettings.getBoolean(PROPERTY, ENV_VAR, false));
+        assertTrue(SystemSettings.getBoolean(PROPERTY, ENV_VAR, true));
+    }
+
+    @Test
+    void getNumbers_fallBackToTheDefaultWhenInvalid() {
+        assertEquals(500, SystemSettings.getInt(PROPERTY, ENV_VAR, 500));
+        assertEquals(300L, SystemSettings.getLong(PROPERTY, ENV_VAR, 300L));
+
+        System.setProperty(PROPERTY, " 42 ");
+        assertEquals(42, SystemSettings.getInt(PROPERTY, ENV_VAR, 500));
+        assertEquals(42L, SystemSettings.getLong(PROPERTY, ENV_VAR, 300L));
+
+        System.setProperty(PROPERTY, "forty-two");
+        assertEquals(500, SystemSettings.getInt(PROPERTY, ENV_VAR, 500));
+        assertEquals(300L, SystemSettings.getLong(PROPERTY, ENV_VAR, 300L));
+    }
+}
@@ -0,0 +1,65 @@
+package metatest.unit;
+
+import metatest.analytics.TestSubsetAnalyzer;
+import metatest.simulation.ResultStore;
+import metatest.simulation.TestLevelSimulationResults;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSubsetAnalyzerTest {
+
+    private static BitSet kills(int... mutants) {
+        BitSet bits = new BitSet();
+        for (int mutant : mutants) {
+            bits.set(mutant);
+        }
+        return bits;
+    }
+
+    @Test
+    public void testGreedyCoverPicksLargestNewKillsFirst() {
+        BitSet[] matrix = {
+                kills(0, 1),          // test 0: subsumed by test 1
+                kills(0, 1, 2, 3),    // test 1
+                kills(4),             // test 2: only killer of mutant 4
+                kills(),              // test 3: kills nothing
+                kills(2, 3)           // test 4: subsumed by test 1
+        };
+
+        List<Integer> subset = TestSubsetAnalyzer.greedyCover(matrix);
+
+        assertEquals(List.of(1, 2), subset);
+    }
+
+    @Test
+    public void testGreedyCoverCoversAllKilledMutants() {
+        BitSet[] matrix = {kills(0, 2, 4), kills(1, 3), kills(0, 1, 2), kills(5)};
+
+        BitSet covered = new BitSet();
+        for (int test : TestSubsetAnalyzer.greedyCover(matrix)) {
+            covered.or(matrix[test]);
+        }
+
+        assertEquals(kills(0, 1, 2, 3, 4, 5), covered);
+    }
+
+    @Test
+    public void testKillMatrixTransposesCaughtResults() {
+        ResultStore store = new ResultStore();
+        int first = store.contractMutant("/api/orders", "null_field", "id");
+        int second = store.contractMutant("/api/orders", "missing_field", "id");
+        store.record(first, TestLevelSimulationResults.of("testA", true), 0L);
+        store.record(first, TestLevelSimulationResults.of("testB", false), 10L);
+        store.record(second, TestLevelSimulationResults.of("testB", true), 20L);
+
+        BitSet[] matrix = TestSubsetAnalyzer.buildKillMatrix(store);
+
+        assertEquals(2, matrix.length);
+        assertEquals(kills(first), matrix[store.findTestId("testA")]);
+        assertEquals(kills(second), matrix[store.findTestId("testB")]);
+    }
+}